@@ -0,0 +1,91 @@
+package com.ajarly.backend.repository;
+
+import com.ajarly.backend.dto.SearchRequest;
+import com.ajarly.backend.model.Property;
+import com.ajarly.benchmarks.BenchmarkData;
+import com.ajarly.benchmarks.BenchmarkJpaConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PropertySpecification.buildSearchSpecification on its own, and built plus
+ * executed as a first results page against an embedded H2 seeded with
+ * propertyCount active listings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchSpecificationBenchmark {
+    
+    // city: one equality filter; filters: most of the form; dates: city plus the availability subquery
+    @Param({"city", "filters", "dates"})
+    public String scenario;
+    
+    @Param({"2000"})
+    public int propertyCount;
+    
+    private ConfigurableApplicationContext context;
+    private PropertyRepository propertyRepository;
+    private SearchRequest request;
+    private Pageable firstPage;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkJpaConfig.start();
+        propertyRepository = context.getBean(PropertyRepository.class);
+        BenchmarkData.seedProperties(context.getBean(UserRepository.class), propertyRepository, propertyCount);
+        
+        request = request(scenario);
+        firstPage = PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "pricePerNight"));
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    private static SearchRequest request(String scenario) {
+        SearchRequest request = new SearchRequest();
+        switch (scenario) {
+            case "city" -> request.setCity("Hurghada");
+            case "filters" -> {
+                request.setGovernorate("Giza");
+                request.setPropertyType(Property.PropertyType.apartment);
+                request.setMinPrice(new BigDecimal("500"));
+                request.setMaxPrice(new BigDecimal("3000"));
+                request.setMinBedrooms(2);
+                request.setMinGuests(3);
+                request.setFurnished(true);
+            }
+            case "dates" -> {
+                request.setCity("Hurghada");
+                request.setCheckIn(LocalDate.now().plusDays(30));
+                request.setCheckOut(LocalDate.now().plusDays(37));
+            }
+            default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        }
+        return request;
+    }
+    
+    @Benchmark
+    public Specification<Property> buildSpecification() {
+        return PropertySpecification.buildSearchSpecification(request);
+    }
+    
+    @Benchmark
+    public Page<Property> buildAndExecute() {
+        return propertyRepository.findAll(PropertySpecification.buildSearchSpecification(request), firstPage);
+    }
+}
@@ -0,0 +1,83 @@
+package com.ajarly.backend.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.DirectFieldAccessor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification as the authentication filter sees it.
+ *
+ * validateToken and userIdFromToken verify the signature on every call;
+ * verifyTokenCached is a repeat request with the same bearer token, and
+ * verifyTokenMiss cycles through distinct tokens so every call parses,
+ * verifies and fills the claims cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class JwtBenchmark {
+    
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+    
+    // Power of two, for the index mask
+    private static final int DISTINCT_TOKENS = 1024;
+    
+    private JwtUtil jwtUtil;
+    private JwtUtil missingJwtUtil;
+    private String token;
+    private String[] tokens;
+    private int next;
+    
+    @Setup
+    public void setUp() {
+        jwtUtil = jwtUtil(10_000);
+        // Smaller than the token set, so cycling through it always misses
+        missingJwtUtil = jwtUtil(1);
+        
+        token = jwtUtil.generateToken(42L, "renter42@bench.ajarly.com", "RENTER");
+        tokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            tokens[i] = jwtUtil.generateToken((long) i, "renter" + i + "@bench.ajarly.com", "RENTER");
+        }
+    }
+    
+    private static JwtUtil jwtUtil(int claimsCacheEntries) {
+        JwtUtil util = new JwtUtil();
+        DirectFieldAccessor fields = new DirectFieldAccessor(util);
+        fields.setPropertyValue("secret", SECRET);
+        fields.setPropertyValue("expiration", 604_800_000L);
+        fields.setPropertyValue("claimsCacheTtlMillis", 300_000L);
+        fields.setPropertyValue("claimsCacheMaxEntries", claimsCacheEntries);
+        util.init();
+        return util;
+    }
+    
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(42L, "renter42@bench.ajarly.com", "RENTER");
+    }
+    
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+    
+    @Benchmark
+    public Long userIdFromToken() {
+        return jwtUtil.getUserIdFromToken(token);
+    }
+    
+    @Benchmark
+    public JwtClaims verifyTokenCached() {
+        return jwtUtil.verifyToken(token);
+    }
+    
+    @Benchmark
+    public JwtClaims verifyTokenMiss() {
+        return missingJwtUtil.verifyToken(tokens[next++ & (DISTINCT_TOKENS - 1)]);
+    }
+}
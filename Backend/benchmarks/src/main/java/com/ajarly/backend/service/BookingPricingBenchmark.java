@@ -0,0 +1,43 @@
+package com.ajarly.backend.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The BigDecimal price calculation done for every booking request (BookingService.priceStay).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class BookingPricingBenchmark {
+    
+    @Param({"1", "7", "30"})
+    public long nights;
+    
+    @Param({"1250.00", "849.99"})
+    public String pricePerNight;
+    
+    private BigDecimal price;
+    private BigDecimal cleaningFee;
+    
+    @Setup
+    public void setUp() {
+        price = new BigDecimal(pricePerNight);
+        cleaningFee = new BigDecimal("150.00");
+    }
+    
+    @Benchmark
+    public BigDecimal priceStay() {
+        return BookingService.priceStay(price, cleaningFee, nights).total();
+    }
+    
+    @Benchmark
+    public BigDecimal priceStayWithoutCleaningFee() {
+        return BookingService.priceStay(price, null, nights).total();
+    }
+}
@@ -0,0 +1,59 @@
+package com.ajarly.backend.service;
+
+import com.ajarly.backend.dto.BookingResponse;
+import com.ajarly.backend.dto.PropertyDto;
+import com.ajarly.backend.model.Booking;
+import com.ajarly.backend.model.Property;
+import com.ajarly.backend.model.User;
+import com.ajarly.benchmarks.BenchmarkData;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.objenesis.ObjenesisStd;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping on the search and booking paths:
+ * SearchService.mapToListResponse and BookingService.mapToBookingResponse.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ResponseMappingBenchmark {
+    
+    // Images on the property; the booking mapper scans them for the cover
+    @Param({"1", "10"})
+    public int imageCount;
+    
+    private SearchService searchService;
+    private BookingService bookingService;
+    private Property property;
+    private Booking booking;
+    
+    @Setup
+    public void setUp() {
+        // The mappers read no injected fields, so the services are created without their dependencies
+        ObjenesisStd objenesis = new ObjenesisStd();
+        searchService = objenesis.newInstance(SearchService.class);
+        bookingService = objenesis.newInstance(BookingService.class);
+        
+        User owner = BenchmarkData.user(1L, "owner");
+        User renter = BenchmarkData.user(2L, "renter");
+        property = BenchmarkData.property(7, owner);
+        property.setPropertyId(7L);
+        BenchmarkData.addImages(property, imageCount);
+        booking = BenchmarkData.booking(1, property, renter);
+    }
+    
+    @Benchmark
+    public PropertyDto.ListResponse searchListResponse() {
+        return searchService.mapToListResponse(property);
+    }
+    
+    @Benchmark
+    public BookingResponse bookingResponse() {
+        return bookingService.mapToBookingResponse(booking);
+    }
+}
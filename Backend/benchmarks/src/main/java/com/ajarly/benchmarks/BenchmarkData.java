@@ -0,0 +1,140 @@
+package com.ajarly.benchmarks;
+
+import com.ajarly.backend.model.Booking;
+import com.ajarly.backend.model.Property;
+import com.ajarly.backend.model.PropertyImage;
+import com.ajarly.backend.model.User;
+import com.ajarly.backend.repository.PropertyRepository;
+import com.ajarly.backend.repository.UserRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic fixtures, so every run (and every commit) measures the same data.
+ */
+public final class BenchmarkData {
+    
+    public static final String[][] LOCATIONS = {
+        {"Alexandria", "Alexandria"}, {"Alexandria", "Borg El Arab"},
+        {"Cairo", "Nasr City"}, {"Cairo", "Maadi"},
+        {"Giza", "Sheikh Zayed"}, {"Giza", "6th of October"},
+        {"Red Sea", "Hurghada"}, {"South Sinai", "Sharm El Sheikh"}
+    };
+    
+    private BenchmarkData() {
+    }
+    
+    public static User user(long id, String name) {
+        User user = new User();
+        user.setUserId(id);
+        user.setEmail(name + id + "@bench.ajarly.com");
+        user.setPasswordHash("$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchmark");
+        user.setPhoneNumber(String.format("010%08d", id));
+        user.setUserType(User.UserType.landlord);
+        user.setFirstName(name);
+        user.setLastName("Bench");
+        user.setNationalIdVerified(true);
+        return user;
+    }
+    
+    /**
+     * Active property number i of a seeded set: location, type, size and price
+     * cycle through fixed values so every filter matches a stable share of rows
+     */
+    public static Property property(int i, User owner) {
+        String[] location = LOCATIONS[i % LOCATIONS.length];
+        Property.PropertyType[] types = Property.PropertyType.values();
+        
+        Property property = new Property();
+        property.setOwner(owner);
+        property.setTitleAr("شقة رقم " + i);
+        property.setTitleEn("Apartment " + i);
+        property.setDescriptionAr("وصف العقار رقم " + i);
+        property.setSlug("bench-property-" + i);
+        property.setPropertyType(types[(i / LOCATIONS.length) % types.length]);
+        property.setRentalType(Property.RentalType.values()[i % 3]);
+        property.setGovernorate(location[0]);
+        property.setCity(location[1]);
+        property.setStreetAddress(i + " Corniche Road");
+        property.setBedrooms(1 + i % 5);
+        property.setBathrooms(1 + i % 3);
+        property.setGuestsCapacity(2 + i % 8);
+        property.setFurnished(i % 2 == 0);
+        property.setPetsAllowed(i % 5 == 0);
+        property.setInstantBooking(i % 4 == 0);
+        property.setPricePerNight(BigDecimal.valueOf(300 + (i * 37L) % 4700).setScale(2));
+        property.setCleaningFee(BigDecimal.valueOf(150).setScale(2));
+        property.setSecurityDeposit(BigDecimal.valueOf(1000).setScale(2));
+        property.setAverageRating(BigDecimal.valueOf(300 + i % 200, 2));
+        property.setTotalReviews(i % 40);
+        property.setIsFeatured(i % 10 == 0);
+        property.setStatus(Property.PropertyStatus.active);
+        return property;
+    }
+    
+    public static void addImages(Property property, int count) {
+        for (int n = 0; n < count; n++) {
+            PropertyImage image = new PropertyImage();
+            image.setProperty(property);
+            image.setImageUrl("https://res.cloudinary.com/ajarly/image/upload/bench/" + n + ".jpg");
+            image.setImageOrder(n);
+            // Cover last, so the cover lookup walks the whole list
+            image.setIsCover(n == count - 1);
+            image.setUploadedAt(LocalDateTime.of(2025, 1, 1, 12, 0));
+            property.getImages().add(image);
+        }
+    }
+    
+    public static Booking booking(int id, Property property, User renter) {
+        LocalDate checkIn = LocalDate.of(2025, 7, 1);
+        
+        Booking booking = new Booking();
+        booking.setBookingId(id);
+        booking.setBookingReference(String.format("AJR-2025-%06d", id));
+        booking.setProperty(property);
+        booking.setRenter(renter);
+        booking.setOwner(property.getOwner());
+        booking.setCheckInDate(checkIn);
+        booking.setCheckOutDate(checkIn.plusDays(7));
+        booking.setNumberOfNights(7);
+        booking.setNumberOfGuests(4);
+        booking.setNumberOfAdults(2);
+        booking.setNumberOfChildren(2);
+        booking.setPricePerNight(property.getPricePerNight());
+        booking.setSubtotal(property.getPricePerNight().multiply(BigDecimal.valueOf(7)));
+        booking.setCleaningFee(property.getCleaningFee());
+        booking.setServiceFee(BigDecimal.valueOf(350).setScale(2));
+        booking.setTotalPrice(booking.getSubtotal().add(booking.getCleaningFee()).add(booking.getServiceFee()));
+        booking.setSecurityDeposit(property.getSecurityDeposit());
+        booking.setCurrency(property.getCurrency());
+        booking.setStatus(Booking.BookingStatus.confirmed);
+        booking.setPaymentStatus(Booking.PaymentStatus.paid);
+        booking.setSpecialRequests("Late check-in please");
+        booking.setRequestedAt(LocalDateTime.of(2025, 6, 1, 10, 0));
+        booking.setExpiresAt(LocalDateTime.of(2025, 6, 2, 10, 0));
+        return booking;
+    }
+    
+    /**
+     * Insert count active properties spread over a handful of owners
+     */
+    public static void seedProperties(UserRepository userRepository, PropertyRepository propertyRepository, int count) {
+        List<User> owners = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            User owner = user(id, "owner");
+            owner.setUserId(null);
+            owners.add(owner);
+        }
+        owners = userRepository.saveAll(owners);
+        
+        List<Property> properties = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            properties.add(property(i, owners.get(i % owners.size())));
+        }
+        propertyRepository.saveAll(properties);
+    }
+}
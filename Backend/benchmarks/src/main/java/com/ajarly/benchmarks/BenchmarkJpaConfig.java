@@ -0,0 +1,42 @@
+package com.ajarly.benchmarks;
+
+import com.ajarly.backend.model.Property;
+import com.ajarly.backend.repository.PropertyRepository;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * JPA only (entities, repositories, an embedded H2 pool): no web layer,
+ * security, schedulers or caches, so query benchmarks measure the query.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration(exclude = {SecurityAutoConfiguration.class, UserDetailsServiceAutoConfiguration.class})
+@EntityScan(basePackageClasses = Property.class)
+@EnableJpaRepositories(basePackageClasses = PropertyRepository.class)
+public class BenchmarkJpaConfig {
+    
+    public static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(BenchmarkJpaConfig.class)
+            .web(WebApplicationType.NONE)
+            .bannerMode(Banner.Mode.OFF)
+            .run(
+                // Skip the backend's application.properties (MySQL, schedulers)
+                "--spring.config.name=benchmarks",
+                "--spring.datasource.url=jdbc:h2:mem:benchmarks;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+                    + "NON_KEYWORDS=VALUE,YEAR,MONTH,DAY;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.open-in-view=false",
+                "--logging.level.root=WARN"
+            );
+    }
+}
@@ -0,0 +1,86 @@
+package com.ajarly.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files (-rf json) benchmark by benchmark.
+ *
+ * Usage: CompareResults baseline.json current.json [thresholdPercent, default 10]
+ *
+ * Prints the change of every benchmark present in both files and exits with 1
+ * if any got worse by more than the threshold: a higher time for time modes,
+ * a lower score for throughput.
+ */
+public final class CompareResults {
+    
+    private CompareResults() {
+    }
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CompareResults baseline.json current.json [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        
+        Map<String, JsonNode> baseline = load(new File(args[0]));
+        Map<String, JsonNode> current = load(new File(args[1]));
+        
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %14s%n", entry.getKey(), "new");
+                continue;
+            }
+            
+            JsonNode after = entry.getValue();
+            double oldScore = before.path("primaryMetric").path("score").asDouble();
+            double newScore = after.path("primaryMetric").path("score").asDouble();
+            double change = oldScore == 0 ? 0 : (newScore - oldScore) / oldScore * 100;
+            
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            boolean regressed = higherIsBetter ? change < -threshold : change > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            
+            System.out.printf("%-90s %12.3f -> %12.3f %s %+7.1f%%%s%n",
+                entry.getKey(), oldScore, newScore,
+                after.path("primaryMetric").path("scoreUnit").asText(),
+                change, regressed ? "  REGRESSION" : "");
+        }
+        
+        System.out.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+    
+    /**
+     * Results keyed by benchmark name plus its parameters
+     */
+    private static Map<String, JsonNode> load(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            
+            Map<String, String> params = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = result.path("params").fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> param = fields.next();
+                params.put(param.getKey(), param.getValue().asText());
+            }
+            params.forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+            
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,104 @@
+#!/usr/bin/env bash
+# Seed (once), boot the backend against it, drive load, report, shut down.
+#
+#   ./run.sh [--reseed] [--scale 0.1] [driver options, e.g. --duration 120 --concurrency 32]
+#
+# Offline: Maven runs with -o, so the backend's dependencies must already be
+# in ~/.m2 (one online backend build is enough).
+set -euo pipefail
+
+HERE=$(cd "$(dirname "$0")" && pwd)
+BACKEND=$(dirname "$HERE")
+DATA_DIR=${DATA_DIR:-$HERE/target/data}
+SCALE=${SCALE:-1}
+PORT=${PORT:-18080}
+STARTUP_TIMEOUT=${STARTUP_TIMEOUT:-1800}
+MVN=${MVN:-mvn -B -q -o}
+JWT_SECRET=${JWT_SECRET:-loadtest-secret-loadtest-secret-loadtest-secret-loadtest-0123456}
+
+# H2 file database by default; point DB_URL at MySQL (with rewriteBatchedStatements=true) to use that
+DB_URL=${DB_URL:-"jdbc:h2:file:$DATA_DIR/ajarly;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,YEAR,MONTH,DAY;DB_CLOSE_ON_EXIT=FALSE"}
+DB_USER=${DB_USER:-sa}
+DB_PASSWORD=${DB_PASSWORD:-}
+
+RESEED=false
+DRIVER_ARGS=()
+while [ $# -gt 0 ]; do
+    case "$1" in
+        --reseed) RESEED=true ;;
+        --scale) SCALE=$2; shift ;;
+        *) DRIVER_ARGS+=("$1") ;;
+    esac
+    shift
+done
+
+if [[ "$DB_URL" == jdbc:h2:* ]]; then
+    DB_ARGS=(--spring.datasource.driver-class-name=org.h2.Driver
+             --spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect
+             --bookings.export.fetch-size=500)
+else
+    DB_ARGS=(--spring.datasource.driver-class-name=com.mysql.cj.jdbc.Driver)
+fi
+
+mkdir -p "$DATA_DIR"
+MANIFEST=$DATA_DIR/manifest.json
+
+echo "Compiling backend and load test"
+(cd "$BACKEND" && $MVN compile && $MVN dependency:build-classpath -Dmdep.includeScope=runtime -Dmdep.outputFile="$DATA_DIR/backend.classpath" > /dev/null)
+(cd "$HERE" && $MVN compile && $MVN dependency:build-classpath -Dmdep.includeScope=runtime -Dmdep.outputFile="$DATA_DIR/loadtest.classpath" > /dev/null)
+APP_CP=$BACKEND/target/classes:$(cat "$DATA_DIR/backend.classpath")
+LOADTEST_CP=$HERE/target/classes:$BACKEND/target/classes:$(cat "$DATA_DIR/loadtest.classpath")
+
+if $RESEED || [ ! -f "$MANIFEST" ]; then
+    if [[ "$DB_URL" == jdbc:h2:file:* ]]; then
+        rm -f "$DATA_DIR"/ajarly.*.db
+    fi
+    java ${GENERATOR_JAVA_OPTS:-} -cp "$LOADTEST_CP" com.ajarly.loadtest.DatasetGenerator \
+        --url "$DB_URL" --user "$DB_USER" --password "$DB_PASSWORD" \
+        --scale "$SCALE" --seed "${SEED:-42}" --manifest "$MANIFEST"
+else
+    echo "Reusing the dataset in $MANIFEST (--reseed to regenerate)"
+fi
+
+# Extra backend flags go in APP_ARGS, e.g. APP_ARGS=--logging.level.com.ajarly=WARN
+echo "Starting the backend on port $PORT (log: $DATA_DIR/app.log)"
+java ${APP_JAVA_OPTS:-} -Dspring.devtools.restart.enabled=false -cp "$APP_CP" com.ajarly.backend.AjarlyBackendApplication \
+    --server.port="$PORT" \
+    --spring.datasource.url="$DB_URL" \
+    --spring.datasource.username="$DB_USER" \
+    --spring.datasource.password="$DB_PASSWORD" \
+    "${DB_ARGS[@]}" \
+    --spring.jpa.hibernate.ddl-auto=update \
+    --jwt.secret="$JWT_SECRET" \
+    ${APP_ARGS:-} \
+    > "$DATA_DIR/app.log" 2>&1 &
+APP_PID=$!
+trap 'kill $APP_PID 2> /dev/null; wait $APP_PID 2> /dev/null || true' EXIT
+
+# /health answers as soon as Tomcat is up; "ready" turns true once the startup
+# jobs (owner summaries, rollup catch-up, indexes) are done with the dataset
+ready() {
+    curl -sf "http://localhost:$PORT/health" 2> /dev/null | grep -q '"ready":"true"'
+}
+for ((i = 0; i < STARTUP_TIMEOUT; i++)); do
+    if ready; then
+        break
+    fi
+    if ! kill -0 $APP_PID 2> /dev/null; then
+        echo "The backend exited during startup:" >&2
+        tail -n 40 "$DATA_DIR/app.log" >&2
+        exit 1
+    fi
+    sleep 1
+done
+if ! ready; then
+    echo "The backend was not ready within ${STARTUP_TIMEOUT}s" >&2
+    exit 1
+fi
+
+java ${DRIVER_JAVA_OPTS:-} -cp "$LOADTEST_CP" com.ajarly.loadtest.LoadDriver \
+    --base-url "http://localhost:$PORT" \
+    --manifest "$MANIFEST" \
+    --jwt-secret "$JWT_SECRET" \
+    --report "$DATA_DIR/report-$(date +%Y%m%d-%H%M%S).json" \
+    "${DRIVER_ARGS[@]}"
@@ -0,0 +1,555 @@
+package com.ajarly.loadtest;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds an empty database with a production-sized synthetic dataset.
+ *
+ * The schema comes from the backend entities (see LoadTestSchema); rows go in
+ * through JDBC batches, one commit per chunk of listings. At --scale 1 that
+ * is 50k listings with images, 2M bookings and 500k reviews. Output is fully
+ * determined by --seed and the day it runs on.
+ *
+ * Bookings of a listing never overlap: past stays are mostly completed and
+ * reviewed, future ones confirmed or pending, and every confirmed or completed
+ * stay blocks its dates like BookingService.confirmBooking does.
+ *
+ * Owner dashboard summaries are written too, the way a live database already
+ * has them; otherwise the backend rebuilds them on its first start, which on
+ * a full-size dataset takes longer than the load test itself.
+ */
+public class DatasetGenerator {
+    
+    private static final int PROPERTIES_AT_SCALE_1 = 50_000;
+    private static final int BOOKINGS_AT_SCALE_1 = 2_000_000;
+    private static final int REVIEWS_AT_SCALE_1 = 500_000;
+    private static final int RENTERS_AT_SCALE_1 = 200_000;
+    private static final int PROPERTIES_PER_LANDLORD = 5;
+    
+    /** Listings per commit */
+    private static final int CHUNK = 500;
+    
+    /** Bookings spread from two years back to six months ahead */
+    private static final int HISTORY_DAYS = 730;
+    private static final int FUTURE_DAYS = 180;
+    
+    private static final String PASSWORD_HASH = "$2a$10$loadtestloadtestloadtestloadtestloadtestloadtestloadt";
+    private static final String IMAGE_BASE = "https://res.cloudinary.com/ajarly/image/upload/loadtest/";
+    
+    private static final String[] TYPES = {"apartment", "apartment", "apartment", "chalet", "villa", "studio", "penthouse", "room"};
+    private static final String[] PAYMENT_METHODS = {"cash", "credit_card", "fawry", "vodafone_cash", "bank_transfer", "wallet"};
+    private static final String[] REVIEW_TEXTS = {
+        "مكان ممتاز ونظيف جدا والمالك متعاون",
+        "الموقع رائع وقريب من كل حاجة",
+        "الشقة زي الصور بالظبط، هنرجع تاني",
+        "Great stay, the apartment was spotless and the host was responsive.",
+        "Good value for the price, a bit noisy at night.",
+        "Nice view and a comfortable bed, check-in was smooth."
+    };
+    
+    private final Connection connection;
+    private final Random random;
+    private final LocalDate today = LocalDate.now();
+    private final LocalDateTime now = LocalDateTime.now();
+    
+    private final int propertyCount;
+    private final int bookingCount;
+    private final int reviewTarget;
+    private final int landlordCount;
+    private final int renterCount;
+    private final double reviewChance;
+    
+    private final long adminId = 1;
+    private final long firstLandlordId = 2;
+    private final long firstRenterId;
+    
+    private int imageCount;
+    private int bookingsWritten;
+    private int reviewsWritten;
+    private int unavailableWritten;
+    private final List<Long> activePropertyIds = new ArrayList<>();
+    
+    private PreparedStatement insertProperty;
+    private PreparedStatement insertImage;
+    private PreparedStatement insertBooking;
+    private PreparedStatement insertUnavailable;
+    private PreparedStatement insertReview;
+    private PreparedStatement insertSummary;
+    
+    DatasetGenerator(Connection connection, double scale, long seed) {
+        this.connection = connection;
+        this.random = new Random(seed);
+        this.propertyCount = Math.max(50, (int) Math.round(PROPERTIES_AT_SCALE_1 * scale));
+        this.bookingCount = (int) Math.round(BOOKINGS_AT_SCALE_1 * scale);
+        this.reviewTarget = (int) Math.round(REVIEWS_AT_SCALE_1 * scale);
+        this.landlordCount = Math.max(5, propertyCount / PROPERTIES_PER_LANDLORD);
+        this.renterCount = Math.max(50, (int) Math.round(RENTERS_AT_SCALE_1 * scale));
+        this.firstRenterId = firstLandlordId + landlordCount;
+        // About 60% of all bookings end up completed
+        this.reviewChance = bookingCount == 0 ? 0 : Math.min(1.0, reviewTarget / (bookingCount * 0.6));
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        String url = options.require("url");
+        String user = options.get("user", "sa");
+        String password = options.get("password", "");
+        double scale = options.getDouble("scale", 1.0);
+        long seed = options.getLong("seed", 42);
+        File manifestFile = new File(options.require("manifest"));
+        
+        long startTime = System.currentTimeMillis();
+        System.out.println("Creating schema from the backend entities at " + url);
+        try (ConfigurableApplicationContext ignored = LoadTestSchema.create(url, user, password)) {
+            // ddl-auto=create has run; the context is only needed for that
+        }
+        
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            DatasetManifest manifest = new DatasetGenerator(connection, scale, seed).generate(scale, seed);
+            manifest.write(manifestFile);
+            System.out.printf("Seeded %,d users, %,d properties, %,d images, %,d bookings, %,d reviews, %,d blocked ranges in %.1f s%n",
+                manifest.lastRenterId(), manifest.properties(), manifest.images(), manifest.bookings(),
+                manifest.reviews(), manifest.unavailableDates(), (System.currentTimeMillis() - startTime) / 1000.0);
+            System.out.println("Manifest: " + manifestFile.getAbsolutePath());
+        }
+    }
+    
+    DatasetManifest generate(double scale, long seed) throws SQLException {
+        insertUsers();
+        
+        insertProperty = connection.prepareStatement(
+            "INSERT INTO properties (property_id, owner_id, title_ar, title_en, description_ar, slug, property_type, rental_type, "
+                + "governorate, city, street_address, bedrooms, bathrooms, guests_capacity, area_sqm, furnished, pets_allowed, "
+                + "smoking_allowed, instant_booking, is_featured, is_verified, price_per_night, cleaning_fee, security_deposit, "
+                + "currency, min_rental_days, status, deleted, average_rating, total_reviews, view_count, favorite_count, "
+                + "booking_request_count, booking_confirmed_count, last_booked_at, cover_image, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        insertImage = connection.prepareStatement(
+            "INSERT INTO property_images (property_id, image_url, thumbnail_url, medium_url, large_url, image_order, is_cover, uploaded_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+        insertBooking = connection.prepareStatement(
+            "INSERT INTO bookings (booking_id, booking_reference, property_id, renter_id, owner_id, check_in_date, check_out_date, "
+                + "number_of_nights, number_of_guests, number_of_adults, number_of_children, price_per_night, subtotal, cleaning_fee, "
+                + "service_fee, total_price, currency, status, payment_status, payment_method, requested_at, expires_at, "
+                + "confirmed_at, completed_at, cancelled_at, rejected_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        insertUnavailable = connection.prepareStatement(
+            "INSERT INTO unavailable_dates (property_id, unavailable_from, unavailable_to, booking_id, reason, created_by, created_at) "
+                + "VALUES (?, ?, ?, ?, 'booked', ?, ?)");
+        insertReview = connection.prepareStatement(
+            "INSERT INTO reviews (booking_id, property_id, reviewer_id, reviewee_id, overall_rating, cleanliness_rating, "
+                + "accuracy_rating, communication_rating, location_rating, value_rating, review_text, is_approved, approved_at, "
+                + "helpful_count, not_helpful_count, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        insertSummary = connection.prepareStatement(
+            "INSERT INTO owner_property_summaries (property_id, total_bookings, pending_bookings, confirmed_bookings, "
+                + "completed_bookings, cancelled_bookings, rejected_bookings, expired_bookings, total_revenue, "
+                + "review_count, rating_sum, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        
+        int[] bookingsPerProperty = allocateBookings();
+        long startTime = System.currentTimeMillis();
+        for (int propertyId = 1; propertyId <= propertyCount; propertyId++) {
+            insertProperty(propertyId, bookingsPerProperty[propertyId - 1]);
+            if (propertyId % CHUNK == 0 || propertyId == propertyCount) {
+                flush();
+                System.out.printf("  %,d/%,d properties, %,d bookings, %,d reviews (%.1f s)%n",
+                    propertyId, propertyCount, bookingsWritten, reviewsWritten,
+                    (System.currentTimeMillis() - startTime) / 1000.0);
+            }
+        }
+        
+        restartIdentity("users", "user_id", firstRenterId + renterCount);
+        restartIdentity("properties", "property_id", propertyCount + 1);
+        restartIdentity("bookings", "booking_id", bookingsWritten + 1);
+        connection.commit();
+        
+        return new DatasetManifest(seed, scale, today.toString(), adminId,
+            firstLandlordId, firstRenterId - 1, firstRenterId, firstRenterId + renterCount - 1,
+            propertyCount, imageCount, bookingsWritten, reviewsWritten, unavailableWritten, activePropertyIds);
+    }
+    
+    private void insertUsers() throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO users (user_id, email, password_hash, phone_number, user_type, first_name, last_name, "
+                    + "governorate, city, is_active, email_verified, phone_verified, national_id_verified, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, TRUE, TRUE, TRUE, ?, ?, ?)")) {
+            long lastUserId = firstRenterId + renterCount - 1;
+            for (long userId = adminId; userId <= lastUserId; userId++) {
+                String type = userId == adminId ? "admin" : userId < firstRenterId ? "landlord" : "renter";
+                int governorate = SyntheticData.governorate(random);
+                LocalDateTime createdAt = now.minusDays(HISTORY_DAYS + 30 + random.nextInt(365));
+                
+                insert.setLong(1, userId);
+                insert.setString(2, type + userId + "@loadtest.ajarly.com");
+                insert.setString(3, PASSWORD_HASH);
+                insert.setString(4, String.format("01%09d", userId));
+                insert.setString(5, type);
+                insert.setString(6, capitalize(type));
+                insert.setString(7, "User " + userId);
+                insert.setString(8, SyntheticData.governorateName(governorate));
+                insert.setString(9, SyntheticData.city(governorate, random));
+                insert.setBoolean(10, !"renter".equals(type) || random.nextInt(4) == 0);
+                insert.setObject(11, createdAt);
+                insert.setObject(12, createdAt);
+                insert.addBatch();
+                
+                if (userId % 5_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+            System.out.printf("  %,d users%n", lastUserId);
+        }
+    }
+    
+    /**
+     * Bookings per listing: log-normal popularity, so a few listings are
+     * booked most nights and many only a handful of times. Capped at one
+     * booking per two days of the window so stays never overlap.
+     */
+    private int[] allocateBookings() {
+        double[] weights = new double[propertyCount];
+        double total = 0;
+        for (int i = 0; i < propertyCount; i++) {
+            weights[i] = Math.exp(0.9 * random.nextGaussian());
+            total += weights[i];
+        }
+        
+        int cap = HISTORY_DAYS / 2;
+        int[] allocation = new int[propertyCount];
+        int assigned = 0;
+        for (int i = 0; i < propertyCount; i++) {
+            allocation[i] = Math.min(cap, (int) (bookingCount * weights[i] / total));
+            assigned += allocation[i];
+        }
+        int target = Math.min(bookingCount, propertyCount * cap);
+        while (assigned < target) {
+            int i = random.nextInt(propertyCount);
+            if (allocation[i] < cap) {
+                allocation[i]++;
+                assigned++;
+            }
+        }
+        return allocation;
+    }
+    
+    private void insertProperty(long propertyId, int bookings) throws SQLException {
+        long ownerId = firstLandlordId + SyntheticData.skewedIndex(random, landlordCount);
+        int governorate = SyntheticData.governorate(random);
+        String type = TYPES[random.nextInt(TYPES.length)];
+        int bedrooms = "studio".equals(type) || "room".equals(type) ? 1 : 1 + random.nextInt("villa".equals(type) ? 6 : 4);
+        int guests = Math.min(50, bedrooms * 2 + random.nextInt(3));
+        // Cairo and the coast are pricier; whole piasters are fine
+        long nightlyCents = (300 + random.nextInt(1_200) + bedrooms * 350L + (governorate <= 1 || governorate == 3 ? 600 : 0)) * 100;
+        long cleaningCents = (100 + random.nextInt(5) * 50L) * 100;
+        
+        int statusRoll = random.nextInt(100);
+        String status = statusRoll < 92 ? "active" : statusRoll < 95 ? "inactive" : statusRoll < 98 ? "pending_approval" : "suspended";
+        boolean active = "active".equals(status);
+        if (active) {
+            activePropertyIds.add(propertyId);
+        }
+        
+        Stays stays = insertBookings(propertyId, ownerId, bookings, active, guests, nightlyCents, cleaningCents);
+        
+        int images = 3 + random.nextInt(10);
+        String cover = IMAGE_BASE + propertyId + "/0.jpg";
+        LocalDateTime createdAt = now.minusDays(HISTORY_DAYS + random.nextInt(180));
+        
+        int i = 1;
+        insertProperty.setLong(i++, propertyId);
+        insertProperty.setLong(i++, ownerId);
+        insertProperty.setString(i++, "شقة " + bedrooms + " غرف في " + SyntheticData.governorateName(governorate) + " رقم " + propertyId);
+        insertProperty.setString(i++, capitalize(type) + " with " + bedrooms + " bedrooms #" + propertyId);
+        insertProperty.setString(i++, "وصف تجريبي للعقار رقم " + propertyId + " قريب من الخدمات والمواصلات");
+        insertProperty.setString(i++, "lt-" + type + "-" + propertyId);
+        insertProperty.setString(i++, type);
+        insertProperty.setString(i++, random.nextInt(5) == 0 ? "both" : "vacation");
+        insertProperty.setString(i++, SyntheticData.governorateName(governorate));
+        insertProperty.setString(i++, SyntheticData.city(governorate, random));
+        insertProperty.setString(i++, (1 + random.nextInt(200)) + " Street " + propertyId);
+        insertProperty.setInt(i++, bedrooms);
+        insertProperty.setInt(i++, Math.max(1, bedrooms - random.nextInt(2)));
+        insertProperty.setInt(i++, guests);
+        insertProperty.setInt(i++, 40 + bedrooms * 35 + random.nextInt(60));
+        insertProperty.setBoolean(i++, random.nextInt(10) < 8);
+        insertProperty.setBoolean(i++, random.nextInt(5) == 0);
+        insertProperty.setBoolean(i++, random.nextInt(4) == 0);
+        insertProperty.setBoolean(i++, random.nextInt(3) == 0);
+        insertProperty.setBoolean(i++, random.nextInt(20) == 0);
+        insertProperty.setBoolean(i++, random.nextInt(2) == 0);
+        insertProperty.setBigDecimal(i++, BigDecimal.valueOf(nightlyCents, 2));
+        insertProperty.setBigDecimal(i++, BigDecimal.valueOf(cleaningCents, 2));
+        insertProperty.setBigDecimal(i++, BigDecimal.valueOf(nightlyCents * 2, 2));
+        insertProperty.setString(i++, "EGP");
+        insertProperty.setInt(i++, 1);
+        insertProperty.setString(i++, status);
+        insertProperty.setBoolean(i++, false);
+        insertProperty.setBigDecimal(i++, stays.averageRating());
+        insertProperty.setInt(i++, stays.approvedReviews);
+        insertProperty.setInt(i++, bookings * 25 + random.nextInt(500));
+        insertProperty.setInt(i++, bookings / 4 + random.nextInt(20));
+        insertProperty.setInt(i++, bookings);
+        insertProperty.setInt(i++, stays.confirmed + stays.completed);
+        insertProperty.setObject(i++, stays.lastBookedAt);
+        insertProperty.setString(i++, cover);
+        insertProperty.setObject(i++, createdAt);
+        insertProperty.setObject(i, createdAt);
+        insertProperty.addBatch();
+        
+        // Same aggregates OwnerPropertySummaryService.recompute derives
+        i = 1;
+        insertSummary.setLong(i++, propertyId);
+        insertSummary.setInt(i++, bookings);
+        insertSummary.setInt(i++, stays.pending);
+        insertSummary.setInt(i++, stays.confirmed);
+        insertSummary.setInt(i++, stays.completed);
+        insertSummary.setInt(i++, stays.cancelled);
+        insertSummary.setInt(i++, stays.rejected);
+        insertSummary.setInt(i++, stays.expired);
+        insertSummary.setBigDecimal(i++, BigDecimal.valueOf(stays.revenueCents, 2));
+        insertSummary.setInt(i++, stays.approvedReviews);
+        insertSummary.setBigDecimal(i++, BigDecimal.valueOf(stays.ratingSum).setScale(1));
+        insertSummary.setObject(i, now);
+        insertSummary.addBatch();
+        
+        for (int order = 0; order < images; order++) {
+            String url = IMAGE_BASE + propertyId + "/" + order + ".jpg";
+            insertImage.setLong(1, propertyId);
+            insertImage.setString(2, url);
+            insertImage.setString(3, url.replace("/upload/", "/upload/w_300/"));
+            insertImage.setString(4, url.replace("/upload/", "/upload/w_800/"));
+            insertImage.setString(5, url.replace("/upload/", "/upload/w_1600/"));
+            insertImage.setInt(6, order);
+            insertImage.setBoolean(7, order == 0);
+            insertImage.setObject(8, createdAt);
+            insertImage.addBatch();
+        }
+        imageCount += images;
+    }
+    
+    /**
+     * Lays count stays on the listing's window, one per equal slot so they
+     * never overlap, and batches the bookings with their blocked dates and
+     * reviews
+     */
+    private Stays insertBookings(long propertyId, long ownerId, int count, boolean active, int guests,
+                                 long nightlyCents, long cleaningCents) throws SQLException {
+        Stays stays = new Stays();
+        if (count == 0) {
+            return stays;
+        }
+        
+        LocalDate windowStart = today.minusDays(HISTORY_DAYS);
+        // Listings that can't be booked now only have history
+        int windowDays = active ? HISTORY_DAYS + FUTURE_DAYS : HISTORY_DAYS;
+        double slot = (double) windowDays / count;
+        
+        for (int k = 0; k < count; k++) {
+            int slotStart = (int) (k * slot);
+            int slotLength = (int) ((k + 1) * slot) - slotStart;
+            int nights = 1 + random.nextInt(Math.min(7, slotLength - 1));
+            LocalDate checkIn = windowStart.plusDays(slotStart + random.nextInt(slotLength - nights + 1));
+            LocalDate checkOut = checkIn.plusDays(nights);
+            
+            int bookingId = ++bookingsWritten;
+            long renterId = firstRenterId + random.nextInt(renterCount);
+            String status = statusFor(checkIn, checkOut);
+            
+            LocalDateTime requestedAt = checkIn.minusDays(1 + random.nextInt(60)).atTime(8 + random.nextInt(14), random.nextInt(60));
+            // Drawn either way, so the data doesn't depend on the time of day
+            int minutesWaiting = random.nextInt(40 * 60);
+            if ("pending".equals(status) || requestedAt.isAfter(now)) {
+                // Still waiting for the owner: requested within the expiry window
+                requestedAt = now.minusMinutes(minutesWaiting);
+            }
+            LocalDateTime decidedAt = earliest(requestedAt.plusHours(1 + random.nextInt(20)), now);
+            boolean confirmed = "confirmed".equals(status) || "completed".equals(status);
+            boolean cancelled = status.startsWith("cancelled");
+            
+            long subtotalCents = nightlyCents * nights;
+            long serviceFeeCents = Math.round(subtotalCents * 0.10);
+            long totalCents = subtotalCents + cleaningCents + serviceFeeCents;
+            int partySize = 1 + random.nextInt(guests);
+            int children = partySize > 2 ? random.nextInt(partySize - 1) : 0;
+            
+            int i = 1;
+            insertBooking.setInt(i++, bookingId);
+            insertBooking.setString(i++, String.format("AJR-LT-%08d", bookingId));
+            insertBooking.setLong(i++, propertyId);
+            insertBooking.setLong(i++, renterId);
+            insertBooking.setLong(i++, ownerId);
+            insertBooking.setObject(i++, checkIn);
+            insertBooking.setObject(i++, checkOut);
+            insertBooking.setInt(i++, nights);
+            insertBooking.setInt(i++, partySize);
+            insertBooking.setInt(i++, partySize - children);
+            insertBooking.setInt(i++, children);
+            insertBooking.setBigDecimal(i++, BigDecimal.valueOf(nightlyCents, 2));
+            insertBooking.setBigDecimal(i++, BigDecimal.valueOf(subtotalCents, 2));
+            insertBooking.setBigDecimal(i++, BigDecimal.valueOf(cleaningCents, 2));
+            insertBooking.setBigDecimal(i++, BigDecimal.valueOf(serviceFeeCents, 2));
+            insertBooking.setBigDecimal(i++, BigDecimal.valueOf(totalCents, 2));
+            insertBooking.setString(i++, "EGP");
+            insertBooking.setString(i++, status);
+            insertBooking.setString(i++, confirmed ? "paid" : cancelled ? "refunded" : "unpaid");
+            insertBooking.setString(i++, confirmed || cancelled ? PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)] : null);
+            insertBooking.setObject(i++, requestedAt);
+            insertBooking.setObject(i++, requestedAt.plusHours(48));
+            insertBooking.setObject(i++, confirmed || cancelled ? decidedAt : null);
+            insertBooking.setObject(i++, "completed".equals(status) ? checkOut.atTime(12, 0) : null);
+            insertBooking.setObject(i++, cancelled ? earliest(decidedAt.plusDays(random.nextInt(5)), now) : null);
+            insertBooking.setObject(i, "rejected".equals(status) ? decidedAt : null);
+            insertBooking.addBatch();
+            
+            stays.count(status, totalCents);
+            stays.lastBookedAt = requestedAt;
+            if (confirmed) {
+                insertUnavailable.setLong(1, propertyId);
+                insertUnavailable.setObject(2, checkIn);
+                insertUnavailable.setObject(3, checkOut);
+                insertUnavailable.setInt(4, bookingId);
+                insertUnavailable.setLong(5, ownerId);
+                insertUnavailable.setObject(6, decidedAt);
+                insertUnavailable.addBatch();
+                unavailableWritten++;
+            }
+            
+            if ("completed".equals(status) && reviewsWritten < reviewTarget && random.nextDouble() < reviewChance) {
+                insertReview(bookingId, propertyId, renterId, ownerId, checkOut, stays);
+            }
+        }
+        return stays;
+    }
+    
+    private String statusFor(LocalDate checkIn, LocalDate checkOut) {
+        int roll = random.nextInt(100);
+        if (checkOut.isBefore(today)) {
+            return roll < 80 ? "completed" : roll < 88 ? "cancelled_by_renter" : roll < 91 ? "cancelled_by_owner"
+                : roll < 96 ? "rejected" : "expired";
+        }
+        if (!checkIn.isAfter(today)) {
+            return "confirmed";
+        }
+        return roll < 70 ? "confirmed" : roll < 90 ? "pending" : "cancelled_by_renter";
+    }
+    
+    private void insertReview(int bookingId, long propertyId, long renterId, long ownerId,
+                              LocalDate checkOut, Stays stays) throws SQLException {
+        // Half-star steps, most guests happy
+        double rating = Math.max(1.0, Math.min(5.0, Math.round((4.3 + 0.7 * random.nextGaussian()) * 2) / 2.0));
+        boolean approved = random.nextInt(20) != 0;
+        LocalDateTime createdAt = checkOut.plusDays(1 + random.nextInt(10)).atTime(9 + random.nextInt(12), random.nextInt(60));
+        createdAt = earliest(createdAt, now.minusMinutes(1));
+        
+        int i = 1;
+        insertReview.setInt(i++, bookingId);
+        insertReview.setLong(i++, propertyId);
+        insertReview.setLong(i++, renterId);
+        insertReview.setLong(i++, ownerId);
+        insertReview.setBigDecimal(i++, BigDecimal.valueOf(rating).setScale(1));
+        for (int sub = 0; sub < 5; sub++) {
+            insertReview.setInt(i++, (int) Math.max(1, Math.min(5, Math.round(rating + random.nextInt(3) - 1))));
+        }
+        insertReview.setString(i++, REVIEW_TEXTS[random.nextInt(REVIEW_TEXTS.length)]);
+        insertReview.setBoolean(i++, approved);
+        insertReview.setObject(i++, approved ? createdAt.plusHours(2) : null);
+        insertReview.setInt(i++, random.nextInt(10));
+        insertReview.setInt(i++, random.nextInt(3));
+        insertReview.setObject(i, createdAt);
+        insertReview.addBatch();
+        reviewsWritten++;
+        
+        if (approved) {
+            stays.ratingSum += rating;
+            stays.approvedReviews++;
+        }
+    }
+    
+    /**
+     * Parents before children, so the batches satisfy the foreign keys
+     */
+    private void flush() throws SQLException {
+        insertProperty.executeBatch();
+        insertSummary.executeBatch();
+        insertImage.executeBatch();
+        insertBooking.executeBatch();
+        insertUnavailable.executeBatch();
+        insertReview.executeBatch();
+        connection.commit();
+    }
+    
+    /**
+     * Rows above carry explicit ids; H2 identities don't move past them on
+     * their own (MySQL auto-increments do)
+     */
+    private void restartIdentity(String table, String column, long next) throws SQLException {
+        if (!"H2".equals(connection.getMetaData().getDatabaseProductName())) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + table + " ALTER COLUMN " + column + " RESTART WITH " + next);
+        }
+    }
+    
+    private static LocalDateTime earliest(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+    
+    private static String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+    
+    /**
+     * Per-listing totals the properties row is written with
+     */
+    private static final class Stays {
+        int pending;
+        int confirmed;
+        int completed;
+        int cancelled;
+        int rejected;
+        int expired;
+        long revenueCents;
+        int approvedReviews;
+        double ratingSum;
+        LocalDateTime lastBookedAt;
+        
+        void count(String status, long totalCents) {
+            switch (status) {
+                case "pending" -> pending++;
+                case "confirmed" -> confirmed++;
+                case "completed" -> completed++;
+                case "rejected" -> rejected++;
+                case "expired" -> expired++;
+                default -> cancelled++;
+            }
+            // Revenue counts confirmed and completed stays only
+            if ("confirmed".equals(status) || "completed".equals(status)) {
+                revenueCents += totalCents;
+            }
+        }
+        
+        BigDecimal averageRating() {
+            return approvedReviews == 0 ? BigDecimal.ZERO.setScale(2)
+                : BigDecimal.valueOf(ratingSum / approvedReviews).setScale(2, RoundingMode.HALF_UP);
+        }
+    }
+}
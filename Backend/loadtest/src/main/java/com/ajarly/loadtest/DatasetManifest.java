@@ -0,0 +1,49 @@
+package com.ajarly.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * What the generator seeded, written next to the database so the driver
+ * only calls with ids that exist. Users are numbered admin first, then
+ * landlords, then renters.
+ */
+record DatasetManifest(
+    long seed,
+    double scale,
+    String generatedOn,
+    long adminId,
+    long firstLandlordId,
+    long lastLandlordId,
+    long firstRenterId,
+    long lastRenterId,
+    int properties,
+    int images,
+    int bookings,
+    int reviews,
+    int unavailableDates,
+    List<Long> activePropertyIds
+) {
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    
+    int landlordCount() {
+        return (int) (lastLandlordId - firstLandlordId + 1);
+    }
+    
+    int renterCount() {
+        return (int) (lastRenterId - firstRenterId + 1);
+    }
+    
+    void write(File file) throws IOException {
+        MAPPER.writeValue(file, this);
+    }
+    
+    static DatasetManifest read(File file) throws IOException {
+        return MAPPER.readValue(file, DatasetManifest.class);
+    }
+}
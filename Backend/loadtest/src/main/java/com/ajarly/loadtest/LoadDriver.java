@@ -0,0 +1,365 @@
+package com.ajarly.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Drives a running application with a weighted mix of calls and reports
+ * p50/p95/p99 latency and throughput per endpoint.
+ *
+ * Workers are closed-loop: each of --concurrency threads sends its next
+ * request as soon as the previous one answers. Nothing is recorded during
+ * --warmup. Callers are the seeded users from the dataset manifest, with
+ * tokens minted locally from the application's JWT secret.
+ */
+public class LoadDriver {
+    
+    private static final String DEFAULT_MIX = "search=40,detail=30,book=10,confirm=5,owner-dashboard=10,admin-analytics=5";
+    private static final String DEFAULT_SECRET = "ajarly_secret_key_2025_change_this_in_production_environment";
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    enum Scenario {
+        SEARCH("search"),
+        DETAIL("detail"),
+        BOOK("book"),
+        CONFIRM("confirm"),
+        OWNER_DASHBOARD("owner-dashboard"),
+        ADMIN_ANALYTICS("admin-analytics");
+        
+        final String key;
+        
+        Scenario(String key) {
+            this.key = key;
+        }
+        
+        static Scenario of(String key) {
+            for (Scenario scenario : values()) {
+                if (scenario.key.equals(key)) {
+                    return scenario;
+                }
+            }
+            throw new IllegalArgumentException("Unknown scenario '" + key + "', expected one of search, detail, "
+                + "book, confirm, owner-dashboard, admin-analytics");
+        }
+    }
+    
+    private final String baseUrl;
+    private final DatasetManifest dataset;
+    private final SecretKey signingKey;
+    private final Scenario[] scenarios;
+    private final int[] cumulativeWeights;
+    private final HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    
+    private final Map<Long, String> tokens = new ConcurrentHashMap<>();
+    /** Bookings created by the run, waiting for their owner to confirm: {bookingId, ownerId} */
+    private final Queue<long[]> pendingConfirmations = new ConcurrentLinkedQueue<>();
+    
+    private volatile boolean running = true;
+    private volatile boolean recording;
+    
+    LoadDriver(String baseUrl, DatasetManifest dataset, String secret, String mix) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.dataset = dataset;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        
+        List<Scenario> parsed = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        int total = 0;
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split("=");
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                total += weight;
+                parsed.add(Scenario.of(pair[0].trim()));
+                weights.add(total);
+            }
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("--mix has no scenario with a positive weight");
+        }
+        this.scenarios = parsed.toArray(new Scenario[0]);
+        this.cumulativeWeights = weights.stream().mapToInt(Integer::intValue).toArray();
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        DatasetManifest dataset = DatasetManifest.read(new File(options.require("manifest")));
+        if (dataset.activePropertyIds().isEmpty()) {
+            throw new IllegalStateException("The dataset has no active properties to call");
+        }
+        
+        LoadDriver driver = new LoadDriver(
+            options.get("base-url", "http://localhost:8080"),
+            dataset,
+            options.get("jwt-secret", DEFAULT_SECRET),
+            options.get("mix", DEFAULT_MIX));
+        Map<String, Object> report = driver.run(
+            options.getInt("concurrency", 16),
+            options.getInt("warmup", 10),
+            options.getInt("duration", 60),
+            options.getLong("seed", 7));
+        
+        String reportFile = options.get("report", null);
+        if (reportFile != null) {
+            MAPPER.writer(SerializationFeature.INDENT_OUTPUT).writeValue(new File(reportFile), report);
+            System.out.println("Report: " + new File(reportFile).getAbsolutePath());
+        }
+    }
+    
+    Map<String, Object> run(int concurrency, int warmupSeconds, int durationSeconds, long seed) throws InterruptedException {
+        List<Map<Scenario, Samples>> perWorker = new ArrayList<>();
+        List<Thread> workers = new ArrayList<>();
+        for (int w = 0; w < concurrency; w++) {
+            Map<Scenario, Samples> samples = new EnumMap<>(Scenario.class);
+            Random random = new Random(seed + w);
+            perWorker.add(samples);
+            Thread worker = new Thread(() -> work(random, samples), "load-worker-" + w);
+            worker.setDaemon(true);
+            workers.add(worker);
+        }
+        
+        System.out.printf("Driving %s with %d workers: %ds warmup, %ds measured%n",
+            baseUrl, concurrency, warmupSeconds, durationSeconds);
+        workers.forEach(Thread::start);
+        Thread.sleep(warmupSeconds * 1000L);
+        
+        recording = true;
+        long start = System.nanoTime();
+        Thread.sleep(durationSeconds * 1000L);
+        recording = false;
+        double seconds = (System.nanoTime() - start) / 1e9;
+        running = false;
+        for (Thread worker : workers) {
+            worker.join(30_000);
+        }
+        
+        Map<Scenario, Samples> merged = new EnumMap<>(Scenario.class);
+        Samples all = new Samples();
+        for (Map<Scenario, Samples> samples : perWorker) {
+            samples.forEach((scenario, s) -> {
+                merged.computeIfAbsent(scenario, k -> new Samples()).addAll(s);
+                all.addAll(s);
+            });
+        }
+        
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        merged.forEach((scenario, samples) -> endpoints.put(scenario.key, samples.summarize(seconds)));
+        endpoints.put("total", all.summarize(seconds));
+        printTable(endpoints);
+        
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("baseUrl", baseUrl);
+        report.put("concurrency", concurrency);
+        report.put("warmupSeconds", warmupSeconds);
+        report.put("measuredSeconds", Math.round(seconds * 100) / 100.0);
+        report.put("properties", dataset.properties());
+        report.put("bookings", dataset.bookings());
+        report.put("reviews", dataset.reviews());
+        report.put("endpoints", endpoints);
+        return report;
+    }
+    
+    private void work(Random random, Map<Scenario, Samples> samples) {
+        while (running) {
+            Scenario scenario = pick(random);
+            long[] confirmation = null;
+            if (scenario == Scenario.CONFIRM) {
+                confirmation = pendingConfirmations.poll();
+                if (confirmation == null) {
+                    // Nothing booked yet: book now, confirm on a later turn
+                    scenario = Scenario.BOOK;
+                }
+            }
+            
+            boolean measured = recording;
+            long begin = System.nanoTime();
+            int status = call(scenario, random, confirmation);
+            long elapsed = System.nanoTime() - begin;
+            if (measured && recording) {
+                samples.computeIfAbsent(scenario, k -> new Samples()).record(elapsed, status);
+            }
+        }
+    }
+    
+    private Scenario pick(Random random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return scenarios[i];
+            }
+        }
+        return scenarios[scenarios.length - 1];
+    }
+    
+    /**
+     * One call; returns the HTTP status, or 0 if no response came back
+     */
+    private int call(Scenario scenario, Random random, long[] confirmation) {
+        try {
+            return switch (scenario) {
+                case SEARCH -> send(HttpRequest.newBuilder(uri("/api/v1/search"))
+                    .POST(json(searchBody(random))), null).statusCode();
+                case DETAIL -> send(HttpRequest.newBuilder(uri("/api/v1/properties/" + property(random)))
+                    .GET(), null).statusCode();
+                case BOOK -> book(random);
+                case CONFIRM -> send(HttpRequest.newBuilder(uri("/api/v1/bookings/" + confirmation[0] + "/confirm"))
+                    .PUT(json(Map.of("ownerResponse", "Welcome!"))), token(confirmation[1], "LANDLORD")).statusCode();
+                case OWNER_DASHBOARD -> send(HttpRequest.newBuilder(uri("/api/v1/analytics/owner/dashboard"))
+                    .GET(), token(landlord(random), "LANDLORD")).statusCode();
+                case ADMIN_ANALYTICS -> send(HttpRequest.newBuilder(uri(adminAnalyticsPath(random)))
+                    .GET(), token(dataset.adminId(), "ADMIN")).statusCode();
+            };
+        } catch (IOException e) {
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+            return 0;
+        }
+    }
+    
+    private int book(Random random) throws IOException, InterruptedException {
+        // Past the seeded window, so only stays booked by this run can collide
+        LocalDate checkIn = LocalDate.now().plusDays(200 + random.nextInt(365));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("propertyId", property(random));
+        body.put("checkInDate", checkIn.toString());
+        body.put("checkOutDate", checkIn.plusDays(1 + random.nextInt(6)).toString());
+        body.put("numberOfGuests", 1 + random.nextInt(2));
+        
+        long renterId = dataset.firstRenterId() + random.nextInt(dataset.renterCount());
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/api/v1/bookings"))
+            .POST(json(body)), token(renterId, "RENTER"));
+        if (response.statusCode() == 201) {
+            JsonNode booking = MAPPER.readTree(response.body()).path("data");
+            pendingConfirmations.add(new long[] {
+                booking.path("bookingId").asLong(), booking.path("owner").path("userId").asLong()
+            });
+        }
+        return response.statusCode();
+    }
+    
+    private Map<String, Object> searchBody(Random random) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        if (random.nextInt(100) < 85) {
+            int governorate = SyntheticData.governorate(random);
+            body.put("governorate", SyntheticData.governorateName(governorate));
+            if (random.nextInt(100) < 40) {
+                body.put("city", SyntheticData.city(governorate, random));
+            }
+        }
+        if (random.nextInt(100) < 20) {
+            body.put("propertyType", random.nextBoolean() ? "apartment" : "chalet");
+        }
+        if (random.nextInt(100) < 30) {
+            int min = 500 + random.nextInt(10) * 250;
+            body.put("minPrice", min);
+            body.put("maxPrice", min + 1_000 + random.nextInt(4) * 500);
+        }
+        if (random.nextInt(100) < 25) {
+            LocalDate checkIn = LocalDate.now().plusDays(7 + random.nextInt(120));
+            body.put("checkIn", checkIn.toString());
+            body.put("checkOut", checkIn.plusDays(2 + random.nextInt(6)).toString());
+        }
+        String[] sorts = {null, "price", "rating", "newest"};
+        String sortBy = sorts[random.nextInt(sorts.length)];
+        if (sortBy != null) {
+            body.put("sortBy", sortBy);
+            body.put("sortDirection", "price".equals(sortBy) && random.nextBoolean() ? "ASC" : "DESC");
+        }
+        // Most visitors stay on the first page
+        body.put("page", random.nextInt(100) < 80 ? 0 : 1 + random.nextInt(3));
+        body.put("size", 20);
+        return body;
+    }
+    
+    private String adminAnalyticsPath(Random random) {
+        int[] windows = {7, 30, 90};
+        LocalDate end = LocalDate.now().minusDays(random.nextInt(4) == 0 ? random.nextInt(180) : 0);
+        LocalDate start = end.minusDays(windows[random.nextInt(windows.length)]);
+        return "/api/v1/analytics/admin/platform?startDate=" + start + "&endDate=" + end;
+    }
+    
+    /**
+     * Listing ids skewed like the owners are, so a hot set gets most of the views
+     */
+    private long property(Random random) {
+        List<Long> ids = dataset.activePropertyIds();
+        return ids.get(SyntheticData.skewedIndex(random, ids.size()));
+    }
+    
+    private long landlord(Random random) {
+        // Same skew the generator assigned listings with: low ids own the most
+        return dataset.firstLandlordId() + SyntheticData.skewedIndex(random, dataset.landlordCount());
+    }
+    
+    private String token(long userId, String role) {
+        return tokens.computeIfAbsent(userId, id -> {
+            Date now = new Date();
+            return Jwts.builder()
+                .subject(id.toString())
+                .claim("email", role.toLowerCase() + id + "@loadtest.ajarly.com")
+                .claim("role", role)
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + Duration.ofHours(12).toMillis()))
+                .signWith(signingKey)
+                .compact();
+        });
+    }
+    
+    private HttpResponse<String> send(HttpRequest.Builder request, String token) throws IOException, InterruptedException {
+        request.timeout(Duration.ofSeconds(30)).header("Content-Type", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+    
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+    
+    private static HttpRequest.BodyPublisher json(Object body) throws IOException {
+        return HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body));
+    }
+    
+    private static void printTable(Map<String, Object> endpoints) {
+        System.out.printf("%n%-16s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+            "endpoint", "requests", "errors", "req/s", "mean ms", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        endpoints.forEach((name, value) -> {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> row = (Map<String, Object>) value;
+            System.out.printf("%-16s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                name, row.get("requests"), row.get("errors"), row.get("throughput"), row.get("meanMs"),
+                row.get("p50Ms"), row.get("p95Ms"), row.get("p99Ms"), row.get("maxMs"), row.get("statuses"));
+        });
+    }
+}
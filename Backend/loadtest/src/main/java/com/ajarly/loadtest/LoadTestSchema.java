@@ -0,0 +1,39 @@
+package com.ajarly.loadtest;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * JPA-only context over the backend's entities (found by package name, so
+ * they are only needed at runtime). Starting it with ddl-auto=create builds
+ * the exact schema the application expects, which the generator then fills
+ * with plain JDBC batches.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration(exclude = {SecurityAutoConfiguration.class, UserDetailsServiceAutoConfiguration.class})
+@EntityScan("com.ajarly.backend.model")
+public class LoadTestSchema {
+    
+    public static ConfigurableApplicationContext create(String url, String user, String password) {
+        return new SpringApplicationBuilder(LoadTestSchema.class)
+            .web(WebApplicationType.NONE)
+            .bannerMode(Banner.Mode.OFF)
+            .run(
+                // Skip the backend's application.properties (its datasource, schedulers)
+                "--spring.config.name=loadtest",
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + user,
+                "--spring.datasource.password=" + password,
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.open-in-view=false",
+                "--logging.level.root=WARN"
+            );
+    }
+}
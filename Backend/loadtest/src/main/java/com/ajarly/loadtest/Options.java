@@ -0,0 +1,61 @@
+package com.ajarly.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * "--name value" command line options with defaults
+ */
+final class Options {
+    
+    private final Map<String, String> values = new HashMap<>();
+    
+    private Options() {
+    }
+    
+    static Options parse(String[] args) {
+        Options options = new Options();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                options.values.put(arg.substring(2, eq), arg.substring(eq + 1));
+            } else if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                options.values.put(arg.substring(2), args[++i]);
+            } else {
+                options.values.put(arg.substring(2), "true");
+            }
+        }
+        return options;
+    }
+    
+    String get(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+    
+    int getInt(String name, int defaultValue) {
+        String value = values.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+    
+    long getLong(String name, long defaultValue) {
+        String value = values.get(name);
+        return value == null ? defaultValue : Long.parseLong(value);
+    }
+    
+    double getDouble(String name, double defaultValue) {
+        String value = values.get(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+    
+    String require(String name) {
+        String value = values.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing required option --" + name);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,84 @@
+package com.ajarly.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies and status codes of one endpoint. Each worker fills its own
+ * instance (no locking on the hot path); they are merged once the run ends
+ * and percentiles are read off the sorted, exact sample set.
+ */
+final class Samples {
+    
+    private long[] nanos = new long[1024];
+    private int count;
+    private int errors;
+    private final Map<Integer, Integer> statuses = new TreeMap<>();
+    
+    void record(long elapsedNanos, int status) {
+        if (count == nanos.length) {
+            nanos = Arrays.copyOf(nanos, count * 2);
+        }
+        nanos[count++] = elapsedNanos;
+        statuses.merge(status, 1, Integer::sum);
+        // 0 is a request that never got a response
+        if (status == 0 || status >= 400) {
+            errors++;
+        }
+    }
+    
+    void addAll(Samples other) {
+        if (count + other.count > nanos.length) {
+            nanos = Arrays.copyOf(nanos, count + other.count);
+        }
+        System.arraycopy(other.nanos, 0, nanos, count, other.count);
+        count += other.count;
+        other.statuses.forEach((status, n) -> statuses.merge(status, n, Integer::sum));
+        errors += other.errors;
+    }
+    
+    /**
+     * Report row: counts, throughput over the measured window, latencies in ms
+     */
+    Map<String, Object> summarize(double seconds) {
+        long[] sorted = Arrays.copyOf(nanos, count);
+        Arrays.sort(sorted);
+        long total = 0;
+        for (long n : sorted) {
+            total += n;
+        }
+        
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("requests", count);
+        row.put("errors", errors);
+        row.put("throughput", round(count / seconds));
+        row.put("meanMs", count == 0 ? 0.0 : millis(total / count));
+        row.put("p50Ms", millis(percentile(sorted, 0.50)));
+        row.put("p95Ms", millis(percentile(sorted, 0.95)));
+        row.put("p99Ms", millis(percentile(sorted, 0.99)));
+        row.put("maxMs", count == 0 ? 0.0 : millis(sorted[count - 1]));
+        row.put("statuses", new LinkedHashMap<>(statuses));
+        return row;
+    }
+    
+    /**
+     * Nearest-rank percentile
+     */
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+    
+    private static double millis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
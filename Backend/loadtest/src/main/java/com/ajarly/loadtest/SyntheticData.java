@@ -0,0 +1,63 @@
+package com.ajarly.loadtest;
+
+import java.util.Random;
+
+/**
+ * Shared shape of the synthetic traffic: where listings are and which ones
+ * get the attention. The generator seeds with it and the driver searches with
+ * it, so the load lands on the same hot spots the data has.
+ */
+final class SyntheticData {
+    
+    /**
+     * Governorate, share of listings in percent, and its cities. Cairo and
+     * Alexandria carry most of the listings, like production traffic does.
+     */
+    static final Object[][] GOVERNORATES = {
+        {"Cairo", 34, new String[] {"Nasr City", "Maadi", "New Cairo", "Heliopolis", "Zamalek", "Downtown"}},
+        {"Alexandria", 26, new String[] {"Alexandria", "Smouha", "Sidi Gaber", "Miami", "Agami", "Borg El Arab"}},
+        {"Giza", 10, new String[] {"Sheikh Zayed", "6th of October", "Dokki", "Mohandessin"}},
+        {"Red Sea", 9, new String[] {"Hurghada", "El Gouna", "Marsa Alam"}},
+        {"South Sinai", 7, new String[] {"Sharm El Sheikh", "Dahab"}},
+        {"Matrouh", 6, new String[] {"Marsa Matrouh", "Sahel"}},
+        {"Ismailia", 3, new String[] {"Ismailia", "Fayed"}},
+        {"Port Said", 3, new String[] {"Port Said"}},
+        {"Luxor", 2, new String[] {"Luxor"}}
+    };
+    
+    private SyntheticData() {
+    }
+    
+    /**
+     * Index into GOVERNORATES, weighted by listing share
+     */
+    static int governorate(Random random) {
+        int pick = random.nextInt(100);
+        for (int i = 0; i < GOVERNORATES.length; i++) {
+            pick -= (Integer) GOVERNORATES[i][1];
+            if (pick < 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+    
+    static String governorateName(int index) {
+        return (String) GOVERNORATES[index][0];
+    }
+    
+    static String city(int governorate, Random random) {
+        String[] cities = (String[]) GOVERNORATES[governorate][2];
+        // First city of each governorate is the busiest
+        return cities[skewedIndex(random, cities.length)];
+    }
+    
+    /**
+     * Index in [0, n) where low indexes are picked far more often: the first
+     * tenth of owners (or listings) gets about a third of the picks
+     */
+    static int skewedIndex(Random random, int n) {
+        double u = random.nextDouble();
+        return Math.min(n - 1, (int) (n * u * u));
+    }
+}
@@ -48,6 +48,7 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // ========== PUBLIC ENDPOINTS ==========
                         .requestMatchers("/", "/health").permitAll()  // ADD THIS LINE
+                        .requestMatchers("/metrics").permitAll()  // checks its own scrape token
 
                         .requestMatchers("/api/v1/auth/**").permitAll()
                         .requestMatchers("/api/v1/locations/**").permitAll()
@@ -1,6 +1,7 @@
 package com.ajarly.backend.controller;
 
 import com.ajarly.backend.dto.AdminActionRequest;
+import com.ajarly.backend.dto.CacheStatsResponse;
 import com.ajarly.backend.dto.DashboardStatsResponse;
 import com.ajarly.backend.dto.PendingPropertyResponse;
 import com.ajarly.backend.model.User;
@@ -12,6 +13,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/admin")
 @RequiredArgsConstructor
@@ -111,4 +114,25 @@ public class AdminController {
         adminService.verifyUser(id, adminId);
         return ResponseEntity.ok("User ID verified successfully");
     }
+    
+    /**
+     * GET /api/v1/admin/caches
+     * Size and hit/miss counters of the in-process reference data caches
+     */
+    @GetMapping("/caches")
+    public ResponseEntity<List<CacheStatsResponse>> getCacheStats() {
+        return ResponseEntity.ok(adminService.getCacheStats());
+    }
+    
+    /**
+     * DELETE /api/v1/admin/caches/{name}
+     * Drop every entry of one cache
+     */
+    @DeleteMapping("/caches/{name}")
+    public ResponseEntity<String> clearCache(
+            @PathVariable String name,
+            @RequestAttribute("userId") Long adminId) {
+        adminService.clearCache(name, adminId);
+        return ResponseEntity.ok("Cache cleared successfully");
+    }
 }
\ No newline at end of file
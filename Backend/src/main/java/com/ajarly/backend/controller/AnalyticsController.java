@@ -1,16 +1,21 @@
 package com.ajarly.backend.controller;
 
+import com.ajarly.backend.dto.AnalyticsBackfillRequest;
+import com.ajarly.backend.dto.AnalyticsBackfillStatusResponse;
 import com.ajarly.backend.dto.ApiResponse;
 import com.ajarly.backend.dto.OwnerDashboardResponse;
 import com.ajarly.backend.dto.PlatformAnalyticsResponse;
 import com.ajarly.backend.dto.PropertyAnalyticsResponse;
+import com.ajarly.backend.exception.BusinessException;
 import com.ajarly.backend.exception.ResourceNotFoundException;
 import com.ajarly.backend.model.Property;
 import com.ajarly.backend.model.Review;
 import com.ajarly.backend.repository.PropertyRepository;
 import com.ajarly.backend.repository.ReviewRepository;
 import com.ajarly.backend.repository.UserRepository;
+import com.ajarly.backend.service.AnalyticsBackfillService;
 import com.ajarly.backend.service.AnalyticsService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
@@ -42,6 +47,7 @@ import java.util.stream.Collectors;
 public class AnalyticsController {
     
     private final AnalyticsService analyticsService;
+    private final AnalyticsBackfillService analyticsBackfillService;
     private final PropertyRepository propertyRepository;
     private final UserRepository userRepository;
     private final ReviewRepository reviewRepository;
@@ -406,6 +412,98 @@ public class AnalyticsController {
         }
     }
     
+    // ============================================
+    // ADMIN ENDPOINTS FOR ANALYTICS BACKFILL
+    // ============================================
+    
+    /**
+     * POST /api/v1/analytics/admin/backfill
+     * بدء إعادة حساب التحليلات اليومية لفترة (واختيارياً لعقارات معينة)
+     * العملية بتشتغل في الخلفية؛ التقدم من GET /admin/backfill/{jobId}
+     */
+    @PostMapping("/admin/backfill")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<AnalyticsBackfillStatusResponse>> startBackfill(
+            @Valid @RequestBody AnalyticsBackfillRequest request) {
+        
+        log.info("POST /api/v1/analytics/admin/backfill - {} → {}", request.getStartDate(), request.getEndDate());
+        
+        try {
+            AnalyticsBackfillStatusResponse status = analyticsBackfillService.start(request, getCurrentUserId());
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success(status, "Analytics backfill started"));
+            
+        } catch (BusinessException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error starting analytics backfill", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to start analytics backfill: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * GET /api/v1/analytics/admin/backfill
+     * آخر 20 عملية backfill
+     */
+    @GetMapping("/admin/backfill")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<AnalyticsBackfillStatusResponse>>> getBackfillJobs() {
+        return ResponseEntity.ok(
+            ApiResponse.success(analyticsBackfillService.getRecentJobs(), "Backfill jobs retrieved successfully"));
+    }
+    
+    /**
+     * GET /api/v1/analytics/admin/backfill/{jobId}
+     * التقدم والسرعة (rows/sec) والوقت المتبقي (ETA)
+     */
+    @GetMapping("/admin/backfill/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<AnalyticsBackfillStatusResponse>> getBackfillStatus(
+            @PathVariable Long jobId) {
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success(analyticsBackfillService.getStatus(jobId), "Backfill status retrieved successfully"));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    /**
+     * POST /api/v1/analytics/admin/backfill/{jobId}/cancel
+     */
+    @PostMapping("/admin/backfill/{jobId}/cancel")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<AnalyticsBackfillStatusResponse>> cancelBackfill(
+            @PathVariable Long jobId) {
+        try {
+            return ResponseEntity.ok(
+                ApiResponse.success(analyticsBackfillService.cancel(jobId), "Backfill cancellation requested"));
+        } catch (BusinessException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    /**
+     * POST /api/v1/analytics/admin/backfill/{jobId}/resume
+     * استكمال عملية اتلغت أو فشلت من آخر يوم اتسجل
+     */
+    @PostMapping("/admin/backfill/{jobId}/resume")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<AnalyticsBackfillStatusResponse>> resumeBackfill(
+            @PathVariable Long jobId) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success(analyticsBackfillService.resume(jobId), "Analytics backfill resumed"));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (BusinessException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
     // ============ Helper Methods ============
     
     /**
@@ -2,17 +2,28 @@ package com.ajarly.backend.controller;
 
 import com.ajarly.backend.dto.*;
 import com.ajarly.backend.service.BookingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -27,6 +38,10 @@ import java.util.List;
 public class BookingController {
     
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
+    
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String NDJSON = "application/x-ndjson";
     
     /**
      * Helper method to extract userId from JWT (set by JwtAuthenticationFilter)
@@ -39,6 +54,17 @@ public class BookingController {
         return userId.intValue();
     }
     
+    /**
+     * Booking lists are paged only when a page is asked for, so existing clients still get the whole list.
+     * Passing cursor instead (empty for the first page) switches a list to keyset pages; page is then ignored.
+     */
+    private Pageable pageOf(Integer page, int size) {
+        if (page == null) {
+            return Pageable.unpaged();
+        }
+        return PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+    }
+    
     /**
      * Create a new booking request
      * POST /api/v1/bookings
@@ -67,15 +93,23 @@ public class BookingController {
      */
     @GetMapping
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<ApiResponse<List<BookingListResponse>>> getUserBookings(
+    public ResponseEntity<ApiResponse<?>> getUserBookings(
             @RequestParam(required = false) String status,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
             HttpServletRequest httpRequest) {
         
         Integer userId = getUserIdFromRequest(httpRequest);
         
         log.info("Fetching bookings for renter {}", userId);
         
-        List<BookingListResponse> bookings = bookingService.getRenterBookings(userId, status);
+        if (cursor != null) {
+            CursorPage<BookingListResponse> bookings = bookingService.getRenterBookingsAfter(userId, status, cursor, size);
+            return ResponseEntity.ok(ApiResponse.success(bookings, "Fetched " + bookings.getItems().size() + " bookings"));
+        }
+        
+        List<BookingListResponse> bookings = bookingService.getRenterBookings(userId, status, pageOf(page, size));
         
         return ResponseEntity.ok(ApiResponse.success(bookings, 
             "Fetched " + bookings.size() + " bookings"));
@@ -89,15 +123,23 @@ public class BookingController {
     @PreAuthorize("hasAnyRole('LANDLORD', 'BROKER')")
     @Transactional(readOnly = true)  // ✅ ADD THIS
 
-    public ResponseEntity<ApiResponse<List<BookingListResponse>>> getOwnerBookings(
+    public ResponseEntity<ApiResponse<?>> getOwnerBookings(
             @RequestParam(required = false) String status,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
             HttpServletRequest httpRequest) {
         
         Integer userId = getUserIdFromRequest(httpRequest);
         
         log.info("Fetching bookings for owner {}", userId);
         
-        List<BookingListResponse> bookings = bookingService.getOwnerBookings(userId, status);
+        if (cursor != null) {
+            CursorPage<BookingListResponse> bookings = bookingService.getOwnerBookingsAfter(userId, status, cursor, size);
+            return ResponseEntity.ok(ApiResponse.success(bookings, "Fetched " + bookings.getItems().size() + " bookings"));
+        }
+        
+        List<BookingListResponse> bookings = bookingService.getOwnerBookings(userId, status, pageOf(page, size));
       
         
         return ResponseEntity.ok(ApiResponse.success(bookings, 
@@ -110,14 +152,22 @@ public class BookingController {
      */
     @GetMapping("/upcoming")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<ApiResponse<List<BookingListResponse>>> getUpcomingBookings(
+    public ResponseEntity<ApiResponse<?>> getUpcomingBookings(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
             HttpServletRequest httpRequest) {
         
         Integer userId = getUserIdFromRequest(httpRequest);
         
         log.info("Fetching upcoming bookings for renter {}", userId);
         
-        List<BookingListResponse> bookings = bookingService.getUpcomingRenterBookings(userId);
+        if (cursor != null) {
+            CursorPage<BookingListResponse> bookings = bookingService.getUpcomingRenterBookingsAfter(userId, cursor, size);
+            return ResponseEntity.ok(ApiResponse.success(bookings, "Fetched " + bookings.getItems().size() + " upcoming bookings"));
+        }
+        
+        List<BookingListResponse> bookings = bookingService.getUpcomingRenterBookings(userId, pageOf(page, size));
         
         return ResponseEntity.ok(ApiResponse.success(bookings, 
             "Fetched " + bookings.size() + " upcoming bookings"));
@@ -129,19 +179,67 @@ public class BookingController {
      */
     @GetMapping("/owner/upcoming")
     @PreAuthorize("hasAnyRole('LANDLORD', 'BROKER')")
-    public ResponseEntity<ApiResponse<List<BookingListResponse>>> getOwnerUpcomingBookings(
+    public ResponseEntity<ApiResponse<?>> getOwnerUpcomingBookings(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
             HttpServletRequest httpRequest) {
         
         Integer userId = getUserIdFromRequest(httpRequest);
         
         log.info("Fetching upcoming bookings for owner {}", userId);
         
-        List<BookingListResponse> bookings = bookingService.getUpcomingOwnerBookings(userId);
+        if (cursor != null) {
+            CursorPage<BookingListResponse> bookings = bookingService.getUpcomingOwnerBookingsAfter(userId, cursor, size);
+            return ResponseEntity.ok(ApiResponse.success(bookings, "Fetched " + bookings.getItems().size() + " upcoming bookings"));
+        }
+        
+        List<BookingListResponse> bookings = bookingService.getUpcomingOwnerBookings(userId, pageOf(page, size));
         
         return ResponseEntity.ok(ApiResponse.success(bookings, 
             "Fetched " + bookings.size() + " upcoming bookings"));
     }
     
+    /**
+     * Export all bookings received by owner as newline-delimited JSON, oldest first
+     * GET /api/v1/bookings/owner/export
+     * 
+     * Rows are written to the response as they are read from the database,
+     * so the export never sits in memory as a whole. The download holds a pooled
+     * database connection until it finishes and is cut off after
+     * bookings.export.max-duration-seconds.
+     */
+    @GetMapping("/owner/export")
+    @PreAuthorize("hasAnyRole('LANDLORD', 'BROKER')")
+    public void exportOwnerBookings(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse) throws IOException {
+        
+        Integer userId = getUserIdFromRequest(httpRequest);
+        
+        log.info("Exporting bookings for owner {} (status={}, from={}, to={})", userId, status, from, to);
+        
+        httpResponse.setContentType(NDJSON);
+        httpResponse.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        httpResponse.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings-" + userId + ".ndjson\"");
+        
+        OutputStream out = httpResponse.getOutputStream();
+        long rows = bookingService.exportOwnerBookings(userId, status, from, to, row -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(row));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        out.flush();
+        
+        log.info("Exported {} bookings for owner {}", rows, userId);
+    }
+    
     /**
      * Get booking details by ID
      * GET /api/v1/bookings/{id}
@@ -238,4 +336,32 @@ public class BookingController {
         return ResponseEntity.ok(ApiResponse.success(availability, 
             availability.getAvailable() ? "Property is available" : "Property is not available"));
     }
+    
+    /**
+     * Occupied nights for the next N months (default 3, max 18) in one response
+     * GET /api/v1/bookings/availability/calendar
+     * 
+     * The ETag changes only when the occupied nights do, so a client repainting
+     * the calendar with If-None-Match gets an empty 304 back.
+     */
+    @GetMapping("/availability/calendar")
+    public ResponseEntity<ApiResponse<AvailabilityCalendarResponse>> getAvailabilityCalendar(
+            @RequestParam Integer propertyId,
+            @RequestParam(required = false) Integer months) {
+        
+        AvailabilityCalendarResponse calendar = bookingService.getAvailabilityCalendar(propertyId, months);
+        
+        return ResponseEntity.ok()
+            .eTag(calendarETag(calendar))
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .body(ApiResponse.success(calendar, "Availability calendar retrieved successfully"));
+    }
+    
+    private String calendarETag(AvailabilityCalendarResponse calendar) {
+        return String.format("\"%d-%s-%d-%s\"",
+            calendar.getPropertyId(),
+            calendar.getStartDate(),
+            calendar.getNights(),
+            DigestUtils.md5DigestAsHex(calendar.getOccupancyBitmap().getBytes(StandardCharsets.US_ASCII)));
+    }
 }
\ No newline at end of file
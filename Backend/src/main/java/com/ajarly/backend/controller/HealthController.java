@@ -1,13 +1,19 @@
 package com.ajarly.backend.controller;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 import java.util.HashMap;
 import java.util.Map;
 
 @RestController
+@RequiredArgsConstructor
 public class HealthController {
 
+    private final ApplicationAvailability availability;
+
     @GetMapping("/")
     public Map<String, String> root() {
         Map<String, String> response = new HashMap<>();
@@ -21,6 +27,8 @@ public class HealthController {
     public Map<String, String> health() {
         Map<String, String> response = new HashMap<>();
         response.put("status", "UP");
+        // false while startup jobs (summary rebuild, rollup catch-up, indexes) still run
+        response.put("ready", String.valueOf(availability.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC));
         return response;
     }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.ajarly.backend.controller;
+
+import com.ajarly.backend.metrics.MetricsRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Prometheus scrape endpoint.
+ *
+ * Authenticated with a static bearer token (metrics.scrape-token) rather than
+ * a user JWT, so the scraper does not depend on a user account. Disabled
+ * (404) while no token is configured.
+ */
+@RestController
+@RequiredArgsConstructor
+public class MetricsController {
+    
+    private final MetricsRegistry metricsRegistry;
+    
+    @Value("${metrics.scrape-token:}")
+    private String scrapeToken;
+    
+    @GetMapping(value = "/metrics", produces = "text/plain; version=0.0.4; charset=utf-8")
+    public ResponseEntity<String> scrape(
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+        if (!StringUtils.hasText(scrapeToken)) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        byte[] expected = ("Bearer " + scrapeToken).getBytes(StandardCharsets.UTF_8);
+        byte[] actual = authorization != null ? authorization.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        if (!MessageDigest.isEqual(expected, actual)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        
+        return ResponseEntity.ok(metricsRegistry.scrape());
+    }
+}
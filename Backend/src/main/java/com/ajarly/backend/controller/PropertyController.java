@@ -1,6 +1,8 @@
 package com.ajarly.backend.controller;
 
+import com.ajarly.backend.dto.CursorPage;
 import com.ajarly.backend.dto.PropertyDto;
+import com.ajarly.backend.event.PropertyChangedEvent;
 import com.ajarly.backend.model.Property;
 import com.ajarly.backend.repository.PropertyRepository;
 import com.ajarly.backend.service.PropertyService;
@@ -8,6 +10,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -31,6 +34,7 @@ public class PropertyController {
     
     private final PropertyService propertyService;
     private final PropertyRepository propertyRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Extract userId from JWT token
@@ -43,6 +47,20 @@ public class PropertyController {
         return (Long) userId;
     }
     
+    /**
+     * Identify a visitor for unique-view analytics:
+     * user id when signed in, otherwise the client IP. Behind the proxy the container resolves
+     * it from X-Forwarded-For only when the request comes from a trusted proxy
+     * (server.forward-headers-strategy), so clients cannot pick their own key.
+     */
+    private String getVisitorKey(HttpServletRequest request) {
+        Object userId = request.getAttribute("userId");
+        if (userId != null) {
+            return "u:" + userId;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+    
     // ============================================
     // ADMIN ENDPOINTS
     // ============================================
@@ -71,6 +89,7 @@ public class PropertyController {
             property.setDeletedAt(LocalDateTime.now());
             property.setDeletedBy(adminUserId);
             propertyRepository.save(property);
+            eventPublisher.publishEvent(PropertyChangedEvent.of(property, PropertyChangedEvent.ChangeType.DELETED));
             
             log.info("Property {} soft deleted by admin {}", id, adminUserId);
             
@@ -131,11 +150,11 @@ public class PropertyController {
      * GET /api/v1/properties/{id}
      */
     @GetMapping("/properties/{id}")
-    public ResponseEntity<?> getProperty(@PathVariable Long id) {
+    public ResponseEntity<?> getProperty(@PathVariable Long id, HttpServletRequest httpRequest) {
         try {
             log.info("📖 Fetching property: {}", id);
             
-            PropertyDto.Response property = propertyService.getPropertyById(id);
+            PropertyDto.Response property = propertyService.getPropertyById(id, getVisitorKey(httpRequest));
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -154,6 +173,10 @@ public class PropertyController {
     /**
      * Search properties with filters (public)
      * GET /api/v1/properties
+     * 
+     * Pass cursor (empty for the first page) to switch to keyset pagination:
+     * page is ignored, no total count is computed and pagination.nextCursor
+     * points at the next page.
      */
     @GetMapping("/properties")
     public ResponseEntity<?> searchProperties(
@@ -166,12 +189,21 @@ public class PropertyController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDir) {
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            @RequestParam(required = false) String cursor) {
         
         try {
             log.info("🔍 Search request - gov: {}, city: {}, type: {}, beds: {}, page: {}", 
                      governorate, city, propertyType, bedrooms, page);
             
+            if (cursor != null) {
+                CursorPage<PropertyDto.ListResponse> properties = propertyService.searchPropertiesAfter(
+                    governorate, city, propertyType, minPrice, maxPrice, bedrooms,
+                    sortBy, sortDir.equalsIgnoreCase("ASC"), cursor, size
+                );
+                return ResponseEntity.ok(cursorResponse(properties));
+            }
+            
             Sort sort = sortDir.equalsIgnoreCase("ASC") 
                 ? Sort.by(sortBy).ascending() 
                 : Sort.by(sortBy).descending();
@@ -198,6 +230,12 @@ public class PropertyController {
             
             return ResponseEntity.ok(response);
             
+        } catch (IllegalArgumentException e) {
+            log.error("❌ Invalid search request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
         } catch (RuntimeException e) {
             log.error("❌ Error searching properties: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of(
@@ -218,11 +256,16 @@ public class PropertyController {
     public ResponseEntity<?> getMyProperties(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
             HttpServletRequest httpRequest) {
         
         try {
             Long userId = getUserIdFromRequest(httpRequest);
             
+            if (cursor != null) {
+                return ResponseEntity.ok(cursorResponse(propertyService.getMyPropertiesAfter(userId, cursor, size)));
+            }
+            
             log.info("👤 User {} fetching their properties (page: {})", userId, page);
             
             Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
@@ -254,6 +297,22 @@ public class PropertyController {
         }
     }
     
+    /**
+     * Response body for keyset-paginated lists
+     */
+    private Map<String, Object> cursorResponse(CursorPage<PropertyDto.ListResponse> properties) {
+        Map<String, Object> pagination = new HashMap<>();
+        pagination.put("itemsPerPage", properties.getSize());
+        pagination.put("hasNext", properties.getHasNext());
+        pagination.put("nextCursor", properties.getNextCursor());
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", properties.getItems());
+        response.put("pagination", pagination);
+        return response;
+    }
+    
     /**
      * Update a property
      * PUT /api/v1/properties/{id}
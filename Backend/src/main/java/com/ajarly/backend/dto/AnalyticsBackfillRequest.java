@@ -0,0 +1,30 @@
+package com.ajarly.backend.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * طلب إعادة حساب التحليلات اليومية لفترة (Admin)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsBackfillRequest {
+    
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+    
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+    
+    // null أو فاضية = كل العقارات
+    private List<Long> propertyIds;
+    
+    // true = تحديث الصفوف الموجودة كمان (بعد إصلاح bug في الحساب)
+    private Boolean recompute = false;
+}
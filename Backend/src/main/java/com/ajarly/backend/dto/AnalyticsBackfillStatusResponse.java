@@ -0,0 +1,44 @@
+package com.ajarly.backend.dto;
+
+import com.ajarly.backend.model.AnalyticsBackfillJob.BackfillStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * حالة عملية backfill: التقدم والسرعة والوقت المتبقي
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnalyticsBackfillStatusResponse {
+    
+    private Long jobId;
+    private BackfillStatus status;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer propertyCount;        // null = كل العقارات
+    private Boolean recompute;
+    
+    // ========== التقدم ==========
+    private Integer totalDays;
+    private Integer completedDays;
+    private Long rowsWritten;
+    private Double percentComplete;
+    
+    // ========== السرعة (للتشغيل الحالي بس) ==========
+    private Integer workers;
+    private Double rowsPerSecond;
+    private Double daysPerMinute;
+    private Long etaSeconds;              // null لو العملية مش شغالة
+    
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,47 @@
+package com.ajarly.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A property's occupied nights from startDate (inclusive) to endDate (exclusive).
+ *
+ * The same nights are sent two ways so clients can use whichever is easier to paint:
+ * - occupiedRanges: merged runs, each half-open (checkOut-style "to")
+ * - occupancyBitmap: base64 of a little-endian bitset, bit i = night startDate + i;
+ *   trailing free nights are trimmed, so missing bytes mean free
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityCalendarResponse {
+    
+    private Integer propertyId;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate startDate;
+    
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate endDate;
+    
+    private Integer nights;
+    private Integer occupiedNights;
+    private List<OccupiedRange> occupiedRanges;
+    private String occupancyBitmap;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OccupiedRange {
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        private LocalDate from;
+        
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        private LocalDate to;
+    }
+}
@@ -1,5 +1,8 @@
 package com.ajarly.backend.dto;
 
+import com.ajarly.backend.model.Booking.BookingStatus;
+import com.ajarly.backend.model.Booking.PaymentStatus;
+import com.ajarly.backend.model.Property.PropertyType;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -53,4 +56,40 @@ public class BookingListResponse {
     
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime expiresAt;
+    
+    /**
+     * Constructor for the booking list projection queries, which select the
+     * columns straight from the database without loading any entity
+     */
+    public BookingListResponse(Integer bookingId, String bookingReference,
+                               Integer propertyId, String propertyTitle, PropertyType propertyType,
+                               String propertyCity, String propertyCoverImage,
+                               Long otherPartyId, String otherPartyFirstName, String otherPartyLastName,
+                               String otherPartyPhone,
+                               LocalDate checkInDate, LocalDate checkOutDate,
+                               Integer numberOfNights, Integer numberOfGuests,
+                               BigDecimal totalPrice, String currency,
+                               BookingStatus status, PaymentStatus paymentStatus,
+                               LocalDateTime requestedAt, LocalDateTime expiresAt) {
+        this.bookingId = bookingId;
+        this.bookingReference = bookingReference;
+        this.propertyId = propertyId;
+        this.propertyTitle = propertyTitle;
+        this.propertyType = propertyType != null ? propertyType.name() : null;
+        this.propertyCity = propertyCity;
+        this.propertyCoverImage = propertyCoverImage;
+        this.otherPartyId = otherPartyId != null ? otherPartyId.intValue() : null;
+        this.otherPartyName = otherPartyFirstName + " " + otherPartyLastName;
+        this.otherPartyPhone = otherPartyPhone;
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+        this.numberOfNights = numberOfNights;
+        this.numberOfGuests = numberOfGuests;
+        this.totalPrice = totalPrice;
+        this.currency = currency;
+        this.status = status != null ? status.name() : null;
+        this.paymentStatus = paymentStatus != null ? paymentStatus.name() : null;
+        this.requestedAt = requestedAt;
+        this.expiresAt = expiresAt;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.ajarly.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsResponse {
+    private String name;
+    private Integer size;
+    private Integer maxEntries;
+    private Long ttlMillis;
+    private Long hits;
+    private Long misses;
+    private Long evictions;
+    private Double hitRate;
+}
@@ -0,0 +1,57 @@
+package com.ajarly.backend.dto;
+
+import com.ajarly.backend.model.Property;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * صف واحد لكل عقار في لوحة تحكم المالك:
+ * بيانات العقار الأساسية + الملخص الجاهز (JPQL constructor projection)
+ * حقول الملخص بتبقى null لو العقار لسه مالوش صف في owner_property_summaries
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OwnerPropertyStats {
+    
+    private Long propertyId;
+    private String propertyTitle;
+    private Property.PropertyStatus status;
+    private Integer viewCount;
+    private BigDecimal averageRating;
+    
+    private Integer totalBookings;
+    private Integer pendingBookings;
+    private Integer confirmedBookings;
+    private Integer completedBookings;
+    private BigDecimal totalRevenue;
+    private Integer reviewCount;
+    private BigDecimal ratingSum;
+    
+    /**
+     * الحجوزات اللي بتتحسب إيراد (confirmed + completed)
+     */
+    public int getEarningBookings() {
+        return nz(confirmedBookings) + nz(completedBookings);
+    }
+    
+    public BigDecimal getRevenueOrZero() {
+        return totalRevenue != null ? totalRevenue : BigDecimal.ZERO;
+    }
+    
+    public BigDecimal getAverageRatingOrZero() {
+        return averageRating != null ? averageRating : BigDecimal.ZERO;
+    }
+    
+    public static int nz(Integer value) {
+        return value != null ? value : 0;
+    }
+    
+    public static BigDecimal average(BigDecimal sum, int count) {
+        return count == 0 ? BigDecimal.ZERO : sum.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+}
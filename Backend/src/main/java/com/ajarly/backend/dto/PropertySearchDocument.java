@@ -0,0 +1,78 @@
+package com.ajarly.backend.dto;
+
+import com.ajarly.backend.model.Property;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * نسخة خفيفة من العقار فيها الحقول اللي فهرس البحث محتاجها بس
+ * بتتحمل مباشرة من قاعدة البيانات (JPQL constructor) من غير الوصف والصور
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertySearchDocument {
+
+    private Long propertyId;
+    private Property.PropertyStatus status;
+
+    // ========== الموقع ==========
+    private String governorate;
+    private String city;
+    private String neighborhood;
+
+    // ========== النوع ==========
+    private Property.PropertyType propertyType;
+    private Property.RentalType rentalType;
+
+    // ========== الأرقام ==========
+    private BigDecimal pricePerNight;
+    private Integer bedrooms;
+    private Integer bathrooms;
+    private Integer guestsCapacity;
+
+    // ========== المميزات ==========
+    private Boolean furnished;
+    private Boolean petsAllowed;
+    private Boolean smokingAllowed;
+    private Boolean instantBooking;
+    private Boolean isVerified;
+    private Boolean isFeatured;
+
+    // ========== حقول الترتيب ==========
+    private BigDecimal averageRating;
+    private Integer viewCount;
+    private LocalDateTime createdAt;
+
+    /**
+     * بناء document من Entity محمّل بالفعل
+     */
+    public static PropertySearchDocument from(Property property) {
+        return new PropertySearchDocument(
+            property.getPropertyId(),
+            property.getStatus(),
+            property.getGovernorate(),
+            property.getCity(),
+            property.getNeighborhood(),
+            property.getPropertyType(),
+            property.getRentalType(),
+            property.getPricePerNight(),
+            property.getBedrooms(),
+            property.getBathrooms(),
+            property.getGuestsCapacity(),
+            property.getFurnished(),
+            property.getPetsAllowed(),
+            property.getSmokingAllowed(),
+            property.getInstantBooking(),
+            property.getIsVerified(),
+            property.getIsFeatured(),
+            property.getAverageRating(),
+            property.getViewCount(),
+            property.getCreatedAt()
+        );
+    }
+}
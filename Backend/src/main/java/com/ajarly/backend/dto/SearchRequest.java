@@ -42,7 +42,8 @@ public class SearchRequest {
     private Boolean isVerified;      // عقار موثق
     private Boolean isFeatured;      // عقار مميز
     
-    // ========== فلاتر التواريخ (للمستقبل) ==========
+    // ========== فلاتر التواريخ (الإتاحة) ==========
+    // لازم الاتنين مع بعض - العقارات المحجوزة أو المقفولة في أي ليلة من الفترة بتتشال
     private LocalDate checkIn;       // تاريخ الدخول (اختياري)
     private LocalDate checkOut;      // تاريخ الخروج (اختياري)
     
@@ -54,6 +55,24 @@ public class SearchRequest {
     private Integer page = 0;        // رقم الصفحة (افتراضي 0)
     private Integer size = 10;       // عدد النتائج في الصفحة (افتراضي 10)
     
+    // ========== Keyset Pagination (Infinite Scroll) ==========
+    // لو موجود (حتى لو فاضي "") البحث بيشتغل بالـ cursor ويتجاهل page ومش بيحسب العدد الكلي
+    private String cursor;           // nextCursor من الصفحة السابقة
+    
+    /**
+     * هل الطلب بوضع الـ cursor؟
+     */
+    public boolean isCursorMode() {
+        return cursor != null;
+    }
+    
+    /**
+     * هل فيه فلتر إتاحة بالتواريخ؟
+     */
+    public boolean hasDateRange() {
+        return checkIn != null && checkOut != null;
+    }
+    
     /**
      * تحقق من صحة نطاق السعر
      * @return true إذا كان النطاق صحيح
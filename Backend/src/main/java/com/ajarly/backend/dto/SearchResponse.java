@@ -37,6 +37,7 @@ public class SearchResponse {
         private Integer itemsPerPage;     // عدد النتائج في كل صفحة
         private Boolean hasNext;          // يوجد صفحة تالية؟
         private Boolean hasPrevious;      // يوجد صفحة سابقة؟
+        private String nextCursor;        // cursor الصفحة التالية (null لو مفيش)
     }
     
     /**
@@ -74,7 +75,8 @@ public class SearchResponse {
             page.getTotalElements(),
             page.getSize(),
             page.hasNext(),
-            page.hasPrevious()
+            page.hasPrevious(),
+            null
         );
         response.setPagination(paginationInfo);
         
@@ -89,4 +91,39 @@ public class SearchResponse {
         
         return response;
     }
+    
+    /**
+     * دالة مساعدة لإنشاء Response في وضع الـ cursor
+     * (مفيش رقم صفحة، والعدد الكلي ممكن يبقى null لو ماتحسبش)
+     */
+    public static SearchResponse fromCursor(
+            List<PropertyDto.ListResponse> properties,
+            String nextCursor,
+            Long totalItems,
+            int itemsPerPage,
+            boolean hasPrevious,
+            long executionTimeMs,
+            int appliedFiltersCount,
+            String sortBy,
+            String sortDirection) {
+        
+        SearchResponse response = new SearchResponse();
+        response.setProperties(properties);
+        response.setPagination(new PaginationInfo(
+            null,
+            null,
+            totalItems,
+            itemsPerPage,
+            nextCursor != null,
+            hasPrevious,
+            nextCursor
+        ));
+        response.setMetadata(new SearchMetadata(
+            executionTimeMs,
+            appliedFiltersCount,
+            sortBy,
+            sortDirection
+        ));
+        return response;
+    }
 }
@@ -0,0 +1,75 @@
+package com.ajarly.backend.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset (seek) cursor for infinite scroll.
+ *
+ * Holds the sort field, its direction, the last row's sort value and its id.
+ * Clients only pass the encoded token back to get the next page.
+ */
+@Getter
+@RequiredArgsConstructor
+public class SeekCursor {
+
+    private static final String VERSION = "v1";
+
+    private final String sortField;
+    private final boolean ascending;
+    private final String value;     // null when the last row's sort value was NULL
+    private final long id;
+
+    public static SeekCursor of(String sortField, boolean ascending, Object value, long id) {
+        String raw = value == null ? null
+            : value instanceof BigDecimal decimal ? decimal.toPlainString()
+            : value.toString();
+        return new SeekCursor(sortField, ascending, raw, id);
+    }
+
+    public String encode() {
+        String raw = String.join("|",
+            VERSION,
+            sortField,
+            ascending ? "asc" : "desc",
+            value == null ? "" : value,
+            Long.toString(id));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static SeekCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new SeekCursor(
+                parts[1],
+                "asc".equals(parts[2]),
+                parts[3].isEmpty() ? null : parts[3],
+                Long.parseLong(parts[4])
+            );
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Cursors are only valid for the sort they were issued for
+     */
+    public void requireSort(String expectedField, boolean expectedAscending) {
+        if (!sortField.equals(expectedField) || ascending != expectedAscending) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort order");
+        }
+    }
+}
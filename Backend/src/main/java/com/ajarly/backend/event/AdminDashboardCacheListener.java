@@ -0,0 +1,35 @@
+package com.ajarly.backend.event;
+
+import com.ajarly.backend.service.AdminDashboardStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Drops the cached admin dashboard stats once a change that affects them is committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class AdminDashboardCacheListener {
+    
+    private final AdminDashboardStatsService dashboardStatsService;
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserStatusChanged(UserStatusChangedEvent event) {
+        dashboardStatsService.invalidate();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        dashboardStatsService.invalidate();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        // Listing counts and approvals only; ratings and favorites are not on the dashboard
+        switch (event.getChangeType()) {
+            case CREATED, DELETED, APPROVED, REJECTED, SUSPENDED -> dashboardStatsService.invalidate();
+            default -> { }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.ajarly.backend.event;
+
+import com.ajarly.backend.service.AvailabilityIndexService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the in-memory availability index in step with committed booking changes.
+ */
+@Component
+@RequiredArgsConstructor
+public class AvailabilityIndexListener {
+    
+    private final AvailabilityIndexService availabilityIndex;
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        availabilityIndex.applyBookingChange(event);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        if (event.getChangeType() == PropertyChangedEvent.ChangeType.DELETED) {
+            availabilityIndex.evict(event.getPropertyId());
+        }
+    }
+}
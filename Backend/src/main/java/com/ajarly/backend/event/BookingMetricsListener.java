@@ -0,0 +1,23 @@
+package com.ajarly.backend.event;
+
+import com.ajarly.backend.metrics.MetricsRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Counts committed booking state transitions; "none" is the source state of a new booking.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingMetricsListener {
+    
+    private final MetricsRegistry metricsRegistry;
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        metricsRegistry.increment("booking_transitions_total",
+                "from", event.getPreviousStatus() != null ? event.getPreviousStatus().name() : "none",
+                "to", event.getNewStatus().name());
+    }
+}
@@ -0,0 +1,43 @@
+package com.ajarly.backend.event;
+
+import com.ajarly.backend.model.Booking;
+import com.ajarly.backend.model.Booking.BookingStatus;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Published whenever a booking is created or moves to a new status.
+ *
+ * previousStatus is null for a newly created booking.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class BookingStatusChangedEvent {
+    
+    private final Integer bookingId;
+    private final Long propertyId;
+    private final Long ownerId;
+    private final BookingStatus previousStatus;
+    private final BookingStatus newStatus;
+    private final LocalDateTime requestedAt;
+    private final LocalDate checkInDate;
+    private final LocalDate checkOutDate;
+    
+    public static BookingStatusChangedEvent of(Booking booking, BookingStatus previousStatus) {
+        return new BookingStatusChangedEvent(
+            booking.getBookingId(),
+            booking.getProperty().getPropertyId(),
+            booking.getOwner().getUserId(),
+            previousStatus,
+            booking.getStatus(),
+            booking.getRequestedAt(),
+            booking.getCheckInDate(),
+            booking.getCheckOutDate()
+        );
+    }
+}
@@ -0,0 +1,38 @@
+package com.ajarly.backend.event;
+
+import com.ajarly.backend.service.OwnerPropertySummaryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the owner dashboard summary in step with booking and review changes.
+ *
+ * Runs after the change is committed and only marks the property; the summary
+ * service refreshes marked properties on its own schedule, so the request that
+ * made the change never waits on it.
+ */
+@Component
+@RequiredArgsConstructor
+public class OwnerPropertySummaryListener {
+    
+    private final OwnerPropertySummaryService summaryService;
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        refresh(event.getPropertyId());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        // New listings get an empty row; review approvals and rejections arrive as RATING_CHANGED
+        if (event.getChangeType() == PropertyChangedEvent.ChangeType.CREATED
+                || event.getChangeType() == PropertyChangedEvent.ChangeType.RATING_CHANGED) {
+            refresh(event.getPropertyId());
+        }
+    }
+    
+    private void refresh(Long propertyId) {
+        summaryService.markDirty(propertyId);
+    }
+}
@@ -0,0 +1,28 @@
+package com.ajarly.backend.event;
+
+import com.ajarly.backend.service.PlatformRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Marks the platform rollup day of a booking as changed when its status moves.
+ *
+ * Bookings are bucketed by the day they were requested, so a status change on
+ * an old booking alters that day's counts. The day is re-rolled in the
+ * background; repeated changes to the same day collapse into one refresh.
+ */
+@Component
+@RequiredArgsConstructor
+public class PlatformRollupListener {
+    
+    private final PlatformRollupService rollupService;
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        // New bookings land on today, which is always computed live
+        if (event.getPreviousStatus() != null && event.getRequestedAt() != null) {
+            rollupService.markDirty(event.getRequestedAt().toLocalDate());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.ajarly.backend.event;
+
+import com.ajarly.backend.service.PropertySearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Applies property changes to derived in-memory views once the change is committed.
+ *
+ * Each event touches only the affected listing, so nothing needs to rescan
+ * the properties table when one listing changes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PropertyChangeListener {
+    
+    private final PropertySearchIndex searchIndex;
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        log.debug("Applying property change: {} {}", event.getChangeType(), event.getPropertyId());
+        
+        // Favorite count is not part of the search index
+        if (event.getChangeType() == PropertyChangedEvent.ChangeType.FAVORITES_CHANGED) {
+            return;
+        }
+        
+        if (event.isSearchable()) {
+            searchIndex.upsert(event.getSnapshot());
+        } else {
+            searchIndex.remove(event.getPropertyId());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.ajarly.backend.event;
+
+import com.ajarly.backend.dto.PropertySearchDocument;
+import com.ajarly.backend.model.Property;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Published whenever a property's listing state changes.
+ *
+ * Carries a snapshot of the searchable fields taken after the change, so
+ * consumers can update derived views without reading the row again.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class PropertyChangedEvent {
+    
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED,
+        APPROVED,
+        REJECTED,
+        SUSPENDED,
+        RATING_CHANGED,
+        FAVORITES_CHANGED
+    }
+    
+    private final Long propertyId;
+    private final ChangeType changeType;
+    private final PropertySearchDocument snapshot;
+    
+    public static PropertyChangedEvent of(Property property, ChangeType changeType) {
+        return new PropertyChangedEvent(
+            property.getPropertyId(),
+            changeType,
+            PropertySearchDocument.from(property)
+        );
+    }
+    
+    /**
+     * Whether the property should be visible in search after this change
+     */
+    public boolean isSearchable() {
+        return changeType != ChangeType.DELETED
+            && snapshot != null
+            && snapshot.getStatus() == Property.PropertyStatus.active;
+    }
+}
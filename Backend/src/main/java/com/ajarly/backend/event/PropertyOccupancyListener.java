@@ -0,0 +1,24 @@
+package com.ajarly.backend.event;
+
+import com.ajarly.backend.service.PropertyOccupancyIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the search occupancy bitmaps in step with booking status changes.
+ *
+ * Runs after the change is committed and only marks the property; the index
+ * refreshes marked properties in batches on its own schedule.
+ */
+@Component
+@RequiredArgsConstructor
+public class PropertyOccupancyListener {
+    
+    private final PropertyOccupancyIndex occupancyIndex;
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        occupancyIndex.markDirty(event.getPropertyId());
+    }
+}
@@ -0,0 +1,30 @@
+package com.ajarly.backend.event;
+
+import com.ajarly.backend.service.ReferenceDataCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Clears cached reference data once a change that affects it is committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataCacheListener {
+    
+    private final ReferenceDataCache referenceDataCache;
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        // Location lists and price stats only count active listings; ratings and favorites don't touch them
+        switch (event.getChangeType()) {
+            case CREATED, UPDATED, DELETED, APPROVED, REJECTED, SUSPENDED -> referenceDataCache.invalidateLocations();
+            default -> { }
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubscriptionChanged(SubscriptionChangedEvent event) {
+        referenceDataCache.getSubscriptionLimits().invalidate(event.getUserId());
+    }
+}
@@ -0,0 +1,17 @@
+package com.ajarly.backend.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Published when a user's subscription starts, is cancelled or expires,
+ * or when its listing usage changes.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class SubscriptionChangedEvent {
+    
+    private final Long userId;
+}
@@ -0,0 +1,30 @@
+package com.ajarly.backend.event;
+
+import com.ajarly.backend.security.TokenRevocationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Applies committed bans, unbans and password changes to the token revocation registry.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationListener {
+    
+    private final TokenRevocationRegistry revocationRegistry;
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserStatusChanged(UserStatusChangedEvent event) {
+        if (event.isActive()) {
+            revocationRegistry.unban(event.getUserId());
+        } else {
+            revocationRegistry.ban(event.getUserId());
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCredentialsChanged(UserCredentialsChangedEvent event) {
+        revocationRegistry.revokeIssuedBefore(event.getUserId(), event.getChangedAt());
+    }
+}
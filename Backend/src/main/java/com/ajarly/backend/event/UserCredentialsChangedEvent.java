@@ -0,0 +1,19 @@
+package com.ajarly.backend.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a user's password changes; tokens issued before changedAt are no longer valid.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class UserCredentialsChangedEvent {
+    
+    private final Long userId;
+    private final LocalDateTime changedAt;
+}
@@ -0,0 +1,17 @@
+package com.ajarly.backend.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Published when an admin bans or unbans a user, or a report suspends or bans one.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class UserStatusChangedEvent {
+    
+    private final Long userId;
+    private final boolean active;
+}
@@ -0,0 +1,26 @@
+package com.ajarly.backend.metrics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Installs PoolMetricsTrackerFactory on the Hikari data source before its
+ * pool starts (the pool is created on the first getConnection()).
+ */
+@Component
+@RequiredArgsConstructor
+public class DataSourceMetricsPostProcessor implements BeanPostProcessor {
+    
+    private final ObjectProvider<MetricsRegistry> metricsRegistry;
+    
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource && dataSource.getMetricsTrackerFactory() == null) {
+            dataSource.setMetricsTrackerFactory(new PoolMetricsTrackerFactory(metricsRegistry.getObject()));
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,40 @@
+package com.ajarly.backend.metrics;
+
+/**
+ * What the current thread is working for: an HTTP route such as
+ * "GET /api/v1/bookings/owner", a scheduled task or a background worker.
+ *
+ * Connection pool metrics are tagged with it, which is how pool usage is
+ * attributed to the endpoint or job holding the connections.
+ */
+public final class MetricsContext {
+    
+    static final String NONE = "none";
+    
+    private static final ThreadLocal<String> ROUTE = new ThreadLocal<>();
+    
+    private MetricsContext() {
+    }
+    
+    public static String currentRoute() {
+        String route = ROUTE.get();
+        return route != null ? route : NONE;
+    }
+    
+    /**
+     * Set the route for this thread and return the previous one, for restore()
+     */
+    public static String enter(String route) {
+        String previous = ROUTE.get();
+        ROUTE.set(route);
+        return previous;
+    }
+    
+    public static void restore(String previous) {
+        if (previous == null) {
+            ROUTE.remove();
+        } else {
+            ROUTE.set(previous);
+        }
+    }
+}
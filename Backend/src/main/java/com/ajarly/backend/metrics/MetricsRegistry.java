@@ -0,0 +1,132 @@
+package com.ajarly.backend.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * In-process registry of timers, counters and gauges, rendered in the
+ * Prometheus text format by scrape().
+ *
+ * Tags are passed as alternating key/value pairs. Keep their values to a
+ * small fixed set (route patterns, enum names, method names); every distinct
+ * combination is a separate series held for the life of the process.
+ */
+@Component
+public class MetricsRegistry {
+    
+    private final Map<MeterId, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<MeterId, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<MeterId, Supplier<? extends Number>> gauges = new ConcurrentHashMap<>();
+    
+    public Timer timer(String name, String... tags) {
+        return timers.computeIfAbsent(MeterId.of(name, tags), id -> new Timer());
+    }
+    
+    public void increment(String name, String... tags) {
+        counters.computeIfAbsent(MeterId.of(name, tags), id -> new LongAdder()).increment();
+    }
+    
+    public void gauge(String name, Supplier<? extends Number> value, String... tags) {
+        gauges.put(MeterId.of(name, tags), value);
+    }
+    
+    /**
+     * All metrics in the Prometheus text exposition format (version 0.0.4)
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(16_384);
+        
+        for (Map.Entry<String, List<Map.Entry<MeterId, Timer>>> family : byName(timers).entrySet()) {
+            String name = family.getKey();
+            out.append("# TYPE ").append(name).append(" histogram\n");
+            for (Map.Entry<MeterId, Timer> meter : family.getValue()) {
+                MeterId id = meter.getKey();
+                Timer timer = meter.getValue();
+                long[] cumulative = timer.cumulativeBuckets();
+                for (int i = 0; i < cumulative.length; i++) {
+                    String le = i < Timer.BUCKET_BOUNDS.length ? Double.toString(Timer.BUCKET_BOUNDS[i]) : "+Inf";
+                    out.append(name).append("_bucket");
+                    appendTags(out, id, "le", le);
+                    out.append(' ').append(cumulative[i]).append('\n');
+                }
+                out.append(name).append("_sum");
+                appendTags(out, id);
+                out.append(' ').append(timer.totalSeconds()).append('\n');
+                out.append(name).append("_count");
+                appendTags(out, id);
+                out.append(' ').append(timer.count()).append('\n');
+            }
+            
+            out.append("# TYPE ").append(name).append("_max gauge\n");
+            for (Map.Entry<MeterId, Timer> meter : family.getValue()) {
+                out.append(name).append("_max");
+                appendTags(out, meter.getKey());
+                out.append(' ').append(meter.getValue().maxSeconds()).append('\n');
+            }
+        }
+        
+        for (Map.Entry<String, List<Map.Entry<MeterId, LongAdder>>> family : byName(counters).entrySet()) {
+            out.append("# TYPE ").append(family.getKey()).append(" counter\n");
+            for (Map.Entry<MeterId, LongAdder> meter : family.getValue()) {
+                out.append(family.getKey());
+                appendTags(out, meter.getKey());
+                out.append(' ').append(meter.getValue().sum()).append('\n');
+            }
+        }
+        
+        for (Map.Entry<String, List<Map.Entry<MeterId, Supplier<? extends Number>>>> family : byName(gauges).entrySet()) {
+            out.append("# TYPE ").append(family.getKey()).append(" gauge\n");
+            for (Map.Entry<MeterId, Supplier<? extends Number>> meter : family.getValue()) {
+                out.append(family.getKey());
+                appendTags(out, meter.getKey());
+                out.append(' ').append(meter.getValue().get().doubleValue()).append('\n');
+            }
+        }
+        return out.toString();
+    }
+    
+    private static <T> Map<String, List<Map.Entry<MeterId, T>>> byName(Map<MeterId, T> meters) {
+        Map<String, List<Map.Entry<MeterId, T>>> families = new TreeMap<>();
+        for (Map.Entry<MeterId, T> meter : meters.entrySet()) {
+            families.computeIfAbsent(meter.getKey().name(), name -> new ArrayList<>()).add(meter);
+        }
+        return families;
+    }
+    
+    private static void appendTags(StringBuilder out, MeterId id, String... extra) {
+        List<String> tags = new ArrayList<>(id.tags());
+        tags.addAll(List.of(extra));
+        if (tags.isEmpty()) {
+            return;
+        }
+        out.append('{');
+        for (int i = 0; i + 1 < tags.size(); i += 2) {
+            if (i > 0) {
+                out.append(',');
+            }
+            out.append(tags.get(i)).append("=\"").append(escape(tags.get(i + 1))).append('"');
+        }
+        out.append('}');
+    }
+    
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+    
+    private record MeterId(String name, List<String> tags) {
+        
+        static MeterId of(String name, String... tags) {
+            if (tags.length % 2 != 0) {
+                throw new IllegalArgumentException("Tags must be key/value pairs: " + name);
+            }
+            return new MeterId(name, List.of(tags));
+        }
+    }
+}
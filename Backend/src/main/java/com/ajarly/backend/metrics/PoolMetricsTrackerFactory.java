@@ -0,0 +1,47 @@
+package com.ajarly.backend.metrics;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Hikari pool gauges, plus connection wait and hold times tagged with the
+ * route of the thread that waited for or held the connection.
+ */
+@RequiredArgsConstructor
+public class PoolMetricsTrackerFactory implements MetricsTrackerFactory {
+    
+    private final MetricsRegistry metricsRegistry;
+    
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        metricsRegistry.gauge("hikari_connections_active", poolStats::getActiveConnections, "pool", poolName);
+        metricsRegistry.gauge("hikari_connections_idle", poolStats::getIdleConnections, "pool", poolName);
+        metricsRegistry.gauge("hikari_connections_total", poolStats::getTotalConnections, "pool", poolName);
+        metricsRegistry.gauge("hikari_connections_pending", poolStats::getPendingThreads, "pool", poolName);
+        metricsRegistry.gauge("hikari_connections_max", poolStats::getMaxConnections, "pool", poolName);
+        
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                metricsRegistry.timer("hikari_connection_acquire_seconds",
+                        "pool", poolName, "route", MetricsContext.currentRoute())
+                    .record(elapsedAcquiredNanos);
+            }
+            
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                metricsRegistry.timer("hikari_connection_usage_seconds",
+                        "pool", poolName, "route", MetricsContext.currentRoute())
+                    .recordMillis(elapsedBorrowedMillis);
+            }
+            
+            @Override
+            public void recordConnectionTimeout() {
+                metricsRegistry.increment("hikari_connection_timeouts_total",
+                        "pool", poolName, "route", MetricsContext.currentRoute());
+            }
+        };
+    }
+}
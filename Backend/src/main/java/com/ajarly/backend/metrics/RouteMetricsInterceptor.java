@@ -0,0 +1,52 @@
+package com.ajarly.backend.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Times each request by its route pattern (not the raw path, which would
+ * create a series per id) and marks the thread with the route while the
+ * handler runs, for the connection pool metrics.
+ */
+@Component
+@RequiredArgsConstructor
+public class RouteMetricsInterceptor implements HandlerInterceptor {
+    
+    private static final String START_ATTRIBUTE = RouteMetricsInterceptor.class.getName() + ".start";
+    private static final String PREVIOUS_ROUTE_ATTRIBUTE = RouteMetricsInterceptor.class.getName() + ".previousRoute";
+    
+    private final MetricsRegistry metricsRegistry;
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        String previous = MetricsContext.enter(request.getMethod() + " " + routeOf(request));
+        if (previous != null) {
+            request.setAttribute(PREVIOUS_ROUTE_ATTRIBUTE, previous);
+        }
+        return true;
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start instanceof Long startNanos) {
+            metricsRegistry.timer("http_server_requests_seconds",
+                    "method", request.getMethod(),
+                    "route", routeOf(request),
+                    "status", Integer.toString(response.getStatus()))
+                .record(System.nanoTime() - startNanos);
+        }
+        MetricsContext.restore((String) request.getAttribute(PREVIOUS_ROUTE_ATTRIBUTE));
+    }
+    
+    private static String routeOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNMATCHED";
+    }
+}
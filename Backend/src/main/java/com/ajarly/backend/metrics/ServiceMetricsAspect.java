@@ -0,0 +1,68 @@
+package com.ajarly.backend.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times the public methods of the request-path services and every
+ * scheduled task.
+ *
+ * Ordered outermost, so a transactional method's time includes its commit.
+ * Calls a service makes to its own methods bypass the proxy and are counted
+ * as part of the caller.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+    
+    private final MetricsRegistry metricsRegistry;
+    
+    @Around("execution(public * com.ajarly.backend.service.BookingService.*(..))"
+            + " || execution(public * com.ajarly.backend.service.SearchService.*(..))"
+            + " || execution(public * com.ajarly.backend.service.PropertyService.*(..))"
+            + " || execution(public * com.ajarly.backend.service.PaymentService.*(..))"
+            + " || execution(public * com.ajarly.backend.service.AnalyticsService.*(..))"
+            + " || execution(public * com.ajarly.backend.service.ReviewService.*(..))")
+    public Object timeServiceMethod(ProceedingJoinPoint call) throws Throwable {
+        String service = call.getSignature().getDeclaringType().getSimpleName();
+        String method = call.getSignature().getName();
+        
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            Object result = call.proceed();
+            outcome = "success";
+            return result;
+        } finally {
+            metricsRegistry.timer("service_method_seconds",
+                    "service", service, "method", method, "outcome", outcome)
+                .record(System.nanoTime() - start);
+        }
+    }
+    
+    @Around("@annotation(org.springframework.scheduling.annotation.Scheduled)")
+    public Object timeScheduledTask(ProceedingJoinPoint call) throws Throwable {
+        String task = call.getSignature().getDeclaringType().getSimpleName() + "." + call.getSignature().getName();
+        String previousRoute = MetricsContext.enter("scheduler:" + task);
+        
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            Object result = call.proceed();
+            outcome = "success";
+            return result;
+        } finally {
+            metricsRegistry.timer("scheduler_run_seconds", "task", task)
+                .record(System.nanoTime() - start);
+            metricsRegistry.increment("scheduler_runs_total", "task", task, "outcome", outcome);
+            MetricsContext.restore(previousRoute);
+        }
+    }
+}
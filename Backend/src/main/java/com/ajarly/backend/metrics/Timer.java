@@ -0,0 +1,84 @@
+package com.ajarly.backend.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram with fixed buckets, exported as a Prometheus histogram
+ * so percentiles can be computed across instances with histogram_quantile().
+ */
+public final class Timer {
+    
+    // Upper bounds in seconds; anything slower falls in the +Inf bucket
+    static final double[] BUCKET_BOUNDS = {
+        0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10
+    };
+    
+    private static final long[] BUCKET_BOUNDS_NANOS = new long[BUCKET_BOUNDS.length];
+    
+    static {
+        for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+            BUCKET_BOUNDS_NANOS[i] = (long) (BUCKET_BOUNDS[i] * 1_000_000_000L);
+        }
+    }
+    
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    
+    // Per-bucket (not cumulative) counts; the last slot is +Inf
+    private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS.length + 1];
+    
+    Timer() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+    
+    public void record(long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+        
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS_NANOS.length && nanos > BUCKET_BOUNDS_NANOS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+    }
+    
+    public void recordMillis(long millis) {
+        record(millis * 1_000_000L);
+    }
+    
+    public long count() {
+        return count.sum();
+    }
+    
+    public double totalSeconds() {
+        return totalNanos.sum() / 1e9;
+    }
+    
+    /**
+     * Slowest call since startup
+     */
+    public double maxSeconds() {
+        return maxNanos.get() / 1e9;
+    }
+    
+    /**
+     * Cumulative counts per bound, the last one being +Inf
+     */
+    long[] cumulativeBuckets() {
+        long[] cumulative = new long[buckets.length];
+        long running = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            running += buckets[i].sum();
+            cumulative[i] = running;
+        }
+        return cumulative;
+    }
+}
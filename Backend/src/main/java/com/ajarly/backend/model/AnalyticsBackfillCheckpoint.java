@@ -0,0 +1,44 @@
+package com.ajarly.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * يوم خلص في عملية backfill
+ * لما العملية تتقطع وترجع تشتغل، الأيام اللي ليها checkpoint بتتساب
+ */
+@Entity
+@Table(name = "analytics_backfill_checkpoints",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"job_id", "partition_date"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnalyticsBackfillCheckpoint {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "checkpoint_id")
+    private Long checkpointId;
+    
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+    
+    @Column(name = "partition_date", nullable = false)
+    private LocalDate partitionDate;
+    
+    @Column(name = "rows_written", nullable = false)
+    private Integer rowsWritten;
+    
+    @Column(name = "duration_ms", nullable = false)
+    private Long durationMs;
+    
+    @Column(name = "completed_at", nullable = false)
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,82 @@
+package com.ajarly.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * عملية إعادة حساب التحليلات اليومية لفترة زمنية
+ * التقدم الفعلي بيتسجل يوم بيوم في AnalyticsBackfillCheckpoint
+ */
+@Entity
+@Table(name = "analytics_backfill_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnalyticsBackfillJob {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "job_id")
+    private Long jobId;
+    
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+    
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+    
+    // Comma-separated property ids; null means all properties
+    @Column(name = "property_ids", columnDefinition = "TEXT")
+    private String propertyIds;
+    
+    // Update rows that already exist instead of skipping them
+    @Column(name = "recompute", nullable = false)
+    private Boolean recompute;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private BackfillStatus status;
+    
+    @Column(name = "total_days", nullable = false)
+    private Integer totalDays;
+    
+    @Column(name = "completed_days", nullable = false)
+    private Integer completedDays;
+    
+    @Column(name = "rows_written", nullable = false)
+    private Long rowsWritten;
+    
+    @Column(name = "requested_by")
+    private Long requestedBy;
+    
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+    
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    public enum BackfillStatus {
+        running,
+        completed,
+        cancelled,
+        failed
+    }
+}
@@ -0,0 +1,32 @@
+package com.ajarly.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Next unreserved booking reference number of a year.
+ *
+ * Application instances reserve numbers from here in blocks and hand them
+ * out from memory, so this row is touched once per block, not per booking.
+ */
+@Entity
+@Table(name = "booking_reference_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingReferenceSequence {
+    
+    @Id
+    @Column(name = "sequence_year")
+    private Integer sequenceYear;
+    
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
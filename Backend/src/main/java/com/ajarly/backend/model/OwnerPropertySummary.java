@@ -0,0 +1,86 @@
+package com.ajarly.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * ملخص جاهز لكل عقار للوحة تحكم المالك (read model)
+ * بيتحدث بعد كل تغيير في حالة حجز أو مراجعة للعقار ده بس،
+ * فالـ dashboard بيقرأ صف واحد لكل عقار بدل ما يحمل كل الحجوزات والمراجعات
+ */
+@Entity
+@Table(name = "owner_property_summaries")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OwnerPropertySummary {
+    
+    @Id
+    @Column(name = "property_id")
+    private Long propertyId;
+    
+    // Booking counts by status
+    @Column(name = "total_bookings", nullable = false)
+    private Integer totalBookings;
+    
+    @Column(name = "pending_bookings", nullable = false)
+    private Integer pendingBookings;
+    
+    @Column(name = "confirmed_bookings", nullable = false)
+    private Integer confirmedBookings;
+    
+    @Column(name = "completed_bookings", nullable = false)
+    private Integer completedBookings;
+    
+    @Column(name = "cancelled_bookings", nullable = false)
+    private Integer cancelledBookings;
+    
+    @Column(name = "rejected_bookings", nullable = false)
+    private Integer rejectedBookings;
+    
+    @Column(name = "expired_bookings", nullable = false)
+    private Integer expiredBookings;
+    
+    // Total price of confirmed + completed bookings
+    @Column(name = "total_revenue", nullable = false, precision = 12, scale = 2)
+    private BigDecimal totalRevenue;
+    
+    // Approved reviews; average = ratingSum / reviewCount
+    @Column(name = "review_count", nullable = false)
+    private Integer reviewCount;
+    
+    @Column(name = "rating_sum", nullable = false, precision = 12, scale = 1)
+    private BigDecimal ratingSum;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    public static OwnerPropertySummary empty(Long propertyId) {
+        return OwnerPropertySummary.builder()
+            .propertyId(propertyId)
+            .totalBookings(0)
+            .pendingBookings(0)
+            .confirmedBookings(0)
+            .completedBookings(0)
+            .cancelledBookings(0)
+            .rejectedBookings(0)
+            .expiredBookings(0)
+            .totalRevenue(BigDecimal.ZERO)
+            .reviewCount(0)
+            .ratingSum(BigDecimal.ZERO)
+            .build();
+    }
+}
@@ -0,0 +1,182 @@
+package com.ajarly.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * ملخص المنصة لفترة (يوم أو شهر) ولبُعد (الكل / محافظة / نوع عقار)
+ * الصفوف الشهرية = مجموع الصفوف اليومية بتاعة الشهر
+ *
+ * الحجوزات بتتحسب على يوم الطلب (requestedAt) بحالتها الحالية،
+ * فأي تغيير في حالة حجز قديم بيعيد حساب يوم طلبه
+ */
+@Entity
+@Table(name = "platform_rollups",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"period", "bucket_date", "dimension", "dimension_value"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlatformRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "rollup_id")
+    private Long rollupId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "period", nullable = false, length = 10)
+    private RollupPeriod period;
+    
+    // The day, or the first day of the month for monthly rows
+    @Column(name = "bucket_date", nullable = false)
+    private LocalDate bucketDate;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", nullable = false, length = 20)
+    private RollupDimension dimension;
+    
+    // Governorate or property type; empty for the platform-wide row
+    @Column(name = "dimension_value", nullable = false, length = 100)
+    private String dimensionValue;
+    
+    // Users (platform-wide rows only)
+    @Column(name = "new_users", nullable = false)
+    private Integer newUsers;
+    
+    @Column(name = "new_renters", nullable = false)
+    private Integer newRenters;
+    
+    @Column(name = "new_landlords", nullable = false)
+    private Integer newLandlords;
+    
+    @Column(name = "new_properties", nullable = false)
+    private Integer newProperties;
+    
+    // Bookings requested in the bucket, by their current status
+    @Column(name = "new_bookings", nullable = false)
+    private Integer newBookings;
+    
+    @Column(name = "pending_bookings", nullable = false)
+    private Integer pendingBookings;
+    
+    @Column(name = "confirmed_bookings", nullable = false)
+    private Integer confirmedBookings;
+    
+    @Column(name = "completed_bookings", nullable = false)
+    private Integer completedBookings;
+    
+    @Column(name = "cancelled_bookings", nullable = false)
+    private Integer cancelledBookings;
+    
+    @Column(name = "rejected_bookings", nullable = false)
+    private Integer rejectedBookings;
+    
+    @Column(name = "expired_bookings", nullable = false)
+    private Integer expiredBookings;
+    
+    @Column(name = "confirmed_revenue", nullable = false, precision = 14, scale = 2)
+    private BigDecimal confirmedRevenue;
+    
+    @Column(name = "completed_revenue", nullable = false, precision = 14, scale = 2)
+    private BigDecimal completedRevenue;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    public static PlatformRollup empty(RollupPeriod period, LocalDate bucketDate,
+                                       RollupDimension dimension, String dimensionValue) {
+        return PlatformRollup.builder()
+            .period(period)
+            .bucketDate(bucketDate)
+            .dimension(dimension)
+            .dimensionValue(dimensionValue)
+            .newUsers(0)
+            .newRenters(0)
+            .newLandlords(0)
+            .newProperties(0)
+            .newBookings(0)
+            .pendingBookings(0)
+            .confirmedBookings(0)
+            .completedBookings(0)
+            .cancelledBookings(0)
+            .rejectedBookings(0)
+            .expiredBookings(0)
+            .confirmedRevenue(BigDecimal.ZERO)
+            .completedRevenue(BigDecimal.ZERO)
+            .build();
+    }
+    
+    /**
+     * Add another bucket's counters to this one
+     */
+    public void add(PlatformRollup other) {
+        newUsers += other.newUsers;
+        newRenters += other.newRenters;
+        newLandlords += other.newLandlords;
+        newProperties += other.newProperties;
+        newBookings += other.newBookings;
+        pendingBookings += other.pendingBookings;
+        confirmedBookings += other.confirmedBookings;
+        completedBookings += other.completedBookings;
+        cancelledBookings += other.cancelledBookings;
+        rejectedBookings += other.rejectedBookings;
+        expiredBookings += other.expiredBookings;
+        confirmedRevenue = confirmedRevenue.add(other.confirmedRevenue);
+        completedRevenue = completedRevenue.add(other.completedRevenue);
+    }
+    
+    /**
+     * Count one status group of bookings into the matching counters
+     */
+    public void addBookings(Booking.BookingStatus status, int count, BigDecimal totalPrice) {
+        newBookings += count;
+        switch (status) {
+            case pending -> pendingBookings += count;
+            case confirmed -> {
+                confirmedBookings += count;
+                confirmedRevenue = confirmedRevenue.add(totalPrice);
+            }
+            case completed -> {
+                completedBookings += count;
+                completedRevenue = completedRevenue.add(totalPrice);
+            }
+            case cancelled_by_renter, cancelled_by_owner -> cancelledBookings += count;
+            case rejected -> rejectedBookings += count;
+            case expired -> expiredBookings += count;
+        }
+    }
+    
+    // Bookings that count as revenue: confirmed + completed
+    public int getEarningBookings() {
+        return confirmedBookings + completedBookings;
+    }
+    
+    public BigDecimal getEarningRevenue() {
+        return confirmedRevenue.add(completedRevenue);
+    }
+    
+    public enum RollupPeriod {
+        daily,
+        monthly
+    }
+    
+    public enum RollupDimension {
+        all,
+        governorate,
+        property_type
+    }
+}
@@ -123,7 +123,8 @@ public class Property {
     @Column(name = "is_verified")
     private Boolean isVerified = false;
     
-    @Column(name = "view_count")
+    // Only written by PropertyViewCounter's batched increment, never by entity saves
+    @Column(name = "view_count", updatable = false)
     private Integer viewCount = 0;
     
     @Column(name = "booking_request_count")
@@ -74,6 +74,10 @@ public class User {
     @Column(name = "banned_at")
     private LocalDateTime bannedAt;
     
+    // Tokens issued before this instant are rejected
+    @Column(name = "password_changed_at")
+    private LocalDateTime passwordChangedAt;
+    
     @Column(name = "last_login")
     private LocalDateTime lastLogin;
     
@@ -0,0 +1,20 @@
+package com.ajarly.backend.repository;
+
+import com.ajarly.backend.model.AnalyticsBackfillCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AnalyticsBackfillCheckpointRepository extends JpaRepository<AnalyticsBackfillCheckpoint, Long> {
+    
+    @Query("SELECT c.partitionDate FROM AnalyticsBackfillCheckpoint c WHERE c.jobId = :jobId")
+    List<LocalDate> findPartitionDatesByJobId(@Param("jobId") Long jobId);
+    
+    @Query("SELECT COALESCE(SUM(c.rowsWritten), 0) FROM AnalyticsBackfillCheckpoint c WHERE c.jobId = :jobId")
+    Long sumRowsWrittenByJobId(@Param("jobId") Long jobId);
+}
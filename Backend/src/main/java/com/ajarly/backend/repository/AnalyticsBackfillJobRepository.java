@@ -0,0 +1,16 @@
+package com.ajarly.backend.repository;
+
+import com.ajarly.backend.model.AnalyticsBackfillJob;
+import com.ajarly.backend.model.AnalyticsBackfillJob.BackfillStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AnalyticsBackfillJobRepository extends JpaRepository<AnalyticsBackfillJob, Long> {
+    
+    List<AnalyticsBackfillJob> findByStatusOrderByJobIdAsc(BackfillStatus status);
+    
+    List<AnalyticsBackfillJob> findTop20ByOrderByJobIdDesc();
+}
@@ -23,6 +23,11 @@ public interface AnalyticsRepository extends JpaRepository<PropertyPerformanceAn
         @Param("startDate") LocalDate startDate,
         @Param("endDate") LocalDate endDate);
     
+    // Properties that already have a row for the given date
+    @Query("SELECT a.property.propertyId FROM PropertyPerformanceAnalytics a " +
+           "WHERE a.analyticsDate = :date")
+    List<Long> findPropertyIdsByAnalyticsDate(@Param("date") LocalDate date);
+    
     // Find analytics for specific property and date
     Optional<PropertyPerformanceAnalytics> findByPropertyPropertyIdAndAnalyticsDate(
         Long propertyId, LocalDate analyticsDate);
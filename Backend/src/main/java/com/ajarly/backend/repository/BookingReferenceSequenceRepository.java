@@ -0,0 +1,20 @@
+package com.ajarly.backend.repository;
+
+import com.ajarly.backend.model.BookingReferenceSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface BookingReferenceSequenceRepository extends JpaRepository<BookingReferenceSequence, Integer> {
+    
+    // Serializes block reservations across application instances
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BookingReferenceSequence s WHERE s.sequenceYear = :year")
+    Optional<BookingReferenceSequence> findForUpdate(@Param("year") Integer year);
+}
@@ -1,19 +1,26 @@
 package com.ajarly.backend.repository;
 
+import com.ajarly.backend.dto.BookingListResponse;
 import com.ajarly.backend.model.Booking;
 import com.ajarly.backend.model.Booking.BookingStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Integer> {
+public interface BookingRepository extends JpaRepository<Booking, Integer>, BookingRepositoryCustom {
     
     @Query("SELECT DISTINCT b FROM Booking b " +
            "LEFT JOIN FETCH b.property p " +
@@ -23,6 +30,18 @@ public interface BookingRepository extends JpaRepository<Booking, Integer> {
            "WHERE b.bookingId = :bookingId " +
            "AND (p.deleted = false OR p.deleted IS NULL)")
     Optional<Booking> findByIdWithDetails(@Param("bookingId") Integer bookingId);
+    
+    // Property of a booking, read without loading the booking so it can be locked first
+    @Query("SELECT b.property.propertyId FROM Booking b WHERE b.bookingId = :bookingId")
+    Optional<Long> findPropertyIdByBookingId(@Param("bookingId") Integer bookingId);
+    
+    /**
+     * Lock the booking row for the rest of the transaction, so its status read here
+     * cannot be changed underneath by the expiry worker or a second confirm.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.bookingId = :bookingId")
+    Optional<Booking> findByIdForUpdate(@Param("bookingId") Integer bookingId);
     // Find by booking reference
     Optional<Booking> findByBookingReference(String bookingReference);
     
@@ -34,55 +53,56 @@ public interface BookingRepository extends JpaRepository<Booking, Integer> {
            "WHERE b.bookingReference = :reference " +
            "AND (p.deleted = false OR p.deleted IS NULL)")
     Optional<Booking> findByBookingReferenceWithDetails(@Param("reference") String reference);
-    // ✅ FIXED: Find by renter with JOIN FETCH including images
-    @Query("SELECT DISTINCT b FROM Booking b " +
-           "LEFT JOIN FETCH b.property p " +
-           "LEFT JOIN FETCH p.images " +
-           "LEFT JOIN FETCH b.renter r " +
-           "LEFT JOIN FETCH b.owner o " +
-           "WHERE b.renter.userId = :renterId " +
-           "AND (p.deleted = false OR p.deleted IS NULL) " +
-           "ORDER BY b.requestedAt DESC")
-    List<Booking> findByRenterUserIdOrderByRequestedAtDesc(@Param("renterId") Long renterId);
     
-    // ✅ FIXED: Find by renter with status and JOIN FETCH including images
-    @Query("SELECT DISTINCT b FROM Booking b " +
-           "LEFT JOIN FETCH b.property p " +
-           "LEFT JOIN FETCH p.images " +
-           "LEFT JOIN FETCH b.renter r " +
-           "LEFT JOIN FETCH b.owner o " +
+    /**
+     * Booking list rows for a renter, newest first. One flat row per booking: the
+     * property's title, type, city and cover image and the owner's name and phone,
+     * with no image collection fetched. The cover falls back to the image flagged
+     * as cover when the property's cover_image column is empty.
+     *
+     * afterRequestedAt/afterId seek past the last row of the previous page
+     * (keyset pagination); pass nulls for the first page or for offset paging.
+     */
+    @Query("SELECT new com.ajarly.backend.dto.BookingListResponse(" +
+           "b.bookingId, b.bookingReference, b.propertyId, p.titleAr, p.propertyType, p.city, " +
+           "COALESCE(p.coverImage, (SELECT MIN(i.imageUrl) FROM PropertyImage i WHERE i.property = p AND i.isCover = true)), " +
+           "o.userId, o.firstName, o.lastName, o.phoneNumber, " +
+           "b.checkInDate, b.checkOutDate, b.numberOfNights, b.numberOfGuests, b.totalPrice, b.currency, " +
+           "b.status, b.paymentStatus, b.requestedAt, b.expiresAt) " +
+           "FROM Booking b JOIN b.property p JOIN b.owner o " +
            "WHERE b.renter.userId = :renterId " +
-           "AND b.status = :status " +
+           "AND (:status IS NULL OR b.status = :status) " +
            "AND (p.deleted = false OR p.deleted IS NULL) " +
-           "ORDER BY b.requestedAt DESC")
-    List<Booking> findByRenterUserIdAndStatusOrderByRequestedAtDesc(
-        @Param("renterId") Long renterId, 
-        @Param("status") BookingStatus status);
+           "AND (:afterRequestedAt IS NULL OR b.requestedAt < :afterRequestedAt " +
+           "OR (b.requestedAt = :afterRequestedAt AND b.bookingId < :afterId)) " +
+           "ORDER BY b.requestedAt DESC, b.bookingId DESC")
+    List<BookingListResponse> findRenterBookingList(
+        @Param("renterId") Long renterId,
+        @Param("status") BookingStatus status,
+        @Param("afterRequestedAt") LocalDateTime afterRequestedAt,
+        @Param("afterId") Integer afterId,
+        Pageable pageable);
     
-    // ✅ FIXED: Find by owner with JOIN FETCH including images
-    @Query("SELECT DISTINCT b FROM Booking b " +
-           "LEFT JOIN FETCH b.property p " +
-           "LEFT JOIN FETCH p.images " +
-           "LEFT JOIN FETCH b.renter r " +
-           "LEFT JOIN FETCH b.owner o " +
+    // Booking list rows for an owner, newest first; the other party is the renter
+    @Query("SELECT new com.ajarly.backend.dto.BookingListResponse(" +
+           "b.bookingId, b.bookingReference, b.propertyId, p.titleAr, p.propertyType, p.city, " +
+           "COALESCE(p.coverImage, (SELECT MIN(i.imageUrl) FROM PropertyImage i WHERE i.property = p AND i.isCover = true)), " +
+           "r.userId, r.firstName, r.lastName, r.phoneNumber, " +
+           "b.checkInDate, b.checkOutDate, b.numberOfNights, b.numberOfGuests, b.totalPrice, b.currency, " +
+           "b.status, b.paymentStatus, b.requestedAt, b.expiresAt) " +
+           "FROM Booking b JOIN b.property p JOIN b.renter r " +
            "WHERE b.owner.userId = :ownerId " +
+           "AND (:status IS NULL OR b.status = :status) " +
            "AND (p.deleted = false OR p.deleted IS NULL) " +
-           "ORDER BY b.requestedAt DESC")
-    List<Booking> findByOwnerUserIdOrderByRequestedAtDesc(@Param("ownerId") Long ownerId);
-    
-    // ✅ FIXED: Find by owner with status and JOIN FETCH including images
-    @Query("SELECT DISTINCT b FROM Booking b " +
-           "LEFT JOIN FETCH b.property p " +
-           "LEFT JOIN FETCH p.images " +
-           "LEFT JOIN FETCH b.renter r " +
-           "LEFT JOIN FETCH b.owner o " +
-           "WHERE b.owner.userId = :ownerId " +
-           "AND b.status = :status " +
-           "AND (p.deleted = false OR p.deleted IS NULL) " +
-           "ORDER BY b.requestedAt DESC")
-    List<Booking> findByOwnerUserIdAndStatusOrderByRequestedAtDesc(
-        @Param("ownerId") Long ownerId, 
-        @Param("status") BookingStatus status);
+           "AND (:afterRequestedAt IS NULL OR b.requestedAt < :afterRequestedAt " +
+           "OR (b.requestedAt = :afterRequestedAt AND b.bookingId < :afterId)) " +
+           "ORDER BY b.requestedAt DESC, b.bookingId DESC")
+    List<BookingListResponse> findOwnerBookingList(
+        @Param("ownerId") Long ownerId,
+        @Param("status") BookingStatus status,
+        @Param("afterRequestedAt") LocalDateTime afterRequestedAt,
+        @Param("afterId") Integer afterId,
+        Pageable pageable);
     
     // Find by property
     List<Booking> findByPropertyPropertyIdOrderByRequestedAtDesc(Long propertyId);
@@ -91,39 +111,116 @@ public interface BookingRepository extends JpaRepository<Booking, Integer> {
     List<Booking> findByPropertyPropertyIdAndStatusOrderByRequestedAtDesc(
         Long propertyId, BookingStatus status);
     
+    // Highest reference of a year (references are zero-padded, so string order is numeric order)
+    @Query("SELECT MAX(b.bookingReference) FROM Booking b WHERE b.bookingReference LIKE CONCAT(:prefix, '%')")
+    String findMaxBookingReferenceStartingWith(@Param("prefix") String prefix);
+    
     // Find by status
     List<Booking> findByStatusOrderByRequestedAtDesc(BookingStatus status);
     
-    // Find expired bookings (for auto-expiry job)
-    @Query("SELECT b FROM Booking b WHERE b.status = 'pending' AND b.expiresAt < :now")
-    List<Booking> findExpiredBookings(@Param("now") LocalDateTime now);
+    /**
+     * Next chunk of pending bookings past their expiry (for auto-expiry job), locked
+     * until the chunk's transaction commits. Reads the property id column directly so
+     * the lock stays on the booking rows and never joins (and locks) properties.
+     * Each row: [bookingId, propertyId, ownerId, requestedAt, checkInDate, checkOutDate]
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.bookingId, b.propertyId, b.owner.userId, b.requestedAt, b.checkInDate, b.checkOutDate " +
+           "FROM Booking b WHERE b.status = 'pending' AND b.expiresAt < :now " +
+           "ORDER BY b.bookingId")
+    List<Object[]> findExpiredBookingsChunk(@Param("now") LocalDateTime now, Pageable chunk);
+    
+    /**
+     * Those of the given bookings that are still pending and past their expiry
+     * (for the expiry worker), locked like findExpiredBookingsChunk.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.bookingId, b.propertyId, b.owner.userId, b.requestedAt, b.checkInDate, b.checkOutDate " +
+           "FROM Booking b WHERE b.bookingId IN :bookingIds AND b.status = 'pending' AND b.expiresAt <= :now " +
+           "ORDER BY b.bookingId")
+    List<Object[]> findExpiredBookingsChunkAmong(
+        @Param("bookingIds") Collection<Integer> bookingIds,
+        @Param("now") LocalDateTime now,
+        Pageable chunk);
+    
+    // Every pending booking with its expiry, to fill the expiry queue at startup. Each row: [bookingId, expiresAt]
+    @Query("SELECT b.bookingId, b.expiresAt FROM Booking b WHERE b.status = 'pending' AND b.expiresAt IS NOT NULL")
+    List<Object[]> findPendingExpiries();
     
-    // Check if dates are available for a property (no overlapping bookings)
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = 'expired' " +
+           "WHERE b.bookingId IN :bookingIds AND b.status = 'pending'")
+    int markExpired(@Param("bookingIds") Collection<Integer> bookingIds);
+    
+    // Check if dates are available for a property (no overlapping bookings).
+    // Two ranges overlap when each starts before the other ends, which keeps the
+    // predicate a plain range on check_in_date.
     @Query("SELECT COUNT(b) > 0 FROM Booking b " +
            "LEFT JOIN b.property p " +
            "WHERE b.property.propertyId = :propertyId " +
            "AND b.status IN ('pending', 'confirmed') " +
            "AND (p.deleted = false OR p.deleted IS NULL) " +
-           "AND ((b.checkInDate <= :checkIn AND b.checkOutDate > :checkIn) " +
-           "OR (b.checkInDate < :checkOut AND b.checkOutDate >= :checkOut) " +
-           "OR (b.checkInDate >= :checkIn AND b.checkOutDate <= :checkOut))")
+           "AND b.checkInDate < :checkOut AND b.checkOutDate > :checkIn")
     Boolean hasOverlappingBookings(
         @Param("propertyId") Long propertyId,
         @Param("checkIn") LocalDate checkIn,
         @Param("checkOut") LocalDate checkOut);
     
-    // Find overlapping bookings (for confirmation check)
-    @Query("SELECT DISTINCT b FROM Booking b " +
-           "LEFT JOIN FETCH b.property p " +
-           "LEFT JOIN FETCH p.images " +
+    // Same check ignoring one booking (for confirmation check)
+    @Query("SELECT COUNT(b) > 0 FROM Booking b " +
+           "LEFT JOIN b.property p " +
            "WHERE b.property.propertyId = :propertyId " +
+           "AND b.bookingId <> :excludeBookingId " +
            "AND b.status IN ('pending', 'confirmed') " +
            "AND (p.deleted = false OR p.deleted IS NULL) " +
-           "AND ((b.checkInDate <= :checkIn AND b.checkOutDate > :checkIn) " +
-           "OR (b.checkInDate < :checkOut AND b.checkOutDate >= :checkOut) " +
-           "OR (b.checkInDate >= :checkIn AND b.checkOutDate <= :checkOut))")
-    List<Booking> findOverlappingBookings(
+           "AND b.checkInDate < :checkOut AND b.checkOutDate > :checkIn")
+    Boolean hasOverlappingBookingsExcluding(
+        @Param("propertyId") Long propertyId,
+        @Param("checkIn") LocalDate checkIn,
+        @Param("checkOut") LocalDate checkOut,
+        @Param("excludeBookingId") Integer excludeBookingId);
+    
+    /**
+     * Pending and confirmed bookings of a property that end after a date,
+     * for the availability index.
+     * Each row: [bookingId, checkInDate, checkOutDate, status]
+     */
+    @Query("SELECT b.bookingId, b.checkInDate, b.checkOutDate, b.status FROM Booking b " +
+           "WHERE b.property.propertyId = :propertyId " +
+           "AND b.status IN ('pending', 'confirmed') " +
+           "AND b.checkOutDate > :from")
+    List<Object[]> findActiveIntervalsForProperty(
         @Param("propertyId") Long propertyId,
+        @Param("from") LocalDate from);
+    
+    /**
+     * Pending and confirmed bookings of all properties that end after a date,
+     * for the search occupancy bitmaps.
+     * Each row: [propertyId, checkInDate, checkOutDate]
+     */
+    @Query("SELECT b.property.propertyId, b.checkInDate, b.checkOutDate FROM Booking b " +
+           "WHERE b.status IN ('pending', 'confirmed') " +
+           "AND b.checkOutDate > :from")
+    List<Object[]> findActiveIntervalsEndingAfter(@Param("from") LocalDate from);
+    
+    /**
+     * Pending and confirmed bookings of the given properties that end after a date,
+     * for refreshing changed occupancy bitmaps.
+     * Each row: [propertyId, checkInDate, checkOutDate]
+     */
+    @Query("SELECT b.property.propertyId, b.checkInDate, b.checkOutDate FROM Booking b " +
+           "WHERE b.property.propertyId IN :propertyIds " +
+           "AND b.status IN ('pending', 'confirmed') " +
+           "AND b.checkOutDate > :from")
+    List<Object[]> findActiveIntervalsForProperties(
+        @Param("propertyIds") Collection<Long> propertyIds,
+        @Param("from") LocalDate from);
+    
+    // Properties with a pending or confirmed booking overlapping the range
+    @Query("SELECT DISTINCT b.property.propertyId FROM Booking b " +
+           "WHERE b.status IN ('pending', 'confirmed') " +
+           "AND b.checkInDate < :checkOut AND b.checkOutDate > :checkIn")
+    List<Long> findPropertyIdsWithOverlappingBookings(
         @Param("checkIn") LocalDate checkIn,
         @Param("checkOut") LocalDate checkOut);
     
@@ -133,52 +230,211 @@ public interface BookingRepository extends JpaRepository<Booking, Integer> {
         @Param("propertyId") Long propertyId, 
         @Param("status") BookingStatus status);
     
-    // ✅ FIXED: Find upcoming bookings for a renter with JOIN FETCH including images
-    @Query("SELECT DISTINCT b FROM Booking b " +
-           "LEFT JOIN FETCH b.property p " +
-           "LEFT JOIN FETCH p.images " +
-           "LEFT JOIN FETCH b.renter r " +
-           "LEFT JOIN FETCH b.owner o " +
+    
+    // Upcoming confirmed bookings of a renter as list rows, soonest first
+    @Query("SELECT new com.ajarly.backend.dto.BookingListResponse(" +
+           "b.bookingId, b.bookingReference, b.propertyId, p.titleAr, p.propertyType, p.city, " +
+           "COALESCE(p.coverImage, (SELECT MIN(i.imageUrl) FROM PropertyImage i WHERE i.property = p AND i.isCover = true)), " +
+           "o.userId, o.firstName, o.lastName, o.phoneNumber, " +
+           "b.checkInDate, b.checkOutDate, b.numberOfNights, b.numberOfGuests, b.totalPrice, b.currency, " +
+           "b.status, b.paymentStatus, b.requestedAt, b.expiresAt) " +
+           "FROM Booking b JOIN b.property p JOIN b.owner o " +
            "WHERE b.renter.userId = :renterId " +
            "AND b.checkInDate >= :today " +
            "AND b.status = 'confirmed' " +
            "AND (p.deleted = false OR p.deleted IS NULL) " +
-           "ORDER BY b.checkInDate ASC")
-    List<Booking> findUpcomingBookingsForRenter(
+           "AND (:afterCheckIn IS NULL OR b.checkInDate > :afterCheckIn " +
+           "OR (b.checkInDate = :afterCheckIn AND b.bookingId > :afterId)) " +
+           "ORDER BY b.checkInDate ASC, b.bookingId ASC")
+    List<BookingListResponse> findUpcomingRenterBookingList(
         @Param("renterId") Long renterId,
-        @Param("today") LocalDate today);
+        @Param("today") LocalDate today,
+        @Param("afterCheckIn") LocalDate afterCheckIn,
+        @Param("afterId") Integer afterId,
+        Pageable pageable);
     
-    // ✅ FIXED: Find upcoming bookings for an owner with JOIN FETCH including images
-    @Query("SELECT DISTINCT b FROM Booking b " +
-           "LEFT JOIN FETCH b.property p " +
-           "LEFT JOIN FETCH p.images " +
-           "LEFT JOIN FETCH b.renter r " +
-           "LEFT JOIN FETCH b.owner o " +
+    // Upcoming confirmed bookings of an owner as list rows, soonest first
+    @Query("SELECT new com.ajarly.backend.dto.BookingListResponse(" +
+           "b.bookingId, b.bookingReference, b.propertyId, p.titleAr, p.propertyType, p.city, " +
+           "COALESCE(p.coverImage, (SELECT MIN(i.imageUrl) FROM PropertyImage i WHERE i.property = p AND i.isCover = true)), " +
+           "r.userId, r.firstName, r.lastName, r.phoneNumber, " +
+           "b.checkInDate, b.checkOutDate, b.numberOfNights, b.numberOfGuests, b.totalPrice, b.currency, " +
+           "b.status, b.paymentStatus, b.requestedAt, b.expiresAt) " +
+           "FROM Booking b JOIN b.property p JOIN b.renter r " +
            "WHERE b.owner.userId = :ownerId " +
            "AND b.checkInDate >= :today " +
            "AND b.status = 'confirmed' " +
            "AND (p.deleted = false OR p.deleted IS NULL) " +
-           "ORDER BY b.checkInDate ASC")
-    List<Booking> findUpcomingBookingsForOwner(
+           "AND (:afterCheckIn IS NULL OR b.checkInDate > :afterCheckIn " +
+           "OR (b.checkInDate = :afterCheckIn AND b.bookingId > :afterId)) " +
+           "ORDER BY b.checkInDate ASC, b.bookingId ASC")
+    List<BookingListResponse> findUpcomingOwnerBookingList(
         @Param("ownerId") Long ownerId,
-        @Param("today") LocalDate today);
+        @Param("today") LocalDate today,
+        @Param("afterCheckIn") LocalDate afterCheckIn,
+        @Param("afterId") Integer afterId,
+        Pageable pageable);
     
-    // Find past bookings for a renter
-    @Query("SELECT b FROM Booking b WHERE b.renter.userId = :renterId " +
-           "AND b.checkOutDate < :today " +
-           "ORDER BY b.checkOutDate DESC")
-    List<Booking> findPastBookingsForRenter(
-        @Param("renterId") Long renterId,
-        @Param("today") LocalDate today);
+    /**
+     * Next chunk of confirmed bookings whose check-out date has passed (for auto-complete job),
+     * locked until the chunk's transaction commits.
+     * Each row: [bookingId, propertyId, ownerId, requestedAt, checkInDate, checkOutDate]
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.bookingId, b.propertyId, b.owner.userId, b.requestedAt, b.checkInDate, b.checkOutDate " +
+           "FROM Booking b WHERE b.status = 'confirmed' AND b.checkOutDate < :today " +
+           "ORDER BY b.bookingId")
+    List<Object[]> findBookingsToCompleteChunk(@Param("today") LocalDate today, Pageable chunk);
     
-    // Find bookings that should be marked as completed (check-out date passed)
-    @Query("SELECT b FROM Booking b WHERE b.status = 'confirmed' " +
-           "AND b.checkOutDate < :today")
-    List<Booking> findBookingsToComplete(@Param("today") LocalDate today);
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = 'completed', b.completedAt = :completedAt " +
+           "WHERE b.bookingId IN :bookingIds AND b.status = 'confirmed'")
+    int markCompleted(
+        @Param("bookingIds") Collection<Integer> bookingIds,
+        @Param("completedAt") LocalDateTime completedAt);
     
     // Count total bookings for a user (as renter)
     Long countByRenterUserId(Long renterId);
     
     // Count total bookings for a property owner
     Long countByOwnerUserId(Long ownerId);
-}
\ No newline at end of file
+    
+    // Bookings requested after the given instant (admin dashboard)
+    long countByRequestedAtAfter(LocalDateTime since);
+    
+    @Query("SELECT COALESCE(SUM(b.totalPrice), 0) FROM Booking b WHERE b.status = :status")
+    BigDecimal sumTotalPriceByStatus(@Param("status") BookingStatus status);
+    
+    /**
+     * Per-property booking metrics for one day, in a single pass over the day's activity.
+     * Columns: propertyId, requests, confirmations, cancellations, rejections,
+     * revenue (confirmed that day), potential revenue (requested that day).
+     * Only properties with activity in [start, end) are returned.
+     */
+    @Query("SELECT b.propertyId, " +
+           "SUM(CASE WHEN b.requestedAt >= :start AND b.requestedAt < :end THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN b.confirmedAt >= :start AND b.confirmedAt < :end THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN b.cancelledAt >= :start AND b.cancelledAt < :end THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN b.rejectedAt >= :start AND b.rejectedAt < :end THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN b.confirmedAt >= :start AND b.confirmedAt < :end THEN b.totalPrice ELSE 0 END), " +
+           "SUM(CASE WHEN b.requestedAt >= :start AND b.requestedAt < :end THEN b.totalPrice ELSE 0 END) " +
+           "FROM Booking b " +
+           "WHERE (b.requestedAt >= :start AND b.requestedAt < :end) " +
+           "OR (b.confirmedAt >= :start AND b.confirmedAt < :end) " +
+           "OR (b.cancelledAt >= :start AND b.cancelledAt < :end) " +
+           "OR (b.rejectedAt >= :start AND b.rejectedAt < :end) " +
+           "GROUP BY b.propertyId")
+    List<Object[]> aggregateDailyMetricsByProperty(
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end);
+    
+    // ==================== OWNER DASHBOARD ====================
+    
+    /**
+     * Booking count and total price per property and status.
+     * Columns: propertyId, status, count, sum of totalPrice.
+     * Feeds OwnerPropertySummary; a property with no bookings returns no rows.
+     */
+    @Query("SELECT b.property.propertyId, b.status, COUNT(b), COALESCE(SUM(b.totalPrice), 0) " +
+           "FROM Booking b " +
+           "WHERE b.property.propertyId IN :propertyIds " +
+           "GROUP BY b.property.propertyId, b.status")
+    List<Object[]> summarizeByPropertyAndStatus(@Param("propertyIds") Collection<Long> propertyIds);
+    
+    // Revenue (confirmed + completed) of an owner's bookings requested since the given instant
+    @Query("SELECT COALESCE(SUM(b.totalPrice), 0) FROM Booking b " +
+           "JOIN b.property p " +
+           "WHERE b.owner.userId = :ownerId " +
+           "AND b.status IN ('confirmed', 'completed') " +
+           "AND b.requestedAt >= :since " +
+           "AND (p.deleted = false OR p.deleted IS NULL)")
+    BigDecimal sumEarnedRevenueForOwnerSince(
+        @Param("ownerId") Long ownerId,
+        @Param("since") LocalDateTime since);
+    
+    @Query("SELECT COUNT(b) FROM Booking b " +
+           "JOIN b.property p " +
+           "WHERE b.owner.userId = :ownerId " +
+           "AND b.checkInDate >= :today " +
+           "AND b.status = 'confirmed' " +
+           "AND (p.deleted = false OR p.deleted IS NULL)")
+    Long countUpcomingBookingsForOwner(
+        @Param("ownerId") Long ownerId,
+        @Param("today") LocalDate today);
+    
+    // Upcoming bookings for the dashboard list: property and renter only, no image collections
+    @Query("SELECT b FROM Booking b " +
+           "JOIN FETCH b.property p " +
+           "JOIN FETCH b.renter r " +
+           "WHERE b.owner.userId = :ownerId " +
+           "AND b.checkInDate >= :today " +
+           "AND b.status = 'confirmed' " +
+           "AND (p.deleted = false OR p.deleted IS NULL) " +
+           "ORDER BY b.checkInDate ASC")
+    List<Booking> findUpcomingBookingsForOwnerDashboard(
+        @Param("ownerId") Long ownerId,
+        @Param("today") LocalDate today,
+        Pageable pageable);
+    
+    // ==================== PLATFORM ANALYTICS ====================
+    
+    /**
+     * Platform-wide booking totals per status.
+     * Columns: status, count, sum of totalPrice, sum of nights.
+     */
+    @Query("SELECT b.status, COUNT(b), COALESCE(SUM(b.totalPrice), 0), COALESCE(SUM(b.numberOfNights), 0) " +
+           "FROM Booking b GROUP BY b.status")
+    List<Object[]> summarizeByStatusForPlatform();
+    
+    /**
+     * Bookings requested per day in [start, end), by current status.
+     * Columns: day, status, count, sum of totalPrice.
+     */
+    @Query("SELECT CAST(b.requestedAt AS LocalDate), b.status, COUNT(b), COALESCE(SUM(b.totalPrice), 0) " +
+           "FROM Booking b " +
+           "WHERE b.requestedAt >= :start AND b.requestedAt < :end " +
+           "GROUP BY CAST(b.requestedAt AS LocalDate), b.status")
+    List<Object[]> summarizeRequestedPerDayByStatus(
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end);
+    
+    /**
+     * Same as summarizeRequestedPerDayByStatus, split by the property's governorate and type.
+     * Columns: day, governorate, propertyType, status, count, sum of totalPrice.
+     */
+    @Query("SELECT CAST(b.requestedAt AS LocalDate), p.governorate, p.propertyType, b.status, " +
+           "COUNT(b), COALESCE(SUM(b.totalPrice), 0) " +
+           "FROM Booking b JOIN b.property p " +
+           "WHERE b.requestedAt >= :start AND b.requestedAt < :end " +
+           "GROUP BY CAST(b.requestedAt AS LocalDate), p.governorate, p.propertyType, b.status")
+    List<Object[]> summarizeRequestedPerDayByGovernorateAndType(
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end);
+    
+    @Query("SELECT MIN(b.requestedAt) FROM Booking b")
+    LocalDateTime findFirstRequestedAt();
+    
+    /**
+     * Earning bookings (confirmed + completed) of active properties per location.
+     * Columns: governorate, city, count, revenue.
+     */
+    @Query("SELECT p.governorate, p.city, COUNT(b), COALESCE(SUM(b.totalPrice), 0) " +
+           "FROM Booking b JOIN b.property p " +
+           "WHERE p.status = 'active' " +
+           "AND (p.deleted = false OR p.deleted IS NULL) " +
+           "AND b.status IN ('confirmed', 'completed') " +
+           "GROUP BY p.governorate, p.city")
+    List<Object[]> summarizeEarningByLocation();
+    
+    /**
+     * Earning bookings (confirmed + completed) of active properties per property type.
+     * Columns: propertyType, count, revenue.
+     */
+    @Query("SELECT p.propertyType, COUNT(b), COALESCE(SUM(b.totalPrice), 0) " +
+           "FROM Booking b JOIN b.property p " +
+           "WHERE p.status = 'active' " +
+           "AND (p.deleted = false OR p.deleted IS NULL) " +
+           "AND b.status IN ('confirmed', 'completed') " +
+           "GROUP BY p.propertyType")
+    List<Object[]> summarizeEarningByPropertyType();
+}
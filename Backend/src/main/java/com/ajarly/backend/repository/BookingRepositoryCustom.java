@@ -0,0 +1,21 @@
+package com.ajarly.backend.repository;
+
+import com.ajarly.backend.dto.BookingListResponse;
+import com.ajarly.backend.model.Booking.BookingStatus;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+/**
+ * Booking queries that need more than a {@code @Query} annotation can express
+ */
+public interface BookingRepositoryCustom {
+    
+    /**
+     * All booking list rows of an owner for export, oldest first, streamed row by row
+     * instead of buffering the whole result. The stream holds its connection until it
+     * is closed, so it must be consumed and closed inside a transaction.
+     */
+    Stream<BookingListResponse> streamOwnerBookingList(Long ownerId, BookingStatus status,
+                                                       LocalDate fromDate, LocalDate toDate);
+}
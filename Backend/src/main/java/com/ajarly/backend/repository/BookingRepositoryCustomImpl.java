@@ -0,0 +1,55 @@
+package com.ajarly.backend.repository;
+
+import com.ajarly.backend.dto.BookingListResponse;
+import com.ajarly.backend.model.Booking.BookingStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+/**
+ * The export query sets its fetch size from configuration, which {@code @QueryHints}
+ * cannot do. On MySQL the default of Integer.MIN_VALUE makes Connector/J stream rows
+ * off a forward-only, read-only result set without server-side cursors, so the rest
+ * of the pool keeps client-side prepared statements. Databases that reject a negative
+ * fetch size (H2) set bookings.export.fetch-size to a positive row count.
+ */
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+    
+    private static final String OWNER_EXPORT_QUERY =
+        "SELECT new com.ajarly.backend.dto.BookingListResponse(" +
+        "b.bookingId, b.bookingReference, b.propertyId, p.titleAr, p.propertyType, p.city, " +
+        "COALESCE(p.coverImage, (SELECT MIN(i.imageUrl) FROM PropertyImage i WHERE i.property = p AND i.isCover = true)), " +
+        "r.userId, r.firstName, r.lastName, r.phoneNumber, " +
+        "b.checkInDate, b.checkOutDate, b.numberOfNights, b.numberOfGuests, b.totalPrice, b.currency, " +
+        "b.status, b.paymentStatus, b.requestedAt, b.expiresAt) " +
+        "FROM Booking b JOIN b.property p JOIN b.renter r " +
+        "WHERE b.owner.userId = :ownerId " +
+        "AND (:status IS NULL OR b.status = :status) " +
+        "AND (:fromDate IS NULL OR b.checkInDate >= :fromDate) " +
+        "AND (:toDate IS NULL OR b.checkInDate < :toDate) " +
+        "AND (p.deleted = false OR p.deleted IS NULL) " +
+        "ORDER BY b.requestedAt ASC, b.bookingId ASC";
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${bookings.export.fetch-size:" + Integer.MIN_VALUE + "}")
+    private int exportFetchSize;
+    
+    @Override
+    public Stream<BookingListResponse> streamOwnerBookingList(Long ownerId, BookingStatus status,
+                                                              LocalDate fromDate, LocalDate toDate) {
+        return entityManager.createQuery(OWNER_EXPORT_QUERY, BookingListResponse.class)
+            .setParameter("ownerId", ownerId)
+            .setParameter("status", status)
+            .setParameter("fromDate", fromDate)
+            .setParameter("toDate", toDate)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, exportFetchSize)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream();
+    }
+}
@@ -0,0 +1,42 @@
+package com.ajarly.backend.repository;
+
+import com.ajarly.backend.dto.OwnerPropertyStats;
+import com.ajarly.backend.model.OwnerPropertySummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OwnerPropertySummaryRepository extends JpaRepository<OwnerPropertySummary, Long> {
+    
+    // Serializes concurrent refreshes of the same property
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM OwnerPropertySummary s WHERE s.propertyId = :propertyId")
+    Optional<OwnerPropertySummary> findForUpdate(@Param("propertyId") Long propertyId);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM OwnerPropertySummary s WHERE s.propertyId IN :propertyIds")
+    List<OwnerPropertySummary> findAllForUpdate(@Param("propertyIds") Collection<Long> propertyIds);
+    
+    /**
+     * One row per non-deleted property of the owner, joined with its summary.
+     * This is the whole per-property part of the owner dashboard in a single read.
+     */
+    @Query("SELECT new com.ajarly.backend.dto.OwnerPropertyStats(" +
+           "p.propertyId, p.titleAr, p.status, p.viewCount, p.averageRating, " +
+           "s.totalBookings, s.pendingBookings, s.confirmedBookings, s.completedBookings, " +
+           "s.totalRevenue, s.reviewCount, s.ratingSum) " +
+           "FROM Property p " +
+           "LEFT JOIN OwnerPropertySummary s ON s.propertyId = p.propertyId " +
+           "WHERE p.owner.userId = :ownerId " +
+           "AND p.status <> 'deleted' " +
+           "ORDER BY p.propertyId ASC")
+    List<OwnerPropertyStats> findOwnerPropertyStats(@Param("ownerId") Long ownerId);
+}
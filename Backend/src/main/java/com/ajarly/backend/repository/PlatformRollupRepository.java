@@ -0,0 +1,33 @@
+package com.ajarly.backend.repository;
+
+import com.ajarly.backend.model.PlatformRollup;
+import com.ajarly.backend.model.PlatformRollup.RollupDimension;
+import com.ajarly.backend.model.PlatformRollup.RollupPeriod;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PlatformRollupRepository extends JpaRepository<PlatformRollup, Long> {
+    
+    List<PlatformRollup> findByPeriodAndDimensionAndBucketDateBetweenOrderByBucketDateAsc(
+        RollupPeriod period, RollupDimension dimension, LocalDate from, LocalDate to);
+    
+    List<PlatformRollup> findByPeriodAndBucketDateBetween(RollupPeriod period, LocalDate from, LocalDate to);
+    
+    // Last day that has been rolled up; later days are still computed from the source tables
+    @Query("SELECT MAX(r.bucketDate) FROM PlatformRollup r WHERE r.period = 'daily'")
+    LocalDate findLastDailyBucket();
+    
+    @Modifying
+    @Query("DELETE FROM PlatformRollup r WHERE r.period = :period AND r.bucketDate >= :from AND r.bucketDate <= :to")
+    int deleteByPeriodAndBucketDateBetween(
+        @Param("period") RollupPeriod period,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to);
+}
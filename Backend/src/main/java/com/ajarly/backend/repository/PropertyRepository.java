@@ -2,23 +2,36 @@ package com.ajarly.backend.repository;
 
 import com.ajarly.backend.dto.LocationSuggestion;
 import com.ajarly.backend.dto.PopularLocationResponse;
+import com.ajarly.backend.dto.PropertySearchDocument;
 import com.ajarly.backend.model.Property;
 import com.ajarly.backend.model.Property.PropertyStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PropertyRepository extends JpaRepository<Property, Long>, JpaSpecificationExecutor<Property> {
     
+    /**
+     * Lock the property row for the rest of the transaction. Booking creation and
+     * confirmation take it before their availability check, so two requests for the
+     * same property run their check-then-write one after the other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Property p WHERE p.propertyId = :propertyId")
+    Optional<Property> findByIdForUpdate(@Param("propertyId") Long propertyId);
+    
     // ============================================
     // SOFT DELETE SUPPORT
     // ============================================
@@ -78,6 +91,11 @@ public interface PropertyRepository extends JpaRepository<Property, Long>, JpaSp
      */
     Long countByStatus(PropertyStatus status);
     
+    /**
+     * Count properties listed after the given instant
+     */
+    long countByCreatedAtAfter(LocalDateTime since);
+    
     /**
      * Check if slug exists
      */
@@ -209,6 +227,12 @@ public interface PropertyRepository extends JpaRepository<Property, Long>, JpaSp
     @Query("SELECT DISTINCT p FROM Property p LEFT JOIN FETCH p.images WHERE p.propertyId = :propertyId")
     Property findByIdWithImages(@Param("propertyId") Long propertyId);
     
+    /**
+     * Load a page of properties with their images in one query
+     */
+    @Query("SELECT DISTINCT p FROM Property p LEFT JOIN FETCH p.images WHERE p.propertyId IN :ids")
+    List<Property> findAllWithImagesByIdIn(@Param("ids") List<Long> ids);
+    
     /**
      * Search properties with images using JOIN FETCH
      */
@@ -231,4 +255,83 @@ public interface PropertyRepository extends JpaRepository<Property, Long>, JpaSp
         @Param("bedrooms") Integer bedrooms,
         Pageable pageable
     );
-}
\ No newline at end of file
+    
+    // ============================================
+    // SEARCH INDEX LOADING
+    // ============================================
+    
+    /**
+     * Load search documents in propertyId order (keyset batches, no entity hydration)
+     */
+    @Query("SELECT new com.ajarly.backend.dto.PropertySearchDocument(" +
+           "p.propertyId, p.status, p.governorate, p.city, p.neighborhood, " +
+           "p.propertyType, p.rentalType, p.pricePerNight, p.bedrooms, p.bathrooms, p.guestsCapacity, " +
+           "p.furnished, p.petsAllowed, p.smokingAllowed, p.instantBooking, p.isVerified, p.isFeatured, " +
+           "p.averageRating, p.viewCount, p.createdAt) " +
+           "FROM Property p " +
+           "WHERE (p.deleted = false OR p.deleted IS NULL) " +
+           "AND p.status = :status " +
+           "AND p.propertyId > :afterId " +
+           "ORDER BY p.propertyId ASC")
+    List<PropertySearchDocument> findSearchDocumentsAfter(
+        @Param("status") PropertyStatus status,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+    
+    /**
+     * Ids of all properties whose status is not the given one, without loading the entities
+     */
+    @Query("SELECT p.propertyId FROM Property p WHERE p.status <> :status ORDER BY p.propertyId ASC")
+    List<Long> findIdsByStatusNot(@Param("status") PropertyStatus status);
+    
+    // ============================================
+    // PLATFORM ANALYTICS
+    // ============================================
+    
+    /**
+     * Single row: total, active, sum of positive ratings.
+     */
+    @Query("SELECT COUNT(p), " +
+           "SUM(CASE WHEN p.status = 'active' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN p.averageRating > 0 THEN p.averageRating ELSE 0 END) " +
+           "FROM Property p")
+    List<Object[]> summarizeForPlatform();
+    
+    /**
+     * New properties per day, governorate and type in [start, end).
+     * Columns: day, governorate, propertyType, count.
+     */
+    @Query("SELECT CAST(p.createdAt AS LocalDate), p.governorate, p.propertyType, COUNT(p) FROM Property p " +
+           "WHERE p.createdAt >= :start AND p.createdAt < :end " +
+           "GROUP BY CAST(p.createdAt AS LocalDate), p.governorate, p.propertyType")
+    List<Object[]> countCreatedPerDayByGovernorateAndType(
+        @Param("start") LocalDateTime start,
+        @Param("end") LocalDateTime end);
+    
+    @Query("SELECT MIN(p.createdAt) FROM Property p")
+    LocalDateTime findFirstCreatedAt();
+    
+    /**
+     * Active properties per location, most properties first.
+     * Columns: governorate, city, count, sum of prices, count of priced listings.
+     */
+    @Query("SELECT p.governorate, p.city, COUNT(p), SUM(p.pricePerNight), COUNT(p.pricePerNight) FROM Property p " +
+           "WHERE p.status = 'active' " +
+           "GROUP BY p.governorate, p.city " +
+           "ORDER BY COUNT(p) DESC")
+    List<Object[]> summarizeActiveByLocation(Pageable pageable);
+    
+    /**
+     * Active properties per type.
+     * Columns: propertyType, count, sum of prices, count of priced listings,
+     * sum of positive ratings, count of rated listings.
+     */
+    @Query("SELECT p.propertyType, COUNT(p), SUM(p.pricePerNight), COUNT(p.pricePerNight), " +
+           "SUM(CASE WHEN p.averageRating > 0 THEN p.averageRating ELSE 0 END), " +
+           "SUM(CASE WHEN p.averageRating > 0 THEN 1 ELSE 0 END) " +
+           "FROM Property p " +
+           "WHERE p.status = 'active' " +
+           "GROUP BY p.propertyType")
+    List<Object[]> summarizeActiveByType();
+}
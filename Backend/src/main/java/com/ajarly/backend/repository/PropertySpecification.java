@@ -1,13 +1,24 @@
 package com.ajarly.backend.repository;
 
 import com.ajarly.backend.dto.SearchRequest;
+import com.ajarly.backend.dto.SeekCursor;
+import com.ajarly.backend.model.Booking;
+import com.ajarly.backend.model.Booking.BookingStatus;
 import com.ajarly.backend.model.Property;
 import com.ajarly.backend.model.Property.PropertyStatus;
+import com.ajarly.backend.model.UnavailableDate;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Property Specification - بناء شروط البحث الديناميكية
@@ -187,6 +198,28 @@ public class PropertySpecification {
                 ));
             }
             
+            // ========== فلتر الإتاحة: مفيش حجز ولا فترة مقفولة في الليالي المطلوبة ==========
+            if (searchRequest.hasDateRange()) {
+                Subquery<Integer> bookings = query.subquery(Integer.class);
+                Root<Booking> booking = bookings.from(Booking.class);
+                bookings.select(booking.get("bookingId")).where(
+                    criteriaBuilder.equal(booking.get("property"), root),
+                    booking.get("status").in(BookingStatus.pending, BookingStatus.confirmed),
+                    criteriaBuilder.lessThan(booking.get("checkInDate"), searchRequest.getCheckOut()),
+                    criteriaBuilder.greaterThan(booking.get("checkOutDate"), searchRequest.getCheckIn())
+                );
+                predicates.add(criteriaBuilder.not(criteriaBuilder.exists(bookings)));
+                
+                Subquery<Integer> blocks = query.subquery(Integer.class);
+                Root<UnavailableDate> block = blocks.from(UnavailableDate.class);
+                blocks.select(block.get("unavailableId")).where(
+                    criteriaBuilder.equal(block.get("property"), root),
+                    criteriaBuilder.lessThan(block.get("unavailableFrom"), searchRequest.getCheckOut()),
+                    criteriaBuilder.greaterThan(block.get("unavailableTo"), searchRequest.getCheckIn())
+                );
+                predicates.add(criteriaBuilder.not(criteriaBuilder.exists(blocks)));
+            }
+            
             // ========== دمج كل الشروط بـ AND ==========
             // يعني: يجب تحقق كل الشروط معاً
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
@@ -221,7 +254,146 @@ public class PropertySpecification {
         if (searchRequest.getInstantBooking() != null) count++;
         if (searchRequest.getIsVerified() != null) count++;
         if (searchRequest.getIsFeatured() != null) count++;
+        if (searchRequest.hasDateRange()) count++;
         
         return count;
     }
+    
+    // ============================================
+    // Keyset (Seek) Pagination
+    // ============================================
+    
+    /**
+     * الحقول المسموح بيها في الـ cursor (لازم تكون مع propertyId ترتيب فريد)
+     */
+    public static final Set<String> SEEK_FIELDS = Set.of("createdAt", "pricePerNight", "averageRating", "viewCount");
+    
+    /**
+     * شروط قائمة العقارات العامة (GET /properties) - نفس فلاتر PropertyRepository.searchProperties
+     */
+    public static Specification<Property> buildListingSpecification(
+            String governorate,
+            String city,
+            Property.PropertyType propertyType,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Integer bedrooms) {
+        
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(criteriaBuilder.equal(root.get("status"), PropertyStatus.active));
+            
+            if (governorate != null) {
+                predicates.add(criteriaBuilder.equal(root.get("governorate"), governorate));
+            }
+            if (city != null) {
+                predicates.add(criteriaBuilder.equal(root.get("city"), city));
+            }
+            if (propertyType != null) {
+                predicates.add(criteriaBuilder.equal(root.get("propertyType"), propertyType));
+            }
+            if (minPrice != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("pricePerNight"), minPrice));
+            }
+            if (maxPrice != null) {
+                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("pricePerNight"), maxPrice));
+            }
+            if (bedrooms != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("bedrooms"), bedrooms));
+            }
+            
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+    
+    /**
+     * عقارات مالك معين (كل الحالات)
+     */
+    public static Specification<Property> ownedBy(Long ownerId) {
+        return (root, query, criteriaBuilder) ->
+            criteriaBuilder.equal(root.get("owner").get("userId"), ownerId);
+    }
+    
+    /**
+     * شرط "بعد الـ cursor": (القيمة، propertyId) أكبر/أصغر من آخر صف في الصفحة السابقة
+     * 
+     * الـ NULL بيتعامل زي MySQL: أول حاجة في ASC وآخر حاجة في DESC
+     * 
+     * @param cursor آخر صف في الصفحة السابقة
+     * @return Specification جاهز للدمج مع باقي الشروط
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Property> seekAfter(SeekCursor cursor) {
+        Comparable value = seekValue(cursor);
+        long lastId = cursor.getId();
+        
+        return (root, query, criteriaBuilder) -> {
+            Path<Comparable> field = root.get(cursor.getSortField());
+            Path<Long> id = root.get("propertyId");
+            
+            if (cursor.isAscending()) {
+                if (value == null) {
+                    return criteriaBuilder.or(
+                        criteriaBuilder.isNotNull(field),
+                        criteriaBuilder.greaterThan(id, lastId)
+                    );
+                }
+                return criteriaBuilder.or(
+                    criteriaBuilder.greaterThan(field, value),
+                    criteriaBuilder.and(criteriaBuilder.equal(field, value), criteriaBuilder.greaterThan(id, lastId))
+                );
+            }
+            
+            if (value == null) {
+                return criteriaBuilder.and(criteriaBuilder.isNull(field), criteriaBuilder.lessThan(id, lastId));
+            }
+            return criteriaBuilder.or(
+                criteriaBuilder.lessThan(field, value),
+                criteriaBuilder.and(criteriaBuilder.equal(field, value), criteriaBuilder.lessThan(id, lastId)),
+                criteriaBuilder.isNull(field)
+            );
+        };
+    }
+    
+    /**
+     * ترتيب الـ seek: الحقل ثم propertyId بنفس الاتجاه (عشان الترتيب يبقى فريد)
+     */
+    public static Sort seekSort(String sortField, boolean ascending) {
+        Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return Sort.by(direction, sortField).and(Sort.by(direction, "propertyId"));
+    }
+    
+    /**
+     * بناء الـ cursor من آخر عقار في الصفحة
+     */
+    public static SeekCursor cursorAfter(Property property, String sortField, boolean ascending) {
+        Object value = switch (sortField) {
+            case "pricePerNight" -> property.getPricePerNight();
+            case "averageRating" -> property.getAverageRating();
+            case "viewCount" -> property.getViewCount();
+            default -> property.getCreatedAt();
+        };
+        return SeekCursor.of(sortField, ascending, value, property.getPropertyId());
+    }
+    
+    /**
+     * تحويل قيمة الـ cursor (نص) لنوع الحقل
+     */
+    private static Comparable<?> seekValue(SeekCursor cursor) {
+        if (!SEEK_FIELDS.contains(cursor.getSortField())) {
+            throw new IllegalArgumentException("Unsupported cursor sort field: " + cursor.getSortField());
+        }
+        if (cursor.getValue() == null) {
+            return null;
+        }
+        try {
+            return switch (cursor.getSortField()) {
+                case "pricePerNight", "averageRating" -> new BigDecimal(cursor.getValue());
+                case "viewCount" -> Integer.valueOf(cursor.getValue());
+                default -> LocalDateTime.parse(cursor.getValue());
+            };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
 }
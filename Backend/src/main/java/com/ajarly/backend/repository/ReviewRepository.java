@@ -9,6 +9,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -196,5 +198,54 @@ Page<Review> findByReviewerWithPropertyAndImages(
     Pageable pageable
 );
 
+// ==================== DAILY ANALYTICS AGGREGATES ====================
 
-}
\ No newline at end of file
+/**
+ * Approved reviews created in [start, end), per property
+ */
+@Query("SELECT r.property.propertyId, COUNT(r) FROM Review r " +
+       "WHERE r.isApproved = TRUE " +
+       "AND r.createdAt >= :start AND r.createdAt < :end " +
+       "GROUP BY r.property.propertyId")
+List<Object[]> countApprovedCreatedBetweenByProperty(
+    @Param("start") LocalDateTime start,
+    @Param("end") LocalDateTime end
+);
+
+/**
+ * Average approved rating per property over reviews created before the given instant
+ */
+@Query("SELECT r.property.propertyId, AVG(r.overallRating) FROM Review r " +
+       "WHERE r.isApproved = TRUE " +
+       "AND r.createdAt < :before " +
+       "GROUP BY r.property.propertyId")
+List<Object[]> averageApprovedRatingBeforeByProperty(@Param("before") LocalDateTime before);
+
+// ==================== OWNER DASHBOARD ====================
+
+/**
+ * Approved review count and rating sum per property.
+ * Columns: propertyId, count, sum of overallRating.
+ */
+@Query("SELECT r.property.propertyId, COUNT(r), COALESCE(SUM(r.overallRating), 0) FROM Review r " +
+       "WHERE r.isApproved = TRUE " +
+       "AND r.property.propertyId IN :propertyIds " +
+       "GROUP BY r.property.propertyId")
+List<Object[]> summarizeApprovedByProperty(@Param("propertyIds") Collection<Long> propertyIds);
+
+/**
+ * Latest approved reviews across an owner's non-deleted properties, with reviewer and property loaded
+ */
+@Query("SELECT r FROM Review r " +
+       "JOIN FETCH r.reviewer " +
+       "JOIN FETCH r.property p " +
+       "WHERE p.owner.userId = :ownerId " +
+       "AND p.status <> 'deleted' " +
+       "AND (p.deleted = false OR p.deleted IS NULL) " +
+       "AND r.isApproved = TRUE " +
+       "ORDER BY r.createdAt DESC")
+List<Review> findRecentApprovedReviewsForOwner(
+    @Param("ownerId") Long ownerId,
+    Pageable pageable
+);
+}
@@ -3,11 +3,13 @@ package com.ajarly.backend.repository;
 import com.ajarly.backend.model.UnavailableDate;
 import com.ajarly.backend.model.UnavailableDate.UnavailableReason;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,23 +27,65 @@ public interface UnavailableDateRepository extends JpaRepository<UnavailableDate
         @Param("startDate") LocalDate startDate,
         @Param("endDate") LocalDate endDate);
     
-    // Check if property is available for specific dates (UPDATED to use Long)
+    // Check if property is available for specific dates (ranges overlap when each starts before the other ends)
     @Query("SELECT COUNT(ud) > 0 FROM UnavailableDate ud " +
            "WHERE ud.property.propertyId = :propertyId " +
-           "AND ((ud.unavailableFrom <= :checkIn AND ud.unavailableTo > :checkIn) " +
-           "OR (ud.unavailableFrom < :checkOut AND ud.unavailableTo >= :checkOut) " +
-           "OR (ud.unavailableFrom >= :checkIn AND ud.unavailableTo <= :checkOut))")
+           "AND ud.unavailableFrom < :checkOut AND ud.unavailableTo > :checkIn")
     Boolean hasUnavailableDates(
         @Param("propertyId") Long propertyId,
         @Param("checkIn") LocalDate checkIn,
         @Param("checkOut") LocalDate checkOut);
     
+    /**
+     * Blocked ranges of a property that end after a date, for the availability index.
+     * Each row: [unavailableId, bookingId (null for owner blocks), unavailableFrom, unavailableTo, reason]
+     */
+    @Query("SELECT ud.unavailableId, b.bookingId, ud.unavailableFrom, ud.unavailableTo, ud.reason " +
+           "FROM UnavailableDate ud LEFT JOIN ud.booking b " +
+           "WHERE ud.property.propertyId = :propertyId " +
+           "AND ud.unavailableTo > :from")
+    List<Object[]> findBlockedIntervalsForProperty(
+        @Param("propertyId") Long propertyId,
+        @Param("from") LocalDate from);
+    
+    /**
+     * Blocked ranges of all properties that end after a date, for the search occupancy bitmaps.
+     * Each row: [propertyId, unavailableFrom, unavailableTo]
+     */
+    @Query("SELECT ud.property.propertyId, ud.unavailableFrom, ud.unavailableTo FROM UnavailableDate ud " +
+           "WHERE ud.unavailableTo > :from")
+    List<Object[]> findBlockedIntervalsEndingAfter(@Param("from") LocalDate from);
+    
+    /**
+     * Blocked ranges of the given properties that end after a date, for refreshing
+     * changed occupancy bitmaps.
+     * Each row: [propertyId, unavailableFrom, unavailableTo]
+     */
+    @Query("SELECT ud.property.propertyId, ud.unavailableFrom, ud.unavailableTo FROM UnavailableDate ud " +
+           "WHERE ud.property.propertyId IN :propertyIds " +
+           "AND ud.unavailableTo > :from")
+    List<Object[]> findBlockedIntervalsForProperties(
+        @Param("propertyIds") Collection<Long> propertyIds,
+        @Param("from") LocalDate from);
+    
+    // Properties with a blocked range overlapping the range
+    @Query("SELECT DISTINCT ud.property.propertyId FROM UnavailableDate ud " +
+           "WHERE ud.unavailableFrom < :checkOut AND ud.unavailableTo > :checkIn")
+    List<Long> findPropertyIdsWithUnavailableDates(
+        @Param("checkIn") LocalDate checkIn,
+        @Param("checkOut") LocalDate checkOut);
+    
     // Find by booking
     Optional<UnavailableDate> findByBookingBookingId(Integer bookingId);
     
     // Delete by booking (for cancellations)
     void deleteByBookingBookingId(Integer bookingId);
     
+    // Delete the rows of many bookings at once (for the auto-expire and auto-complete jobs)
+    @Modifying
+    @Query("DELETE FROM UnavailableDate ud WHERE ud.booking.bookingId IN :bookingIds")
+    int deleteByBookingIds(@Param("bookingIds") Collection<Integer> bookingIds);
+    
     // Find upcoming unavailable dates for a property (UPDATED to use Long)
     @Query("SELECT ud FROM UnavailableDate ud WHERE ud.property.propertyId = :propertyId " +
            "AND ud.unavailableTo >= :today ORDER BY ud.unavailableFrom ASC")
@@ -2,8 +2,12 @@ package com.ajarly.backend.repository;
 
 import com.ajarly.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +20,41 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
     
     boolean existsByPhoneNumber(String phoneNumber);
-}
\ No newline at end of file
+    
+    // Admin dashboard counters
+    long countByCreatedAtAfter(LocalDateTime since);
+    
+    long countByIsActiveFalse();
+    
+    // Token revocation: loaded once at startup
+    @Query("SELECT u.userId FROM User u WHERE u.isActive = false")
+    List<Long> findInactiveUserIds();
+    
+    /**
+     * Users whose password changed after the given time. Columns: userId, passwordChangedAt.
+     */
+    @Query("SELECT u.userId, u.passwordChangedAt FROM User u WHERE u.passwordChangedAt > :since")
+    List<Object[]> findPasswordChangesSince(@Param("since") LocalDateTime since);
+    
+    // ==================== PLATFORM ANALYTICS ====================
+    
+    /**
+     * Users per type. Columns: userType, count.
+     */
+    @Query("SELECT u.userType, COUNT(u) FROM User u GROUP BY u.userType")
+    List<Object[]> countByUserType();
+    
+    @Query("SELECT COUNT(u) FROM User u WHERE u.lastActivity >= :start AND u.lastActivity < :end")
+    Long countActiveBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+    
+    /**
+     * New users per day and type in [start, end). Columns: day, userType, count.
+     */
+    @Query("SELECT CAST(u.createdAt AS LocalDate), u.userType, COUNT(u) FROM User u " +
+           "WHERE u.createdAt >= :start AND u.createdAt < :end " +
+           "GROUP BY CAST(u.createdAt AS LocalDate), u.userType")
+    List<Object[]> countCreatedPerDayByType(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+    
+    @Query("SELECT MIN(u.createdAt) FROM User u")
+    LocalDateTime findFirstCreatedAt();
+}
@@ -2,67 +2,88 @@ package com.ajarly.backend.scheduler;
 
 import com.ajarly.backend.model.*;
 import com.ajarly.backend.repository.*;
+import com.ajarly.backend.service.PropertyViewTracker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Analytics Scheduler
  * يقوم بحساب التحليلات اليومية للعقارات
  * يعمل كل يوم في الساعة 1 صباحاً
+ *
+ * الحساب set-based: كام query بـ GROUP BY لليوم كله لكل العقارات مرة واحدة،
+ * وبعدين الصفوف بتتكتب بـ JDBC batch insert على دفعات كل دفعة في transaction لوحدها
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class AnalyticsScheduler {
     
+    private static final int INSERT_CHUNK_SIZE = 500;
+    
+    private static final String INSERT_SQL =
+        "INSERT INTO property_performance_analytics (" +
+        "property_id, analytics_date, total_views, unique_views, " +
+        "booking_requests, booking_confirmations, booking_cancellations, booking_rejections, " +
+        "revenue, potential_revenue, new_reviews, average_rating, " +
+        "contact_clicks, image_views, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    // إعادة الحساب: المقاييس اللي جاية من bookings و reviews بس
+    private static final String UPDATE_SQL =
+        "UPDATE property_performance_analytics SET " +
+        "booking_requests = ?, booking_confirmations = ?, booking_cancellations = ?, booking_rejections = ?, " +
+        "revenue = ?, potential_revenue = ?, new_reviews = ?, average_rating = ? " +
+        "WHERE property_id = ? AND analytics_date = ?";
+    
+    // نفس اللي فوق + المشاهدات، لما اليوم لسه موجود في الذاكرة
+    private static final String UPDATE_WITH_VIEWS_SQL =
+        "UPDATE property_performance_analytics SET " +
+        "booking_requests = ?, booking_confirmations = ?, booking_cancellations = ?, booking_rejections = ?, " +
+        "revenue = ?, potential_revenue = ?, new_reviews = ?, average_rating = ?, " +
+        "total_views = ?, unique_views = ? " +
+        "WHERE property_id = ? AND analytics_date = ?";
+    
     private final AnalyticsRepository analyticsRepository;
     private final PropertyRepository propertyRepository;
     private final BookingRepository bookingRepository;
     private final ReviewRepository reviewRepository;
+    private final PropertyViewTracker viewTracker;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
     
     /**
      * حساب التحليلات اليومية لجميع العقارات
      * يعمل كل يوم في الساعة 1 صباحاً بتوقيت القاهرة
      */
     @Scheduled(cron = "0 0 1 * * *", zone = "Africa/Cairo")
-    @Transactional
     public void calculateDailyAnalytics() {
         log.info("=== Starting Daily Analytics Calculation ===");
-        LocalDate yesterday = LocalDate.now().minusDays(1);
+        // نفس المنطقة الزمنية بتاعة الـ cron وبتاعة تقسيم المشاهدات على الأيام
+        LocalDate yesterday = LocalDate.now(PropertyViewTracker.ANALYTICS_ZONE).minusDays(1);
         
         try {
-            // Get all active and inactive properties (not deleted)
-            List<Property> properties = propertyRepository.findAll().stream()
-                .filter(p -> p.getStatus() != Property.PropertyStatus.deleted)
-                .toList();
-            
-            log.info("Processing analytics for {} properties", properties.size());
-            
-            int successCount = 0;
-            int errorCount = 0;
-            
-            for (Property property : properties) {
-                try {
-                    calculatePropertyAnalytics(property, yesterday);
-                    successCount++;
-                } catch (Exception e) {
-                    log.error("Error calculating analytics for property {}: {}", 
-                             property.getPropertyId(), e.getMessage());
-                    errorCount++;
-                }
-            }
-            
+            int inserted = calculateAnalyticsForDate(yesterday, null);
             log.info("=== Daily Analytics Calculation Completed ===");
-            log.info("Success: {}, Errors: {}", successCount, errorCount);
+            log.info("Rows inserted for {}: {}", yesterday, inserted);
             
         } catch (Exception e) {
             log.error("Fatal error in daily analytics calculation: {}", e.getMessage(), e);
@@ -70,181 +91,171 @@ public class AnalyticsScheduler {
     }
     
     /**
-     * حساب التحليلات لعقار واحد في يوم معين
+     * حساب التحليلات لكل العقارات (غير المحذوفة) في يوم معين
+     * العقارات اللي ليها صف بالفعل في اليوم ده بتتساب زي ما هي
+     *
+     * @param propertyIds لو null يبقى كل العقارات، غير كده العقارات دي بس
+     * @return عدد الصفوف اللي اتضافت
      */
-    private void calculatePropertyAnalytics(Property property, LocalDate date) {
-        log.debug("Calculating analytics for property {} on {}", property.getPropertyId(), date);
-        
-        // Check if analytics already exist for this date
-        Optional<PropertyPerformanceAnalytics> existingAnalytics = 
-            analyticsRepository.findByPropertyPropertyIdAndAnalyticsDate(
-                property.getPropertyId(), date);
+    public int calculateAnalyticsForDate(LocalDate date, Collection<Long> propertyIds) {
+        return calculateAnalyticsForDate(date, propertyIds, false);
+    }
+    
+    /**
+     * زي اللي فوق، ولو recompute = true الصفوف الموجودة بتتحدث بدل ما تتساب
+     * (بعد إصلاح bug في الحساب مثلاً). المشاهدات القديمة بتفضل زي ما هي
+     * إلا لو اليوم لسه متسجل في PropertyViewTracker.
+     * آمنة للتكرار: تشغيل نفس اليوم مرتين بيدي نفس النتيجة
+     *
+     * @return عدد الصفوف اللي اتكتبت (إضافة + تحديث)
+     */
+    public int calculateAnalyticsForDate(LocalDate date, Collection<Long> propertyIds, boolean recompute) {
+        long startTime = System.currentTimeMillis();
+        LocalDateTime start = date.atStartOfDay();
+        LocalDateTime end = date.plusDays(1).atStartOfDay();
         
-        if (existingAnalytics.isPresent()) {
-            log.debug("Analytics already exist for property {} on {}, skipping", 
-                     property.getPropertyId(), date);
-            return;
+        // Get all active and inactive properties (not deleted) - ids only
+        List<Long> targetIds = propertyRepository.findIdsByStatusNot(Property.PropertyStatus.deleted);
+        if (propertyIds != null) {
+            Set<Long> wanted = new HashSet<>(propertyIds);
+            targetIds = targetIds.stream().filter(wanted::contains).toList();
         }
+        Set<Long> existing = new HashSet<>(analyticsRepository.findPropertyIdsByAnalyticsDate(date));
         
-        // Calculate metrics
-        Integer totalViews = calculateDailyViews(property, date);
-        Integer uniqueViews = calculateUniqueViews(property, date);
-        Integer bookingRequests = calculateBookingRequests(property, date);
-        Integer bookingConfirmations = calculateBookingConfirmations(property, date);
-        Integer bookingCancellations = calculateBookingCancellations(property, date);
-        Integer bookingRejections = calculateBookingRejections(property, date);
-        BigDecimal revenue = calculateRevenue(property, date);
-        BigDecimal potentialRevenue = calculatePotentialRevenue(property, date);
-        Integer newReviews = calculateNewReviews(property, date);
-        BigDecimal averageRating = calculateAverageRating(property, date);
-        Integer contactClicks = 0; // Will be tracked when contact feature is implemented
-        Integer imageViews = 0; // Will be tracked when image tracking is implemented
+        // Aggregates for the whole day, one query each
+        Map<Long, Object[]> bookingMetrics = byPropertyId(
+            bookingRepository.aggregateDailyMetricsByProperty(start, end));
+        Map<Long, Object[]> newReviews = byPropertyId(
+            reviewRepository.countApprovedCreatedBetweenByProperty(start, end));
+        Map<Long, Object[]> averageRatings = byPropertyId(
+            reviewRepository.averageApprovedRatingBeforeByProperty(end));
         
-        // Create analytics record
-        PropertyPerformanceAnalytics analytics = PropertyPerformanceAnalytics.builder()
-            .property(property)
-            .analyticsDate(date)
-            .totalViews(totalViews)
-            .uniqueViews(uniqueViews)
-            .bookingRequests(bookingRequests)
-            .bookingConfirmations(bookingConfirmations)
-            .bookingCancellations(bookingCancellations)
-            .bookingRejections(bookingRejections)
-            .revenue(revenue)
-            .potentialRevenue(potentialRevenue)
-            .newReviews(newReviews)
-            .averageRating(averageRating)
-            .contactClicks(contactClicks)
-            .imageViews(imageViews)
-            .build();
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        boolean withViews = viewTracker.hasDay(date);
+        String updateSql = withViews ? UPDATE_WITH_VIEWS_SQL : UPDATE_SQL;
+        List<Object[]> inserts = new ArrayList<>(INSERT_CHUNK_SIZE);
+        List<Object[]> updates = new ArrayList<>(INSERT_CHUNK_SIZE);
+        int inserted = 0;
+        int updated = 0;
         
-        analyticsRepository.save(analytics);
+        for (Long propertyId : targetIds) {
+            boolean exists = existing.contains(propertyId);
+            if (exists && !recompute) {
+                continue;
+            }
+            Object[] row = buildRow(propertyId, date, createdAt,
+                bookingMetrics.get(propertyId),
+                newReviews.get(propertyId),
+                averageRatings.get(propertyId));
+            
+            if (exists) {
+                updates.add(toUpdateArgs(row, withViews));
+                if (updates.size() == INSERT_CHUNK_SIZE) {
+                    updated += writeChunk(updateSql, updates);
+                    updates = new ArrayList<>(INSERT_CHUNK_SIZE);
+                }
+            } else {
+                inserts.add(row);
+                if (inserts.size() == INSERT_CHUNK_SIZE) {
+                    inserted += writeChunk(INSERT_SQL, inserts);
+                    inserts = new ArrayList<>(INSERT_CHUNK_SIZE);
+                }
+            }
+        }
+        if (!inserts.isEmpty()) {
+            inserted += writeChunk(INSERT_SQL, inserts);
+        }
+        if (!updates.isEmpty()) {
+            updated += writeChunk(updateSql, updates);
+        }
         
-        log.debug("Analytics saved for property {} on {}: Views={}, Bookings={}, Revenue={}", 
-                 property.getPropertyId(), date, totalViews, bookingConfirmations, revenue);
+        log.info("Analytics for {}: {} properties, {} inserted, {} updated, {} already present ({} ms)",
+                 date, targetIds.size(), inserted, updated, existing.size(), System.currentTimeMillis() - startTime);
+        return inserted + updated;
     }
     
     // ============ Calculation Helper Methods ============
     
     /**
-     * حساب المشاهدات اليومية
-     * Note: في حالة عدم وجود tracking system، نستخدم viewCount الإجمالي
-     */
-    private Integer calculateDailyViews(Property property, LocalDate date) {
-        // TODO: Implement proper view tracking with timestamps
-        // For now, return 0 or implement a simple increment logic
-        return 0;
-    }
-    
-    /**
-     * حساب المشاهدات الفريدة
-     * Note: يتطلب tracking system متقدم لتتبع IP addresses أو User IDs
+     * صف واحد لـ property_performance_analytics بنفس ترتيب INSERT_SQL
+     * العقار اللي مالوش نشاط في اليوم بياخد أصفار
      */
-    private Integer calculateUniqueViews(Property property, LocalDate date) {
-        // TODO: Implement unique view tracking
-        return 0;
-    }
-    
-    /**
-     * حساب طلبات الحجز التي تمت في هذا اليوم
-     */
-    private Integer calculateBookingRequests(Property property, LocalDate date) {
-        List<Booking> bookings = bookingRepository.findByPropertyPropertyIdOrderByRequestedAtDesc(
-            property.getPropertyId());
-        
-        return (int) bookings.stream()
-            .filter(b -> b.getRequestedAt().toLocalDate().equals(date))
-            .count();
-    }
-    
-    /**
-     * حساب الحجوزات المؤكدة في هذا اليوم
-     */
-    private Integer calculateBookingConfirmations(Property property, LocalDate date) {
-        List<Booking> bookings = bookingRepository.findByPropertyPropertyIdOrderByRequestedAtDesc(
-            property.getPropertyId());
+    private Object[] buildRow(Long propertyId, LocalDate date, Timestamp createdAt,
+                              Object[] bookings, Object[] reviews, Object[] rating) {
+        // المشاهدات من العدادات اللي في الذاكرة (PropertyViewTracker) - مفيش query على قاعدة البيانات
+        long totalViews = viewTracker.getTotalViews(propertyId, date);
+        // المشاهدات الفريدة: تقدير بالـ HyperLogLog على user id أو IP الزائر
+        long uniqueViews = viewTracker.getUniqueViews(propertyId, date);
         
-        return (int) bookings.stream()
-            .filter(b -> b.getConfirmedAt() != null && 
-                        b.getConfirmedAt().toLocalDate().equals(date))
-            .count();
-    }
-    
-    /**
-     * حساب الحجوزات الملغاة في هذا اليوم
-     */
-    private Integer calculateBookingCancellations(Property property, LocalDate date) {
-        List<Booking> bookings = bookingRepository.findByPropertyPropertyIdOrderByRequestedAtDesc(
-            property.getPropertyId());
+        BigDecimal averageRating = rating == null || rating[1] == null
+            ? BigDecimal.ZERO
+            : BigDecimal.valueOf(((Number) rating[1]).doubleValue());
         
-        return (int) bookings.stream()
-            .filter(b -> b.getCancelledAt() != null && 
-                        b.getCancelledAt().toLocalDate().equals(date))
-            .count();
+        return new Object[]{
+            propertyId,
+            Date.valueOf(date),
+            (int) totalViews,
+            (int) uniqueViews,
+            bookings == null ? 0 : toInt(bookings[1]),                    // طلبات الحجز
+            bookings == null ? 0 : toInt(bookings[2]),                    // المؤكدة
+            bookings == null ? 0 : toInt(bookings[3]),                    // الملغاة
+            bookings == null ? 0 : toInt(bookings[4]),                    // المرفوضة
+            bookings == null ? BigDecimal.ZERO : toBigDecimal(bookings[5]),  // الإيرادات المحققة
+            bookings == null ? BigDecimal.ZERO : toBigDecimal(bookings[6]),  // الإيرادات المحتملة
+            reviews == null ? 0 : toInt(reviews[1]),                      // المراجعات الجديدة
+            averageRating.setScale(2, RoundingMode.HALF_UP),              // متوسط التقييم حتى اليوم ده
+            0,  // contactClicks: Will be tracked when contact feature is implemented
+            0,  // imageViews: Will be tracked when image tracking is implemented
+            createdAt
+        };
     }
     
     /**
-     * حساب الحجوزات المرفوضة في هذا اليوم
+     * تحويل صف الـ INSERT لـ parameters الـ UPDATE_SQL / UPDATE_WITH_VIEWS_SQL
      */
-    private Integer calculateBookingRejections(Property property, LocalDate date) {
-        List<Booking> bookings = bookingRepository.findByPropertyPropertyIdOrderByRequestedAtDesc(
-            property.getPropertyId());
-        
-        return (int) bookings.stream()
-            .filter(b -> b.getRejectedAt() != null && 
-                        b.getRejectedAt().toLocalDate().equals(date))
-            .count();
+    private static Object[] toUpdateArgs(Object[] row, boolean withViews) {
+        List<Object> args = new ArrayList<>(12);
+        for (int i = 4; i <= 11; i++) {
+            args.add(row[i]);
+        }
+        if (withViews) {
+            args.add(row[2]);
+            args.add(row[3]);
+        }
+        args.add(row[0]);
+        args.add(row[1]);
+        return args.toArray();
     }
     
     /**
-     * حساب الإيرادات المحققة في هذا اليوم
-     * (من الحجوزات التي تم تأكيدها في هذا اليوم)
+     * كتابة دفعة واحدة في transaction لوحدها
      */
-    private BigDecimal calculateRevenue(Property property, LocalDate date) {
-        List<Booking> bookings = bookingRepository.findByPropertyPropertyIdOrderByRequestedAtDesc(
-            property.getPropertyId());
-        
-        return bookings.stream()
-            .filter(b -> b.getConfirmedAt() != null && 
-                        b.getConfirmedAt().toLocalDate().equals(date))
-            .map(Booking::getTotalPrice)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private int writeChunk(String sql, List<Object[]> rows) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows));
+        log.debug("Wrote analytics batch of {} rows", rows.size());
+        return rows.size();
     }
     
     /**
-     * حساب الإيرادات المحتملة
-     * (من جميع طلبات الحجز بغض النظر عن حالتها)
+     * نتيجة GROUP BY (أول عمود propertyId) في Map
      */
-    private BigDecimal calculatePotentialRevenue(Property property, LocalDate date) {
-        List<Booking> bookings = bookingRepository.findByPropertyPropertyIdOrderByRequestedAtDesc(
-            property.getPropertyId());
-        
-        return bookings.stream()
-            .filter(b -> b.getRequestedAt().toLocalDate().equals(date))
-            .map(Booking::getTotalPrice)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private static Map<Long, Object[]> byPropertyId(List<Object[]> rows) {
+        Map<Long, Object[]> result = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            result.put(((Number) row[0]).longValue(), row);
+        }
+        return result;
     }
     
-    /**
-     * حساب المراجعات الجديدة في هذا اليوم
-     */
-    private Integer calculateNewReviews(Property property, LocalDate date) {
-        var reviews = reviewRepository.findByPropertyIdAndApproved(
-            property.getPropertyId(), null).getContent();
-        
-        return (int) reviews.stream()
-            .filter(r -> r.getCreatedAt().toLocalDate().equals(date))
-            .count();
+    private static int toInt(Object value) {
+        return value == null ? 0 : ((Number) value).intValue();
     }
     
-    /**
-     * حساب متوسط التقييم حتى هذا اليوم
-     */
-    private BigDecimal calculateAverageRating(Property property, LocalDate date) {
-        Optional<Double> avgRating = reviewRepository.getAverageRatingByPropertyId(
-            property.getPropertyId());
-        
-        return avgRating.map(BigDecimal::valueOf).orElse(BigDecimal.ZERO);
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
     }
     
     /**
@@ -263,9 +274,10 @@ public class AnalyticsScheduler {
     public void calculateAnalyticsForPropertyAndDate(Long propertyId, LocalDate date) {
         log.info("Calculating analytics for property {} on {}", propertyId, date);
         
-        Property property = propertyRepository.findById(propertyId)
-            .orElseThrow(() -> new RuntimeException("Property not found"));
+        if (!propertyRepository.existsById(propertyId)) {
+            throw new RuntimeException("Property not found");
+        }
         
-        calculatePropertyAnalytics(property, date);
+        calculateAnalyticsForDate(date, List.of(propertyId));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,70 @@
+package com.ajarly.backend.scheduler;
+
+import com.ajarly.backend.metrics.MetricsContext;
+import com.ajarly.backend.service.BookingExpiryQueue;
+import com.ajarly.backend.service.BookingService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expires pending bookings as their deadlines pass
+ * - Fills the expiry queue with every pending booking at startup
+ * - Expires each booking within seconds of its expiresAt
+ * The hourly auto-expire task stays as a backstop for bookings this
+ * instance did not queue (created elsewhere, or a failed batch)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingExpiryWorker {
+    
+    private static final int MAX_BATCH = 500;
+    
+    private final BookingService bookingService;
+    private final BookingExpiryQueue expiryQueue;
+    
+    private volatile boolean running;
+    private Thread worker;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        int queued = bookingService.queuePendingExpiries();
+        
+        running = true;
+        worker = new Thread(this::expireLoop, "booking-expiry-worker");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("⏰ Booking expiry worker started with {} pending bookings queued", queued);
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+    
+    private void expireLoop() {
+        MetricsContext.enter("worker:booking-expiry");
+        while (running) {
+            try {
+                List<Integer> due = expiryQueue.takeDue(MAX_BATCH);
+                bookingService.expireDueBookings(due);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("❌ Error expiring due bookings", e);
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.ajarly.backend.scheduler;
 
 import com.ajarly.backend.service.BookingService;
+import com.ajarly.backend.service.OwnerPropertySummaryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Component;
  * Scheduled tasks for booking management
  * - Auto-expire pending bookings after 48 hours
  * - Auto-complete bookings after check-out date
+ * - Reconcile the owner dashboard summaries
  */
 @Component
 @RequiredArgsConstructor
@@ -17,10 +19,12 @@ import org.springframework.stereotype.Component;
 public class BookingScheduler {
     
     private final BookingService bookingService;
+    private final OwnerPropertySummaryService ownerPropertySummaryService;
     
     /**
      * Auto-expire pending bookings that haven't been confirmed
-     * Runs every hour
+     * Runs every hour, as a backstop to the expiry worker that expires
+     * bookings at their deadline
      */
     @Scheduled(cron = "0 0 * * * *") // Every hour at minute 0
     public void autoExpireBookings() {
@@ -47,4 +51,20 @@ public class BookingScheduler {
             log.error("Error during auto-complete task", e);
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Recompute every owner dashboard summary from bookings and reviews,
+     * repairing any row whose event-driven refresh failed
+     * Runs daily at 3 AM, after auto-complete
+     */
+    @Scheduled(cron = "0 0 3 * * *") // Every day at 3:00 AM
+    public void reconcileOwnerSummaries() {
+        log.info("Running scheduled task: Reconcile owner dashboard summaries");
+        try {
+            ownerPropertySummaryService.rebuildAll();
+            log.info("Owner summary reconcile completed successfully");
+        } catch (Exception e) {
+            log.error("Error during owner summary reconcile", e);
+        }
+    }
+}
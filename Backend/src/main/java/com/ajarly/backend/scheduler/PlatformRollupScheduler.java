@@ -0,0 +1,33 @@
+package com.ajarly.backend.scheduler;
+
+import com.ajarly.backend.service.PlatformRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Platform Rollup Scheduler
+ * بيعمل rollup لليوم اللي خلص (وأي أيام فاتت) في platform_rollups
+ *
+ * الأيام بتتقسم على توقيت السيرفر زي created_at / requested_at،
+ * فالـ cron على توقيت السيرفر برضه بعد نص الليل بشوية
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PlatformRollupScheduler {
+    
+    private final PlatformRollupService rollupService;
+    
+    @Scheduled(cron = "0 15 0 * * *")
+    public void rollUpCompletedDays() {
+        log.info("=== Starting Platform Rollup ===");
+        try {
+            int days = rollupService.catchUp();
+            log.info("=== Platform Rollup Completed: {} days ===", days);
+        } catch (Exception e) {
+            log.error("❌ Platform rollup failed", e);
+        }
+    }
+}
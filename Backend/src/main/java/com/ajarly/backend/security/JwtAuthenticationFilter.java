@@ -33,6 +33,7 @@ import java.util.List;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtUtil jwtUtil;
+    private final TokenRevocationRegistry revocationRegistry;
     
     @Override
     protected void doFilterInternal(
@@ -52,11 +53,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             if (StringUtils.hasText(jwt)) {
                 log.debug("📄 JWT Token found, validating...");
                 
-                if (jwtUtil.validateToken(jwt)) {
-                    Long userId = jwtUtil.getUserIdFromToken(jwt);
-                    String role = jwtUtil.getRoleFromToken(jwt);
+                // ✅ One verification per token, repeats come from the claims cache
+                JwtClaims claims = jwtUtil.verifyToken(jwt);
+                
+                if (claims != null && revocationRegistry.isRevoked(claims)) {
+                    log.warn("⛔ Revoked JWT for user {} on request: {}", claims.userId(), requestURI);
+                } else if (claims != null) {
+                    Long userId = claims.userId();
+                    String role = claims.role();
                     
-                    log.info("✅ Valid JWT - User ID: {}, Raw Role: '{}'", userId, role);
+                    log.debug("✅ Valid JWT - User ID: {}, Raw Role: '{}'", userId, role);
                     
                     // ✅ CRITICAL: Set userId as request attribute
                     request.setAttribute("userId", userId);
@@ -74,9 +80,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     // ✅ Set in security context
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                     
-                    log.info("✅ Authentication set successfully:");
-                    log.info("   - User ID: {}", userId);
-                    log.info("   - Authorities: {}", authorities);
+                    log.debug("✅ Authentication set successfully:");
+                    log.debug("   - User ID: {}", userId);
+                    log.debug("   - Authorities: {}", authorities);
                     
                 } else {
                     log.warn("⚠️ Invalid JWT token for request: {}", requestURI);
@@ -150,8 +156,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getRequestURI();
         
-        // Skip JWT filter for public auth endpoints
-        return path.startsWith("/api/v1/auth/") && 
-               !path.contains("/admin/");
+        // Skip JWT filter for public auth endpoints, and for the metrics
+        // scrape, whose bearer token is not a JWT
+        return (path.startsWith("/api/v1/auth/") && 
+               !path.contains("/admin/")) || path.equals("/metrics");
     }
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.ajarly.backend.security;
+
+import java.util.Date;
+
+/**
+ * Claims of a JWT whose signature and expiry have already been checked
+ */
+public record JwtClaims(Long userId, String email, String role, Date issuedAt, Date expiresAt) {
+    
+    public boolean isExpired(long nowMillis) {
+        return expiresAt != null && expiresAt.getTime() <= nowMillis;
+    }
+}
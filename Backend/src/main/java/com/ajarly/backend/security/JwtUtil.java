@@ -1,13 +1,19 @@
 package com.ajarly.backend.security;
 
+import com.ajarly.backend.dto.CacheStatsResponse;
+import com.ajarly.backend.service.LocalCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
 
 @Component
 public class JwtUtil {
@@ -18,8 +24,31 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private Long expiration;
     
+    @Value("${jwt.claims-cache.ttl-ms:300000}")
+    private long claimsCacheTtlMillis;
+    
+    @Value("${jwt.claims-cache.max-entries:10000}")
+    private int claimsCacheMaxEntries;
+    
+    // Built once: deriving the key and the parser per call is pure overhead,
+    // and the parser is thread-safe once built
+    private SecretKey signingKey;
+    private JwtParser parser;
+    
+    // Verified claims keyed by SHA-256 of the token, so raw tokens are never held
+    private LocalCache<String, JwtClaims> verifiedClaims;
+    
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        verifiedClaims = new LocalCache<>("jwtClaims", claimsCacheTtlMillis, claimsCacheMaxEntries);
+    }
+    
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        return signingKey;
     }
     
     /**
@@ -46,6 +75,32 @@ public class JwtUtil {
         return generateToken(userId, email, "USER");
     }
     
+    /**
+     * Verify the token once and return its claims, or null if it is malformed,
+     * badly signed or expired.
+     * 
+     * A token seen before is answered from the verified-claims cache without
+     * any signature work; its expiry is still checked on every call.
+     */
+    public JwtClaims verifyToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        
+        String key = hash(token);
+        JwtClaims claims = verifiedClaims.get(key, k -> parseVerified(token));
+        
+        if (claims != null && claims.isExpired(System.currentTimeMillis())) {
+            verifiedClaims.invalidate(key);
+            return null;
+        }
+        return claims;
+    }
+    
+    public CacheStatsResponse claimsCacheStats() {
+        return verifiedClaims.stats();
+    }
+    
     /**
      * Extract userId from token
      */
@@ -75,10 +130,7 @@ public class JwtUtil {
      */
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
+            parser.parseSignedClaims(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
@@ -89,10 +141,30 @@ public class JwtUtil {
      * Helper method to extract claims
      */
     private Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+    
+    private JwtClaims parseVerified(String token) {
+        try {
+            Claims claims = getClaims(token);
+            return new JwtClaims(
+                    Long.parseLong(claims.getSubject()),
+                    claims.get("email", String.class),
+                    claims.get("role", String.class),
+                    claims.getIssuedAt(),
+                    claims.getExpiration()
+            );
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
\ No newline at end of file
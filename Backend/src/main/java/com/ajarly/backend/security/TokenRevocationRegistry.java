@@ -0,0 +1,85 @@
+package com.ajarly.backend.security;
+
+import com.ajarly.backend.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory record of which otherwise valid tokens must be refused:
+ * every token of a banned user, and tokens issued before a user's last
+ * password change.
+ * 
+ * Loaded from the users table at startup and kept current by ban, unban and
+ * password-change events (see TokenRevocationListener), so the
+ * authentication filter checks it without touching the database.
+ * Password changes older than jwt.expiration are not loaded: every token
+ * issued before them has expired anyway.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationRegistry {
+    
+    private final UserRepository userRepository;
+    
+    @Value("${jwt.expiration}")
+    private Long expiration;
+    
+    private final Set<Long> bannedUsers = ConcurrentHashMap.newKeySet();
+    
+    // userId -> epoch second; tokens issued strictly before it are revoked
+    private final Map<Long, Long> issuedBeforeCutoffs = new ConcurrentHashMap<>();
+    
+    @PostConstruct
+    void load() {
+        bannedUsers.addAll(userRepository.findInactiveUserIds());
+        
+        LocalDateTime since = LocalDateTime.now().minusNanos(expiration * 1_000_000);
+        for (Object[] row : userRepository.findPasswordChangesSince(since)) {
+            revokeIssuedBefore((Long) row[0], (LocalDateTime) row[1]);
+        }
+        
+        log.info("🔒 Token revocation loaded: {} banned users, {} password cutoffs",
+                bannedUsers.size(), issuedBeforeCutoffs.size());
+    }
+    
+    /**
+     * True if the token's user is banned or the token predates their last password change
+     */
+    public boolean isRevoked(JwtClaims claims) {
+        Long userId = claims.userId();
+        if (bannedUsers.contains(userId)) {
+            return true;
+        }
+        
+        Long cutoff = issuedBeforeCutoffs.get(userId);
+        if (cutoff == null) {
+            return false;
+        }
+        // A token without iat cannot prove it is newer than the change
+        return claims.issuedAt() == null || claims.issuedAt().getTime() / 1000 < cutoff;
+    }
+    
+    public void ban(Long userId) {
+        bannedUsers.add(userId);
+    }
+    
+    public void unban(Long userId) {
+        bannedUsers.remove(userId);
+    }
+    
+    public void revokeIssuedBefore(Long userId, LocalDateTime changedAt) {
+        // iat has whole-second precision, so the cutoff is the second of the change
+        long cutoff = changedAt.atZone(ZoneId.systemDefault()).toEpochSecond();
+        issuedBeforeCutoffs.merge(userId, cutoff, Math::max);
+    }
+}
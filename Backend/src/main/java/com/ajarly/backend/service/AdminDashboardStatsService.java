@@ -0,0 +1,119 @@
+package com.ajarly.backend.service;
+
+import com.ajarly.backend.dto.DashboardStatsResponse;
+import com.ajarly.backend.dto.RecentActivitySummary;
+import com.ajarly.backend.model.Booking.BookingStatus;
+import com.ajarly.backend.model.Property.PropertyStatus;
+import com.ajarly.backend.repository.BookingRepository;
+import com.ajarly.backend.repository.PropertyRepository;
+import com.ajarly.backend.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admin home page counters, cached for a short TTL.
+ *
+ * Every figure is a single COUNT or SUM query. The snapshot is shared by all
+ * admins, and only one thread recomputes it when it expires, so several admins
+ * polling the page cost one set of queries per TTL. Bans, property approvals
+ * and booking changes invalidate it right away.
+ */
+@Service
+@Slf4j
+public class AdminDashboardStatsService {
+    
+    private static final int RECENT_ACTIVITY_DAYS = 7;
+    
+    private final UserRepository userRepository;
+    private final PropertyRepository propertyRepository;
+    private final BookingRepository bookingRepository;
+    private final long ttlMillis;
+    
+    // Bumped on every invalidation; a snapshot is only served while its generation is current
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+    
+    public AdminDashboardStatsService(
+            UserRepository userRepository,
+            PropertyRepository propertyRepository,
+            BookingRepository bookingRepository,
+            @Value("${admin.dashboard.cache-ttl-ms:30000}") long ttlMillis) {
+        this.userRepository = userRepository;
+        this.propertyRepository = propertyRepository;
+        this.bookingRepository = bookingRepository;
+        this.ttlMillis = ttlMillis;
+    }
+    
+    public DashboardStatsResponse getStats() {
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            return current.stats;
+        }
+        
+        synchronized (this) {
+            // Another admin may have refreshed it while we waited
+            current = snapshot;
+            if (isFresh(current)) {
+                return current.stats;
+            }
+            
+            // Read the generation first: an invalidation during the queries leaves this snapshot stale
+            long computedGeneration = generation.get();
+            long startTime = System.currentTimeMillis();
+            DashboardStatsResponse stats = computeStats();
+            snapshot = new Snapshot(stats, computedGeneration, System.currentTimeMillis());
+            log.debug("Admin dashboard stats computed in {} ms", System.currentTimeMillis() - startTime);
+            return stats;
+        }
+    }
+    
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+    
+    private boolean isFresh(Snapshot current) {
+        return current != null
+            && current.generation == generation.get()
+            && System.currentTimeMillis() - current.computedAt < ttlMillis;
+    }
+    
+    private DashboardStatsResponse computeStats() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = now.minusDays(RECENT_ACTIVITY_DAYS);
+        
+        RecentActivitySummary recentActivity = RecentActivitySummary.builder()
+                .recentBookings(bookingRepository.countByRequestedAtAfter(since))
+                .recentRegistrations(userRepository.countByCreatedAtAfter(since))
+                .recentPropertyListings(propertyRepository.countByCreatedAtAfter(since))
+                .generatedAt(now)
+                .build();
+        
+        return DashboardStatsResponse.builder()
+                .totalUsers(userRepository.count())
+                .totalProperties(propertyRepository.count())
+                .totalBookings(bookingRepository.count())
+                .totalRevenue(bookingRepository.sumTotalPriceByStatus(BookingStatus.completed))
+                .pendingApprovalsCount(propertyRepository.countByStatus(PropertyStatus.pending_approval))
+                .bannedUsersCount(userRepository.countByIsActiveFalse())
+                .activeProperties(propertyRepository.countByStatus(PropertyStatus.active))
+                .recentActivity(recentActivity)
+                .build();
+    }
+    
+    private static class Snapshot {
+        
+        private final DashboardStatsResponse stats;
+        private final long generation;
+        private final long computedAt;
+        
+        Snapshot(DashboardStatsResponse stats, long generation, long computedAt) {
+            this.stats = stats;
+            this.generation = generation;
+            this.computedAt = computedAt;
+        }
+    }
+}
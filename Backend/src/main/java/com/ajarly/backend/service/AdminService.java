@@ -1,11 +1,13 @@
 package com.ajarly.backend.service;
 
 import com.ajarly.backend.dto.AdminActionRequest;
+import com.ajarly.backend.dto.CacheStatsResponse;
 import com.ajarly.backend.dto.DashboardStatsResponse;
 import com.ajarly.backend.dto.PendingPropertyResponse;
-import com.ajarly.backend.dto.RecentActivitySummary;
+import com.ajarly.backend.event.PropertyChangedEvent;
+import com.ajarly.backend.event.UserStatusChangedEvent;
+import com.ajarly.backend.exception.ResourceNotFoundException;
 import com.ajarly.backend.model.AdminLog;
-import com.ajarly.backend.model.Booking;
 import com.ajarly.backend.model.Property;
 import com.ajarly.backend.model.Property.PropertyStatus;
 import com.ajarly.backend.model.User;
@@ -13,15 +15,18 @@ import com.ajarly.backend.repository.AdminLogRepository;
 import com.ajarly.backend.repository.BookingRepository;
 import com.ajarly.backend.repository.PropertyRepository;
 import com.ajarly.backend.repository.UserRepository;
+import com.ajarly.backend.security.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
 @Slf4j
@@ -32,54 +37,30 @@ public class AdminService {
     private final PropertyRepository propertyRepository;
     private final BookingRepository bookingRepository;
     private final AdminLogRepository adminLogRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AdminDashboardStatsService dashboardStatsService;
+    private final ReferenceDataCache referenceDataCache;
+    private final JwtUtil jwtUtil;
     
     // ============ DASHBOARD STATS ============
     
     public DashboardStatsResponse getDashboardStats() {
-        Long totalUsers = userRepository.count();
-        Long totalProperties = propertyRepository.count();
-        Long totalBookings = bookingRepository.count();
-       
-        BigDecimal totalRevenue = bookingRepository.findAll().stream()
-                .filter(b -> b.getStatus() == Booking.BookingStatus.completed)
-                .map(Booking::getTotalPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        RecentActivitySummary recentActivity = RecentActivitySummary.builder()
-                .recentBookings(bookingRepository.findAll().stream()
-                        .filter(b -> b.getRequestedAt().isAfter(LocalDateTime.now().minusDays(7)))
-                        .count())
-                .recentRegistrations(userRepository.findAll().stream()
-                        .filter(u -> u.getCreatedAt().isAfter(LocalDateTime.now().minusDays(7)))
-                        .count())
-                .recentPropertyListings(propertyRepository.findAll().stream()
-                        .filter(p -> p.getCreatedAt().isAfter(LocalDateTime.now().minusDays(7)))
-                        .count())
-                .generatedAt(LocalDateTime.now())
-                .build();
-        
-        Long pendingApprovalsCount = propertyRepository.countByStatus(
-            PropertyStatus.pending_approval
-        );
-        
-        Long activeProperties = propertyRepository.countByStatus(
-            PropertyStatus.active
-        );
-        
-        Long bannedUsers = userRepository.findAll().stream()
-            .filter(u -> !u.getIsActive())
-            .count();
-        
-        return DashboardStatsResponse.builder()
-                .totalUsers(totalUsers)
-                .totalProperties(totalProperties)
-                .totalBookings(totalBookings)
-                .totalRevenue(totalRevenue)
-                .pendingApprovalsCount(pendingApprovalsCount)
-                .bannedUsersCount(bannedUsers)
-                .activeProperties(activeProperties)
-                .recentActivity(recentActivity)
-                .build();
+        return dashboardStatsService.getStats();
+    }
+    
+    // ============ CACHES ============
+    
+    public List<CacheStatsResponse> getCacheStats() {
+        List<CacheStatsResponse> stats = new ArrayList<>(referenceDataCache.stats());
+        stats.add(jwtUtil.claimsCacheStats());
+        return stats;
+    }
+    
+    public void clearCache(String name, Long adminId) {
+        if (!referenceDataCache.clear(name)) {
+            throw new ResourceNotFoundException("Cache not found: " + name);
+        }
+        log.info("🧹 Admin {} cleared cache {}", adminId, name);
     }
     
     // ============ PENDING PROPERTIES ============
@@ -144,6 +125,7 @@ public class AdminService {
         property.setStatus(PropertyStatus.active);
         property.setIsVerified(true);
         propertyRepository.save(property);
+        eventPublisher.publishEvent(PropertyChangedEvent.of(property, PropertyChangedEvent.ChangeType.APPROVED));
         
         logAdminAction(admin, AdminLog.AdminActionType.approve_property,
                 AdminLog.AdminTargetType.property, propertyId,
@@ -164,6 +146,7 @@ public class AdminService {
         
         property.setStatus(PropertyStatus.deleted);
         propertyRepository.save(property);
+        eventPublisher.publishEvent(PropertyChangedEvent.of(property, PropertyChangedEvent.ChangeType.REJECTED));
         
         logAdminAction(admin, AdminLog.AdminActionType.reject_property,
                 AdminLog.AdminTargetType.property, propertyId,
@@ -186,6 +169,7 @@ public class AdminService {
         userToBan.setIsActive(false);
         userToBan.setBannedAt(LocalDateTime.now());
         userRepository.save(userToBan);
+        eventPublisher.publishEvent(new UserStatusChangedEvent(userId, false));
         
         logAdminAction(admin, AdminLog.AdminActionType.ban_user,
                 AdminLog.AdminTargetType.user, userId,
@@ -208,6 +192,7 @@ public class AdminService {
         userToUnban.setIsActive(true);
         userToUnban.setBannedAt(null);
         userRepository.save(userToUnban);
+        eventPublisher.publishEvent(new UserStatusChangedEvent(userId, true));
         
         logAdminAction(admin, AdminLog.AdminActionType.unban_user,
                 AdminLog.AdminTargetType.user, userId,
@@ -0,0 +1,374 @@
+package com.ajarly.backend.service;
+
+import com.ajarly.backend.dto.AnalyticsBackfillRequest;
+import com.ajarly.backend.dto.AnalyticsBackfillStatusResponse;
+import com.ajarly.backend.exception.BusinessException;
+import com.ajarly.backend.exception.ResourceNotFoundException;
+import com.ajarly.backend.model.AnalyticsBackfillCheckpoint;
+import com.ajarly.backend.model.AnalyticsBackfillJob;
+import com.ajarly.backend.model.AnalyticsBackfillJob.BackfillStatus;
+import com.ajarly.backend.repository.AnalyticsBackfillCheckpointRepository;
+import com.ajarly.backend.repository.AnalyticsBackfillJobRepository;
+import com.ajarly.backend.scheduler.AnalyticsScheduler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Backfill للتحليلات اليومية على فترة طويلة
+ *
+ * الفترة بتتقسم أيام (كل يوم partition)، وعدد ثابت من الـ workers بيسحبوا الأيام
+ * من queue ويحسبوا كل يوم بـ AnalyticsScheduler.calculateAnalyticsForDate.
+ * كل يوم يخلص بيتسجله checkpoint، فلو السيرفر وقع أو العملية اتلغت،
+ * الاستكمال بيشتغل على الأيام اللي ماخلصتش بس.
+ * عملية واحدة بس تشتغل في نفس الوقت.
+ */
+@Service
+@Slf4j
+public class AnalyticsBackfillService {
+    
+    private final AnalyticsScheduler analyticsScheduler;
+    private final AnalyticsBackfillJobRepository jobRepository;
+    private final AnalyticsBackfillCheckpointRepository checkpointRepository;
+    private final int workers;
+    private final int maxDays;
+    
+    private final AtomicReference<RunningJob> current = new AtomicReference<>();
+    
+    public AnalyticsBackfillService(
+            AnalyticsScheduler analyticsScheduler,
+            AnalyticsBackfillJobRepository jobRepository,
+            AnalyticsBackfillCheckpointRepository checkpointRepository,
+            @Value("${analytics.backfill.workers:2}") int workers,
+            @Value("${analytics.backfill.max-days:1100}") int maxDays) {
+        this.analyticsScheduler = analyticsScheduler;
+        this.jobRepository = jobRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.workers = Math.max(1, workers);
+        this.maxDays = maxDays;
+    }
+    
+    /**
+     * بدء عملية backfill جديدة
+     */
+    public synchronized AnalyticsBackfillStatusResponse start(AnalyticsBackfillRequest request, Long requestedBy) {
+        LocalDate yesterday = LocalDate.now(PropertyViewTracker.ANALYTICS_ZONE).minusDays(1);
+        
+        if (request.getStartDate().isAfter(request.getEndDate())) {
+            throw new BusinessException("Start date cannot be after end date");
+        }
+        if (request.getEndDate().isAfter(yesterday)) {
+            throw new BusinessException("End date must be before today");
+        }
+        long days = ChronoUnit.DAYS.between(request.getStartDate(), request.getEndDate()) + 1;
+        if (days > maxDays) {
+            throw new BusinessException("Date range cannot exceed " + maxDays + " days");
+        }
+        requireIdle();
+        
+        String propertyIds = request.getPropertyIds() == null || request.getPropertyIds().isEmpty()
+            ? null
+            : request.getPropertyIds().stream()
+                .distinct()
+                .sorted()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        
+        AnalyticsBackfillJob job = jobRepository.save(AnalyticsBackfillJob.builder()
+            .startDate(request.getStartDate())
+            .endDate(request.getEndDate())
+            .propertyIds(propertyIds)
+            .recompute(Boolean.TRUE.equals(request.getRecompute()))
+            .status(BackfillStatus.running)
+            .totalDays((int) days)
+            .completedDays(0)
+            .rowsWritten(0L)
+            .requestedBy(requestedBy)
+            .build());
+        
+        log.info("📊 Analytics backfill {} requested: {} → {} ({} days, properties={}, recompute={})",
+                 job.getJobId(), job.getStartDate(), job.getEndDate(), days,
+                 propertyIds == null ? "all" : propertyIds, job.getRecompute());
+        
+        launch(job);
+        return toResponse(job);
+    }
+    
+    /**
+     * استكمال عملية اتلغت أو فشلت من آخر checkpoint
+     */
+    public synchronized AnalyticsBackfillStatusResponse resume(Long jobId) {
+        AnalyticsBackfillJob job = findJob(jobId);
+        if (job.getStatus() == BackfillStatus.completed) {
+            throw new BusinessException("Backfill job " + jobId + " is already completed");
+        }
+        requireIdle();
+        
+        launch(job);
+        return toResponse(job);
+    }
+    
+    /**
+     * إيقاف العملية الحالية؛ الأيام اللي شغالة بتكمل والباقي بيتساب للاستكمال
+     */
+    public AnalyticsBackfillStatusResponse cancel(Long jobId) {
+        RunningJob run = current.get();
+        if (run == null || !run.jobId.equals(jobId)) {
+            throw new BusinessException("Backfill job " + jobId + " is not running");
+        }
+        run.cancelled = true;
+        log.info("⏹️ Analytics backfill {} cancellation requested", jobId);
+        return getStatus(jobId);
+    }
+    
+    public AnalyticsBackfillStatusResponse getStatus(Long jobId) {
+        return toResponse(findJob(jobId));
+    }
+    
+    public List<AnalyticsBackfillStatusResponse> getRecentJobs() {
+        return jobRepository.findTop20ByOrderByJobIdDesc().stream()
+            .map(this::toResponse)
+            .toList();
+    }
+    
+    /**
+     * أي عملية كانت running لما السيرفر وقف بتكمل تلقائياً بعد التشغيل
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void resumeInterruptedJobs() {
+        try {
+            List<AnalyticsBackfillJob> interrupted = jobRepository.findByStatusOrderByJobIdAsc(BackfillStatus.running);
+            for (AnalyticsBackfillJob job : interrupted) {
+                if (current.get() == null) {
+                    log.info("🔄 Resuming interrupted analytics backfill {}", job.getJobId());
+                    launch(job);
+                } else {
+                    job.setStatus(BackfillStatus.cancelled);
+                    job.setLastError("Interrupted by restart while another backfill was resumed");
+                    jobRepository.save(job);
+                }
+            }
+        } catch (Exception e) {
+            log.error("❌ Failed to resume interrupted analytics backfills: {}", e.getMessage(), e);
+        }
+    }
+    
+    // ============ Execution ============
+    
+    private void launch(AnalyticsBackfillJob job) {
+        Set<LocalDate> done = new HashSet<>(checkpointRepository.findPartitionDatesByJobId(job.getJobId()));
+        Queue<LocalDate> pending = new ConcurrentLinkedQueue<>();
+        job.getStartDate().datesUntil(job.getEndDate().plusDays(1))
+            .filter(date -> !done.contains(date))
+            .forEach(pending::add);
+        
+        job.setStatus(BackfillStatus.running);
+        job.setCompletedDays(done.size());
+        job.setRowsWritten(checkpointRepository.sumRowsWrittenByJobId(job.getJobId()));
+        job.setStartedAt(LocalDateTime.now());
+        job.setFinishedAt(null);
+        job.setLastError(null);
+        jobRepository.save(job);
+        
+        List<Long> propertyIds = parsePropertyIds(job.getPropertyIds());
+        boolean recompute = Boolean.TRUE.equals(job.getRecompute());
+        int pendingDays = pending.size();
+        int poolSize = Math.min(workers, Math.max(1, pendingDays));
+        
+        RunningJob run = new RunningJob(job.getJobId(), pending, poolSize, done.size(), job.getRowsWritten());
+        current.set(run);
+        
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable,
+                "analytics-backfill-" + job.getJobId() + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[poolSize];
+        for (int i = 0; i < poolSize; i++) {
+            tasks[i] = CompletableFuture.runAsync(() -> work(run, propertyIds, recompute), pool);
+        }
+        CompletableFuture.allOf(tasks).whenComplete((ignored, error) -> {
+            pool.shutdown();
+            finish(run);
+        });
+        
+        log.info("🚀 Analytics backfill {} started: {} of {} days pending, {} workers",
+                 job.getJobId(), pendingDays, job.getTotalDays(), poolSize);
+    }
+    
+    /**
+     * worker: بياخد يوم من الـ queue لحد ما تخلص أو العملية تتلغي
+     */
+    private void work(RunningJob run, List<Long> propertyIds, boolean recompute) {
+        LocalDate date;
+        while (!run.cancelled && run.error == null && (date = run.pending.poll()) != null) {
+            long partitionStart = System.currentTimeMillis();
+            try {
+                int rows = analyticsScheduler.calculateAnalyticsForDate(date, propertyIds, recompute);
+                
+                checkpointRepository.save(AnalyticsBackfillCheckpoint.builder()
+                    .jobId(run.jobId)
+                    .partitionDate(date)
+                    .rowsWritten(rows)
+                    .durationMs(System.currentTimeMillis() - partitionStart)
+                    .completedAt(LocalDateTime.now())
+                    .build());
+                
+                run.daysDone.incrementAndGet();
+                run.rowsDone.add(rows);
+            
+            } catch (Exception e) {
+                log.error("❌ Analytics backfill {} failed on {}: {}", run.jobId, date, e.getMessage(), e);
+                run.error = date + ": " + e.getMessage();
+                return;
+            }
+        }
+    }
+    
+    private void finish(RunningJob run) {
+        try {
+            AnalyticsBackfillJob job = findJob(run.jobId);
+            int completedDays = checkpointRepository.findPartitionDatesByJobId(run.jobId).size();
+            
+            job.setCompletedDays(completedDays);
+            job.setRowsWritten(checkpointRepository.sumRowsWrittenByJobId(run.jobId));
+            job.setFinishedAt(LocalDateTime.now());
+            if (run.error != null) {
+                job.setStatus(BackfillStatus.failed);
+                job.setLastError(run.error);
+            } else if (completedDays < job.getTotalDays()) {
+                job.setStatus(BackfillStatus.cancelled);
+            } else {
+                job.setStatus(BackfillStatus.completed);
+            }
+            jobRepository.save(job);
+            
+            double seconds = Math.max(1, System.currentTimeMillis() - run.startedAtMillis) / 1000.0;
+            log.info("✅ Analytics backfill {} {}: {} days, {} rows this run ({} rows/sec)",
+                     run.jobId, job.getStatus(), run.daysDone.get(), run.rowsDone.sum(),
+                     Math.round(run.rowsDone.sum() / seconds));
+        } catch (Exception e) {
+            log.error("❌ Failed to finalize analytics backfill {}: {}", run.jobId, e.getMessage(), e);
+        } finally {
+            current.compareAndSet(run, null);
+        }
+    }
+    
+    // ============ Helpers ============
+    
+    private void requireIdle() {
+        RunningJob run = current.get();
+        if (run != null) {
+            throw new BusinessException("Backfill job " + run.jobId + " is already running");
+        }
+    }
+    
+    private AnalyticsBackfillJob findJob(Long jobId) {
+        return jobRepository.findById(jobId)
+            .orElseThrow(() -> new ResourceNotFoundException("Backfill job not found: " + jobId));
+    }
+    
+    private static List<Long> parsePropertyIds(String propertyIds) {
+        if (propertyIds == null || propertyIds.isBlank()) {
+            return null;
+        }
+        return Arrays.stream(propertyIds.split(","))
+            .map(Long::valueOf)
+            .toList();
+    }
+    
+    /**
+     * بيانات الـ job من قاعدة البيانات + التقدم الحي لو هي اللي شغالة دلوقتي
+     */
+    private AnalyticsBackfillStatusResponse toResponse(AnalyticsBackfillJob job) {
+        RunningJob run = current.get();
+        boolean live = run != null && run.jobId.equals(job.getJobId());
+        
+        int completedDays = live ? run.baseDays + run.daysDone.get() : job.getCompletedDays();
+        long rowsWritten = live ? run.baseRows + run.rowsDone.sum() : job.getRowsWritten();
+        
+        Double rowsPerSecond = null;
+        Double daysPerMinute = null;
+        Long etaSeconds = null;
+        if (live) {
+            double seconds = Math.max(1, System.currentTimeMillis() - run.startedAtMillis) / 1000.0;
+            int daysThisRun = run.daysDone.get();
+            rowsPerSecond = round2(run.rowsDone.sum() / seconds);
+            daysPerMinute = round2(daysThisRun * 60 / seconds);
+            if (daysThisRun > 0) {
+                etaSeconds = Math.round((job.getTotalDays() - completedDays) * seconds / daysThisRun);
+            }
+        }
+        
+        return AnalyticsBackfillStatusResponse.builder()
+            .jobId(job.getJobId())
+            .status(job.getStatus())
+            .startDate(job.getStartDate())
+            .endDate(job.getEndDate())
+            .propertyCount(job.getPropertyIds() == null ? null : job.getPropertyIds().split(",").length)
+            .recompute(job.getRecompute())
+            .totalDays(job.getTotalDays())
+            .completedDays(completedDays)
+            .rowsWritten(rowsWritten)
+            .percentComplete(round2(completedDays * 100.0 / job.getTotalDays()))
+            .workers(live ? run.workers : null)
+            .rowsPerSecond(rowsPerSecond)
+            .daysPerMinute(daysPerMinute)
+            .etaSeconds(etaSeconds)
+            .lastError(job.getLastError())
+            .createdAt(job.getCreatedAt())
+            .startedAt(job.getStartedAt())
+            .finishedAt(job.getFinishedAt())
+            .build();
+    }
+    
+    private static double round2(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+    
+    /**
+     * حالة العملية الشغالة في الذاكرة (الـ checkpoints في قاعدة البيانات هي المرجع)
+     */
+    private static final class RunningJob {
+        private final Long jobId;
+        private final Queue<LocalDate> pending;
+        private final int workers;
+        private final int baseDays;
+        private final long baseRows;
+        private final long startedAtMillis = System.currentTimeMillis();
+        private final AtomicInteger daysDone = new AtomicInteger();
+        private final LongAdder rowsDone = new LongAdder();
+        private volatile boolean cancelled;
+        private volatile String error;
+        
+        private RunningJob(Long jobId, Queue<LocalDate> pending, int workers, int baseDays, long baseRows) {
+            this.jobId = jobId;
+            this.pending = pending;
+            this.workers = workers;
+            this.baseDays = baseDays;
+            this.baseRows = baseRows;
+        }
+    }
+}
@@ -6,14 +6,16 @@ import com.ajarly.backend.model.*;
 import com.ajarly.backend.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,6 +28,12 @@ public class AnalyticsService {
     private final BookingRepository bookingRepository;
     private final ReviewRepository reviewRepository;
     private final UserRepository userRepository;
+    private final OwnerPropertySummaryRepository ownerPropertySummaryRepository;
+    private final PropertyImageRepository propertyImageRepository;
+    private final PlatformRollupService platformRollupService;
+    
+    // عدد الحجوزات القادمة والمراجعات اللي بتظهر في لوحة المالك
+    private static final int DASHBOARD_LIST_SIZE = 10;
     
     @Transactional(readOnly = true)
     public PropertyAnalyticsResponse getPropertyPerformance(Long propertyId, LocalDate startDate, LocalDate endDate) {
@@ -41,67 +49,64 @@ public class AnalyticsService {
     }
     
     /**
-     * ✅ FINAL FIX: Owner Dashboard with DIRECT database query for reviews
+     * لوحة تحكم المالك من الملخص الجاهز (owner_property_summaries):
+     * قراءة واحدة لكل العقارات + شوية queries صغيرة للحجوزات القادمة والمراجعات
      */
     @Transactional(readOnly = true)
     public OwnerDashboardResponse getOwnerDashboard(Long ownerId) {
-        log.info("🔍 ========================================");
         log.info("🔍 Fetching dashboard for owner: {}", ownerId);
-        log.info("🔍 ========================================");
         
         // ✅ التحقق من وجود المالك
         User owner = userRepository.findById(ownerId)
             .orElseThrow(() -> new ResourceNotFoundException("Owner not found"));
         
-        log.debug("Owner found: {} {}", owner.getFirstName(), owner.getLastName());
-        
-        // ✅ جلب العقارات وفلترة المحذوفة
-        List<Property> properties = propertyRepository
-            .findByOwner_UserId(ownerId, Pageable.unpaged())
-            .getContent()
-            .stream()
-            .filter(p -> p.getStatus() != Property.PropertyStatus.deleted)
-            .collect(Collectors.toList());
+        // ✅ كل عقارات المالك (غير المحذوفة) مع الملخص بتاعها في query واحدة
+        List<OwnerPropertyStats> properties = ownerPropertySummaryRepository.findOwnerPropertyStats(ownerId);
         
         log.info("📊 Found {} properties for owner {}", properties.size(), ownerId);
         
-        if (log.isDebugEnabled()) {
-            properties.forEach(p -> 
-                log.debug("  ➤ Property: {} | Status: {} | Stored Reviews: {} | Stored Rating: {}", 
-                         p.getPropertyId(), 
-                         p.getStatus(), 
-                         p.getTotalReviews(),
-                         p.getAverageRating())
-            );
-        }
-        
-        // ✅ بناء الـ response
+        LocalDate today = LocalDate.now();
         OwnerDashboardResponse response = OwnerDashboardResponse.builder()
             .ownerId(ownerId)
             .ownerName(owner.getFirstName() + " " + owner.getLastName())
-            .overview(buildOwnerOverview(ownerId, properties))
+            .overview(buildOwnerOverview(ownerId, properties, today))
             .bestPerformingProperty(findBestPerformingProperty(properties))
-            .upcomingBookings(getUpcomingBookingsForOwner(ownerId))
-            .recentReviews(getRecentReviewsForOwner(properties))
+            .upcomingBookings(getUpcomingBookingsForOwner(ownerId, today))
+            .recentReviews(getRecentReviewsForOwner(ownerId))
             .revenueChart(getOwnerRevenueChart(ownerId))
             .propertiesPerformance(getPropertiesPerformance(properties))
             .build();
         
-        log.info("✅ Dashboard built successfully for owner {}", ownerId);
-        log.info("   - Total Reviews: {}", response.getOverview().getTotalReviews());
-        log.info("   - Average Rating: {}", response.getOverview().getAverageRating());
+        log.info("✅ Dashboard built for owner {}: {} reviews, {} average rating",
+                ownerId, response.getOverview().getTotalReviews(), response.getOverview().getAverageRating());
         
         return response;
     }
     
+    
+    /**
+     * أرقام الفترة والرسومات من platform_rollups + الأيام اللي لسه ماتعملهاش rollup (النهارده)
+     * الإجماليات والتوزيع الحالي (أماكن / أنواع) بـ GROUP BY على الجداول مباشرة
+     */
     @Transactional(readOnly = true)
     public PlatformAnalyticsResponse getPlatformAnalytics(LocalDate startDate, LocalDate endDate) {
+        List<PlatformRollup> buckets = platformRollupService.getPlatformBuckets(startDate, endDate);
+        PlatformRollup period = PlatformRollup.empty(PlatformRollup.RollupPeriod.daily, startDate, PlatformRollup.RollupDimension.all, "");
+        buckets.forEach(period::add);
+        
+        PlatformBookingTotals bookingTotals = PlatformBookingTotals.from(bookingRepository.summarizeByStatusForPlatform());
+        // userType → [type, count]
+        Map<Object, Object[]> usersByType = userRepository.countByUserType().stream()
+            .collect(Collectors.toMap(row -> row[0], row -> row));
+        
         return PlatformAnalyticsResponse.builder()
-            .startDate(startDate).endDate(endDate).overview(buildPlatformOverview(startDate, endDate))
-            .userGrowth(getUserGrowthChart(startDate, endDate)).propertyGrowth(getPropertyGrowthChart(startDate, endDate))
-            .bookingGrowth(getBookingGrowthChart(startDate, endDate)).revenueGrowth(getRevenueGrowthChart(startDate, endDate))
+            .startDate(startDate).endDate(endDate).overview(buildPlatformOverview(period, usersByType, bookingTotals))
+            .userGrowth(toGrowthChart(buckets, PlatformRollup::getNewUsers))
+            .propertyGrowth(toGrowthChart(buckets, PlatformRollup::getNewProperties))
+            .bookingGrowth(toGrowthChart(buckets, PlatformRollup::getNewBookings))
+            .revenueGrowth(getRevenueGrowthChart(buckets))
             .topLocations(getTopLocations()).popularPropertyTypes(getPropertyTypeStats())
-            .userStats(buildUserStats(startDate, endDate)).bookingStats(buildBookingStats())
+            .userStats(buildUserStats(startDate, endDate, period, usersByType)).bookingStats(buildBookingStats(bookingTotals))
             .build();
     }
     
@@ -165,63 +170,20 @@ public class AnalyticsService {
     }
     
     /**
-     * ✅ ULTIMATE FIX - DIRECT DATABASE QUERY for reviews
-     * NO dependency on Property.totalReviews field
+     * الأرقام الإجمالية = مجموع ملخصات العقارات
+     * الإيراد الشهري والحجوزات القادمة بيعتمدوا على التاريخ فبيتحسبوا بـ query مجمعة
      */
-    private OwnerDashboardResponse.OverviewStats buildOwnerOverview(Long ownerId, List<Property> properties) {
-        log.info("📊 ========================================");
-        log.info("📊 Building overview for owner: {}", ownerId);
-        log.info("📊 Properties count: {}", properties.size());
-        log.info("📊 ========================================");
-        
-        List<Booking> allBookings = bookingRepository.findByOwnerUserIdOrderByRequestedAtDesc(ownerId);
-        LocalDate thirtyDaysAgo = LocalDate.now().minusDays(30);
-        
-        // ============================================
-        // ✅ CRITICAL FIX: Query database DIRECTLY for reviews
-        // Don't trust Property.totalReviews - it might be stale!
-        // ============================================
-        
-        List<Long> propertyIds = properties.stream()
-            .map(Property::getPropertyId)
-            .collect(Collectors.toList());
-        
-        log.info("🔍 Querying reviews directly from database for {} properties", propertyIds.size());
-        
-        // Query 1: Get total count of approved reviews
-        Long totalReviewsCount = propertyIds.isEmpty() ? 0L : 
-            reviewRepository.countApprovedByPropertyIds(propertyIds);
-        
-        int totalReviews = totalReviewsCount != null ? totalReviewsCount.intValue() : 0;
-        
-        // Query 2: Get average rating across all properties
-        Optional<Double> avgRatingOpt = propertyIds.isEmpty() ? Optional.empty() :
-            reviewRepository.getAverageRatingByPropertyIds(propertyIds);
+    private OwnerDashboardResponse.OverviewStats buildOwnerOverview(Long ownerId, List<OwnerPropertyStats> properties, LocalDate today) {
+        int totalReviews = properties.stream().mapToInt(p -> OwnerPropertyStats.nz(p.getReviewCount())).sum();
+        BigDecimal ratingSum = properties.stream()
+            .map(p -> p.getRatingSum() != null ? p.getRatingSum() : BigDecimal.ZERO)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
         
-        BigDecimal averageRating = avgRatingOpt
-            .map(rating -> BigDecimal.valueOf(rating).setScale(2, RoundingMode.HALF_UP))
-            .orElse(BigDecimal.ZERO);
+        // نفس شرط الكود القديم: requestedAt بعد (النهارده - 30 يوم)
+        LocalDateTime monthStart = today.minusDays(29).atStartOfDay();
+        BigDecimal monthlyRevenue = bookingRepository.sumEarnedRevenueForOwnerSince(ownerId, monthStart);
+        Long upcomingBookings = bookingRepository.countUpcomingBookingsForOwner(ownerId, today);
         
-        log.info("✅ DIRECT DATABASE RESULTS:");
-        log.info("   - Property IDs queried: {}", propertyIds);
-        log.info("   - Total Reviews (from DB): {}", totalReviews);
-        log.info("   - Average Rating (from DB): {}", averageRating);
-        
-        // Optional: Compare with Property entity values for debugging
-        if (log.isDebugEnabled()) {
-            int storedReviews = properties.stream()
-                .mapToInt(p -> p.getTotalReviews() != null ? p.getTotalReviews() : 0)
-                .sum();
-            log.debug("⚠️  Comparison: Stored in Property entities: {} reviews", storedReviews);
-            if (storedReviews != totalReviews) {
-                log.warn("⚠️  MISMATCH DETECTED! DB has {} but Property entities show {}", 
-                        totalReviews, storedReviews);
-            }
-        }
-        
-        // ============================================
-        // ✅ BUILD RESPONSE WITH CORRECT VALUES
-        // ============================================
         return OwnerDashboardResponse.OverviewStats.builder()
             .totalProperties(properties.size())
             .activeProperties((int) properties.stream()
@@ -230,37 +192,28 @@ public class AnalyticsService {
             .pendingApprovalProperties((int) properties.stream()
                 .filter(p -> p.getStatus() == Property.PropertyStatus.pending_approval)
                 .count())
-            .totalRevenue(allBookings.stream()
-                .filter(b -> b.getStatus() == Booking.BookingStatus.confirmed || 
-                            b.getStatus() == Booking.BookingStatus.completed)
-                .map(Booking::getTotalPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add))
-            .monthlyRevenue(allBookings.stream()
-                .filter(b -> (b.getStatus() == Booking.BookingStatus.confirmed || 
-                             b.getStatus() == Booking.BookingStatus.completed) && 
-                             b.getRequestedAt().toLocalDate().isAfter(thirtyDaysAgo))
-                .map(Booking::getTotalPrice)
+            .totalRevenue(properties.stream()
+                .map(OwnerPropertyStats::getRevenueOrZero)
                 .reduce(BigDecimal.ZERO, BigDecimal::add))
-            .totalBookings(allBookings.size())
-            .pendingBookings((int) allBookings.stream()
-                .filter(b -> b.getStatus() == Booking.BookingStatus.pending)
-                .count())
-            .upcomingBookings(bookingRepository.findUpcomingBookingsForOwner(ownerId, LocalDate.now()).size())
-            .averageRating(averageRating)     // ✅ FROM DATABASE QUERY
-            .totalReviews(totalReviews)       // ✅ FROM DATABASE QUERY
+            .monthlyRevenue(monthlyRevenue != null ? monthlyRevenue : BigDecimal.ZERO)
+            .totalBookings(properties.stream().mapToInt(p -> OwnerPropertyStats.nz(p.getTotalBookings())).sum())
+            .pendingBookings(properties.stream().mapToInt(p -> OwnerPropertyStats.nz(p.getPendingBookings())).sum())
+            .upcomingBookings(upcomingBookings != null ? upcomingBookings.intValue() : 0)
+            .averageRating(OwnerPropertyStats.average(ratingSum, totalReviews))
+            .totalReviews(totalReviews)
             .build();
     }
     
     /**
      * إيجاد أفضل عقار من حيث الأداء (Revenue)
      */
-    private OwnerDashboardResponse.BestProperty findBestPerformingProperty(List<Property> properties) {
+    private OwnerDashboardResponse.BestProperty findBestPerformingProperty(List<OwnerPropertyStats> properties) {
         if (properties == null || properties.isEmpty()) {
             log.warn("No properties found for owner");
             return null;
         }
         
-        List<Property> activeProperties = properties.stream()
+        List<OwnerPropertyStats> activeProperties = properties.stream()
             .filter(p -> p.getStatus() == Property.PropertyStatus.active)
             .collect(Collectors.toList());
         
@@ -269,45 +222,27 @@ public class AnalyticsService {
             return null;
         }
         
-        Property bestProperty = null;
+        OwnerPropertyStats bestProperty = activeProperties.get(0);
         BigDecimal maxRevenue = BigDecimal.ZERO;
         
-        for (Property property : activeProperties) {
-            List<Booking> propertyBookings = bookingRepository
-                .findByPropertyPropertyIdOrderByRequestedAtDesc(property.getPropertyId());
-            
-            BigDecimal propertyRevenue = propertyBookings.stream()
-                .filter(b -> b.getStatus() == Booking.BookingStatus.confirmed || 
-                            b.getStatus() == Booking.BookingStatus.completed)
-                .map(Booking::getTotalPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-            
-            if (propertyRevenue.compareTo(maxRevenue) > 0) {
-                maxRevenue = propertyRevenue;
+        for (OwnerPropertyStats property : activeProperties) {
+            if (property.getRevenueOrZero().compareTo(maxRevenue) > 0) {
+                maxRevenue = property.getRevenueOrZero();
                 bestProperty = property;
             }
         }
         
-        if (bestProperty == null) {
-            bestProperty = activeProperties.get(0);
-            maxRevenue = BigDecimal.ZERO;
-        }
-        
-        List<Booking> bestBookings = bookingRepository
-            .findByPropertyPropertyIdOrderByRequestedAtDesc(bestProperty.getPropertyId());
-        
-        int confirmedBookings = (int) bestBookings.stream()
-            .filter(b -> b.getStatus() == Booking.BookingStatus.confirmed || 
-                        b.getStatus() == Booking.BookingStatus.completed)
-            .count();
+        String coverImage = propertyImageRepository
+            .findFirstByPropertyPropertyIdOrderByImageOrderAsc(bestProperty.getPropertyId())
+            .map(PropertyImage::getImageUrl)
+            .orElse(null);
         
         return OwnerDashboardResponse.BestProperty.builder()
             .propertyId(bestProperty.getPropertyId())
-            .propertyTitle(bestProperty.getTitleAr())
-            .propertyImage(bestProperty.getImages().isEmpty() ? null : 
-                          bestProperty.getImages().get(0).getImageUrl())
+            .propertyTitle(bestProperty.getPropertyTitle())
+            .propertyImage(coverImage)
             .totalRevenue(maxRevenue)
-            .totalBookings(confirmedBookings)
+            .totalBookings(bestProperty.getEarningBookings())
             .averageRating(bestProperty.getAverageRating())
             .totalViews(bestProperty.getViewCount())
             .performanceReason(maxRevenue.compareTo(BigDecimal.ZERO) > 0 ? 
@@ -315,8 +250,8 @@ public class AnalyticsService {
             .build();
     }
     
-    private List<OwnerDashboardResponse.UpcomingBooking> getUpcomingBookingsForOwner(Long ownerId) {
-        return bookingRepository.findUpcomingBookingsForOwner(ownerId, LocalDate.now()).stream().limit(10)
+    private List<OwnerDashboardResponse.UpcomingBooking> getUpcomingBookingsForOwner(Long ownerId, LocalDate today) {
+        return bookingRepository.findUpcomingBookingsForOwnerDashboard(ownerId, today, PageRequest.of(0, DASHBOARD_LIST_SIZE)).stream()
             .map(b -> OwnerDashboardResponse.UpcomingBooking.builder()
                 .bookingId(b.getBookingId()).bookingReference(b.getBookingReference())
                 .propertyId(b.getProperty().getPropertyId()).propertyTitle(b.getProperty().getTitleAr())
@@ -330,30 +265,22 @@ public class AnalyticsService {
     /**
      * ✅ ENHANCED: Add reviewer photo and owner response to recent reviews
      */
-    private List<OwnerDashboardResponse.RecentReview> getRecentReviewsForOwner(List<Property> properties) {
-        List<OwnerDashboardResponse.RecentReview> reviews = new ArrayList<>();
+    private List<OwnerDashboardResponse.RecentReview> getRecentReviewsForOwner(Long ownerId) {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
         
-        for (Property property : properties) {
-            reviewRepository.findByPropertyIdAndApproved(property.getPropertyId(), Pageable.unpaged())
-                .getContent()
-                .forEach(review -> reviews.add(OwnerDashboardResponse.RecentReview.builder()
-                    .reviewId(review.getReviewId())
-                    .propertyId(property.getPropertyId())
-                    .propertyTitle(property.getTitleAr())
-                    .reviewerName(review.getReviewer().getFirstName() + " " + review.getReviewer().getLastName())
-                    .reviewerPhoto(review.getReviewer().getProfilePhoto())  // ✅ NEW
-                    .rating(review.getOverallRating())
-                    .reviewText(review.getReviewText())
-                    .reviewDate(review.getCreatedAt().format(formatter))
-                    .hasResponse(review.getOwnerResponse() != null)
-                    .ownerResponse(review.getOwnerResponse())               // ✅ NEW
-                    .build()));
-        }
-        
-        return reviews.stream()
-            .sorted((r1, r2) -> r2.getReviewDate().compareTo(r1.getReviewDate()))
-            .limit(10)
+        return reviewRepository.findRecentApprovedReviewsForOwner(ownerId, PageRequest.of(0, DASHBOARD_LIST_SIZE)).stream()
+            .map(review -> OwnerDashboardResponse.RecentReview.builder()
+                .reviewId(review.getReviewId())
+                .propertyId(review.getProperty().getPropertyId())
+                .propertyTitle(review.getProperty().getTitleAr())
+                .reviewerName(review.getReviewer().getFirstName() + " " + review.getReviewer().getLastName())
+                .reviewerPhoto(review.getReviewer().getProfilePhoto())
+                .rating(review.getOverallRating())
+                .reviewText(review.getReviewText())
+                .reviewDate(review.getCreatedAt().format(formatter))
+                .hasResponse(review.getOwnerResponse() != null)
+                .ownerResponse(review.getOwnerResponse())
+                .build())
             .collect(Collectors.toList());
     }
     
@@ -372,196 +299,172 @@ public class AnalyticsService {
             .sorted((a, b) -> a.getDate().compareTo(b.getDate())).collect(Collectors.toList());
     }
     
-    private List<OwnerDashboardResponse.PropertyPerformance> getPropertiesPerformance(List<Property> properties) {
-        return properties.stream().map(property -> {
-            List<Booking> bookings = bookingRepository.findByPropertyPropertyIdOrderByRequestedAtDesc(property.getPropertyId());
-            return OwnerDashboardResponse.PropertyPerformance.builder()
-                .propertyId(property.getPropertyId()).propertyTitle(property.getTitleAr())
+    private List<OwnerDashboardResponse.PropertyPerformance> getPropertiesPerformance(List<OwnerPropertyStats> properties) {
+        return properties.stream().map(property -> OwnerDashboardResponse.PropertyPerformance.builder()
+                .propertyId(property.getPropertyId()).propertyTitle(property.getPropertyTitle())
                 .totalViews(property.getViewCount())
-                .totalBookings((int) bookings.stream().filter(b -> b.getStatus() == Booking.BookingStatus.confirmed || 
-                    b.getStatus() == Booking.BookingStatus.completed).count())
-                .totalRevenue(bookings.stream().filter(b -> b.getStatus() == Booking.BookingStatus.confirmed || 
-                    b.getStatus() == Booking.BookingStatus.completed).map(Booking::getTotalPrice).reduce(BigDecimal.ZERO, BigDecimal::add))
-                .averageRating(property.getAverageRating()).status(property.getStatus().name()).build();
-        }).collect(Collectors.toList());
+                .totalBookings(property.getEarningBookings())
+                .totalRevenue(property.getRevenueOrZero())
+                .averageRating(property.getAverageRating()).status(property.getStatus().name()).build())
+            .collect(Collectors.toList());
     }
     
-    private PlatformAnalyticsResponse.PlatformOverview buildPlatformOverview(LocalDate startDate, LocalDate endDate) {
-        List<User> allUsers = userRepository.findAll();
-        List<Property> allProperties = propertyRepository.findAll();
-        List<Booking> allBookings = bookingRepository.findAll();
+    private PlatformAnalyticsResponse.PlatformOverview buildPlatformOverview(
+            PlatformRollup period, Map<Object, Object[]> usersByType, PlatformBookingTotals bookings) {
+        long totalUsers = usersByType.values().stream().mapToLong(row -> toLong(row[1])).sum();
+        
+        // total, active, sum of positive ratings
+        Object[] properties = propertyRepository.summarizeForPlatform().get(0);
+        long totalProperties = toLong(properties[0]);
+        
         return PlatformAnalyticsResponse.PlatformOverview.builder()
-            .totalUsers((int) allUsers.size())
-            .newUsersInPeriod((int) allUsers.stream().filter(u -> u.getCreatedAt().toLocalDate().isAfter(startDate.minusDays(1)) &&
-                u.getCreatedAt().toLocalDate().isBefore(endDate.plusDays(1))).count())
-            .totalProperties((int) allProperties.size())
-            .newPropertiesInPeriod((int) allProperties.stream().filter(p -> p.getCreatedAt().toLocalDate().isAfter(startDate.minusDays(1)) &&
-                p.getCreatedAt().toLocalDate().isBefore(endDate.plusDays(1))).count())
-            .activeProperties((int) allProperties.stream().filter(p -> p.getStatus() == Property.PropertyStatus.active).count())
-            .totalBookings((int) allBookings.size())
-            .newBookingsInPeriod((int) allBookings.stream().filter(b -> b.getRequestedAt().toLocalDate().isAfter(startDate.minusDays(1)) &&
-                b.getRequestedAt().toLocalDate().isBefore(endDate.plusDays(1))).count())
-            .totalRevenue(allBookings.stream().filter(b -> b.getStatus() == Booking.BookingStatus.confirmed || 
-                b.getStatus() == Booking.BookingStatus.completed).map(Booking::getTotalPrice).reduce(BigDecimal.ZERO, BigDecimal::add))
-            .revenueInPeriod(allBookings.stream().filter(b -> (b.getStatus() == Booking.BookingStatus.confirmed || 
-                b.getStatus() == Booking.BookingStatus.completed) && b.getRequestedAt().toLocalDate().isAfter(startDate.minusDays(1)) &&
-                b.getRequestedAt().toLocalDate().isBefore(endDate.plusDays(1))).map(Booking::getTotalPrice).reduce(BigDecimal.ZERO, BigDecimal::add))
-            .averagePlatformRating(allProperties.isEmpty() ? BigDecimal.ZERO : allProperties.stream().map(Property::getAverageRating)
-                .filter(r -> r.compareTo(BigDecimal.ZERO) > 0).reduce(BigDecimal.ZERO, BigDecimal::add)
-                .divide(BigDecimal.valueOf(allProperties.size()), 2, RoundingMode.HALF_UP))
+            .totalUsers((int) totalUsers)
+            .newUsersInPeriod(period.getNewUsers())
+            .totalProperties((int) totalProperties)
+            .newPropertiesInPeriod(period.getNewProperties())
+            .activeProperties((int) toLong(properties[1]))
+            .totalBookings((int) bookings.total)
+            .newBookingsInPeriod(period.getNewBookings())
+            .totalRevenue(bookings.earningValue)
+            .revenueInPeriod(period.getEarningRevenue())
+            .averagePlatformRating(average(toBigDecimal(properties[2]), totalProperties))
             .totalReviews((int) reviewRepository.count()).build();
     }
     
-    private List<PlatformAnalyticsResponse.GrowthMetric> getUserGrowthChart(LocalDate startDate, LocalDate endDate) {
-        return userRepository.findAll().stream()
-            .filter(u -> u.getCreatedAt().toLocalDate().isAfter(startDate.minusDays(1)) &&
-                u.getCreatedAt().toLocalDate().isBefore(endDate.plusDays(1)))
-            .collect(Collectors.groupingBy(u -> u.getCreatedAt().toLocalDate(), Collectors.counting()))
-            .entrySet().stream().map(entry -> PlatformAnalyticsResponse.GrowthMetric.builder()
-                .date(entry.getKey()).count(entry.getValue().intValue()).value(null).build())
-            .sorted((a, b) -> a.getDate().compareTo(b.getDate())).collect(Collectors.toList());
-    }
-    
-    private List<PlatformAnalyticsResponse.GrowthMetric> getPropertyGrowthChart(LocalDate startDate, LocalDate endDate) {
-        return propertyRepository.findAll().stream()
-            .filter(p -> p.getCreatedAt().toLocalDate().isAfter(startDate.minusDays(1)) &&
-                p.getCreatedAt().toLocalDate().isBefore(endDate.plusDays(1)))
-            .collect(Collectors.groupingBy(p -> p.getCreatedAt().toLocalDate(), Collectors.counting()))
-            .entrySet().stream().map(entry -> PlatformAnalyticsResponse.GrowthMetric.builder()
-                .date(entry.getKey()).count(entry.getValue().intValue()).value(null).build())
-            .sorted((a, b) -> a.getDate().compareTo(b.getDate())).collect(Collectors.toList());
-    }
-    
-    private List<PlatformAnalyticsResponse.GrowthMetric> getBookingGrowthChart(LocalDate startDate, LocalDate endDate) {
-        return bookingRepository.findAll().stream()
-            .filter(b -> b.getRequestedAt().toLocalDate().isAfter(startDate.minusDays(1)) &&
-                b.getRequestedAt().toLocalDate().isBefore(endDate.plusDays(1)))
-            .collect(Collectors.groupingBy(b -> b.getRequestedAt().toLocalDate(), Collectors.counting()))
-            .entrySet().stream().map(entry -> PlatformAnalyticsResponse.GrowthMetric.builder()
-                .date(entry.getKey()).count(entry.getValue().intValue()).value(null).build())
-            .sorted((a, b) -> a.getDate().compareTo(b.getDate())).collect(Collectors.toList());
+    /**
+     * نقطة لكل يوم (أو شهر) فيه حاجة، مترتبة بالتاريخ
+     */
+    private List<PlatformAnalyticsResponse.GrowthMetric> toGrowthChart(
+            List<PlatformRollup> buckets, Function<PlatformRollup, Integer> metric) {
+        return buckets.stream()
+            .filter(bucket -> metric.apply(bucket) > 0)
+            .map(bucket -> PlatformAnalyticsResponse.GrowthMetric.builder()
+                .date(bucket.getBucketDate()).count(metric.apply(bucket)).value(null).build())
+            .collect(Collectors.toList());
     }
     
-    private List<PlatformAnalyticsResponse.GrowthMetric> getRevenueGrowthChart(LocalDate startDate, LocalDate endDate) {
-        return bookingRepository.findAll().stream()
-            .filter(b -> (b.getStatus() == Booking.BookingStatus.confirmed || b.getStatus() == Booking.BookingStatus.completed) &&
-                b.getRequestedAt().toLocalDate().isAfter(startDate.minusDays(1)) &&
-                b.getRequestedAt().toLocalDate().isBefore(endDate.plusDays(1)))
-            .collect(Collectors.groupingBy(b -> b.getRequestedAt().toLocalDate(),
-                Collectors.reducing(BigDecimal.ZERO, Booking::getTotalPrice, BigDecimal::add)))
-            .entrySet().stream().map(entry -> PlatformAnalyticsResponse.GrowthMetric.builder()
-                .date(entry.getKey()).count(null).value(entry.getValue()).build())
-            .sorted((a, b) -> a.getDate().compareTo(b.getDate())).collect(Collectors.toList());
+    private List<PlatformAnalyticsResponse.GrowthMetric> getRevenueGrowthChart(List<PlatformRollup> buckets) {
+        return buckets.stream()
+            .filter(bucket -> bucket.getEarningBookings() > 0)
+            .map(bucket -> PlatformAnalyticsResponse.GrowthMetric.builder()
+                .date(bucket.getBucketDate()).count(null).value(bucket.getEarningRevenue()).build())
+            .collect(Collectors.toList());
     }
     
     private List<PlatformAnalyticsResponse.TopLocation> getTopLocations() {
-        return propertyRepository.findAll().stream().filter(p -> p.getStatus() == Property.PropertyStatus.active)
-            .collect(Collectors.groupingBy(p -> p.getGovernorate() + "," + p.getCity()))
-            .entrySet().stream().map(entry -> {
-                String[] location = entry.getKey().split(",");
-                List<Property> properties = entry.getValue();
-                int bookingCount = 0;
-                BigDecimal totalRevenue = BigDecimal.ZERO;
-                BigDecimal totalPrice = BigDecimal.ZERO;
-                int priceCount = 0;
-                for (Property property : properties) {
-                    List<Booking> bookings = bookingRepository.findByPropertyPropertyIdOrderByRequestedAtDesc(property.getPropertyId());
-                    bookingCount += (int) bookings.stream().filter(b -> b.getStatus() == Booking.BookingStatus.confirmed || 
-                        b.getStatus() == Booking.BookingStatus.completed).count();
-                    totalRevenue = totalRevenue.add(bookings.stream().filter(b -> b.getStatus() == Booking.BookingStatus.confirmed || 
-                        b.getStatus() == Booking.BookingStatus.completed).map(Booking::getTotalPrice).reduce(BigDecimal.ZERO, BigDecimal::add));
-                    if (property.getPricePerNight() != null) {
-                        totalPrice = totalPrice.add(property.getPricePerNight());
-                        priceCount++;
-                    }
-                }
+        // governorate,city → [earning count, revenue]
+        Map<String, Object[]> earningByLocation = bookingRepository.summarizeEarningByLocation().stream()
+            .collect(Collectors.toMap(row -> row[0] + "," + row[1], row -> row));
+        
+        return propertyRepository.summarizeActiveByLocation(PageRequest.of(0, 10)).stream().map(row -> {
+                Object[] earning = earningByLocation.get(row[0] + "," + row[1]);
                 return PlatformAnalyticsResponse.TopLocation.builder()
-                    .governorate(location[0]).city(location[1]).propertyCount(properties.size())
-                    .bookingCount(bookingCount).totalRevenue(totalRevenue)
-                    .averagePrice(priceCount > 0 ? totalPrice.divide(BigDecimal.valueOf(priceCount), 2, RoundingMode.HALF_UP) : BigDecimal.ZERO)
+                    .governorate((String) row[0]).city((String) row[1]).propertyCount((int) toLong(row[2]))
+                    .bookingCount(earning != null ? (int) toLong(earning[2]) : 0)
+                    .totalRevenue(earning != null ? toBigDecimal(earning[3]) : BigDecimal.ZERO)
+                    .averagePrice(average(toBigDecimal(row[3]), toLong(row[4])))
                     .build();
-            }).sorted((a, b) -> Integer.compare(b.getPropertyCount(), a.getPropertyCount()))
-            .limit(10).collect(Collectors.toList());
+            }).collect(Collectors.toList());
     }
     
     private List<PlatformAnalyticsResponse.PropertyTypeStats> getPropertyTypeStats() {
-        return propertyRepository.findAll().stream().filter(p -> p.getStatus() == Property.PropertyStatus.active)
-            .collect(Collectors.groupingBy(Property::getPropertyType))
-            .entrySet().stream().map(entry -> {
-                List<Property> properties = entry.getValue();
-                int bookingCount = 0;
-                BigDecimal totalRevenue = BigDecimal.ZERO;
-                BigDecimal totalPrice = BigDecimal.ZERO;
-                BigDecimal totalRating = BigDecimal.ZERO;
-                int priceCount = 0;
-                int ratingCount = 0;
-                for (Property property : properties) {
-                    List<Booking> bookings = bookingRepository.findByPropertyPropertyIdOrderByRequestedAtDesc(property.getPropertyId());
-                    bookingCount += (int) bookings.stream().filter(b -> b.getStatus() == Booking.BookingStatus.confirmed || 
-                        b.getStatus() == Booking.BookingStatus.completed).count();
-                    totalRevenue = totalRevenue.add(bookings.stream().filter(b -> b.getStatus() == Booking.BookingStatus.confirmed || 
-                        b.getStatus() == Booking.BookingStatus.completed).map(Booking::getTotalPrice).reduce(BigDecimal.ZERO, BigDecimal::add));
-                    if (property.getPricePerNight() != null) {
-                        totalPrice = totalPrice.add(property.getPricePerNight());
-                        priceCount++;
-                    }
-                    if (property.getAverageRating().compareTo(BigDecimal.ZERO) > 0) {
-                        totalRating = totalRating.add(property.getAverageRating());
-                        ratingCount++;
-                    }
-                }
+        // propertyType → [type, earning count, revenue]
+        Map<Object, Object[]> earningByType = bookingRepository.summarizeEarningByPropertyType().stream()
+            .collect(Collectors.toMap(row -> row[0], row -> row));
+        
+        return propertyRepository.summarizeActiveByType().stream().map(row -> {
+                Object[] earning = earningByType.get(row[0]);
                 return PlatformAnalyticsResponse.PropertyTypeStats.builder()
-                    .propertyType(entry.getKey().name()).count(properties.size()).bookingCount(bookingCount)
-                    .averagePrice(priceCount > 0 ? totalPrice.divide(BigDecimal.valueOf(priceCount), 2, RoundingMode.HALF_UP) : BigDecimal.ZERO)
-                    .totalRevenue(totalRevenue)
-                    .averageRating(ratingCount > 0 ? totalRating.divide(BigDecimal.valueOf(ratingCount), 2, RoundingMode.HALF_UP) : BigDecimal.ZERO)
+                    .propertyType(((Property.PropertyType) row[0]).name()).count((int) toLong(row[1]))
+                    .bookingCount(earning != null ? (int) toLong(earning[1]) : 0)
+                    .averagePrice(average(toBigDecimal(row[2]), toLong(row[3])))
+                    .totalRevenue(earning != null ? toBigDecimal(earning[2]) : BigDecimal.ZERO)
+                    .averageRating(average(toBigDecimal(row[4]), toLong(row[5])))
                     .build();
             }).sorted((a, b) -> Integer.compare(b.getCount(), a.getCount())).collect(Collectors.toList());
     }
     
-    private PlatformAnalyticsResponse.UserStats buildUserStats(LocalDate startDate, LocalDate endDate) {
-        List<User> allUsers = userRepository.findAll();
+    private PlatformAnalyticsResponse.UserStats buildUserStats(
+            LocalDate startDate, LocalDate endDate, PlatformRollup period, Map<Object, Object[]> usersByType) {
+        Long activeUsers = userRepository.countActiveBetween(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+        
         return PlatformAnalyticsResponse.UserStats.builder()
-            .totalRenters((int) allUsers.stream().filter(u -> u.getUserType() == User.UserType.renter).count())
-            .totalLandlords((int) allUsers.stream().filter(u -> u.getUserType() == User.UserType.landlord).count())
-            .totalBrokers((int) allUsers.stream().filter(u -> u.getUserType() == User.UserType.broker).count())
-            .activeUsersInPeriod((int) allUsers.stream().filter(u -> u.getLastActivity() != null &&
-                u.getLastActivity().toLocalDate().isAfter(startDate.minusDays(1)) &&
-                u.getLastActivity().toLocalDate().isBefore(endDate.plusDays(1))).count())
-            .newRentersInPeriod((int) allUsers.stream().filter(u -> u.getUserType() == User.UserType.renter &&
-                u.getCreatedAt().toLocalDate().isAfter(startDate.minusDays(1)) &&
-                u.getCreatedAt().toLocalDate().isBefore(endDate.plusDays(1))).count())
-            .newLandlordsInPeriod((int) allUsers.stream().filter(u -> u.getUserType() == User.UserType.landlord &&
-                u.getCreatedAt().toLocalDate().isAfter(startDate.minusDays(1)) &&
-                u.getCreatedAt().toLocalDate().isBefore(endDate.plusDays(1))).count())
+            .totalRenters(countForType(usersByType, User.UserType.renter))
+            .totalLandlords(countForType(usersByType, User.UserType.landlord))
+            .totalBrokers(countForType(usersByType, User.UserType.broker))
+            .activeUsersInPeriod(activeUsers != null ? activeUsers.intValue() : 0)
+            .newRentersInPeriod(period.getNewRenters())
+            .newLandlordsInPeriod(period.getNewLandlords())
             .build();
     }
     
-    private PlatformAnalyticsResponse.BookingStats buildBookingStats() {
-        List<Booking> allBookings = bookingRepository.findAll();
-        long confirmedAndCompleted = allBookings.stream()
-            .filter(b -> b.getStatus() == Booking.BookingStatus.confirmed || 
-                b.getStatus() == Booking.BookingStatus.completed).count();
-        BigDecimal totalValue = allBookings.stream()
-            .filter(b -> b.getStatus() == Booking.BookingStatus.confirmed || 
-                b.getStatus() == Booking.BookingStatus.completed)
-            .map(Booking::getTotalPrice).reduce(BigDecimal.ZERO, BigDecimal::add);
-        int totalNights = allBookings.stream()
-            .filter(b -> b.getStatus() == Booking.BookingStatus.confirmed || 
-                b.getStatus() == Booking.BookingStatus.completed)
-            .mapToInt(Booking::getNumberOfNights).sum();
+    private int countForType(Map<Object, Object[]> byType, User.UserType type) {
+        Object[] row = byType.get(type);
+        return row != null ? (int) toLong(row[1]) : 0;
+    }
+    
+    private PlatformAnalyticsResponse.BookingStats buildBookingStats(PlatformBookingTotals bookings) {
         return PlatformAnalyticsResponse.BookingStats.builder()
-            .pendingBookings((int) allBookings.stream().filter(b -> b.getStatus() == Booking.BookingStatus.pending).count())
-            .confirmedBookings((int) allBookings.stream().filter(b -> b.getStatus() == Booking.BookingStatus.confirmed).count())
-            .completedBookings((int) allBookings.stream().filter(b -> b.getStatus() == Booking.BookingStatus.completed).count())
-            .cancelledBookings((int) allBookings.stream().filter(b -> b.getStatus() == Booking.BookingStatus.cancelled_by_renter || 
-                b.getStatus() == Booking.BookingStatus.cancelled_by_owner).count())
-            .averageBookingValue(confirmedAndCompleted > 0 ? 
-                totalValue.divide(BigDecimal.valueOf(confirmedAndCompleted), 2, RoundingMode.HALF_UP) : BigDecimal.ZERO)
-            .conversionRate(allBookings.size() > 0 ? BigDecimal.valueOf(confirmedAndCompleted)
-                .divide(BigDecimal.valueOf(allBookings.size()), 4, RoundingMode.HALF_UP)
+            .pendingBookings((int) bookings.count(Booking.BookingStatus.pending))
+            .confirmedBookings((int) bookings.count(Booking.BookingStatus.confirmed))
+            .completedBookings((int) bookings.count(Booking.BookingStatus.completed))
+            .cancelledBookings((int) (bookings.count(Booking.BookingStatus.cancelled_by_renter) + 
+                bookings.count(Booking.BookingStatus.cancelled_by_owner)))
+            .averageBookingValue(average(bookings.earningValue, bookings.earningCount))
+            .conversionRate(bookings.total > 0 ? BigDecimal.valueOf(bookings.earningCount)
+                .divide(BigDecimal.valueOf(bookings.total), 4, RoundingMode.HALF_UP)
                 .multiply(BigDecimal.valueOf(100)) : BigDecimal.ZERO)
-            .averageNightsPerBooking(confirmedAndCompleted > 0 ? (int) (totalNights / confirmedAndCompleted) : 0)
+            .averageNightsPerBooking(bookings.earningCount > 0 ? (int) (bookings.earningNights / bookings.earningCount) : 0)
             .build();
     }
-}
\ No newline at end of file
+    
+    private static BigDecimal average(BigDecimal sum, long count) {
+        return count > 0 ? sum.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
+    }
+    
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+    
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
+    }
+    
+    /**
+     * إجماليات الحجوزات على مستوى المنصة من صفوف summarizeByStatusForPlatform
+     * (status, count, sum totalPrice, sum nights)
+     */
+    private static class PlatformBookingTotals {
+        
+        private final Map<Booking.BookingStatus, Long> countByStatus = new EnumMap<>(Booking.BookingStatus.class);
+        private long total;
+        private long earningCount;
+        private long earningNights;
+        private BigDecimal earningValue = BigDecimal.ZERO;
+        
+        static PlatformBookingTotals from(List<Object[]> rows) {
+            PlatformBookingTotals totals = new PlatformBookingTotals();
+            for (Object[] row : rows) {
+                Booking.BookingStatus status = (Booking.BookingStatus) row[0];
+                long count = toLong(row[1]);
+                totals.countByStatus.put(status, count);
+                totals.total += count;
+                
+                // الإيراد = confirmed + completed بس
+                if (status == Booking.BookingStatus.confirmed || status == Booking.BookingStatus.completed) {
+                    totals.earningCount += count;
+                    totals.earningNights += toLong(row[3]);
+                    totals.earningValue = totals.earningValue.add(toBigDecimal(row[2]));
+                }
+            }
+            return totals;
+        }
+        
+        long count(Booking.BookingStatus status) {
+            return countByStatus.getOrDefault(status, 0L);
+        }
+    }
+}
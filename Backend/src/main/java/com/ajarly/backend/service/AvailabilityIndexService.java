@@ -0,0 +1,281 @@
+package com.ajarly.backend.service;
+
+import com.ajarly.backend.event.BookingStatusChangedEvent;
+import com.ajarly.backend.model.Booking.BookingStatus;
+import com.ajarly.backend.repository.BookingRepository;
+import com.ajarly.backend.repository.UnavailableDateRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory availability index: per property, the pending and confirmed
+ * bookings and the blocked ranges that have not ended yet.
+ *
+ * A property is loaded on its first check and then kept in step by booking
+ * status events, so availability checks and conflict listings don't touch
+ * the database. Entries also expire after a TTL, which bounds how stale an
+ * entry can get when rows are changed outside this service (another
+ * instance, manual SQL). Creating and confirming a booking still re-check
+ * the database inside their transaction; the index only answers first.
+ *
+ * All ranges are half-open: check-out day is free for the next check-in.
+ */
+@Service
+@Slf4j
+public class AvailabilityIndexService {
+    
+    private final BookingRepository bookingRepository;
+    private final UnavailableDateRepository unavailableDateRepository;
+    private final long ttlMillis;
+    
+    private final Map<Long, PropertyIntervals> entries = new ConcurrentHashMap<>();
+    
+    // Per property, bumped on every applied change; a load that raced with a change to
+    // its own property is used once but not cached, loads of other properties are unaffected
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+    
+    public AvailabilityIndexService(
+            BookingRepository bookingRepository,
+            UnavailableDateRepository unavailableDateRepository,
+            @Value("${availability.index.ttl-ms:300000}") long ttlMillis) {
+        this.bookingRepository = bookingRepository;
+        this.unavailableDateRepository = unavailableDateRepository;
+        this.ttlMillis = ttlMillis;
+    }
+    
+    /**
+     * Everything that overlaps [checkIn, checkOut), ordered by start date.
+     *
+     * @param excludeBookingId booking to ignore (the one being confirmed), or null
+     */
+    public List<Interval> findConflicts(Long propertyId, LocalDate checkIn, LocalDate checkOut, Integer excludeBookingId) {
+        PropertyIntervals intervals = get(propertyId);
+        
+        // Ranges that ended before the entry was loaded are not held; ask the database for those
+        if (checkIn.isBefore(intervals.loadedFrom)) {
+            intervals = load(propertyId, checkIn);
+        }
+        
+        return intervals.overlapping(checkIn, checkOut, excludeBookingId);
+    }
+    
+    public boolean isAvailable(Long propertyId, LocalDate checkIn, LocalDate checkOut, Integer excludeBookingId) {
+        return findConflicts(propertyId, checkIn, checkOut, excludeBookingId).isEmpty();
+    }
+    
+    /**
+     * Applies a committed booking status change to the property's entry, if it is loaded.
+     */
+    public void applyBookingChange(BookingStatusChangedEvent event) {
+        versionOf(event.getPropertyId()).incrementAndGet();
+        
+        if (event.getCheckInDate() == null || event.getCheckOutDate() == null) {
+            evict(event.getPropertyId());
+            return;
+        }
+        
+        entries.computeIfPresent(event.getPropertyId(), (propertyId, current) -> {
+            PropertyIntervals updated = current.withoutBooking(event.getBookingId());
+            BookingStatus status = event.getNewStatus();
+            
+            // A completed booking still holds whatever of its nights are not past yet
+            if (status == BookingStatus.pending || status == BookingStatus.confirmed || status == BookingStatus.completed) {
+                updated = updated.with(new Interval(
+                    IntervalKind.BOOKING,
+                    event.getBookingId(),
+                    event.getCheckInDate(),
+                    event.getCheckOutDate(),
+                    status.name()
+                ));
+            }
+            return updated;
+        });
+    }
+    
+    public void evict(Long propertyId) {
+        versionOf(propertyId).incrementAndGet();
+        entries.remove(propertyId);
+    }
+    
+    /**
+     * Drops expired entries so properties nobody checks any more don't stay in memory.
+     */
+    @Scheduled(fixedDelayString = "${availability.index.ttl-ms:300000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        int before = entries.size();
+        entries.values().removeIf(intervals -> intervals.isExpired(now, ttlMillis));
+        // A load in flight for a dropped property sees a new counter and just skips caching once
+        versions.keySet().retainAll(entries.keySet());
+        
+        int removed = before - entries.size();
+        if (removed > 0) {
+            log.debug("Evicted {} expired availability index entries, {} left", removed, entries.size());
+        }
+    }
+    
+    private PropertyIntervals get(Long propertyId) {
+        PropertyIntervals cached = entries.get(propertyId);
+        if (cached != null && !cached.isExpired(System.currentTimeMillis(), ttlMillis)) {
+            return cached;
+        }
+        
+        AtomicLong version = versionOf(propertyId);
+        long versionBefore = version.get();
+        PropertyIntervals loaded = load(propertyId, LocalDate.now());
+        
+        // A change to this property committed while we were loading may be missing from what
+        // we read. Checked inside compute: a change bumps the version before it touches the
+        // entry, so it either shows up here or is applied on top of what we store.
+        entries.compute(propertyId, (id, existing) -> {
+            if (version.get() != versionBefore || versions.get(id) != version) {
+                return existing;
+            }
+            return existing == cached ? loaded : existing;
+        });
+        return loaded;
+    }
+    
+    private AtomicLong versionOf(Long propertyId) {
+        return versions.computeIfAbsent(propertyId, id -> new AtomicLong());
+    }
+    
+    private PropertyIntervals load(Long propertyId, LocalDate from) {
+        List<Interval> intervals = new ArrayList<>();
+        Set<Integer> activeBookingIds = new HashSet<>();
+        
+        for (Object[] row : bookingRepository.findActiveIntervalsForProperty(propertyId, from)) {
+            Integer bookingId = (Integer) row[0];
+            activeBookingIds.add(bookingId);
+            intervals.add(new Interval(
+                IntervalKind.BOOKING,
+                bookingId,
+                (LocalDate) row[1],
+                (LocalDate) row[2],
+                ((BookingStatus) row[3]).name()
+            ));
+        }
+        
+        for (Object[] row : unavailableDateRepository.findBlockedIntervalsForProperty(propertyId, from)) {
+            // A confirmed booking's "booked" row duplicates the booking itself
+            Integer bookingId = (Integer) row[1];
+            if (bookingId != null && activeBookingIds.contains(bookingId)) {
+                continue;
+            }
+            intervals.add(new Interval(
+                IntervalKind.BLOCKED,
+                (Integer) row[0],
+                (LocalDate) row[2],
+                (LocalDate) row[3],
+                row[4] != null ? row[4].toString() : null
+            ));
+        }
+        
+        return new PropertyIntervals(intervals, from, System.currentTimeMillis());
+    }
+    
+    public enum IntervalKind {
+        BOOKING, BLOCKED
+    }
+    
+    /**
+     * One occupied range. id is the booking id for BOOKING and the
+     * unavailable_dates id for BLOCKED; label is the booking status or block reason.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Interval {
+        private final IntervalKind kind;
+        private final Integer id;
+        private final LocalDate start;
+        private final LocalDate end;
+        private final String label;
+        
+        boolean isBooking(Integer bookingId) {
+            return kind == IntervalKind.BOOKING && id.equals(bookingId);
+        }
+    }
+    
+    /**
+     * Immutable interval set of one property, replaced as a whole on every change.
+     *
+     * Intervals are sorted by start, and maxEnd[i] is the latest end among the
+     * first i + 1 of them (a flattened augmented interval tree). An overlap query
+     * binary-searches the last interval starting before checkOut, then walks back
+     * only while some earlier interval can still reach past checkIn.
+     */
+    private static final class PropertyIntervals {
+        
+        private final Interval[] byStart;
+        private final LocalDate[] maxEnd;
+        private final LocalDate loadedFrom;
+        private final long loadedAt;
+        
+        PropertyIntervals(Collection<Interval> intervals, LocalDate loadedFrom, long loadedAt) {
+            this.byStart = intervals.toArray(new Interval[0]);
+            Arrays.sort(byStart, Comparator.comparing(Interval::getStart));
+            this.maxEnd = new LocalDate[byStart.length];
+            for (int i = 0; i < byStart.length; i++) {
+                LocalDate end = byStart[i].getEnd();
+                maxEnd[i] = i == 0 || end.isAfter(maxEnd[i - 1]) ? end : maxEnd[i - 1];
+            }
+            this.loadedFrom = loadedFrom;
+            this.loadedAt = loadedAt;
+        }
+        
+        List<Interval> overlapping(LocalDate checkIn, LocalDate checkOut, Integer excludeBookingId) {
+            LinkedList<Interval> result = new LinkedList<>();
+            for (int i = countStartingBefore(checkOut) - 1; i >= 0 && maxEnd[i].isAfter(checkIn); i--) {
+                Interval interval = byStart[i];
+                if (interval.getEnd().isAfter(checkIn) && !interval.isBooking(excludeBookingId)) {
+                    result.addFirst(interval);
+                }
+            }
+            return result;
+        }
+        
+        PropertyIntervals with(Interval interval) {
+            List<Interval> intervals = new ArrayList<>(Arrays.asList(byStart));
+            intervals.add(interval);
+            return new PropertyIntervals(intervals, loadedFrom, loadedAt);
+        }
+        
+        PropertyIntervals withoutBooking(Integer bookingId) {
+            List<Interval> intervals = new ArrayList<>(byStart.length);
+            for (Interval interval : byStart) {
+                if (!interval.isBooking(bookingId)) {
+                    intervals.add(interval);
+                }
+            }
+            return intervals.size() == byStart.length ? this : new PropertyIntervals(intervals, loadedFrom, loadedAt);
+        }
+        
+        boolean isExpired(long now, long ttlMillis) {
+            return now - loadedAt > ttlMillis;
+        }
+        
+        // Number of intervals whose start is before the given date
+        private int countStartingBefore(LocalDate date) {
+            int low = 0;
+            int high = byStart.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (byStart[mid].getStart().isBefore(date)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.ajarly.backend.service;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pending bookings ordered by when they expire.
+ *
+ * Booking creation adds each new booking, and the expiry worker waits on the
+ * head of the queue, so a booking is expired within seconds of its deadline
+ * without polling the bookings table. Entries are never removed when a booking
+ * is confirmed or cancelled earlier; expiring a booking that is no longer
+ * pending is a no-op.
+ */
+@Component
+public class BookingExpiryQueue {
+    
+    private final DelayQueue<Deadline> queue = new DelayQueue<>();
+    
+    public void schedule(Integer bookingId, LocalDateTime expiresAt) {
+        if (bookingId == null || expiresAt == null) {
+            return;
+        }
+        // DATETIME columns may round the stored value up to the next second
+        LocalDateTime due = expiresAt.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        queue.add(new Deadline(bookingId, due.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+    }
+    
+    /**
+     * Waits for the next booking to fall due, then takes it and any others
+     * already due, up to max.
+     */
+    public List<Integer> takeDue(int max) throws InterruptedException {
+        List<Deadline> due = new ArrayList<>();
+        due.add(queue.take());
+        queue.drainTo(due, max - 1);
+        return due.stream().map(Deadline::bookingId).toList();
+    }
+    
+    public int size() {
+        return queue.size();
+    }
+    
+    private record Deadline(Integer bookingId, long dueAtMillis) implements Delayed {
+        
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+        
+        @Override
+        public int compareTo(Delayed other) {
+            Deadline that = (Deadline) other;
+            int byDeadline = Long.compare(dueAtMillis, that.dueAtMillis);
+            return byDeadline != 0 ? byDeadline : bookingId.compareTo(that.bookingId);
+        }
+    }
+}
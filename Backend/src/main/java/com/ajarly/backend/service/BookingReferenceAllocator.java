@@ -0,0 +1,101 @@
+package com.ajarly.backend.service;
+
+import com.ajarly.backend.model.BookingReferenceSequence;
+import com.ajarly.backend.repository.BookingReferenceSequenceRepository;
+import com.ajarly.backend.repository.BookingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Hands out booking references (AJ-2025-000123) without counting the bookings table.
+ *
+ * Each instance reserves a block of numbers per year from booking_reference_sequences
+ * in its own short transaction, then serves them from memory. References stay unique
+ * across instances; numbers left in a block when the app stops are skipped, so the
+ * sequence can have gaps.
+ */
+@Service
+@Slf4j
+public class BookingReferenceAllocator {
+    
+    private static final String REFERENCE_FORMAT = "AJ-%d-%06d";
+    private static final int MAX_RESERVE_ATTEMPTS = 3;
+    
+    private final BookingReferenceSequenceRepository sequenceRepository;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate requiresNew;
+    private final int blockSize;
+    
+    // Current block, guarded by this
+    private int blockYear;
+    private long nextValue;
+    private long blockLimit;
+    
+    public BookingReferenceAllocator(
+            BookingReferenceSequenceRepository sequenceRepository,
+            BookingRepository bookingRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${bookings.reference.block-size:50}") int blockSize) {
+        this.sequenceRepository = sequenceRepository;
+        this.bookingRepository = bookingRepository;
+        this.blockSize = blockSize;
+        
+        // The reservation must commit on its own, even if the booking that triggered it rolls back
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    public synchronized String nextReference() {
+        int year = LocalDateTime.now().getYear();
+        if (year != blockYear || nextValue >= blockLimit) {
+            nextValue = reserveBlock(year);
+            blockLimit = nextValue + blockSize;
+            blockYear = year;
+        }
+        return String.format(REFERENCE_FORMAT, year, nextValue++);
+    }
+    
+    /**
+     * Moves the year's sequence forward by one block and returns the block's first number
+     */
+    private long reserveBlock(int year) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Long first = requiresNew.execute(status -> {
+                    BookingReferenceSequence sequence = sequenceRepository.findForUpdate(year)
+                        .orElseGet(() -> newSequence(year));
+                    long start = sequence.getNextValue();
+                    sequence.setNextValue(start + blockSize);
+                    sequence.setUpdatedAt(LocalDateTime.now());
+                    sequenceRepository.saveAndFlush(sequence);
+                    return start;
+                });
+                log.debug("Reserved booking references {}-{} for {}", first, first + blockSize - 1, year);
+                return first;
+            } catch (DataIntegrityViolationException e) {
+                // Another instance created the year's row first; lock it on the next attempt
+                if (attempt >= MAX_RESERVE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+    
+    /**
+     * First use of a year: continue after the highest reference already issued,
+     * so existing bookings never collide with new ones
+     */
+    private BookingReferenceSequence newSequence(int year) {
+        String prefix = String.format("AJ-%d-", year);
+        String maxReference = bookingRepository.findMaxBookingReferenceStartingWith(prefix);
+        long start = maxReference != null ? Long.parseLong(maxReference.substring(prefix.length())) + 1 : 1;
+        return new BookingReferenceSequence(year, start, LocalDateTime.now());
+    }
+}
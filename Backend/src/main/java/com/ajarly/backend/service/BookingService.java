@@ -1,6 +1,7 @@
 package com.ajarly.backend.service;
 
 import com.ajarly.backend.dto.*;
+import com.ajarly.backend.event.BookingStatusChangedEvent;
 import com.ajarly.backend.exception.ResourceNotFoundException;
 import com.ajarly.backend.exception.BusinessException;
 import com.ajarly.backend.model.*;
@@ -9,16 +10,30 @@ import com.ajarly.backend.model.UnavailableDate.UnavailableReason;
 import com.ajarly.backend.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -29,16 +44,34 @@ public class BookingService {
     private final UnavailableDateRepository unavailableDateRepository;
     private final PropertyRepository propertyRepository;
     private final UserRepository userRepository;
+    private final AvailabilityIndexService availabilityIndex;
+    private final BookingReferenceAllocator referenceAllocator;
+    private final BookingExpiryQueue expiryQueue;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
     
     private static final BigDecimal SERVICE_FEE_PERCENT = new BigDecimal("10.0");
     private static final int MIN_RENTAL_DAYS = 1;
     private static final int MAX_RENTAL_DAYS = 365;
     private static final int BOOKING_EXPIRY_HOURS = 48;
+    private static final int DEFAULT_CALENDAR_MONTHS = 3;
+    private static final int MAX_CALENDAR_MONTHS = 18;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String REQUESTED_AT_SORT = "requestedAt";
+    private static final String CHECK_IN_SORT = "checkInDate";
+    
+    @Value("${bookings.scheduler.chunk-size:500}")
+    private int transitionChunkSize;
+    
+    @Value("${bookings.export.max-duration-seconds:120}")
+    private long exportMaxDurationSeconds;
     
     /**
      * Create a new booking request
+     * 
+     * The cheap checks and the booking reference run before the transaction opens,
+     * so requests waiting on a busy allocator or a conflict don't hold a connection.
      */
-    @Transactional
     public BookingResponse createBooking(BookingCreateRequest request, Integer renterId) {
         log.info("Creating booking for property {} by renter {}", request.getPropertyId(), renterId);
         
@@ -53,8 +86,28 @@ public class BookingService {
             );
         }
         
-        // Get property
-        Property property = propertyRepository.findById(Long.valueOf(request.getPropertyId()))
+        // Turn away requests for dates that are already taken before queueing on the property lock
+        List<AvailabilityIndexService.Interval> conflicts = availabilityIndex.findConflicts(
+            Long.valueOf(request.getPropertyId()), request.getCheckInDate(), request.getCheckOutDate(), null);
+        if (!conflicts.isEmpty()) {
+            throw new BusinessException(conflictMessage(conflicts));
+        }
+        
+        // Refilling a reference block uses its own connection, so it must not run inside the booking transaction
+        String bookingReference = referenceAllocator.nextReference();
+        
+        BookingResponse response = transactionTemplate.execute(status ->
+            insertBooking(request, renterId, numberOfNights, bookingReference));
+        
+        // Expire it right at its deadline instead of on the next hourly sweep
+        expiryQueue.schedule(response.getBookingId(), response.getExpiresAt());
+        return response;
+    }
+    
+    private BookingResponse insertBooking(BookingCreateRequest request, Integer renterId,
+                                          long numberOfNights, String bookingReference) {
+        // Get property, locked until commit so concurrent requests can't both pass the availability check
+        Property property = propertyRepository.findByIdForUpdate(Long.valueOf(request.getPropertyId()))
             .orElseThrow(() -> new ResourceNotFoundException("Property not found with id: " + request.getPropertyId()));
         
         // Check if property is active
@@ -87,15 +140,11 @@ public class BookingService {
         
         // Calculate pricing
         BigDecimal pricePerNight = property.getPricePerNight();
-        BigDecimal subtotal = pricePerNight.multiply(BigDecimal.valueOf(numberOfNights));
-        BigDecimal cleaningFee = property.getCleaningFee() != null ? property.getCleaningFee() : BigDecimal.ZERO;
-        BigDecimal serviceFee = subtotal.multiply(SERVICE_FEE_PERCENT)
-            .divide(new BigDecimal("100"), 2, RoundingMode.HALF_UP);
-        BigDecimal totalPrice = subtotal.add(cleaningFee).add(serviceFee);
+        StayPrice price = priceStay(pricePerNight, property.getCleaningFee(), numberOfNights);
         
         // Create booking
         Booking booking = new Booking();
-        booking.setBookingReference(generateBookingReference());
+        booking.setBookingReference(bookingReference);
         booking.setProperty(property);
         booking.setRenter(renter);
         booking.setOwner(owner);
@@ -106,10 +155,10 @@ public class BookingService {
         booking.setNumberOfAdults(request.getNumberOfAdults());
         booking.setNumberOfChildren(request.getNumberOfChildren());
         booking.setPricePerNight(pricePerNight);
-        booking.setSubtotal(subtotal);
-        booking.setCleaningFee(cleaningFee);
-        booking.setServiceFee(serviceFee);
-        booking.setTotalPrice(totalPrice);
+        booking.setSubtotal(price.subtotal());
+        booking.setCleaningFee(price.cleaningFee());
+        booking.setServiceFee(price.serviceFee());
+        booking.setTotalPrice(price.total());
         booking.setSecurityDeposit(property.getSecurityDeposit() != null ? property.getSecurityDeposit() : BigDecimal.ZERO);
         booking.setCurrency(property.getCurrency());
         booking.setStatus(BookingStatus.pending);
@@ -127,6 +176,8 @@ public class BookingService {
         property.setBookingRequestCount(property.getBookingRequestCount() + 1);
         propertyRepository.save(property);
         
+        eventPublisher.publishEvent(BookingStatusChangedEvent.of(booking, null));
+        
         return mapToBookingResponse(booking);
     }
     
@@ -137,7 +188,14 @@ public class BookingService {
     public BookingResponse confirmBooking(Integer bookingId, Integer ownerId, BookingConfirmRequest request) {
         log.info("Confirming booking {} by owner {}", bookingId, ownerId);
         
-        // ✅ FIXED: Use findByIdWithDetails
+        // Lock the property (like createBooking), then the booking row, and only then read
+        // the booking: a second confirm or the expiry worker waits here instead of having
+        // its status change overwritten by a stale copy
+        Long propertyId = bookingRepository.findPropertyIdByBookingId(bookingId)
+            .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + bookingId));
+        propertyRepository.findByIdForUpdate(propertyId);
+        bookingRepository.findByIdForUpdate(bookingId)
+            .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + bookingId));
         Booking booking = bookingRepository.findByIdWithDetails(bookingId)
             .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + bookingId));
         
@@ -158,7 +216,7 @@ public class BookingService {
             throw new BusinessException("Booking has expired");
         }
         
-        // Double-check availability - EXCLUDE CURRENT BOOKING
+        // Double-check availability - EXCLUDE CURRENT BOOKING (under the property lock taken above)
         checkPropertyAvailabilityExcludingBooking(
             booking.getProperty().getPropertyId().intValue(), 
             booking.getCheckInDate(), 
@@ -167,6 +225,7 @@ public class BookingService {
         );
         
         // Update booking status
+        BookingStatus previousStatus = booking.getStatus();
         booking.setStatus(BookingStatus.confirmed);
         booking.setConfirmedAt(LocalDateTime.now());
         booking.setOwnerResponse(request != null ? request.getOwnerResponse() : null);
@@ -188,6 +247,8 @@ public class BookingService {
         property.setBookingConfirmedCount(property.getBookingConfirmedCount() + 1);
         propertyRepository.save(property);
         
+        eventPublisher.publishEvent(BookingStatusChangedEvent.of(booking, previousStatus));
+        
         log.info("Booking {} confirmed successfully", bookingId);
         
         return mapToBookingResponse(booking);
@@ -215,12 +276,15 @@ public class BookingService {
         }
         
         // Update booking status
+        BookingStatus previousStatus = booking.getStatus();
         booking.setStatus(BookingStatus.rejected);
         booking.setRejectedAt(LocalDateTime.now());
         booking.setRejectionReason(request.getRejectionReason());
         
         booking = bookingRepository.save(booking);
         
+        eventPublisher.publishEvent(BookingStatusChangedEvent.of(booking, previousStatus));
+        
         log.info("Booking {} rejected successfully", bookingId);
         
         return mapToBookingResponse(booking);
@@ -265,6 +329,7 @@ public class BookingService {
         }
         
         // Update booking status
+        BookingStatus previousStatus = booking.getStatus();
         if (isRenter) {
             booking.setStatus(BookingStatus.cancelled_by_renter);
         } else {
@@ -280,6 +345,8 @@ public class BookingService {
         // Remove from unavailable dates if confirmed
         unavailableDateRepository.deleteByBookingBookingId(bookingId);
         
+        eventPublisher.publishEvent(BookingStatusChangedEvent.of(booking, previousStatus));
+        
         log.info("Booking {} cancelled successfully", bookingId);
         
         return mapToBookingResponse(booking);
@@ -304,119 +371,306 @@ public class BookingService {
     
     /**
      * Get all bookings for a renter
+     * 
+     * Rows come from a flat projection query (no entities, no image collections).
+     * Pass Pageable.unpaged() for the whole list.
      */
-    public List<BookingListResponse> getRenterBookings(Integer renterId, String status) {
-        List<Booking> bookings;
-        
-        if (status != null && !status.isEmpty()) {
-            BookingStatus bookingStatus = BookingStatus.valueOf(status);
-            bookings = bookingRepository.findByRenterUserIdAndStatusOrderByRequestedAtDesc(Long.valueOf(renterId), bookingStatus);
-        } else {
-            bookings = bookingRepository.findByRenterUserIdOrderByRequestedAtDesc(Long.valueOf(renterId));
-        }
-        
-        return bookings.stream()
-            .map(b -> mapToBookingListResponse(b, true))
-            .collect(Collectors.toList());
+    public List<BookingListResponse> getRenterBookings(Integer renterId, String status, Pageable pageable) {
+        return bookingRepository.findRenterBookingList(Long.valueOf(renterId), parseStatus(status), null, null, pageable);
+    }
+    
+    /**
+     * Keyset variant of getRenterBookings (newest first); an empty cursor starts at the first page
+     */
+    public CursorPage<BookingListResponse> getRenterBookingsAfter(Integer renterId, String status, String cursor, int size) {
+        BookingStatus bookingStatus = parseStatus(status);
+        return findAfter(cursor, size, REQUESTED_AT_SORT, false, BookingListResponse::getRequestedAt,
+            (after, limit) -> bookingRepository.findRenterBookingList(
+                Long.valueOf(renterId), bookingStatus,
+                after == null ? null : parseSeekValue(after, LocalDateTime::parse),
+                after == null ? null : (int) after.getId(),
+                limit));
     }
     
     /**
      * Get all bookings for an owner
      */
-    public List<BookingListResponse> getOwnerBookings(Integer ownerId, String status) {
-        List<Booking> bookings;
-        
-        if (status != null && !status.isEmpty()) {
-            BookingStatus bookingStatus = BookingStatus.valueOf(status);
-            bookings = bookingRepository.findByOwnerUserIdAndStatusOrderByRequestedAtDesc(Long.valueOf(ownerId), bookingStatus);
-        } else {
-            bookings = bookingRepository.findByOwnerUserIdOrderByRequestedAtDesc(Long.valueOf(ownerId));
-        }
-        
-        return bookings.stream()
-            .map(b -> mapToBookingListResponse(b, false))
-            .collect(Collectors.toList());
+    public List<BookingListResponse> getOwnerBookings(Integer ownerId, String status, Pageable pageable) {
+        return bookingRepository.findOwnerBookingList(Long.valueOf(ownerId), parseStatus(status), null, null, pageable);
+    }
+    
+    /**
+     * Keyset variant of getOwnerBookings (newest first)
+     */
+    public CursorPage<BookingListResponse> getOwnerBookingsAfter(Integer ownerId, String status, String cursor, int size) {
+        BookingStatus bookingStatus = parseStatus(status);
+        return findAfter(cursor, size, REQUESTED_AT_SORT, false, BookingListResponse::getRequestedAt,
+            (after, limit) -> bookingRepository.findOwnerBookingList(
+                Long.valueOf(ownerId), bookingStatus,
+                after == null ? null : parseSeekValue(after, LocalDateTime::parse),
+                after == null ? null : (int) after.getId(),
+                limit));
     }
     
     /**
      * Get upcoming bookings for a renter
      */
-    public List<BookingListResponse> getUpcomingRenterBookings(Integer renterId) {
-        List<Booking> bookings = bookingRepository.findUpcomingBookingsForRenter(Long.valueOf(renterId), LocalDate.now());
-        return bookings.stream()
-            .map(b -> mapToBookingListResponse(b, true))
-            .collect(Collectors.toList());
+    public List<BookingListResponse> getUpcomingRenterBookings(Integer renterId, Pageable pageable) {
+        return bookingRepository.findUpcomingRenterBookingList(Long.valueOf(renterId), LocalDate.now(), null, null, pageable);
+    }
+    
+    /**
+     * Keyset variant of getUpcomingRenterBookings (soonest first)
+     */
+    public CursorPage<BookingListResponse> getUpcomingRenterBookingsAfter(Integer renterId, String cursor, int size) {
+        LocalDate today = LocalDate.now();
+        return findAfter(cursor, size, CHECK_IN_SORT, true, BookingListResponse::getCheckInDate,
+            (after, limit) -> bookingRepository.findUpcomingRenterBookingList(
+                Long.valueOf(renterId), today,
+                after == null ? null : parseSeekValue(after, LocalDate::parse),
+                after == null ? null : (int) after.getId(),
+                limit));
     }
     
     /**
      * Get upcoming bookings for an owner
      */
-    public List<BookingListResponse> getUpcomingOwnerBookings(Integer ownerId) {
-        List<Booking> bookings = bookingRepository.findUpcomingBookingsForOwner(Long.valueOf(ownerId), LocalDate.now());
-        return bookings.stream()
-            .map(b -> mapToBookingListResponse(b, false))
-            .collect(Collectors.toList());
+    public List<BookingListResponse> getUpcomingOwnerBookings(Integer ownerId, Pageable pageable) {
+        return bookingRepository.findUpcomingOwnerBookingList(Long.valueOf(ownerId), LocalDate.now(), null, null, pageable);
+    }
+    
+    /**
+     * Keyset variant of getUpcomingOwnerBookings (soonest first)
+     */
+    public CursorPage<BookingListResponse> getUpcomingOwnerBookingsAfter(Integer ownerId, String cursor, int size) {
+        LocalDate today = LocalDate.now();
+        return findAfter(cursor, size, CHECK_IN_SORT, true, BookingListResponse::getCheckInDate,
+            (after, limit) -> bookingRepository.findUpcomingOwnerBookingList(
+                Long.valueOf(ownerId), today,
+                after == null ? null : parseSeekValue(after, LocalDate::parse),
+                after == null ? null : (int) after.getId(),
+                limit));
+    }
+    
+    /**
+     * Export all bookings of an owner, oldest first, handing each row to the sink as it
+     * is read. Rows are streamed from the database and never collected into a list, so
+     * memory stays flat however many bookings the owner has.
+     * 
+     * The export holds one pooled connection until the last row is written, and the sink
+     * writes to the client, so a slow download keeps that connection busy. The export is
+     * aborted once it runs past bookings.export.max-duration-seconds, which releases the
+     * connection and leaves the client with a truncated download.
+     * 
+     * @param fromDate first check-in date to include, or null
+     * @param toDate   check-in date to stop before, or null
+     * @return number of rows exported
+     */
+    @Transactional(readOnly = true)
+    public long exportOwnerBookings(Integer ownerId, String status, LocalDate fromDate, LocalDate toDate,
+                                    Consumer<BookingListResponse> sink) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(exportMaxDurationSeconds);
+        try (Stream<BookingListResponse> rows = bookingRepository.streamOwnerBookingList(
+                Long.valueOf(ownerId), parseStatus(status), fromDate, toDate)) {
+            long[] count = {0};
+            rows.forEach(row -> {
+                if (System.nanoTime() - deadline > 0) {
+                    throw new BusinessException("Export of owner " + ownerId + " bookings stopped after "
+                        + exportMaxDurationSeconds + "s at row " + count[0] + "; narrow the date range");
+                }
+                sink.accept(row);
+                count[0]++;
+            });
+            return count[0];
+        }
     }
     
     /**
      * Check property availability
      */
     public AvailabilityCheckResponse checkAvailability(Integer propertyId, LocalDate checkIn, LocalDate checkOut) {
-        try {
-            checkPropertyAvailability(propertyId, checkIn, checkOut);
+        List<AvailabilityIndexService.Interval> conflicts = availabilityIndex.findConflicts(
+            Long.valueOf(propertyId), checkIn, checkOut, null);
+        
+        if (conflicts.isEmpty()) {
             return new AvailabilityCheckResponse(true, "Property is available for the selected dates", null, null);
-        } catch (BusinessException e) {
-            List<UnavailableDate> conflicts = unavailableDateRepository.findByPropertyAndDateRange(
-                Long.valueOf(propertyId), checkIn, checkOut);
-            
-            if (!conflicts.isEmpty()) {
-                UnavailableDate firstConflict = conflicts.get(0);
-                return new AvailabilityCheckResponse(
-                    false, 
-                    e.getMessage(),
-                    firstConflict.getUnavailableFrom(),
-                    firstConflict.getUnavailableTo()
-                );
+        }
+        
+        AvailabilityIndexService.Interval firstConflict = conflicts.get(0);
+        return new AvailabilityCheckResponse(
+            false,
+            conflictMessage(conflicts),
+            firstConflict.getStart(),
+            firstConflict.getEnd()
+        );
+    }
+    
+    /**
+     * Occupied nights of a property for the next few months, for painting a calendar.
+     * Read from the availability index, so repeated calls don't touch the database.
+     */
+    public AvailabilityCalendarResponse getAvailabilityCalendar(Integer propertyId, Integer months) {
+        int calendarMonths = months != null ? months : DEFAULT_CALENDAR_MONTHS;
+        if (calendarMonths < 1 || calendarMonths > MAX_CALENDAR_MONTHS) {
+            throw new BusinessException(
+                String.format("Calendar months must be between 1 and %d", MAX_CALENDAR_MONTHS)
+            );
+        }
+        
+        LocalDate startDate = LocalDate.now();
+        LocalDate endDate = startDate.plusMonths(calendarMonths);
+        int nights = (int) ChronoUnit.DAYS.between(startDate, endDate);
+        
+        BitSet occupied = new BitSet(nights);
+        for (AvailabilityIndexService.Interval interval
+                : availabilityIndex.findConflicts(Long.valueOf(propertyId), startDate, endDate, null)) {
+            int from = (int) Math.max(0, ChronoUnit.DAYS.between(startDate, interval.getStart()));
+            int to = (int) Math.min(nights, ChronoUnit.DAYS.between(startDate, interval.getEnd()));
+            if (from < to) {
+                occupied.set(from, to);
             }
-            
-            return new AvailabilityCheckResponse(false, e.getMessage(), null, null);
         }
+        
+        // Overlapping bookings and blocks collapse into one run here
+        List<AvailabilityCalendarResponse.OccupiedRange> ranges = new ArrayList<>();
+        for (int from = occupied.nextSetBit(0); from >= 0; from = occupied.nextSetBit(from)) {
+            int to = occupied.nextClearBit(from);
+            ranges.add(new AvailabilityCalendarResponse.OccupiedRange(startDate.plusDays(from), startDate.plusDays(to)));
+            from = to;
+        }
+        
+        return new AvailabilityCalendarResponse(
+            propertyId,
+            startDate,
+            endDate,
+            nights,
+            occupied.cardinality(),
+            ranges,
+            Base64.getEncoder().encodeToString(occupied.toByteArray())
+        );
     }
     
     /**
      * Auto-expire pending bookings (scheduled task)
+     * 
+     * Runs in chunks, each in its own short transaction, so catching up on a
+     * large backlog never holds locks over thousands of rows.
      */
-    @Transactional
     public void autoExpireBookings() {
-        List<Booking> expiredBookings = bookingRepository.findExpiredBookings(LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+        int expired = transitionInChunks(
+            BookingStatus.pending,
+            BookingStatus.expired,
+            chunk -> bookingRepository.findExpiredBookingsChunk(now, chunk),
+            bookingRepository::markExpired
+        );
         
-        for (Booking booking : expiredBookings) {
-            booking.setStatus(BookingStatus.expired);
-            bookingRepository.save(booking);
-            log.info("Auto-expired booking {}", booking.getBookingReference());
+        if (expired > 0) {
+            log.info("Auto-expired {} bookings", expired);
         }
+    }
+    
+    /**
+     * Expire those of the given bookings that are still pending and past their
+     * deadline (expiry worker). Bookings confirmed or cancelled meanwhile are skipped.
+     */
+    public void expireDueBookings(List<Integer> bookingIds) {
+        LocalDateTime now = LocalDateTime.now();
+        int expired = transitionInChunks(
+            BookingStatus.pending,
+            BookingStatus.expired,
+            chunk -> bookingRepository.findExpiredBookingsChunkAmong(bookingIds, now, chunk),
+            bookingRepository::markExpired
+        );
         
-        if (!expiredBookings.isEmpty()) {
-            log.info("Auto-expired {} bookings", expiredBookings.size());
+        if (expired > 0) {
+            log.info("Expired {} bookings at their deadline", expired);
+        }
+    }
+    
+    /**
+     * Queue every pending booking for expiry (on startup)
+     * 
+     * @return number of bookings queued
+     */
+    public int queuePendingExpiries() {
+        List<Object[]> pending = bookingRepository.findPendingExpiries();
+        for (Object[] row : pending) {
+            expiryQueue.schedule((Integer) row[0], (LocalDateTime) row[1]);
         }
+        return pending.size();
     }
     
     /**
      * Auto-complete bookings (scheduled task)
+     * 
+     * Chunked like auto-expire. The nights of a completed booking are already
+     * past, so its "booked" unavailable_dates row is dropped with it.
      */
-    @Transactional
     public void autoCompleteBookings() {
-        List<Booking> bookingsToComplete = bookingRepository.findBookingsToComplete(LocalDate.now());
+        LocalDate today = LocalDate.now();
+        LocalDateTime completedAt = LocalDateTime.now();
+        int completed = transitionInChunks(
+            BookingStatus.confirmed,
+            BookingStatus.completed,
+            chunk -> bookingRepository.findBookingsToCompleteChunk(today, chunk),
+            bookingIds -> bookingRepository.markCompleted(bookingIds, completedAt)
+        );
         
-        for (Booking booking : bookingsToComplete) {
-            booking.setStatus(BookingStatus.completed);
-            booking.setCompletedAt(LocalDateTime.now());
-            bookingRepository.save(booking);
-            log.info("Auto-completed booking {}", booking.getBookingReference());
+        if (completed > 0) {
+            log.info("Auto-completed {} bookings", completed);
         }
-        
-        if (!bookingsToComplete.isEmpty()) {
-            log.info("Auto-completed {} bookings", bookingsToComplete.size());
+    }
+    
+    /**
+     * Moves bookings from one status to another a chunk at a time until no match is left.
+     * Each chunk locks its rows, updates them and their unavailable_dates rows in bulk,
+     * and publishes one status event per booking when it commits.
+     * 
+     * @param nextChunk locked [bookingId, propertyId, ownerId, requestedAt, checkIn, checkOut] rows
+     * @param update    bulk status update for the chunk's ids, returning the updated row count
+     * @return number of bookings moved
+     */
+    private int transitionInChunks(BookingStatus from, BookingStatus to,
+                                   Function<Pageable, List<Object[]>> nextChunk,
+                                   ToIntFunction<List<Integer>> update) {
+        Pageable chunk = PageRequest.of(0, transitionChunkSize);
+        int total = 0;
+        
+        while (true) {
+            Integer moved = transactionTemplate.execute(status -> {
+                List<Object[]> rows = nextChunk.apply(chunk);
+                if (rows.isEmpty()) {
+                    return 0;
+                }
+                
+                List<Integer> bookingIds = rows.stream().map(row -> (Integer) row[0]).toList();
+                int updated = update.applyAsInt(bookingIds);
+                int released = unavailableDateRepository.deleteByBookingIds(bookingIds);
+                
+                for (Object[] row : rows) {
+                    eventPublisher.publishEvent(new BookingStatusChangedEvent(
+                        (Integer) row[0],
+                        ((Integer) row[1]).longValue(),
+                        (Long) row[2],
+                        from,
+                        to,
+                        (LocalDateTime) row[3],
+                        (LocalDate) row[4],
+                        (LocalDate) row[5]
+                    ));
+                }
+                
+                log.debug("Moved {} bookings from {} to {}, released {} unavailable date rows",
+                          updated, from, to, released);
+                return updated;
+            });
+            
+            total += moved;
+            // A short chunk means nothing is left (and a chunk that changed nothing would repeat forever)
+            if (moved < transitionChunkSize) {
+                return total;
+            }
         }
     }
     
@@ -434,41 +688,110 @@ public class BookingService {
         }
     }
     
-    private void checkPropertyAvailability(Integer propertyId, LocalDate checkIn, LocalDate checkOut) {
-        Boolean hasUnavailable = unavailableDateRepository.hasUnavailableDates(Long.valueOf(propertyId), checkIn, checkOut);
-        if (Boolean.TRUE.equals(hasUnavailable)) {
-            throw new BusinessException("Property is not available for the selected dates");
+    /**
+     * Fetch size + 1 rows after the cursor (the extra row only tells us there is a next page).
+     * The size is clamped to 1..MAX_PAGE_SIZE like offset pages.
+     * 
+     * @param query gets the decoded cursor (null on the first page) and the row limit
+     */
+    private CursorPage<BookingListResponse> findAfter(
+            String cursor,
+            int size,
+            String sortField,
+            boolean ascending,
+            Function<BookingListResponse, Object> sortValue,
+            BiFunction<SeekCursor, Pageable, List<BookingListResponse>> query) {
+        
+        // Same bounds as offset pages; also keeps the size + 1 look-ahead from overflowing
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        
+        SeekCursor after = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            after = SeekCursor.decode(cursor);
+            after.requireSort(sortField, ascending);
         }
         
-        Boolean hasOverlapping = bookingRepository.hasOverlappingBookings(Long.valueOf(propertyId), checkIn, checkOut);
-        if (Boolean.TRUE.equals(hasOverlapping)) {
-            throw new BusinessException("Property has overlapping bookings for the selected dates");
+        List<BookingListResponse> rows = query.apply(after, PageRequest.of(0, pageSize + 1));
+        
+        boolean hasNext = rows.size() > pageSize;
+        List<BookingListResponse> page = hasNext ? rows.subList(0, pageSize) : rows;
+        
+        String nextCursor = null;
+        if (hasNext) {
+            BookingListResponse last = page.get(pageSize - 1);
+            nextCursor = SeekCursor.of(sortField, ascending, sortValue.apply(last), last.getBookingId()).encode();
+        }
+        
+        return new CursorPage<>(page, nextCursor, hasNext, pageSize);
+    }
+    
+    private <T> T parseSeekValue(SeekCursor cursor, Function<String, T> parser) {
+        try {
+            return parser.apply(cursor.getValue());
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
         }
     }
     
+    private BookingStatus parseStatus(String status) {
+        return status != null && !status.isEmpty() ? BookingStatus.valueOf(status) : null;
+    }
+    
+    private void checkPropertyAvailability(Integer propertyId, LocalDate checkIn, LocalDate checkOut) {
+        checkPropertyAvailabilityExcludingBooking(propertyId, checkIn, checkOut, null);
+    }
+    
+    /**
+     * Rejects from the in-memory index first; when that says free, the database
+     * is asked once more inside this transaction in case the index is behind.
+     */
     private void checkPropertyAvailabilityExcludingBooking(Integer propertyId, LocalDate checkIn, LocalDate checkOut, Integer excludeBookingId) {
+        List<AvailabilityIndexService.Interval> conflicts = availabilityIndex.findConflicts(
+            Long.valueOf(propertyId), checkIn, checkOut, excludeBookingId);
+        if (!conflicts.isEmpty()) {
+            throw new BusinessException(conflictMessage(conflicts));
+        }
+        
         Boolean hasUnavailable = unavailableDateRepository.hasUnavailableDates(Long.valueOf(propertyId), checkIn, checkOut);
         if (Boolean.TRUE.equals(hasUnavailable)) {
             throw new BusinessException("Property is not available for the selected dates");
         }
         
-        List<Booking> overlappingBookings = bookingRepository.findOverlappingBookings(Long.valueOf(propertyId), checkIn, checkOut);
-        
-        boolean hasOtherOverlaps = overlappingBookings.stream()
-            .anyMatch(b -> !b.getBookingId().equals(excludeBookingId));
-        
-        if (hasOtherOverlaps) {
+        Boolean hasOverlapping = excludeBookingId == null
+            ? bookingRepository.hasOverlappingBookings(Long.valueOf(propertyId), checkIn, checkOut)
+            : bookingRepository.hasOverlappingBookingsExcluding(Long.valueOf(propertyId), checkIn, checkOut, excludeBookingId);
+        if (Boolean.TRUE.equals(hasOverlapping)) {
             throw new BusinessException("Property has overlapping bookings for the selected dates");
         }
     }
     
-    private String generateBookingReference() {
-        int year = LocalDateTime.now().getYear();
-        long count = bookingRepository.count() + 1;
-        return String.format("AJ-%d-%06d", year, count);
+    // Blocked ranges and confirmed bookings (which hold a blocked range) win over pending requests
+    private String conflictMessage(List<AvailabilityIndexService.Interval> conflicts) {
+        boolean blocked = conflicts.stream().anyMatch(c ->
+            c.getKind() == AvailabilityIndexService.IntervalKind.BLOCKED
+                || !BookingStatus.pending.name().equals(c.getLabel()));
+        return blocked
+            ? "Property is not available for the selected dates"
+            : "Property has overlapping bookings for the selected dates";
+    }
+    
+    /**
+     * Price of a stay: nightly subtotal, cleaning fee and the platform service fee.
+     * Package-private so the benchmarks module can measure it directly.
+     */
+    static StayPrice priceStay(BigDecimal pricePerNight, BigDecimal cleaningFee, long numberOfNights) {
+        BigDecimal subtotal = pricePerNight.multiply(BigDecimal.valueOf(numberOfNights));
+        BigDecimal cleaning = cleaningFee != null ? cleaningFee : BigDecimal.ZERO;
+        BigDecimal serviceFee = subtotal.multiply(SERVICE_FEE_PERCENT)
+            .divide(new BigDecimal("100"), 2, RoundingMode.HALF_UP);
+        return new StayPrice(subtotal, cleaning, serviceFee, subtotal.add(cleaning).add(serviceFee));
     }
     
-    private BookingResponse mapToBookingResponse(Booking booking) {
+    record StayPrice(BigDecimal subtotal, BigDecimal cleaningFee, BigDecimal serviceFee, BigDecimal total) {
+    }
+    
+    // Package-private for the benchmarks module
+    BookingResponse mapToBookingResponse(Booking booking) {
         BookingResponse response = new BookingResponse();
         
         response.setBookingId(booking.getBookingId());
@@ -549,65 +872,4 @@ public class BookingService {
         
         return response;
     }
-    
-    private BookingListResponse mapToBookingListResponse(Booking booking, boolean isRenterView) {
-        BookingListResponse response = new BookingListResponse();
-        
-        try {
-            response.setBookingId(booking.getBookingId());
-            response.setBookingReference(booking.getBookingReference());
-            response.setPropertyId(booking.getPropertyId());
-            
-            try {
-                Property property = booking.getProperty();
-                if (property != null && !Boolean.TRUE.equals(property.getDeleted())) {
-                    response.setPropertyTitle(property.getTitleAr());
-                    response.setPropertyType(property.getPropertyType().name());
-                    response.setPropertyCity(property.getCity());
-                    
-                    if (property.getImages() != null && !property.getImages().isEmpty()) {
-                        property.getImages().stream()
-                            .filter(PropertyImage::getIsCover)
-                            .findFirst()
-                            .ifPresent(img -> response.setPropertyCoverImage(img.getImageUrl()));
-                    }
-                } else {
-                    response.setPropertyTitle("Property No Longer Available");
-                    response.setPropertyType("N/A");
-                    response.setPropertyCity("N/A");
-                }
-            } catch (Exception e) {
-                log.warn("Could not load property for booking {}: {}", booking.getBookingId(), e.getMessage());
-                response.setPropertyTitle("Property Unavailable");
-                response.setPropertyType("N/A");
-                response.setPropertyCity("N/A");
-            }
-            
-            User otherParty = isRenterView ? booking.getOwner() : booking.getRenter();
-            response.setOtherPartyId(otherParty.getUserId().intValue());
-            response.setOtherPartyName(otherParty.getFirstName() + " " + otherParty.getLastName());
-            response.setOtherPartyPhone(otherParty.getPhoneNumber());
-            
-            response.setCheckInDate(booking.getCheckInDate());
-            response.setCheckOutDate(booking.getCheckOutDate());
-            response.setNumberOfNights(booking.getNumberOfNights());
-            response.setNumberOfGuests(booking.getNumberOfGuests());
-            
-            response.setTotalPrice(booking.getTotalPrice());
-            response.setCurrency(booking.getCurrency());
-            
-            response.setStatus(booking.getStatus().name());
-            response.setPaymentStatus(booking.getPaymentStatus().name());
-            
-            response.setRequestedAt(booking.getRequestedAt());
-            response.setExpiresAt(booking.getExpiresAt());
-            
-        } catch (Exception e) {
-            log.error("Error mapping booking {} to list response: {}", 
-                     booking != null ? booking.getBookingId() : "null", e.getMessage());
-            throw new RuntimeException("Error processing booking data", e);
-        }
-        
-        return response;
-    }
 }
\ No newline at end of file
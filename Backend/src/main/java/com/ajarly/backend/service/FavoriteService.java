@@ -1,6 +1,7 @@
 package com.ajarly.backend.service;
 
 import com.ajarly.backend.dto.FavoriteDto;
+import com.ajarly.backend.event.PropertyChangedEvent;
 import com.ajarly.backend.model.Favorite;
 import com.ajarly.backend.model.Property;
 import com.ajarly.backend.model.User;
@@ -9,6 +10,7 @@ import com.ajarly.backend.repository.PropertyRepository;
 import com.ajarly.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -22,6 +24,7 @@ public class FavoriteService {
     private final FavoriteRepository favoriteRepository;
     private final PropertyRepository propertyRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Add a property to user's favorites
@@ -128,6 +131,7 @@ public class FavoriteService {
         long favoriteCount = favoriteRepository.countByProperty_PropertyId(propertyId);
         property.setFavoriteCount((int) favoriteCount);
         propertyRepository.save(property);
+        eventPublisher.publishEvent(PropertyChangedEvent.of(property, PropertyChangedEvent.ChangeType.FAVORITES_CHANGED));
         
         log.debug("Updated favorite count for property {}: {}", propertyId, favoriteCount);
     }
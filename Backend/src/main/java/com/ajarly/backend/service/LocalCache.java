@@ -0,0 +1,156 @@
+package com.ajarly.backend.service;
+
+import com.ajarly.backend.dto.CacheStatsResponse;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Small bounded in-process cache region with a TTL per entry.
+ *
+ * Entries live in a ConcurrentHashMap and each one carries its own load time,
+ * so a hit is a plain map read with no shared lock. Values are loaded outside
+ * any lock; two threads missing the same key may both load it. An invalidation
+ * bumps a generation counter, and a load that started before it is returned to
+ * its caller but not kept. invalidateAll bumps the region's counter; invalidating
+ * one key bumps only the counter of its stripe, so it doesn't stop loads of
+ * unrelated keys from being cached.
+ *
+ * The size bound is approximate: once a put takes the region past it, one
+ * thread drops the expired entries and then the oldest loaded ones until the
+ * region is back under the bound, while other threads carry on without waiting.
+ */
+public final class LocalCache<K, V> {
+    
+    // Trimming goes this far below the bound so it doesn't rerun on every put
+    private static final double TRIM_TO = 0.9;
+    private static final int KEY_STRIPES = 64;
+    
+    private final String name;
+    private final long ttlMillis;
+    private final int maxEntries;
+    
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock trimLock = new ReentrantLock();
+    
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLongArray keyGenerations = new AtomicLongArray(KEY_STRIPES);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    public LocalCache(String name, long ttlMillis, int maxEntries) {
+        this.name = name;
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Cached value for the key, loading and caching it on a miss or after the TTL.
+     * Null values are returned but never cached.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long now = System.currentTimeMillis();
+        Entry<V> cached = entries.get(key);
+        if (cached != null && now - cached.loadedAt < ttlMillis) {
+            hits.increment();
+            return cached.value;
+        }
+        
+        misses.increment();
+        int stripe = stripe(key);
+        long loadGeneration = generation.get();
+        long keyGeneration = keyGenerations.get(stripe);
+        V value = loader.apply(key);
+        
+        if (value != null && isCurrent(loadGeneration, stripe, keyGeneration)) {
+            Entry<V> entry = new Entry<>(value, now);
+            entries.put(key, entry);
+            // An invalidation between the check and the put must not leave this entry behind
+            if (!isCurrent(loadGeneration, stripe, keyGeneration)) {
+                entries.remove(key, entry);
+            } else if (entries.size() > maxEntries) {
+                trim(now);
+            }
+        }
+        return value;
+    }
+    
+    public void invalidate(K key) {
+        keyGenerations.incrementAndGet(stripe(key));
+        entries.remove(key);
+    }
+    
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+    
+    public CacheStatsResponse stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        
+        return CacheStatsResponse.builder()
+                .name(name)
+                .size(entries.size())
+                .maxEntries(maxEntries)
+                .ttlMillis(ttlMillis)
+                .hits(hitCount)
+                .misses(missCount)
+                .evictions(evictions.sum())
+                .hitRate(requests == 0 ? 0.0 : (double) hitCount / requests)
+                .build();
+    }
+    
+    private boolean isCurrent(long loadGeneration, int stripe, long keyGeneration) {
+        return loadGeneration == generation.get() && keyGeneration == keyGenerations.get(stripe);
+    }
+    
+    private static int stripe(Object key) {
+        int h = key.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), KEY_STRIPES);
+    }
+    
+    /**
+     * Drop expired entries, then the oldest loaded ones, until the region is under
+     * the bound again. Skipped if another thread is already trimming.
+     */
+    private void trim(long now) {
+        if (!trimLock.tryLock()) {
+            return;
+        }
+        try {
+            entries.values().removeIf(entry -> now - entry.loadedAt >= ttlMillis);
+            
+            int excess = entries.size() - (int) (maxEntries * TRIM_TO);
+            if (excess <= 0) {
+                return;
+            }
+            List<Map.Entry<K, Entry<V>>> oldest = new ArrayList<>(entries.entrySet());
+            oldest.sort(Comparator.comparingLong(e -> e.getValue().loadedAt));
+            for (Map.Entry<K, Entry<V>> e : oldest.subList(0, Math.min(excess, oldest.size()))) {
+                if (entries.remove(e.getKey(), e.getValue())) {
+                    evictions.increment();
+                }
+            }
+        } finally {
+            trimLock.unlock();
+        }
+    }
+    
+    private record Entry<V>(V value, long loadedAt) {
+    }
+}
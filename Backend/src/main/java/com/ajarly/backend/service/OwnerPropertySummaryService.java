@@ -0,0 +1,194 @@
+package com.ajarly.backend.service;
+
+import com.ajarly.backend.model.Booking.BookingStatus;
+import com.ajarly.backend.model.OwnerPropertySummary;
+import com.ajarly.backend.model.Property.PropertyStatus;
+import com.ajarly.backend.repository.BookingRepository;
+import com.ajarly.backend.repository.OwnerPropertySummaryRepository;
+import com.ajarly.backend.repository.PropertyRepository;
+import com.ajarly.backend.repository.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains owner_property_summaries, the read model behind the owner dashboard.
+ *
+ * A booking or review change recomputes only the affected property's row from
+ * its own bookings and reviews, so the row is always exact rather than an
+ * accumulation of deltas. rebuildAll() recomputes every row and is used to seed
+ * the table and to reconcile it nightly.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OwnerPropertySummaryService {
+    
+    private static final int REBUILD_CHUNK_SIZE = 500;
+    
+    private final OwnerPropertySummaryRepository summaryRepository;
+    private final BookingRepository bookingRepository;
+    private final ReviewRepository reviewRepository;
+    private final PropertyRepository propertyRepository;
+    private final TransactionTemplate transactionTemplate;
+    
+    // Properties changed since the last flush; refreshed on the scheduler thread, not in the request
+    private final Set<Long> dirtyProperties = ConcurrentHashMap.newKeySet();
+    
+    public void markDirty(Long propertyId) {
+        dirtyProperties.add(propertyId);
+    }
+    
+    /**
+     * Refresh the properties marked since the last run. Done here rather than
+     * after each commit so a burst of bookings doesn't hold a second pooled
+     * connection per request, and several changes to one property cost one refresh.
+     */
+    @Scheduled(fixedDelayString = "${owner-summary.refresh-interval-ms:1000}")
+    public void flushDirtyProperties() {
+        for (Long propertyId : new ArrayList<>(dirtyProperties)) {
+            dirtyProperties.remove(propertyId);
+            try {
+                transactionTemplate.executeWithoutResult(status -> refreshProperty(propertyId));
+            } catch (Exception e) {
+                // Retried on the next run; the nightly reconcile is the backstop
+                dirtyProperties.add(propertyId);
+                log.warn("⚠️ Failed to refresh owner summary for property {}: {}", propertyId, e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Recompute one property's summary. The row is locked first so concurrent
+     * refreshes of the same property apply one after the other.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void refreshProperty(Long propertyId) {
+        OwnerPropertySummary summary = summaryRepository.findForUpdate(propertyId)
+            .orElseGet(() -> OwnerPropertySummary.empty(propertyId));
+        
+        List<Long> ids = List.of(propertyId);
+        List<Object[]> reviewRows = reviewRepository.summarizeApprovedByProperty(ids);
+        recompute(summary,
+            bookingRepository.summarizeByPropertyAndStatus(ids),
+            reviewRows.isEmpty() ? null : reviewRows.get(0));
+        
+        summaryRepository.save(summary);
+        log.debug("Owner summary refreshed for property {}: {} bookings, {} revenue",
+                 propertyId, summary.getTotalBookings(), summary.getTotalRevenue());
+    }
+    
+    /**
+     * Recompute the summaries of all non-deleted properties, one transaction per chunk
+     */
+    public int rebuildAll() {
+        long startTime = System.currentTimeMillis();
+        List<Long> propertyIds = propertyRepository.findIdsByStatusNot(PropertyStatus.deleted);
+        
+        for (int from = 0; from < propertyIds.size(); from += REBUILD_CHUNK_SIZE) {
+            List<Long> chunk = propertyIds.subList(from, Math.min(from + REBUILD_CHUNK_SIZE, propertyIds.size()));
+            transactionTemplate.executeWithoutResult(status -> rebuildChunk(chunk));
+        }
+        
+        log.info("✅ Owner summaries rebuilt for {} properties in {} ms",
+                propertyIds.size(), System.currentTimeMillis() - startTime);
+        return propertyIds.size();
+    }
+    
+    /**
+     * Seed the table on the first start after the read model was introduced
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnStartup() {
+        if (summaryRepository.count() > 0) {
+            return;
+        }
+        
+        try {
+            log.info("🔄 Owner summary table is empty, building it from bookings and reviews");
+            rebuildAll();
+        } catch (Exception e) {
+            log.error("❌ Failed to build owner summaries on startup", e);
+        }
+    }
+    
+    private void rebuildChunk(List<Long> propertyIds) {
+        Map<Long, OwnerPropertySummary> existing = summaryRepository.findAllForUpdate(propertyIds).stream()
+            .collect(Collectors.toMap(OwnerPropertySummary::getPropertyId, Function.identity()));
+        Map<Long, List<Object[]>> bookingRows = bookingRepository.summarizeByPropertyAndStatus(propertyIds).stream()
+            .collect(Collectors.groupingBy(row -> (Long) row[0]));
+        Map<Long, Object[]> reviewRows = reviewRepository.summarizeApprovedByProperty(propertyIds).stream()
+            .collect(Collectors.toMap(row -> (Long) row[0], Function.identity()));
+        
+        List<OwnerPropertySummary> summaries = new ArrayList<>(propertyIds.size());
+        for (Long propertyId : propertyIds) {
+            OwnerPropertySummary summary = existing.getOrDefault(propertyId, OwnerPropertySummary.empty(propertyId));
+            recompute(summary,
+                bookingRows.getOrDefault(propertyId, Collections.emptyList()),
+                reviewRows.get(propertyId));
+            summaries.add(summary);
+        }
+        
+        summaryRepository.saveAll(summaries);
+    }
+    
+    /**
+     * Overwrite every aggregate on the summary.
+     * bookingRows: propertyId, status, count, sum of totalPrice (one row per status).
+     * reviewRow: propertyId, count, sum of overallRating, or null when there are no approved reviews.
+     */
+    private void recompute(OwnerPropertySummary summary, List<Object[]> bookingRows, Object[] reviewRow) {
+        int total = 0, pending = 0, confirmed = 0, completed = 0, cancelled = 0, rejected = 0, expired = 0;
+        BigDecimal revenue = BigDecimal.ZERO;
+        
+        for (Object[] row : bookingRows) {
+            BookingStatus status = (BookingStatus) row[1];
+            int count = ((Number) row[2]).intValue();
+            total += count;
+            
+            switch (status) {
+                case pending -> pending += count;
+                case confirmed -> confirmed += count;
+                case completed -> completed += count;
+                case cancelled_by_renter, cancelled_by_owner -> cancelled += count;
+                case rejected -> rejected += count;
+                case expired -> expired += count;
+            }
+            
+            // Revenue counts confirmed and completed stays only
+            if (status == BookingStatus.confirmed || status == BookingStatus.completed) {
+                revenue = revenue.add(toBigDecimal(row[3]));
+            }
+        }
+        
+        summary.setTotalBookings(total);
+        summary.setPendingBookings(pending);
+        summary.setConfirmedBookings(confirmed);
+        summary.setCompletedBookings(completed);
+        summary.setCancelledBookings(cancelled);
+        summary.setRejectedBookings(rejected);
+        summary.setExpiredBookings(expired);
+        summary.setTotalRevenue(revenue);
+        summary.setReviewCount(reviewRow != null ? ((Number) reviewRow[1]).intValue() : 0);
+        summary.setRatingSum(reviewRow != null ? toBigDecimal(reviewRow[2]) : BigDecimal.ZERO);
+    }
+    
+    private BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
+    }
+}
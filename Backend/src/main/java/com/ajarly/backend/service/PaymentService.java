@@ -1,6 +1,7 @@
 package com.ajarly.backend.service;
 
 import com.ajarly.backend.dto.PaymentDto;
+import com.ajarly.backend.metrics.MetricsRegistry;
 import com.ajarly.backend.model.Booking;
 import com.ajarly.backend.model.Transaction;
 import com.ajarly.backend.model.User;
@@ -29,6 +30,7 @@ public class PaymentService {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final FawryPaymentService fawryPaymentService;
+    private final MetricsRegistry metricsRegistry;
     
     private static final BigDecimal PLATFORM_FEE_PERCENT = new BigDecimal("10.00");
     private static final BigDecimal FAWRY_FEE_PERCENT = new BigDecimal("2.75");
@@ -171,6 +173,7 @@ public class PaymentService {
         savedTransaction.setGatewayResponse(fawryResponse.toString());
         transactionRepository.save(savedTransaction);
         
+        metricsRegistry.increment("payment_outcomes_total", "operation", "intent", "outcome", "created");
         log.info("✅ Payment intent created successfully: {} for {} EGP", 
                 transactionRef, totalAmount);
         
@@ -226,6 +229,7 @@ public class PaymentService {
             transactionRepository.save(transaction);
             
             log.error("❌ Payment verification failed. Status: {}", paymentStatus);
+            metricsRegistry.increment("payment_outcomes_total", "operation", "confirm", "outcome", "declined");
             throw new RuntimeException("Payment verification failed. Status: " + paymentStatus);
         }
         
@@ -243,6 +247,7 @@ public class PaymentService {
         );
         bookingRepository.save(booking);
         
+        metricsRegistry.increment("payment_outcomes_total", "operation", "confirm", "outcome", "paid");
         log.info("✅ Payment confirmed successfully: {}", transaction.getTransactionReference());
         log.info("✅ Booking {} payment status updated to: PAID", booking.getBookingId());
         
@@ -334,6 +339,7 @@ public class PaymentService {
         booking.setRefundAmount(request.getRefundAmount());
         bookingRepository.save(booking);
         
+        metricsRegistry.increment("payment_outcomes_total", "operation", "refund", "outcome", "refunded");
         log.info("✅ Refund processed: {} for amount: {} EGP", refundRef, request.getRefundAmount());
         
         return new PaymentDto.RefundResponse(
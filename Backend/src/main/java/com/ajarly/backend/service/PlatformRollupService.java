@@ -0,0 +1,334 @@
+package com.ajarly.backend.service;
+
+import com.ajarly.backend.model.Booking.BookingStatus;
+import com.ajarly.backend.model.PlatformRollup;
+import com.ajarly.backend.model.PlatformRollup.RollupDimension;
+import com.ajarly.backend.model.PlatformRollup.RollupPeriod;
+import com.ajarly.backend.model.Property.PropertyType;
+import com.ajarly.backend.model.User.UserType;
+import com.ajarly.backend.repository.BookingRepository;
+import com.ajarly.backend.repository.PlatformRollupRepository;
+import com.ajarly.backend.repository.PropertyRepository;
+import com.ajarly.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * جداول الـ rollup اليومية والشهرية لرسومات نمو المنصة
+ *
+ * الأيام لحد آخر يوم اتعمله rollup بتتقري من platform_rollups،
+ * والأيام اللي بعده (عادةً النهارده بس) بتتحسب live من الجداول الأصلية،
+ * فأي فترة بتتقري في عدد ثابت تقريباً من الصفوف
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PlatformRollupService {
+    
+    // الفترات الأطول من كده بتترسم شهر بشهر
+    public static final int MAX_DAILY_POINTS = 92;
+    
+    private static final String ALL = "";
+    
+    private final PlatformRollupRepository rollupRepository;
+    private final UserRepository userRepository;
+    private final PropertyRepository propertyRepository;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    
+    // أيام اتعملها rollup واتغيرت بعد كده (حالة حجز اتطلب فيها)، بتتعاد في flushDirtyDays
+    private final Set<LocalDate> dirtyDays = ConcurrentHashMap.newKeySet();
+    
+    /**
+     * آخر يوم اتعمله rollup، أو null لو الجدول فاضي
+     */
+    public LocalDate getRolledUpThrough() {
+        return rollupRepository.findLastDailyBucket();
+    }
+    
+    /**
+     * عمل rollup لكل الأيام اللي بعد آخر يوم محسوب لحد امبارح
+     * أول مرة بيبدأ من أقدم مستخدم / عقار / حجز
+     */
+    public synchronized int catchUp() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        LocalDate lastRolled = getRolledUpThrough();
+        LocalDate from = lastRolled != null ? lastRolled.plusDays(1) : findFirstActivityDate();
+        
+        if (from == null || from.isAfter(yesterday)) {
+            log.debug("Platform rollups are up to date (through {})", lastRolled);
+            return 0;
+        }
+        
+        long startTime = System.currentTimeMillis();
+        int days = rollUp(from, yesterday);
+        log.info("✅ Platform rollups caught up: {} days ({} → {}) in {} ms",
+                days, from, yesterday, System.currentTimeMillis() - startTime);
+        return days;
+    }
+    
+    /**
+     * تسجيل إن يوم اتغير؛ بيتعاد حسابه مرة واحدة في الـ flush الجاي مهما اتسجل كام مرة
+     */
+    public void markDirty(LocalDate day) {
+        dirtyDays.add(day);
+    }
+    
+    /**
+     * إعادة حساب الأيام اللي اتغيرت واتعملها rollup قبل كده
+     * الأيام اللي لسه ماتعملهاش rollup بتتحسب live فمش محتاجة حاجة
+     * synchronized مع catchUp عشان الاتنين بيعيدوا حساب صفوف الشهر
+     */
+    @Scheduled(fixedDelayString = "${rollups.refresh-interval-ms:60000}")
+    public synchronized void flushDirtyDays() {
+        if (dirtyDays.isEmpty()) {
+            return;
+        }
+        
+        LocalDate lastRolled = getRolledUpThrough();
+        for (LocalDate day : new TreeSet<>(dirtyDays)) {
+            dirtyDays.remove(day);
+            if (lastRolled == null || day.isAfter(lastRolled)) {
+                continue;
+            }
+            
+            try {
+                rollUp(day, day);
+                log.debug("Platform rollup refreshed for {}", day);
+            } catch (Exception e) {
+                // يتعاد في المرة الجاية
+                dirtyDays.add(day);
+                log.error("❌ Failed to refresh platform rollup for {}: {}", day, e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * إعادة حساب الأيام [from, to] والشهور اللي فيها، كل شهر في transaction لوحده
+     */
+    public int rollUp(LocalDate from, LocalDate to) {
+        int days = 0;
+        LocalDate chunkStart = from;
+        while (!chunkStart.isAfter(to)) {
+            LocalDate monthEnd = chunkStart.with(TemporalAdjusters.lastDayOfMonth());
+            LocalDate chunkEnd = monthEnd.isBefore(to) ? monthEnd : to;
+            LocalDate start = chunkStart;
+            
+            transactionTemplate.executeWithoutResult(status -> rollUpWithinMonth(start, chunkEnd));
+            
+            days += (int) (chunkEnd.toEpochDay() - start.toEpochDay()) + 1;
+            chunkStart = chunkEnd.plusDays(1);
+        }
+        return days;
+    }
+    
+    /**
+     * الصفوف العامة (dimension = all) للفترة [start, end]:
+     * يوم بيوم، أو شهر بشهر لو الفترة أطول من MAX_DAILY_POINTS
+     * كل صف bucketDate بتاعه أول يوم في الفترة اللي بيغطيها جوه [start, end]
+     */
+    public List<PlatformRollup> getPlatformBuckets(LocalDate start, LocalDate end) {
+        boolean monthly = end.toEpochDay() - start.toEpochDay() + 1 > MAX_DAILY_POINTS;
+        LocalDate lastRolled = getRolledUpThrough();
+        LocalDate rolledEnd = lastRolled == null || lastRolled.isBefore(start) ? null
+            : (lastRolled.isBefore(end) ? lastRolled : end);
+        
+        List<PlatformRollup> parts = new ArrayList<>();
+        if (rolledEnd != null) {
+            parts.addAll(monthly ? readMonthlyParts(start, rolledEnd) : readDaily(start, rolledEnd));
+        }
+        
+        // Live delta for the days not rolled up yet
+        LocalDate liveStart = rolledEnd != null ? rolledEnd.plusDays(1) : start;
+        if (!liveStart.isAfter(end)) {
+            computeDaily(liveStart, end).values().stream()
+                .filter(r -> r.getDimension() == RollupDimension.all)
+                .forEach(parts::add);
+        }
+        
+        // Group into the requested granularity; a bucket starts at its first day inside the range
+        Map<LocalDate, PlatformRollup> buckets = new TreeMap<>();
+        for (PlatformRollup part : parts) {
+            LocalDate key = monthly ? part.getBucketDate().withDayOfMonth(1) : part.getBucketDate();
+            if (key.isBefore(start)) {
+                key = start;
+            }
+            buckets.computeIfAbsent(key, k -> PlatformRollup.empty(
+                    monthly ? RollupPeriod.monthly : RollupPeriod.daily, k, RollupDimension.all, ALL))
+                .add(part);
+        }
+        return new ArrayList<>(buckets.values());
+    }
+    
+    /**
+     * بناء الجدول أول مرة بعد التشغيل
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpOnStartup() {
+        try {
+            catchUp();
+        } catch (Exception e) {
+            log.error("❌ Failed to catch up platform rollups on startup", e);
+        }
+    }
+    
+    // ==================== Internals ====================
+    
+    private void rollUpWithinMonth(LocalDate from, LocalDate to) {
+        rollupRepository.deleteByPeriodAndBucketDateBetween(RollupPeriod.daily, from, to);
+        rollupRepository.saveAll(computeDaily(from, to).values());
+        rollupRepository.flush();
+        
+        // الصف الشهري = مجموع كل الأيام المحسوبة في الشهر
+        LocalDate monthStart = from.withDayOfMonth(1);
+        LocalDate monthEnd = from.with(TemporalAdjusters.lastDayOfMonth());
+        Map<String, PlatformRollup> monthly = new HashMap<>();
+        for (PlatformRollup day : rollupRepository.findByPeriodAndBucketDateBetween(RollupPeriod.daily, monthStart, monthEnd)) {
+            monthly.computeIfAbsent(day.getDimension() + "|" + day.getDimensionValue(),
+                    k -> PlatformRollup.empty(RollupPeriod.monthly, monthStart, day.getDimension(), day.getDimensionValue()))
+                .add(day);
+        }
+        
+        rollupRepository.deleteByPeriodAndBucketDateBetween(RollupPeriod.monthly, monthStart, monthStart);
+        rollupRepository.saveAll(monthly.values());
+    }
+    
+    /**
+     * حساب الصفوف اليومية للفترة [from, to] من الجداول الأصلية بدون حفظ
+     * أربع queries بـ GROUP BY للفترة كلها مهما كان عدد الأيام
+     */
+    private Map<String, PlatformRollup> computeDaily(LocalDate from, LocalDate to) {
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        Map<String, PlatformRollup> rows = new LinkedHashMap<>();
+        
+        // اليوم الفاضي ليه صف عام بأصفار، عشان الـ watermark يعدي عليه
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            row(rows, day, RollupDimension.all, ALL);
+        }
+        
+        // day, userType, count
+        for (Object[] r : userRepository.countCreatedPerDayByType(start, end)) {
+            PlatformRollup all = row(rows, (LocalDate) r[0], RollupDimension.all, ALL);
+            int count = toInt(r[2]);
+            all.setNewUsers(all.getNewUsers() + count);
+            if (r[1] == UserType.renter) {
+                all.setNewRenters(all.getNewRenters() + count);
+            } else if (r[1] == UserType.landlord) {
+                all.setNewLandlords(all.getNewLandlords() + count);
+            }
+        }
+        
+        // day, governorate, propertyType, count
+        for (Object[] r : propertyRepository.countCreatedPerDayByGovernorateAndType(start, end)) {
+            LocalDate day = (LocalDate) r[0];
+            int count = toInt(r[3]);
+            for (PlatformRollup row : dimensionRows(rows, day, (String) r[1], (PropertyType) r[2])) {
+                row.setNewProperties(row.getNewProperties() + count);
+            }
+        }
+        
+        // الصف العام من غير join، عشان حجوزات العقارات المحذوفة تفضل محسوبة
+        // day, status, count, sum of totalPrice
+        for (Object[] r : bookingRepository.summarizeRequestedPerDayByStatus(start, end)) {
+            row(rows, (LocalDate) r[0], RollupDimension.all, ALL)
+                .addBookings((BookingStatus) r[1], toInt(r[2]), toBigDecimal(r[3]));
+        }
+        
+        // day, governorate, propertyType, status, count, sum of totalPrice
+        for (Object[] r : bookingRepository.summarizeRequestedPerDayByGovernorateAndType(start, end)) {
+            LocalDate day = (LocalDate) r[0];
+            List<PlatformRollup> byDimension = dimensionRows(rows, day, (String) r[1], (PropertyType) r[2]);
+            for (PlatformRollup row : byDimension.subList(1, byDimension.size())) {
+                row.addBookings((BookingStatus) r[3], toInt(r[4]), toBigDecimal(r[5]));
+            }
+        }
+        
+        return rows;
+    }
+    
+    /**
+     * الصف العام + صف المحافظة + صف نوع العقار لنفس اليوم
+     */
+    private List<PlatformRollup> dimensionRows(Map<String, PlatformRollup> rows, LocalDate day,
+                                               String governorate, PropertyType propertyType) {
+        List<PlatformRollup> result = new ArrayList<>(3);
+        result.add(row(rows, day, RollupDimension.all, ALL));
+        if (governorate != null) {
+            result.add(row(rows, day, RollupDimension.governorate, governorate));
+        }
+        if (propertyType != null) {
+            result.add(row(rows, day, RollupDimension.property_type, propertyType.name()));
+        }
+        return result;
+    }
+    
+    private PlatformRollup row(Map<String, PlatformRollup> rows, LocalDate day,
+                               RollupDimension dimension, String value) {
+        return rows.computeIfAbsent(day + "|" + dimension + "|" + value,
+            k -> PlatformRollup.empty(RollupPeriod.daily, day, dimension, value));
+    }
+    
+    private List<PlatformRollup> readDaily(LocalDate from, LocalDate to) {
+        return rollupRepository.findByPeriodAndDimensionAndBucketDateBetweenOrderByBucketDateAsc(
+            RollupPeriod.daily, RollupDimension.all, from, to);
+    }
+    
+    /**
+     * الشهور الكاملة من الصفوف الشهرية، وأطراف الفترة (شهور ناقصة) من الصفوف اليومية
+     */
+    private List<PlatformRollup> readMonthlyParts(LocalDate from, LocalDate to) {
+        LocalDate firstFullMonth = from.getDayOfMonth() == 1 ? from : from.plusMonths(1).withDayOfMonth(1);
+        LocalDate lastFullMonthEnd = to.equals(to.with(TemporalAdjusters.lastDayOfMonth()))
+            ? to : to.withDayOfMonth(1).minusDays(1);
+        
+        if (firstFullMonth.isAfter(lastFullMonthEnd)) {
+            return readDaily(from, to);
+        }
+        
+        List<PlatformRollup> parts = new ArrayList<>();
+        if (from.isBefore(firstFullMonth)) {
+            parts.addAll(readDaily(from, firstFullMonth.minusDays(1)));
+        }
+        parts.addAll(rollupRepository.findByPeriodAndDimensionAndBucketDateBetweenOrderByBucketDateAsc(
+            RollupPeriod.monthly, RollupDimension.all, firstFullMonth, lastFullMonthEnd.withDayOfMonth(1)));
+        if (to.isAfter(lastFullMonthEnd)) {
+            parts.addAll(readDaily(lastFullMonthEnd.plusDays(1), to));
+        }
+        return parts;
+    }
+    
+    private LocalDate findFirstActivityDate() {
+        return Stream.of(userRepository.findFirstCreatedAt(),
+                         propertyRepository.findFirstCreatedAt(),
+                         bookingRepository.findFirstRequestedAt())
+            .filter(Objects::nonNull)
+            .min(Comparator.naturalOrder())
+            .map(LocalDateTime::toLocalDate)
+            .orElse(null);
+    }
+    
+    private int toInt(Object value) {
+        return value != null ? ((Number) value).intValue() : 0;
+    }
+    
+    private BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
+    }
+}
@@ -0,0 +1,256 @@
+package com.ajarly.backend.service;
+
+import com.ajarly.backend.repository.BookingRepository;
+import com.ajarly.backend.repository.UnavailableDateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bitmap إشغال لكل عقار: bit لكل ليلة في نافذة متحركة 18 شهر تبدأ من النهارده
+ *
+ * الليلة بتبقى مشغولة لو فيها حجز pending أو confirmed أو فترة مقفولة في unavailable_dates.
+ * فلتر التواريخ في البحث بيبني mask واحد لليالي المطلوبة، وكل عقار مرشح
+ * بيتشيك بـ AND واحد بين الـ bitmap بتاعه والـ mask من غير أي query
+ *
+ * الـ bitmaps بتتبني مرة عند التشغيل، وكل يوم بعد نص الليل (عشان النافذة تتحرك)،
+ * وكل search.occupancy.rebuild-interval-ms عشان الحجوزات اللي اتعملت على instance تاني
+ * (مبيوصلناش ليها event) تظهر هنا كمان. وبين ده وده العقار اللي حجز فيه اتغير بيتعلم، والعقارات المتعلمة بتتحدث
+ * مع بعض على الـ scheduler: كذا تغيير لنفس العقار = تحديث واحد، والتحديثات
+ * مبتتسابقش على نفس الـ bitmap
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PropertyOccupancyIndex {
+
+    private static final int WINDOW_MONTHS = 18;
+    private static final int REFRESH_BATCH_SIZE = 500;
+
+    private final BookingRepository bookingRepository;
+    private final UnavailableDateRepository unavailableDateRepository;
+
+    private volatile Occupancy occupancy;
+
+    /** إعادة بناء واحدة في نفس الوقت - اللي بييجي والتانية شغالة بيتخطى */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    /** العقارات اللي اتغيرت من آخر تحديث */
+    private final Set<Long> dirtyProperties = ConcurrentHashMap.newKeySet();
+
+    /** العقارات اللي اتغيرت أثناء إعادة البناء - بتتعلم تاني بعد الاستبدال عشان تتحدث على النافذة الجديدة */
+    private Set<Long> changedDuringRebuild = null;
+
+    /**
+     * فلتر الإتاحة لفترة معينة: true لو العقار فاضي كل الليالي من checkIn لحد قبل checkOut
+     */
+    public interface AvailabilityFilter {
+        boolean isAvailable(long propertyId);
+    }
+
+    // ========== البناء ==========
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * إعادة بناء كل الـ bitmaps على نافذة تبدأ من النهارده
+     * بتشتغل كل يوم 12:05 بالليل عشان الليالي اللي عدت تخرج من النافذة،
+     * وكل فترة عشان تلم التغييرات اللي حصلت على instances تانية
+     */
+    @Scheduled(cron = "0 5 0 * * *")
+    @Scheduled(fixedDelayString = "${search.occupancy.rebuild-interval-ms:300000}",
+               initialDelayString = "${search.occupancy.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        if (!rebuildLock.tryLock()) {
+            log.debug("Occupancy rebuild already running, skipping");
+            return;
+        }
+        try {
+            rebuildWindow();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void rebuildWindow() {
+        long startTime = System.currentTimeMillis();
+
+        synchronized (this) {
+            changedDuringRebuild = new HashSet<>();
+        }
+
+        Set<Long> changed;
+        try {
+            LocalDate start = LocalDate.now();
+            Occupancy fresh = new Occupancy(start, start.plusMonths(WINDOW_MONTHS));
+
+            for (Object[] row : bookingRepository.findActiveIntervalsEndingAfter(start)) {
+                fresh.mark((Long) row[0], (LocalDate) row[1], (LocalDate) row[2]);
+            }
+            for (Object[] row : unavailableDateRepository.findBlockedIntervalsEndingAfter(start)) {
+                fresh.mark((Long) row[0], (LocalDate) row[1], (LocalDate) row[2]);
+            }
+
+            synchronized (this) {
+                occupancy = fresh;
+                changed = changedDuringRebuild;
+                changedDuringRebuild = null;
+            }
+
+            log.info("✅ Occupancy bitmaps built for {} properties ({} nights from {}) in {} ms",
+                     fresh.bitmaps.size(), fresh.nights, start, System.currentTimeMillis() - startTime);
+
+        } catch (Exception e) {
+            synchronized (this) {
+                changedDuringRebuild = null;
+            }
+            log.error("❌ Failed to build occupancy bitmaps: {}", e.getMessage(), e);
+            return;
+        }
+
+        // التغييرات اللي اتقرت قبل الـ query ممكن تكون ناقصة من النافذة الجديدة
+        dirtyProperties.addAll(changed);
+    }
+
+    // ========== التحديث التدريجي ==========
+
+    /**
+     * تعليم عقار اتغير حجز فيه - الـ bitmap بتاعه بيتحدث في الـ flush الجاي
+     */
+    public void markDirty(Long propertyId) {
+        synchronized (this) {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(propertyId);
+            }
+        }
+        dirtyProperties.add(propertyId);
+    }
+
+    /**
+     * تحديث العقارات المتعلمة من آخر مرة، كل 500 عقار بـ query واحد لكل جدول
+     *
+     * العقار بيتشال من المتعلمين قبل الـ query، فأي تغيير بيحصل بعدها بيعلمه تاني
+     * ويتقري في الـ flush الجاي. ولو التحديث فشل العقارات بترجع تاني والـ rebuild
+     * بالليل هو الضمان الأخير
+     */
+    @Scheduled(fixedDelayString = "${search.occupancy.refresh-interval-ms:1000}")
+    public void flushDirtyProperties() {
+        Occupancy current = occupancy;
+        if (current == null || dirtyProperties.isEmpty()) {
+            return;
+        }
+
+        List<Long> propertyIds = new ArrayList<>(dirtyProperties);
+        for (int from = 0; from < propertyIds.size(); from += REFRESH_BATCH_SIZE) {
+            List<Long> batch = propertyIds.subList(from, Math.min(from + REFRESH_BATCH_SIZE, propertyIds.size()));
+            batch.forEach(dirtyProperties::remove);
+            try {
+                refreshProperties(current, batch);
+            } catch (Exception e) {
+                dirtyProperties.addAll(batch);
+                log.warn("⚠️ Failed to refresh occupancy for {} properties: {}", batch.size(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * إعادة حساب bitmaps مجموعة عقارات من حجوزاتها وفتراتها المقفولة
+     */
+    private void refreshProperties(Occupancy current, List<Long> propertyIds) {
+        Map<Long, BitSet> fresh = new HashMap<>();
+        for (Object[] row : bookingRepository.findActiveIntervalsForProperties(propertyIds, current.start)) {
+            current.set(fresh.computeIfAbsent((Long) row[0], id -> new BitSet(current.nights)),
+                        (LocalDate) row[1], (LocalDate) row[2]);
+        }
+        for (Object[] row : unavailableDateRepository.findBlockedIntervalsForProperties(propertyIds, current.start)) {
+            current.set(fresh.computeIfAbsent((Long) row[0], id -> new BitSet(current.nights)),
+                        (LocalDate) row[1], (LocalDate) row[2]);
+        }
+
+        for (Long propertyId : propertyIds) {
+            BitSet bitmap = fresh.get(propertyId);
+            if (bitmap == null || bitmap.isEmpty()) {
+                current.bitmaps.remove(propertyId);
+            } else {
+                current.bitmaps.put(propertyId, bitmap);
+            }
+        }
+    }
+
+    // ========== الفلترة ==========
+
+    /**
+     * فلتر الإتاحة للفترة [checkIn, checkOut)
+     *
+     * لو الفترة جوه النافذة الفلتر بيشتغل على الـ bitmaps بس،
+     * ولو برّاها (أو لسه متبنتش) بنجيب العقارات المشغولة من قاعدة البيانات بـ query واحد لكل جدول
+     */
+    public AvailabilityFilter filterFor(LocalDate checkIn, LocalDate checkOut) {
+        Occupancy current = occupancy;
+        if (current != null && current.covers(checkIn, checkOut)) {
+            BitSet mask = new BitSet(current.nights);
+            current.set(mask, checkIn, checkOut);
+            Map<Long, BitSet> bitmaps = current.bitmaps;
+            return propertyId -> {
+                BitSet bitmap = bitmaps.get(propertyId);
+                return bitmap == null || !bitmap.intersects(mask);
+            };
+        }
+
+        Set<Long> occupied = new HashSet<>(bookingRepository.findPropertyIdsWithOverlappingBookings(checkIn, checkOut));
+        occupied.addAll(unavailableDateRepository.findPropertyIdsWithUnavailableDates(checkIn, checkOut));
+        return propertyId -> !occupied.contains(propertyId);
+    }
+
+    /**
+     * نافذة الليالي + bitmap لكل عقار عنده ليلة مشغولة واحدة على الأقل
+     */
+    private static final class Occupancy {
+
+        private final LocalDate start;
+        private final int nights;
+        private final Map<Long, BitSet> bitmaps = new ConcurrentHashMap<>();
+
+        Occupancy(LocalDate start, LocalDate end) {
+            this.start = start;
+            this.nights = (int) ChronoUnit.DAYS.between(start, end);
+        }
+
+        boolean covers(LocalDate checkIn, LocalDate checkOut) {
+            return !checkIn.isBefore(start) && ChronoUnit.DAYS.between(start, checkOut) <= nights;
+        }
+
+        void mark(Long propertyId, LocalDate from, LocalDate to) {
+            set(bitmaps.computeIfAbsent(propertyId, id -> new BitSet(nights)), from, to);
+        }
+
+        /**
+         * تعليم الليالي من from لحد قبل to (الجزء اللي جوه النافذة بس)
+         */
+        void set(BitSet bitmap, LocalDate from, LocalDate to) {
+            int fromNight = (int) Math.max(0, ChronoUnit.DAYS.between(start, from));
+            int toNight = (int) Math.min(nights, ChronoUnit.DAYS.between(start, to));
+            if (fromNight < toNight) {
+                bitmap.set(fromNight, toNight);
+            }
+        }
+    }
+}
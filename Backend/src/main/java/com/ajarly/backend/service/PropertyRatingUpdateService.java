@@ -1,10 +1,12 @@
 package com.ajarly.backend.service;
 
+import com.ajarly.backend.event.PropertyChangedEvent;
 import com.ajarly.backend.model.Property;
 import com.ajarly.backend.repository.PropertyRepository;
 import com.ajarly.backend.repository.ReviewRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,6 +21,7 @@ public class PropertyRatingUpdateService {
     
     private final PropertyRepository propertyRepository;
     private final ReviewRepository reviewRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void updatePropertyRating(Long propertyId) {
@@ -42,6 +45,7 @@ public class PropertyRatingUpdateService {
             }
             
             propertyRepository.save(property);
+            eventPublisher.publishEvent(PropertyChangedEvent.of(property, PropertyChangedEvent.ChangeType.RATING_CHANGED));
             log.info("✅ Rating updated: {} stars from {} reviews", property.getAverageRating(), property.getTotalReviews());
             
         } catch (Exception e) {
@@ -0,0 +1,775 @@
+package com.ajarly.backend.service;
+
+import com.ajarly.backend.dto.PropertySearchDocument;
+import com.ajarly.backend.dto.SearchRequest;
+import com.ajarly.backend.dto.SeekCursor;
+import com.ajarly.backend.model.Property.PropertyStatus;
+import com.ajarly.backend.model.Property.PropertyType;
+import com.ajarly.backend.model.Property.RentalType;
+import com.ajarly.backend.repository.PropertyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * فهرس بحث داخل الذاكرة (Inverted Index) للعقارات النشطة
+ *
+ * كل عقار نشط بياخد رقم داخلي متسلسل (doc) وبنحتفظ بـ:
+ * 1. Bitmap لكل محافظة / مدينة / نوع عقار / نوع إيجار / ميزة (مفروش، حيوانات، ...)
+ * 2. Arrays مرتبة (primitive) للسعر والغرف والحمامات والضيوف وحقول الترتيب
+ *
+ * الفلترة والترتيب والـ Pagination بيتموا هنا بالكامل،
+ * وقاعدة البيانات بتُستخدم بس لتحميل عقارات الصفحة المطلوبة
+ *
+ * الفهرس بيتبني مرة واحدة عند التشغيل، وبعدها بيتحدث عقار بعقار
+ * من أحداث PropertyChangedEvent (upsert / remove)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PropertySearchIndex {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /** قيمة الحقول الفاضية (null) - بتترتب في الأول تصاعدياً زي MySQL ومش بتطابق أي نطاق */
+    private static final long NULL_VALUE = Long.MIN_VALUE;
+
+    private final PropertyRepository propertyRepository;
+    private final PropertyOccupancyIndex occupancyIndex;
+
+    @Value("${search.index.enabled:true}")
+    private boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private IndexData data = new IndexData();
+    private volatile boolean ready = false;
+
+    /** التعديلات اللي وصلت أثناء إعادة البناء - بتتطبق على الفهرس الجديد قبل الاستبدال (null = حذف) */
+    private Map<Long, PropertySearchDocument> pendingChanges = null;
+
+    /**
+     * نتيجة البحث: IDs الصفحة المطلوبة بالترتيب + العدد الكلي + cursor الصفحة التالية (null لو مفيش)
+     */
+    public record SearchHits(List<Long> propertyIds, long totalHits, String nextCursor) {
+    }
+
+    // ========== البناء ==========
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) {
+            log.info("Search index is disabled, advanced search will use the database");
+            return;
+        }
+        rebuild();
+    }
+
+    /**
+     * بناء الفهرس من الصفر (batches بالـ propertyId) ثم استبداله مرة واحدة
+     */
+    public void rebuild() {
+        long startTime = System.currentTimeMillis();
+
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            IndexData fresh = new IndexData();
+            long afterId = 0L;
+            List<PropertySearchDocument> batch;
+
+            do {
+                batch = propertyRepository.findSearchDocumentsAfter(
+                    PropertyStatus.active,
+                    afterId,
+                    PageRequest.of(0, LOAD_BATCH_SIZE)
+                );
+                for (PropertySearchDocument document : batch) {
+                    fresh.append(document);
+                }
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).getPropertyId();
+                }
+            } while (batch.size() == LOAD_BATCH_SIZE);
+
+            fresh.sortColumns();
+
+            lock.writeLock().lock();
+            try {
+                pendingChanges.forEach((propertyId, document) -> {
+                    if (document != null) {
+                        fresh.upsert(document);
+                    } else {
+                        fresh.remove(propertyId);
+                    }
+                });
+                data = fresh;
+            } finally {
+                pendingChanges = null;
+                lock.writeLock().unlock();
+            }
+            ready = true;
+
+            log.info("✅ Search index built with {} active properties in {} ms",
+                     fresh.size(), System.currentTimeMillis() - startTime);
+
+        } catch (Exception e) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.error("❌ Failed to build search index: {}", e.getMessage(), e);
+        }
+    }
+
+    // ========== التحديث التدريجي ==========
+
+    /**
+     * إضافة أو تحديث عقار نشط في الفهرس
+     */
+    public void upsert(PropertySearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            data.upsert(document);
+            if (pendingChanges != null) {
+                pendingChanges.put(document.getPropertyId(), document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * شيل عقار من الفهرس (اتحذف، اترفض، أو بقى مش نشط)
+     */
+    public void remove(Long propertyId) {
+        lock.writeLock().lock();
+        try {
+            data.remove(propertyId);
+            if (pendingChanges != null) {
+                pendingChanges.put(propertyId, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * إضافة المشاهدات اللي اتكتبت في قاعدة البيانات لعمود الترتيب بالمشاهدات
+     *
+     * @param deltas عدد المشاهدات الجديدة لكل عقار
+     */
+    public void addViews(Map<Long, Long> deltas) {
+        lock.writeLock().lock();
+        try {
+            deltas.forEach(data::addViews);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * هل الفهرس جاهز؟ لو لأ البحث بيرجع لقاعدة البيانات
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return data.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ========== البحث ==========
+
+    /**
+     * تنفيذ نفس فلاتر SearchRequest على الفهرس
+     *
+     * @param sortField حقل الترتيب (createdAt, pricePerNight, averageRating, viewCount)
+     * @param ascending اتجاه الترتيب
+     * @param after cursor الصفحة السابقة - لو null بنستخدم page/size العادية
+     * @return IDs الصفحة المطلوبة بالترتيب + العدد الكلي للنتائج
+     */
+    public SearchHits search(SearchRequest request, String sortField, boolean ascending, SeekCursor after) {
+        long offset = after != null ? 0 : (long) request.getPage() * request.getSize();
+
+        // فلتر الإتاحة بيتجهز برّه الـ lock لأنه ممكن يحتاج قاعدة البيانات
+        PropertyOccupancyIndex.AvailabilityFilter availability = request.hasDateRange()
+            ? occupancyIndex.filterFor(request.getCheckIn(), request.getCheckOut())
+            : null;
+
+        lock.readLock().lock();
+        try {
+            return data.search(request, sortField, ascending, after, offset, request.getSize(), availability);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ========== دوال مساعدة ==========
+
+    private static String key(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+
+    /**
+     * تحويل BigDecimal لـ long بعد تحريك العلامة العشرية (السعر بالقرش، التقييم × 100)
+     */
+    private static long toScaledLong(BigDecimal value, int scale, RoundingMode roundingMode) {
+        if (value == null) {
+            return NULL_VALUE;
+        }
+        BigDecimal scaled = value.movePointRight(scale).setScale(0, roundingMode);
+        if (scaled.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) >= 0) {
+            return Long.MAX_VALUE;
+        }
+        if (scaled.compareTo(BigDecimal.valueOf(NULL_VALUE + 1)) <= 0) {
+            return NULL_VALUE + 1;
+        }
+        return scaled.longValue();
+    }
+
+    private static long toLong(Integer value) {
+        return value == null ? NULL_VALUE : value;
+    }
+
+    private static long toEpochMillis(LocalDateTime value) {
+        return value == null ? NULL_VALUE : value.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * نوع القيمة في العمود - للتحويل بين الـ long الداخلي وقيمة الـ cursor
+     */
+    private enum ValueKind {
+        DECIMAL,
+        INTEGER,
+        EPOCH_MILLIS;
+
+        Object toCursorValue(long value) {
+            if (value == NULL_VALUE) {
+                return null;
+            }
+            return switch (this) {
+                case DECIMAL -> BigDecimal.valueOf(value, 2);
+                case INTEGER -> value;
+                case EPOCH_MILLIS -> LocalDateTime.ofInstant(Instant.ofEpochMilli(value), ZoneOffset.UTC);
+            };
+        }
+
+        long fromCursorValue(String value) {
+            if (value == null) {
+                return NULL_VALUE;
+            }
+            try {
+                return switch (this) {
+                    case DECIMAL -> toScaledLong(new BigDecimal(value), 2, RoundingMode.HALF_UP);
+                    case INTEGER -> Long.parseLong(value);
+                    case EPOCH_MILLIS -> toEpochMillis(LocalDateTime.parse(value));
+                };
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
+
+    private static void andBitmap(BitSet hits, BitSet bitmap) {
+        if (bitmap == null) {
+            hits.clear();
+        } else {
+            hits.and(bitmap);
+        }
+    }
+
+    /**
+     * Bitmap لقيم true و false لكل ميزة boolean (null مش بيطابق أي فلتر زي SQL)
+     */
+    private static final class BooleanField {
+        private final BitSet yes = new BitSet();
+        private final BitSet no = new BitSet();
+
+        void set(int doc, Boolean value) {
+            if (value != null) {
+                (value ? yes : no).set(doc);
+            }
+        }
+
+        void clear(int doc) {
+            yes.clear(doc);
+            no.clear(doc);
+        }
+
+        void filter(BitSet hits, Boolean wanted) {
+            if (wanted != null) {
+                hits.and(wanted ? yes : no);
+            }
+        }
+    }
+
+    /**
+     * كل بيانات الفهرس - بتتبدل كلها مرة واحدة بعد إعادة البناء
+     */
+    private final class IndexData {
+
+        private final Map<Long, Integer> docs = new HashMap<>();
+        private final BitSet live = new BitSet();
+        private final Deque<Integer> freeDocs = new ArrayDeque<>();
+        private long[] propertyIds = new long[INITIAL_CAPACITY];
+        private String[] neighborhoods = new String[INITIAL_CAPACITY];
+        private int nextDoc = 0;
+
+        // القيم الحالية لكل doc عشان نقدر نشيله من الـ bitmaps
+        private String[] governorates = new String[INITIAL_CAPACITY];
+        private String[] cities = new String[INITIAL_CAPACITY];
+        private PropertyType[] propertyTypes = new PropertyType[INITIAL_CAPACITY];
+        private RentalType[] rentalTypes = new RentalType[INITIAL_CAPACITY];
+
+        // ========== Bitmaps ==========
+        private final Map<String, BitSet> byGovernorate = new HashMap<>();
+        private final Map<String, BitSet> byCity = new HashMap<>();
+        private final Map<PropertyType, BitSet> byPropertyType = new EnumMap<>(PropertyType.class);
+        private final Map<RentalType, BitSet> byRentalType = new EnumMap<>(RentalType.class);
+
+        private final BooleanField furnished = new BooleanField();
+        private final BooleanField petsAllowed = new BooleanField();
+        private final BooleanField smokingAllowed = new BooleanField();
+        private final BooleanField instantBooking = new BooleanField();
+        private final BooleanField verified = new BooleanField();
+        private final BooleanField featured = new BooleanField();
+
+        // ========== Arrays مرتبة ==========
+        private final SortedColumn price = new SortedColumn(ValueKind.DECIMAL);
+        private final SortedColumn bedrooms = new SortedColumn(ValueKind.INTEGER);
+        private final SortedColumn bathrooms = new SortedColumn(ValueKind.INTEGER);
+        private final SortedColumn guests = new SortedColumn(ValueKind.INTEGER);
+        private final SortedColumn rating = new SortedColumn(ValueKind.DECIMAL);
+        private final SortedColumn views = new SortedColumn(ValueKind.INTEGER);
+        private final SortedColumn createdAt = new SortedColumn(ValueKind.EPOCH_MILLIS);
+
+        int size() {
+            return docs.size();
+        }
+
+        /**
+         * إضافة عقار أثناء البناء (الأعمدة بتترتب مرة واحدة في الآخر)
+         */
+        void append(PropertySearchDocument document) {
+            add(document, false);
+        }
+
+        /**
+         * إضافة أو استبدال عقار بعد البناء (الأعمدة بتفضل مرتبة)
+         */
+        void upsert(PropertySearchDocument document) {
+            remove(document.getPropertyId());
+            add(document, true);
+        }
+
+        void remove(Long propertyId) {
+            Integer doc = docs.remove(propertyId);
+            if (doc == null) {
+                return;
+            }
+
+            clearBit(byGovernorate, governorates[doc], doc);
+            clearBit(byCity, cities[doc], doc);
+            clearBit(byPropertyType, propertyTypes[doc], doc);
+            clearBit(byRentalType, rentalTypes[doc], doc);
+
+            furnished.clear(doc);
+            petsAllowed.clear(doc);
+            smokingAllowed.clear(doc);
+            instantBooking.clear(doc);
+            verified.clear(doc);
+            featured.clear(doc);
+
+            price.remove(doc);
+            bedrooms.remove(doc);
+            bathrooms.remove(doc);
+            guests.remove(doc);
+            rating.remove(doc);
+            views.remove(doc);
+            createdAt.remove(doc);
+
+            live.clear(doc);
+            neighborhoods[doc] = null;
+            governorates[doc] = null;
+            cities[doc] = null;
+            propertyTypes[doc] = null;
+            rentalTypes[doc] = null;
+            freeDocs.push(doc);
+        }
+
+        private void add(PropertySearchDocument document, boolean keepSorted) {
+            int doc = freeDocs.isEmpty() ? nextDoc++ : freeDocs.pop();
+            ensureCapacity(doc + 1);
+
+            docs.put(document.getPropertyId(), doc);
+            propertyIds[doc] = document.getPropertyId();
+            neighborhoods[doc] = key(document.getNeighborhood());
+            live.set(doc);
+
+            governorates[doc] = key(document.getGovernorate());
+            cities[doc] = key(document.getCity());
+            propertyTypes[doc] = document.getPropertyType();
+            rentalTypes[doc] = document.getRentalType();
+            setBit(byGovernorate, governorates[doc], doc);
+            setBit(byCity, cities[doc], doc);
+            setBit(byPropertyType, propertyTypes[doc], doc);
+            setBit(byRentalType, rentalTypes[doc], doc);
+
+            furnished.set(doc, document.getFurnished());
+            petsAllowed.set(doc, document.getPetsAllowed());
+            smokingAllowed.set(doc, document.getSmokingAllowed());
+            instantBooking.set(doc, document.getInstantBooking());
+            verified.set(doc, document.getIsVerified());
+            featured.set(doc, document.getIsFeatured());
+
+            price.add(doc, toScaledLong(document.getPricePerNight(), 2, RoundingMode.HALF_UP), keepSorted);
+            bedrooms.add(doc, toLong(document.getBedrooms()), keepSorted);
+            bathrooms.add(doc, toLong(document.getBathrooms()), keepSorted);
+            guests.add(doc, toLong(document.getGuestsCapacity()), keepSorted);
+            rating.add(doc, toScaledLong(document.getAverageRating(), 2, RoundingMode.HALF_UP), keepSorted);
+            views.add(doc, toLong(document.getViewCount()), keepSorted);
+            createdAt.add(doc, toEpochMillis(document.getCreatedAt()), keepSorted);
+        }
+
+        void addViews(Long propertyId, long delta) {
+            Integer doc = docs.get(propertyId);
+            if (doc != null) {
+                long current = views.values[doc] == NULL_VALUE ? 0 : views.values[doc];
+                views.remove(doc);
+                views.add(doc, current + delta, true);
+            }
+        }
+
+        private <K> void setBit(Map<K, BitSet> bitmaps, K key, int doc) {
+            if (key != null) {
+                bitmaps.computeIfAbsent(key, k -> new BitSet()).set(doc);
+            }
+        }
+
+        private <K> void clearBit(Map<K, BitSet> bitmaps, K key, int doc) {
+            BitSet bitmap = key != null ? bitmaps.get(key) : null;
+            if (bitmap != null) {
+                bitmap.clear(doc);
+                if (bitmap.isEmpty()) {
+                    bitmaps.remove(key);
+                }
+            }
+        }
+
+        void sortColumns() {
+            price.sort();
+            bedrooms.sort();
+            bathrooms.sort();
+            guests.sort();
+            rating.sort();
+            views.sort();
+            createdAt.sort();
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > propertyIds.length) {
+                int newCapacity = Math.max(capacity, propertyIds.length * 2);
+                propertyIds = Arrays.copyOf(propertyIds, newCapacity);
+                neighborhoods = Arrays.copyOf(neighborhoods, newCapacity);
+                governorates = Arrays.copyOf(governorates, newCapacity);
+                cities = Arrays.copyOf(cities, newCapacity);
+                propertyTypes = Arrays.copyOf(propertyTypes, newCapacity);
+                rentalTypes = Arrays.copyOf(rentalTypes, newCapacity);
+            }
+        }
+
+        SearchHits search(SearchRequest request, String sortField, boolean ascending,
+                          SeekCursor after, long offset, int limit,
+                          PropertyOccupancyIndex.AvailabilityFilter availability) {
+            BitSet hits = (BitSet) live.clone();
+
+            // ========== فلاتر الموقع والنوع ==========
+            if (hasText(request.getGovernorate())) {
+                andBitmap(hits, byGovernorate.get(key(request.getGovernorate())));
+            }
+            if (hasText(request.getCity())) {
+                andBitmap(hits, byCity.get(key(request.getCity())));
+            }
+            if (request.getPropertyType() != null) {
+                andBitmap(hits, byPropertyType.get(request.getPropertyType()));
+            }
+            if (request.getRentalType() != null) {
+                andBitmap(hits, byRentalType.get(request.getRentalType()));
+            }
+
+            // ========== فلاتر المميزات ==========
+            furnished.filter(hits, request.getFurnished());
+            petsAllowed.filter(hits, request.getPetsAllowed());
+            smokingAllowed.filter(hits, request.getSmokingAllowed());
+            instantBooking.filter(hits, request.getInstantBooking());
+            verified.filter(hits, request.getIsVerified());
+            featured.filter(hits, request.getIsFeatured());
+
+            // ========== فلاتر النطاقات ==========
+            if (request.getMinPrice() != null || request.getMaxPrice() != null) {
+                price.filterRange(hits,
+                    request.getMinPrice() != null ? toScaledLong(request.getMinPrice(), 2, RoundingMode.CEILING) : null,
+                    request.getMaxPrice() != null ? toScaledLong(request.getMaxPrice(), 2, RoundingMode.FLOOR) : null);
+            }
+            bedrooms.filterRange(hits, request.getMinBedrooms(), request.getMaxBedrooms());
+            bathrooms.filterRange(hits, request.getMinBathrooms(), request.getMaxBathrooms());
+            guests.filterRange(hits, request.getMinGuests(), request.getMaxGuests());
+
+            // ========== فلتر الحي (LIKE) على النتائج المتبقية بس ==========
+            if (hasText(request.getNeighborhood())) {
+                String needle = key(request.getNeighborhood());
+                for (int doc = hits.nextSetBit(0); doc >= 0; doc = hits.nextSetBit(doc + 1)) {
+                    if (neighborhoods[doc] == null || !neighborhoods[doc].contains(needle)) {
+                        hits.clear(doc);
+                    }
+                }
+            }
+
+            // ========== فلتر الإتاحة (AND مع bitmap الإشغال) على النتائج المتبقية بس ==========
+            if (availability != null) {
+                for (int doc = hits.nextSetBit(0); doc >= 0; doc = hits.nextSetBit(doc + 1)) {
+                    if (!availability.isAvailable(propertyIds[doc])) {
+                        hits.clear(doc);
+                    }
+                }
+            }
+
+            long total = hits.cardinality();
+            if (offset >= total || limit <= 0) {
+                return new SearchHits(List.of(), total, null);
+            }
+
+            // ========== الترتيب ==========
+            SortedColumn sortColumn = switch (sortField) {
+                case "pricePerNight" -> price;
+                case "averageRating" -> rating;
+                case "viewCount" -> views;
+                default -> createdAt;
+            };
+
+            int start = after != null
+                ? sortColumn.positionAfter(after, ascending)
+                : (ascending ? 0 : sortColumn.size - 1);
+
+            return sortColumn.page(hits, total, sortField, ascending, start, offset, limit);
+        }
+
+        /**
+         * عمود رقمي: القيمة لكل doc + الـ docs مرتبة تصاعدياً بـ (القيمة، propertyId)
+         */
+        private final class SortedColumn {
+
+            private final ValueKind kind;
+            private long[] values = new long[INITIAL_CAPACITY];
+            private int[] order = new int[INITIAL_CAPACITY];
+            private int size = 0;
+
+            SortedColumn(ValueKind kind) {
+                this.kind = kind;
+            }
+
+            /**
+             * إضافة doc: في الآخر أثناء البناء، أو في مكانه الصح بعد البناء (binary search)
+             */
+            void add(int doc, long value, boolean keepSorted) {
+                if (doc >= values.length) {
+                    values = Arrays.copyOf(values, Math.max(doc + 1, values.length * 2));
+                }
+                if (size == order.length) {
+                    order = Arrays.copyOf(order, order.length * 2);
+                }
+                values[doc] = value;
+
+                int position = keepSorted ? insertionPoint(doc) : size;
+                System.arraycopy(order, position, order, position + 1, size - position);
+                order[position] = doc;
+                size++;
+            }
+
+            void remove(int doc) {
+                int position = insertionPoint(doc);
+                if (position < size && order[position] == doc) {
+                    System.arraycopy(order, position + 1, order, position, size - position - 1);
+                    size--;
+                }
+            }
+
+            /**
+             * مكان الـ doc في الترتيب (أو المكان اللي المفروض يتحط فيه)
+             */
+            private int insertionPoint(int doc) {
+                int low = 0;
+                int high = size;
+                while (low < high) {
+                    int mid = (low + high) >>> 1;
+                    if (compare(order[mid], doc) < 0) {
+                        low = mid + 1;
+                    } else {
+                        high = mid;
+                    }
+                }
+                return low;
+            }
+
+            void sort() {
+                Integer[] boxed = new Integer[size];
+                for (int i = 0; i < size; i++) {
+                    boxed[i] = order[i];
+                }
+                Arrays.sort(boxed, this::compare);
+                for (int i = 0; i < size; i++) {
+                    order[i] = boxed[i];
+                }
+            }
+
+            private int compare(int a, int b) {
+                int result = Long.compare(values[a], values[b]);
+                return result != 0 ? result : Long.compare(propertyIds[a], propertyIds[b]);
+            }
+
+            /**
+             * أول مكان في الترتيب قيمته >= value
+             */
+            private int lowerBound(long value) {
+                int low = 0;
+                int high = size;
+                while (low < high) {
+                    int mid = (low + high) >>> 1;
+                    if (values[order[mid]] < value) {
+                        low = mid + 1;
+                    } else {
+                        high = mid;
+                    }
+                }
+                return low;
+            }
+
+            /**
+             * الإبقاء على الـ docs اللي قيمتها بين min و max (شاملة) بس
+             */
+            void filterRange(BitSet hits, Number min, Number max) {
+                if (min == null && max == null) {
+                    return;
+                }
+                long from = Math.max(min != null ? min.longValue() : NULL_VALUE + 1, NULL_VALUE + 1);
+                long to = max != null ? max.longValue() : Long.MAX_VALUE;
+
+                BitSet inRange = new BitSet();
+                if (from <= to) {
+                    int start = lowerBound(from);
+                    int end = to == Long.MAX_VALUE ? size : lowerBound(to + 1);
+                    for (int i = start; i < end; i++) {
+                        inRange.set(order[i]);
+                    }
+                }
+                hits.and(inRange);
+            }
+
+            /**
+             * أول مكان في اتجاه المشي بعد (قيمة الـ cursor، propertyId) - binary search
+             */
+            int positionAfter(SeekCursor cursor, boolean ascending) {
+                long value = kind.fromCursorValue(cursor.getValue());
+                long id = cursor.getId();
+
+                // عدد العناصر اللي (القيمة، id) بتاعتها <= الـ cursor
+                int low = 0;
+                int high = size;
+                while (low < high) {
+                    int mid = (low + high) >>> 1;
+                    int doc = order[mid];
+                    int result = Long.compare(values[doc], value);
+                    if (result < 0 || (result == 0 && propertyIds[doc] <= id)) {
+                        low = mid + 1;
+                    } else {
+                        high = mid;
+                    }
+                }
+
+                if (ascending) {
+                    return low;
+                }
+                // في DESC بنبدأ من آخر عنصر أصغر تماماً من الـ cursor
+                return (low > 0 && isAt(order[low - 1], value, id)) ? low - 2 : low - 1;
+            }
+
+            private boolean isAt(int doc, long value, long id) {
+                return values[doc] == value && propertyIds[doc] == id;
+            }
+
+            /**
+             * المشي على الترتيب من start وأخذ الصفحة المطلوبة من النتائج
+             * (بناخد عنصر زيادة عشان نعرف لو فيه صفحة تالية)
+             */
+            SearchHits page(BitSet hits, long total, String sortField, boolean ascending,
+                            int start, long offset, int limit) {
+                List<Long> ids = new ArrayList<>(limit);
+                long skipped = 0;
+                int lastDoc = -1;
+                boolean hasNext = false;
+                int step = ascending ? 1 : -1;
+
+                for (int i = start; i >= 0 && i < size; i += step) {
+                    int doc = order[i];
+                    if (!hits.get(doc)) {
+                        continue;
+                    }
+                    if (skipped < offset) {
+                        skipped++;
+                        continue;
+                    }
+                    if (ids.size() == limit) {
+                        hasNext = true;
+                        break;
+                    }
+                    ids.add(propertyIds[doc]);
+                    lastDoc = doc;
+                }
+
+                String nextCursor = hasNext
+                    ? SeekCursor.of(sortField, ascending, kind.toCursorValue(values[lastDoc]), propertyIds[lastDoc]).encode()
+                    : null;
+                return new SearchHits(ids, total, nextCursor);
+            }
+        }
+    }
+}
@@ -1,22 +1,29 @@
 package com.ajarly.backend.service;
 
+import com.ajarly.backend.dto.CursorPage;
 import com.ajarly.backend.dto.PropertyDto;
+import com.ajarly.backend.dto.SeekCursor;
+import com.ajarly.backend.event.PropertyChangedEvent;
 import com.ajarly.backend.model.Property;
 import com.ajarly.backend.model.Property.PropertyStatus;
 import com.ajarly.backend.model.PropertyImage;
 import com.ajarly.backend.model.User;
 import com.ajarly.backend.repository.PropertyRepository;
+import com.ajarly.backend.repository.PropertySpecification;
 import com.ajarly.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.ajarly.backend.repository.BookingRepository;
 import com.ajarly.backend.model.Booking.BookingStatus;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -24,9 +31,14 @@ import java.util.UUID;
 @Slf4j
 public class PropertyService {
     
+    private static final int MAX_PAGE_SIZE = 100;
+    
     private final PropertyRepository propertyRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PropertyViewCounter viewCounter;
+    private final PropertyViewTracker viewTracker;
     
     @Transactional
     public PropertyDto.Response createProperty(PropertyDto.CreateRequest request, Long ownerId) {
@@ -72,24 +84,27 @@ public class PropertyService {
         property.setStatus(PropertyStatus.pending_approval);
         
         Property saved = propertyRepository.save(property);
+        eventPublisher.publishEvent(PropertyChangedEvent.of(saved, PropertyChangedEvent.ChangeType.CREATED));
         log.info("✅ Property created successfully: {}", saved.getPropertyId());
         
         return mapToResponse(saved);
     }
     
-    @Transactional
-    public PropertyDto.Response getPropertyById(Long propertyId) {
+    @Transactional(readOnly = true)
+    public PropertyDto.Response getPropertyById(Long propertyId, String visitorKey) {
         Property property = propertyRepository.findByIdWithImages(propertyId);
         
         if (property == null) {
             throw new RuntimeException("Property not found");
         }
         
-        // Increment view count
-        property.setViewCount(property.getViewCount() + 1);
-        propertyRepository.save(property);
+        // Count the view in memory; it is written to the database in batches
+        viewCounter.increment(propertyId);
+        viewTracker.record(propertyId, visitorKey);
         
-        return mapToResponse(property);
+        PropertyDto.Response response = mapToResponse(property);
+        response.setViewCount((int) (property.getViewCount() + viewCounter.getPendingViews(propertyId)));
+        return response;
     }
     
     public Page<PropertyDto.ListResponse> searchProperties(
@@ -119,6 +134,44 @@ public class PropertyService {
         return properties.map(this::mapToListResponse);
     }
     
+    /**
+     * Keyset variant of searchProperties: no OFFSET and no COUNT query,
+     * so page 50 costs the same as page 1
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PropertyDto.ListResponse> searchPropertiesAfter(
+            String governorate,
+            String city,
+            Property.PropertyType propertyType,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            Integer bedrooms,
+            String sortField,
+            boolean ascending,
+            String cursor,
+            int size) {
+        
+        log.info("🔍 Cursor search: gov={}, city={}, type={}, beds={}, sort={}", governorate, city, propertyType, bedrooms, sortField);
+        
+        Specification<Property> specification = PropertySpecification.buildListingSpecification(
+            governorate, city, propertyType, minPrice, maxPrice, bedrooms);
+        
+        CursorPage<PropertyDto.ListResponse> result = findAfter(specification, sortField, ascending, cursor, size);
+        
+        log.info("✅ Cursor search returned {} properties (hasNext={})", result.getItems().size(), result.getHasNext());
+        return result;
+    }
+    
+    /**
+     * Keyset variant of getMyProperties (newest first)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PropertyDto.ListResponse> getMyPropertiesAfter(Long ownerId, String cursor, int size) {
+        log.info("📋 Fetching properties for owner {} after cursor", ownerId);
+        
+        return findAfter(PropertySpecification.ownedBy(ownerId), "createdAt", false, cursor, size);
+    }
+    
     public Page<PropertyDto.ListResponse> getMyProperties(Long ownerId, Pageable pageable) {
         log.info("📋 Fetching properties for owner: {}", ownerId);
         
@@ -129,6 +182,54 @@ public class PropertyService {
         return properties.map(this::mapToListResponse);
     }
     
+    /**
+     * Fetch size + 1 rows after the cursor (the extra row only tells us there is a next page),
+     * then load images for the page in one query. The size is clamped to 1..MAX_PAGE_SIZE.
+     */
+    private CursorPage<PropertyDto.ListResponse> findAfter(
+            Specification<Property> specification,
+            String sortField,
+            boolean ascending,
+            String cursor,
+            int size) {
+        
+        if (!PropertySpecification.SEEK_FIELDS.contains(sortField)) {
+            throw new IllegalArgumentException("Cursor pagination supports sorting by " + PropertySpecification.SEEK_FIELDS);
+        }
+        // Bounded like the booking lists; also keeps the size + 1 look-ahead from overflowing
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        
+        if (cursor != null && !cursor.isEmpty()) {
+            SeekCursor after = SeekCursor.decode(cursor);
+            after.requireSort(sortField, ascending);
+            specification = specification.and(PropertySpecification.seekAfter(after));
+        }
+        
+        List<Property> rows = propertyRepository.findBy(specification, query -> query
+            .sortBy(PropertySpecification.seekSort(sortField, ascending))
+            .limit(pageSize + 1)
+            .all());
+        
+        boolean hasNext = rows.size() > pageSize;
+        List<Property> page = hasNext ? rows.subList(0, pageSize) : rows;
+        
+        if (!page.isEmpty()) {
+            // Initializes the images of the already-managed entities in one round trip
+            propertyRepository.findAllWithImagesByIdIn(page.stream().map(Property::getPropertyId).toList());
+        }
+        
+        String nextCursor = hasNext
+            ? PropertySpecification.cursorAfter(page.get(pageSize - 1), sortField, ascending).encode()
+            : null;
+        
+        return new CursorPage<>(
+            page.stream().map(this::mapToListResponse).toList(),
+            nextCursor,
+            hasNext,
+            pageSize
+        );
+    }
+    
     @Transactional
     public PropertyDto.Response updateProperty(Long propertyId, PropertyDto.CreateRequest request, Long ownerId) {
         Property property = propertyRepository.findById(propertyId)
@@ -171,6 +272,7 @@ public class PropertyService {
         property.setInstantBooking(request.getInstantBooking());
         
         Property updated = propertyRepository.save(property);
+        eventPublisher.publishEvent(PropertyChangedEvent.of(updated, PropertyChangedEvent.ChangeType.UPDATED));
         log.info("✅ Property updated successfully: {}", propertyId);
         
         return mapToResponse(updated);
@@ -204,6 +306,7 @@ public class PropertyService {
         property.setDeletedBy(ownerId);
         property.setStatus(PropertyStatus.deleted);
         propertyRepository.save(property);
+        eventPublisher.publishEvent(PropertyChangedEvent.of(property, PropertyChangedEvent.ChangeType.DELETED));
         
         if (activeBookingCount > 0) {
             log.info("Auto-cancelling {} pending bookings for property {}", activeBookingCount, propertyId);
@@ -0,0 +1,92 @@
+package com.ajarly.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind counter for property detail views.
+ *
+ * Views are counted in memory with one LongAdder per property, so concurrent
+ * readers of a hot listing never contend on a row lock. Accumulated deltas
+ * are written in a single batched UPDATE on a schedule and at shutdown.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PropertyViewCounter {
+    
+    private static final String FLUSH_SQL =
+        "UPDATE properties SET view_count = COALESCE(view_count, 0) + ? WHERE property_id = ?";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final PropertySearchIndex searchIndex;
+    private final TransactionTemplate transactionTemplate;
+    
+    // Entries are never removed: removing an adder could drop an increment racing with the flush.
+    // The map is bounded by the number of listings viewed since startup.
+    private final Map<Long, LongAdder> pendingViews = new ConcurrentHashMap<>();
+    
+    public void increment(Long propertyId) {
+        pendingViews.computeIfAbsent(propertyId, id -> new LongAdder()).increment();
+    }
+    
+    /**
+     * Views recorded in memory but not yet written to the database
+     */
+    public long getPendingViews(Long propertyId) {
+        LongAdder adder = pendingViews.get(propertyId);
+        return adder == null ? 0 : adder.sum();
+    }
+    
+    @Scheduled(fixedDelayString = "${views.flush-interval-ms:10000}")
+    public void flush() {
+        // Sorted by id so concurrent flushes from several instances lock rows in the same order
+        Map<Long, Long> deltas = new TreeMap<>();
+        pendingViews.forEach((propertyId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                deltas.put(propertyId, delta);
+            }
+        });
+        
+        if (deltas.isEmpty()) {
+            return;
+        }
+        
+        List<Object[]> batch = new ArrayList<>(deltas.size());
+        deltas.forEach((propertyId, delta) -> batch.add(new Object[]{delta, propertyId}));
+        
+        // One transaction, so a failure part way through leaves no row updated
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batch));
+        } catch (Exception e) {
+            // Rolled back: put the deltas back so the next flush retries them
+            deltas.forEach((propertyId, delta) ->
+                pendingViews.computeIfAbsent(propertyId, id -> new LongAdder()).add(delta));
+            log.error("❌ Failed to flush view counts for {} properties: {}", deltas.size(), e.getMessage());
+            return;
+        }
+        
+        // Committed: from here on the deltas must not be retried
+        searchIndex.addViews(deltas);
+        log.debug("Flushed view counts for {} properties", deltas.size());
+    }
+    
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flushing pending property view counts before shutdown");
+        flush();
+    }
+}
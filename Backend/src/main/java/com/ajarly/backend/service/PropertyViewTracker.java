@@ -0,0 +1,162 @@
+package com.ajarly.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Per-day view and unique-visitor tracking for property detail pages.
+ *
+ * Request threads only hash the visitor key and publish into a lock-free
+ * ring buffer. A single background thread drains it into per-property,
+ * per-day counters: a total view count and a HyperLogLog sketch of visitors,
+ * which stays a small exact set for the many listings with few visitors.
+ * Nothing is written to the database here; the nightly analytics job reads
+ * yesterday's numbers from memory. Counts for days still held in memory are
+ * lost on restart.
+ */
+@Component
+@Slf4j
+public class PropertyViewTracker {
+
+    /**
+     * Days are cut in the same zone the analytics job runs in
+     */
+    public static final ZoneId ANALYTICS_ZONE = ZoneId.of("Africa/Cairo");
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final ViewEventRingBuffer buffer;
+    private final int retentionDays;
+
+    // epochDay -> propertyId -> counters
+    private final Map<Long, Map<Long, DailyViews>> days = new ConcurrentHashMap<>();
+    private final LongAdder droppedEvents = new LongAdder();
+
+    private volatile boolean running;
+    private Thread drainer;
+    private long lastPrunedDay;
+
+    public PropertyViewTracker(
+            @Value("${views.tracking.buffer-size:65536}") int bufferSize,
+            @Value("${views.tracking.retention-days:3}") int retentionDays) {
+        this.buffer = new ViewEventRingBuffer(bufferSize);
+        this.retentionDays = Math.max(2, retentionDays);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        drainer = new Thread(this::drainLoop, "property-view-drainer");
+        drainer.setDaemon(true);
+        drainer.start();
+        log.info("📊 Property view tracking started (buffer={}, retention={} days)",
+                 buffer.capacity(), retentionDays);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(drainer);
+        drainer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * Record one detail view. Never blocks; drops the event if the buffer is full.
+     *
+     * @param visitorKey user id for signed-in visitors, client IP otherwise
+     */
+    public void record(Long propertyId, String visitorKey) {
+        long epochDay = LocalDate.now(ANALYTICS_ZONE).toEpochDay();
+        if (!buffer.offer(propertyId, HyperLogLog.hash(visitorKey), epochDay)) {
+            droppedEvents.increment();
+        }
+    }
+
+    public long getTotalViews(Long propertyId, LocalDate date) {
+        DailyViews views = find(propertyId, date);
+        return views == null ? 0 : views.total();
+    }
+
+    public long getUniqueViews(Long propertyId, LocalDate date) {
+        DailyViews views = find(propertyId, date);
+        return views == null ? 0 : views.unique();
+    }
+
+    /**
+     * Whether any view for this day is still held in memory
+     */
+    public boolean hasDay(LocalDate date) {
+        return days.containsKey(date.toEpochDay());
+    }
+
+    public long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    private DailyViews find(Long propertyId, LocalDate date) {
+        Map<Long, DailyViews> day = days.get(date.toEpochDay());
+        return day == null ? null : day.get(propertyId);
+    }
+
+    private void drainLoop() {
+        ViewEventRingBuffer.Sink sink = this::apply;
+        while (running) {
+            try {
+                if (buffer.drain(sink) == 0) {
+                    pruneOldDays();
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            } catch (Exception e) {
+                log.error("❌ Property view drainer error: {}", e.getMessage(), e);
+            }
+        }
+        buffer.drain(sink);
+    }
+
+    private void apply(long propertyId, long visitorHash, long epochDay) {
+        days.computeIfAbsent(epochDay, d -> new ConcurrentHashMap<>())
+            .computeIfAbsent(propertyId, id -> new DailyViews())
+            .add(visitorHash);
+    }
+
+    private void pruneOldDays() {
+        long today = LocalDate.now(ANALYTICS_ZONE).toEpochDay();
+        if (today == lastPrunedDay) {
+            return;
+        }
+        days.keySet().removeIf(day -> day <= today - retentionDays);
+        lastPrunedDay = today;
+    }
+
+    /**
+     * Written by the drainer thread only; read by the analytics job
+     */
+    private static final class DailyViews {
+        private long total;
+        private final HyperLogLog visitors = new HyperLogLog();
+
+        synchronized void add(long visitorHash) {
+            total++;
+            visitors.add(visitorHash);
+        }
+
+        synchronized long total() {
+            return total;
+        }
+
+        synchronized long unique() {
+            return visitors.estimate();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.ajarly.backend.service;
+
+import com.ajarly.backend.dto.CacheStatsResponse;
+import com.ajarly.backend.dto.PopularLocationResponse;
+import com.ajarly.backend.dto.SubscriptionDto;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Cache regions for reference data that is read on nearly every page but
+ * changes rarely: subscription plans, per-user plan limits and the location
+ * aggregates behind the search dropdowns.
+ *
+ * Each region has its own TTL and size limit. Property and subscription
+ * changes clear the affected regions once they commit (see
+ * ReferenceDataCacheListener); the TTL bounds staleness for changes made
+ * outside the application, such as plans edited directly in the database.
+ */
+@Component
+@Getter
+public class ReferenceDataCache {
+    
+    private final LocalCache<String, List<SubscriptionDto.PlanResponse>> subscriptionPlans;
+    private final LocalCache<Long, SubscriptionDto.SubscriptionLimitsResponse> subscriptionLimits;
+    private final LocalCache<String, List<String>> governorates;
+    private final LocalCache<String, List<String>> cities;
+    private final LocalCache<Integer, List<PopularLocationResponse>> popularLocations;
+    
+    private final Map<String, LocalCache<?, ?>> regions;
+    
+    public ReferenceDataCache(
+            @Value("${cache.reference.plans.ttl-ms:600000}") long plansTtl,
+            @Value("${cache.reference.limits.ttl-ms:60000}") long limitsTtl,
+            @Value("${cache.reference.limits.max-entries:10000}") int limitsMaxEntries,
+            @Value("${cache.reference.locations.ttl-ms:300000}") long locationsTtl,
+            @Value("${cache.reference.locations.max-entries:500}") int locationsMaxEntries) {
+        this.subscriptionPlans = new LocalCache<>("subscriptionPlans", plansTtl, 1);
+        this.subscriptionLimits = new LocalCache<>("subscriptionLimits", limitsTtl, limitsMaxEntries);
+        this.governorates = new LocalCache<>("governorates", locationsTtl, 1);
+        this.cities = new LocalCache<>("cities", locationsTtl, locationsMaxEntries);
+        this.popularLocations = new LocalCache<>("popularLocations", locationsTtl, 100);
+        
+        this.regions = Stream.of(subscriptionPlans, subscriptionLimits, governorates, cities, popularLocations)
+            .collect(Collectors.toUnmodifiableMap(LocalCache::getName, Function.identity()));
+    }
+    
+    /**
+     * Drops every location aggregate (governorates, cities, popular locations)
+     */
+    public void invalidateLocations() {
+        governorates.invalidateAll();
+        cities.invalidateAll();
+        popularLocations.invalidateAll();
+    }
+    
+    /**
+     * Clears one region by name
+     *
+     * @return false if there is no region with that name
+     */
+    public boolean clear(String name) {
+        LocalCache<?, ?> region = regions.get(name);
+        if (region == null) {
+            return false;
+        }
+        region.invalidateAll();
+        return true;
+    }
+    
+    public List<CacheStatsResponse> stats() {
+        return regions.values().stream()
+            .map(LocalCache::stats)
+            .sorted((a, b) -> a.getName().compareTo(b.getName()))
+            .toList();
+    }
+}
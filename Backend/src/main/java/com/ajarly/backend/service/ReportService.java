@@ -1,5 +1,7 @@
 package com.ajarly.backend.service;
 
+import com.ajarly.backend.event.PropertyChangedEvent;
+import com.ajarly.backend.event.UserStatusChangedEvent;
 import com.ajarly.backend.model.Report;
 import com.ajarly.backend.model.Report.*;
 import com.ajarly.backend.model.User;
@@ -11,6 +13,7 @@ import com.ajarly.backend.repository.PropertyRepository;
 import com.ajarly.backend.repository.AdminLogRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -27,6 +30,7 @@ public class ReportService {
     private final UserRepository userRepository;
     private final PropertyRepository propertyRepository;
     private final AdminLogRepository adminLogRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Create a new report
@@ -240,12 +244,15 @@ public class ReportService {
             // Suspend user (set inactive but don't ban)
             user.setIsActive(false);
             userRepository.save(user);
+            // Same as an admin ban: revokes the user's tokens and refreshes the dashboard
+            eventPublisher.publishEvent(new UserStatusChangedEvent(user.getUserId(), false));
             log.info("User {} suspended as result of report", user.getUserId());
         } else if (action == ActionTaken.user_banned) {
             // Ban user (set inactive and ban flag)
             user.setIsActive(false);
             user.setBannedAt(LocalDateTime.now());
             userRepository.save(user);
+            eventPublisher.publishEvent(new UserStatusChangedEvent(user.getUserId(), false));
             log.info("User {} banned as result of report", user.getUserId());
         } else if (action == ActionTaken.warning) {
             // Warning - just log, no status change
@@ -261,6 +268,8 @@ public class ReportService {
             // Remove content by suspending property
             property.setStatus(Property.PropertyStatus.suspended);
             propertyRepository.save(property);
+            // Drops it from the search index and refreshes location caches and the dashboard
+            eventPublisher.publishEvent(PropertyChangedEvent.of(property, PropertyChangedEvent.ChangeType.SUSPENDED));
             log.info("Property {} suspended (content removed) as result of report", 
                 property.getPropertyId());
         }
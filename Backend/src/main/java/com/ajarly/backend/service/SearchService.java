@@ -7,12 +7,18 @@ import com.ajarly.backend.repository.PropertySpecification;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service للبحث المتقدم عن العقارات (Feature 8)
@@ -28,6 +34,8 @@ import java.util.List;
 public class SearchService {
     
     private final PropertyRepository propertyRepository;
+    private final PropertySearchIndex searchIndex;
+    private final ReferenceDataCache referenceDataCache;
     
     /**
      * البحث المتقدم عن العقارات
@@ -55,23 +63,66 @@ public class SearchService {
         
         // ========== بناء Sort (الترتيب) ==========
         Sort sort = buildSort(searchRequest.getSortBy(), searchRequest.getSortDirection());
+        Sort.Order sortOrder = sort.iterator().next();
+        String sortField = sortOrder.getProperty();
+        boolean ascending = sortOrder.isAscending();
+        
+        // ========== Cursor (وضع الـ Infinite Scroll) ==========
+        SeekCursor after = null;
+        if (searchRequest.isCursorMode() && !searchRequest.getCursor().isEmpty()) {
+            after = SeekCursor.decode(searchRequest.getCursor());
+            after.requireSort(sortField, ascending);
+        }
         
         // ========== بناء Pageable ==========
         Pageable pageable = PageRequest.of(
-            searchRequest.getPage(),
+            searchRequest.isCursorMode() ? 0 : searchRequest.getPage(),
             searchRequest.getSize(),
             sort
         );
         
-        // ========== بناء Specification (الشروط) ==========
-        var specification = PropertySpecification.buildSearchSpecification(searchRequest);
-        
         // ========== تنفيذ البحث ==========
         log.info("Executing advanced search with filters: {}", searchRequest);
-        Page<Property> propertyPage = propertyRepository.findAll(specification, pageable);
+        List<Property> properties;
+        Long totalItems;
+        String nextCursor;
+        Page<Property> propertyPage = null;
         
-        // ========== تحويل النتائج إلى DTOs ==========
-        Page<PropertyDto.ListResponse> responsePage = propertyPage.map(this::mapToListResponse);
+        if (searchIndex.isReady()) {
+            // الفلترة والترتيب من الفهرس، والـ DB لتحميل الصفحة بس
+            PropertySearchIndex.SearchHits hits = searchIndex.search(searchRequest, sortField, ascending, after);
+            properties = loadInOrder(hits.propertyIds());
+            totalItems = hits.totalHits();
+            nextCursor = hits.nextCursor();
+            if (!searchRequest.isCursorMode()) {
+                propertyPage = new PageImpl<>(properties, pageable, hits.totalHits());
+            }
+        } else {
+            // ========== بناء Specification (الشروط) ==========
+            Specification<Property> specification = PropertySpecification.buildSearchSpecification(searchRequest);
+            
+            if (searchRequest.isCursorMode()) {
+                // Seek بدل OFFSET ومن غير COUNT - بناخد عنصر زيادة عشان نعرف لو فيه صفحة تالية
+                if (after != null) {
+                    specification = specification.and(PropertySpecification.seekAfter(after));
+                }
+                int size = searchRequest.getSize();
+                List<Property> rows = propertyRepository.findBy(specification, query -> query
+                    .sortBy(PropertySpecification.seekSort(sortField, ascending))
+                    .limit(size + 1)
+                    .all());
+                properties = rows.size() > size ? rows.subList(0, size) : rows;
+                totalItems = null;
+                nextCursor = rows.size() > size
+                    ? PropertySpecification.cursorAfter(properties.get(size - 1), sortField, ascending).encode()
+                    : null;
+            } else {
+                propertyPage = propertyRepository.findAll(specification, pageable);
+                properties = propertyPage.getContent();
+                totalItems = propertyPage.getTotalElements();
+                nextCursor = null;
+            }
+        }
         
         // ========== حساب وقت التنفيذ ==========
         long executionTimeMs = System.currentTimeMillis() - startTime;
@@ -79,16 +130,36 @@ public class SearchService {
         // ========== عد الفلاتر المطبقة ==========
         int appliedFiltersCount = PropertySpecification.countAppliedFilters(searchRequest);
         
-        log.info("Search completed in {} ms with {} results", executionTimeMs, responsePage.getTotalElements());
+        log.info("Search completed in {} ms with {} results", executionTimeMs, totalItems);
+        
+        String sortedBy = searchRequest.getSortBy() != null ? searchRequest.getSortBy() : "newest";
+        String sortDirection = searchRequest.getSortDirection() != null ? searchRequest.getSortDirection() : "DESC";
         
         // ========== بناء Response ==========
-        return SearchResponse.fromPage(
-            responsePage,
+        if (searchRequest.isCursorMode()) {
+            return SearchResponse.fromCursor(
+                properties.stream().map(this::mapToListResponse).toList(),
+                nextCursor,
+                totalItems,
+                searchRequest.getSize(),
+                after != null,
+                executionTimeMs,
+                appliedFiltersCount,
+                sortedBy,
+                sortDirection
+            );
+        }
+        
+        SearchResponse response = SearchResponse.fromPage(
+            propertyPage.map(this::mapToListResponse),
             executionTimeMs,
             appliedFiltersCount,
-            searchRequest.getSortBy() != null ? searchRequest.getSortBy() : "newest",
-            searchRequest.getSortDirection() != null ? searchRequest.getSortDirection() : "DESC"
+            sortedBy,
+            sortDirection
         );
+        // cursor الصفحة التالية عشان الـ client يقدر يكمل بالـ infinite scroll
+        response.getPagination().setNextCursor(nextCursor);
+        return response;
     }
     
     /**
@@ -147,32 +218,38 @@ public class SearchService {
             limit = 100;  // الحد الأقصى
         }
         
-        log.info("Getting top {} popular locations", limit);
-        
-        // ========== بناء Pageable للحد من النتائج ==========
-        Pageable pageable = PageRequest.of(0, limit);
-        
-        // ========== الحصول على المواقع الشعبية ==========
-        List<PopularLocationResponse> popularLocations = propertyRepository.findPopularLocations(
-            Property.PropertyStatus.active,
-            pageable
-        );
-        
-        log.info("Found {} popular locations", popularLocations.size());
-        
-        return popularLocations;
+        // ========== من الكاش، والـ query بس لو مش موجودة ==========
+        return referenceDataCache.getPopularLocations().get(limit, top -> {
+            log.info("Getting top {} popular locations", top);
+            
+            // ========== بناء Pageable للحد من النتائج ==========
+            Pageable pageable = PageRequest.of(0, top);
+            
+            // ========== الحصول على المواقع الشعبية ==========
+            List<PopularLocationResponse> popularLocations = propertyRepository.findPopularLocations(
+                Property.PropertyStatus.active,
+                pageable
+            );
+            
+            log.info("Found {} popular locations", popularLocations.size());
+            
+            return List.copyOf(popularLocations);
+        });
     }
     
     /**
      * الحصول على قائمة المحافظات المتاحة
      * 
      * مفيد لـ dropdowns في الـ frontend
+     * النتيجة متخزنة في الكاش وبتتمسح مع أي تغيير في العقارات
      * 
      * @return قائمة أسماء المحافظات
      */
     public List<String> getAvailableGovernorates() {
-        log.info("Fetching available governorates");
-        return propertyRepository.findDistinctGovernoratesByStatus(Property.PropertyStatus.active);
+        return referenceDataCache.getGovernorates().get("active", key -> {
+            log.info("Fetching available governorates");
+            return List.copyOf(propertyRepository.findDistinctGovernoratesByStatus(Property.PropertyStatus.active));
+        });
     }
     
     /**
@@ -186,11 +263,13 @@ public class SearchService {
             throw new IllegalArgumentException("Governorate name cannot be empty");
         }
         
-        log.info("Fetching cities for governorate: {}", governorate);
-        return propertyRepository.findDistinctCitiesByGovernorateAndStatus(
-            governorate,
-            Property.PropertyStatus.active
-        );
+        return referenceDataCache.getCities().get(governorate, key -> {
+            log.info("Fetching cities for governorate: {}", key);
+            return List.copyOf(propertyRepository.findDistinctCitiesByGovernorateAndStatus(
+                key,
+                Property.PropertyStatus.active
+            ));
+        });
     }
     
     /**
@@ -251,13 +330,40 @@ public class SearchService {
         };
     }
     
+    /**
+     * تحميل العقارات بالـ IDs بنفس الترتيب اللي رجع من الفهرس
+     * (عقار اتحذف أو اتوقف بعد آخر تحديث للفهرس بيتشال من الصفحة)
+     * 
+     * @param propertyIds IDs الصفحة بالترتيب
+     * @return العقارات بنفس الترتيب
+     */
+    private List<Property> loadInOrder(List<Long> propertyIds) {
+        if (propertyIds.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<Long, Property> byId = propertyRepository.findAllById(propertyIds).stream()
+            .collect(Collectors.toMap(Property::getPropertyId, Function.identity()));
+        
+        List<Property> properties = new ArrayList<>(propertyIds.size());
+        for (Long propertyId : propertyIds) {
+            Property property = byId.get(propertyId);
+            if (property != null && property.getStatus() == Property.PropertyStatus.active) {
+                properties.add(property);
+            }
+        }
+        return properties;
+    }
+    
     /**
      * تحويل Property إلى ListResponse DTO
      * 
+     * package-private عشان موديول الـ benchmarks يقيسها مباشرة
+     * 
      * @param property العقار
      * @return DTO للقائمة
      */
-    private PropertyDto.ListResponse mapToListResponse(Property property) {
+    PropertyDto.ListResponse mapToListResponse(Property property) {
         PropertyDto.ListResponse response = new PropertyDto.ListResponse();
         response.setPropertyId(property.getPropertyId());
         response.setTitleAr(property.getTitleAr());
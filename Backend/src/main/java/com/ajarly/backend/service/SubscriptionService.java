@@ -1,6 +1,7 @@
 package com.ajarly.backend.service;
 
 import com.ajarly.backend.dto.SubscriptionDto;
+import com.ajarly.backend.event.SubscriptionChangedEvent;
 import com.ajarly.backend.exception.GlobalExceptionHandler;
 import com.ajarly.backend.exception.ResourceNotFoundException;
 import com.ajarly.backend.model.*;
@@ -10,6 +11,7 @@ import com.ajarly.backend.repository.UserRepository;
 import com.ajarly.backend.repository.UserSubscriptionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,17 +33,21 @@ public class SubscriptionService {
     private final UserSubscriptionRepository subscriptionRepository;
     private final UserRepository userRepository;
     private final TransactionRepository transactionRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
-     * Get all active subscription plans
+     * Get all active subscription plans (cached, see ReferenceDataCache)
      */
     public List<SubscriptionDto.PlanResponse> getAllPlans() {
-        log.info("Fetching all active subscription plans");
-        
-        return planRepository.findByIsActiveTrueOrderByPlanOrderAsc()
-            .stream()
-            .map(SubscriptionDto.PlanResponse::fromEntity)
-            .collect(Collectors.toList());
+        return referenceDataCache.getSubscriptionPlans().get("active", key -> {
+            log.info("Fetching all active subscription plans");
+            
+            return planRepository.findByIsActiveTrueOrderByPlanOrderAsc()
+                .stream()
+                .map(SubscriptionDto.PlanResponse::fromEntity)
+                .toList();
+        });
     }
     
     /**
@@ -100,6 +106,8 @@ public class SubscriptionService {
         
         log.info("Subscription created successfully for user {}: {}", userId, subscription.getSubscriptionId());
         
+        eventPublisher.publishEvent(new SubscriptionChangedEvent(userId));
+        
         return SubscriptionDto.SubscriptionResponse.fromEntity(subscription);
     }
     
@@ -135,14 +143,22 @@ public class SubscriptionService {
         subscription.setAutoRenew(false);
         
         subscriptionRepository.save(subscription);
+        eventPublisher.publishEvent(new SubscriptionChangedEvent(userId));
         
         log.info("Subscription cancelled successfully for user {}", userId);
     }
     
     /**
      * Check subscription limits for property creation
+     * 
+     * Cached per user for a short TTL; subscribing, cancelling, expiry and
+     * listing usage changes drop the user's entry once they commit.
      */
     public SubscriptionDto.SubscriptionLimitsResponse checkSubscriptionLimits(Long userId) {
+        return referenceDataCache.getSubscriptionLimits().get(userId, this::loadSubscriptionLimits);
+    }
+    
+    private SubscriptionDto.SubscriptionLimitsResponse loadSubscriptionLimits(Long userId) {
         log.info("Checking subscription limits for user {}", userId);
         
         SubscriptionDto.SubscriptionLimitsResponse response = new SubscriptionDto.SubscriptionLimitsResponse();
@@ -204,6 +220,7 @@ public class SubscriptionService {
             .ifPresent(subscription -> {
                 subscription.setListingsUsed(subscription.getListingsUsed() + 1);
                 subscriptionRepository.save(subscription);
+                eventPublisher.publishEvent(new SubscriptionChangedEvent(userId));
             });
     }
     
@@ -222,6 +239,7 @@ public class SubscriptionService {
         for (UserSubscription subscription : expiredSubscriptions) {
             subscription.setStatus(UserSubscription.SubscriptionStatus.expired);
             subscriptionRepository.save(subscription);
+            eventPublisher.publishEvent(new SubscriptionChangedEvent(subscription.getUser().getUserId()));
             log.info("Expired subscription {} for user {}", 
                 subscription.getSubscriptionId(), 
                 subscription.getUser().getUserId());
@@ -1,16 +1,19 @@
 package com.ajarly.backend.service;
 
 import com.ajarly.backend.dto.UserDto;
+import com.ajarly.backend.event.UserCredentialsChangedEvent;
 import com.ajarly.backend.model.User;
 import com.ajarly.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;  // ← CORRECT IMPORT (add .slf4j)
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @Service
@@ -21,6 +24,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final ImageStorageService imageStorageService;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Get user profile by userId
@@ -82,8 +86,12 @@ public class UserService {
         
         // Hash and save new password
         user.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
+        user.setPasswordChangedAt(LocalDateTime.now());
         userRepository.save(user);
         
+        // Tokens issued before the change stop working once this commits
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(userId, user.getPasswordChangedAt()));
+        
         log.info("Password changed successfully for user: {}", userId);
     }
     
@@ -0,0 +1,90 @@
+package com.ajarly.backend.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free ring buffer of property view events.
+ *
+ * Many request threads publish, a single drainer thread consumes. Each slot
+ * carries a sequence number: a producer claims a position with one CAS on the
+ * tail, writes the payload and publishes the slot by advancing its sequence.
+ * When the buffer is full the event is dropped instead of blocking the request.
+ */
+final class ViewEventRingBuffer {
+
+    @FunctionalInterface
+    interface Sink {
+        void accept(long propertyId, long visitorHash, long epochDay);
+    }
+
+    private final int mask;
+    private final int capacity;
+    private final AtomicLongArray sequences;
+    private final long[] propertyIds;
+    private final long[] visitorHashes;
+    private final long[] epochDays;
+
+    private final AtomicLong tail = new AtomicLong();
+    private long head;  // only touched by the consumer thread
+
+    ViewEventRingBuffer(int requestedCapacity) {
+        this.capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.mask = capacity - 1;
+        this.sequences = new AtomicLongArray(capacity);
+        this.propertyIds = new long[capacity];
+        this.visitorHashes = new long[capacity];
+        this.epochDays = new long[capacity];
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return false if the buffer is full and the event was dropped
+     */
+    boolean offer(long propertyId, long visitorHash, long epochDay) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.getAcquire(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    propertyIds[index] = propertyId;
+                    visitorHashes[index] = visitorHash;
+                    epochDays[index] = epochDay;
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Hand every published event to the sink. Must only be called from the consumer thread.
+     *
+     * @return number of events drained
+     */
+    int drain(Sink sink) {
+        int drained = 0;
+        while (true) {
+            int index = (int) (head & mask);
+            if (sequences.getAcquire(index) != head + 1) {
+                return drained;
+            }
+            sink.accept(propertyIds[index], visitorHashes[index], epochDays[index]);
+            sequences.setRelease(index, head + capacity);
+            head++;
+            drained++;
+        }
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}